@@ -153,7 +153,7 @@ public final class AlmToolsUtils {
         args.add(hpToolsAborterFile);
         args.add(paramFileName);
         
-        hpToolsAborterFile.copyFrom(hpToolsAborterUrl);
+        LauncherToolCache.deploy(hpToolsAborterUrl, hpToolsAborterFile);
         
         int returnCode = launcher.launch().cmds(args).stdout(out).pwd(hpToolsAborterFile.getParent()).join();
         
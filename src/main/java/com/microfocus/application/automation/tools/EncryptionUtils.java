@@ -53,6 +53,9 @@ import java.security.spec.RSAPrivateCrtKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class EncryptionUtils {
 
@@ -62,6 +65,8 @@ public final class EncryptionUtils {
     private static final String PRIVATE_SPEC_FOR_NODE = "AES";
     private static final String KEY_PATH = "secrets/.hptoolslaunchersecret.key";
     private static final String NL = System.getProperty("line.separator");
+    // parsed public keys by node name, along with the stored (encrypted) key they were parsed from
+    private static final Map<String, CachedPublicKey> publicKeys = new ConcurrentHashMap<>();
 
     private EncryptionUtils() {
         // no meaning instantiating
@@ -219,6 +224,50 @@ public final class EncryptionUtils {
      * @throws EncryptionException
      */
     public static String encrypt(String text, Node currNode) throws EncryptionException {
+        return encrypt(text, getPublicKey(currNode));
+    }
+
+    /**
+     * Encrypts all the values using the node's public key, the key is resolved once and one cipher is used for all values.
+     * @param values to be encrypted, null values are kept as null
+     * @param currNode current executor
+     * @return the encrypted values in base64 format, in the order of the given values
+     * @throws EncryptionException
+     */
+    public static <K> Map<K, String> encryptAll(Map<K, String> values, Node currNode) throws EncryptionException {
+        if (values.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return encryptAll(values, getPublicKey(currNode));
+    }
+
+    /**
+     * Encrypts all the values with the given PublicKey, using one cipher for all values.
+     * @param values to be encrypted, null values are kept as null
+     * @param publicKey
+     * @return the encrypted values in base64 format, in the order of the given values
+     * @throws EncryptionException
+     */
+    public static <K> Map<K, String> encryptAll(Map<K, String> values, PublicKey publicKey) throws EncryptionException {
+        Map<K, String> encrypted = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return encrypted;
+        }
+        Cipher encryptCipher = createEncryptCipher(publicKey);
+        for (Map.Entry<K, String> entry : values.entrySet()) {
+            encrypted.put(entry.getKey(), entry.getValue() == null ? null : encrypt(entry.getValue(), encryptCipher));
+        }
+        return encrypted;
+    }
+
+    /**
+     * Returns the public key of the node, parsed keys are cached per node as long as the key stored in the node property does not change.
+     * A new key pair is generated when the node has none yet.
+     * @param currNode current executor
+     * @return the public key of the node
+     * @throws EncryptionException
+     */
+    private static PublicKey getPublicKey(Node currNode) throws EncryptionException {
         EncryptionNodeProperty publicKeyProp = currNode.getNodeProperty(EncryptionNodeProperty.class);
 
         if (publicKeyProp == null) {
@@ -229,7 +278,13 @@ public final class EncryptionUtils {
 
         if (publicKeyProp == null) throw new EncryptionException("You need to enable encryption in Node configuration manually first, automatic addition failed before running UFT tests.");
 
-        String publicKeyStr = Secret.fromString(publicKeyProp.getPublicKey()).getPlainText();
+        String storedKey = publicKeyProp.getPublicKey();
+        CachedPublicKey cached = publicKeys.get(currNode.getNodeName());
+        if (cached != null && storedKey != null && storedKey.equals(cached.storedKey)) {
+            return cached.publicKey;
+        }
+
+        String publicKeyStr = Secret.fromString(storedKey).getPlainText();
         PublicKey publicKey;
 
         if (StringUtils.isNullOrEmpty(publicKeyStr)) {
@@ -259,7 +314,8 @@ public final class EncryptionUtils {
             publicKey = tryParsePublicKey(publicKeyStr);
         }
 
-        return encrypt(text, publicKey);
+        publicKeys.put(currNode.getNodeName(), new CachedPublicKey(publicKeyProp.getPublicKey(), publicKey));
+        return publicKey;
     }
 
     /**
@@ -270,6 +326,10 @@ public final class EncryptionUtils {
      * @throws EncryptionException
      */
     public static String encrypt(String text, PublicKey publicKey) throws EncryptionException {
+        return encrypt(text, createEncryptCipher(publicKey));
+    }
+
+    private static Cipher createEncryptCipher(PublicKey publicKey) throws EncryptionException {
         Cipher encryptCipher;
         try {
             encryptCipher = Cipher.getInstance(ENC_TYPE_FOR_PROPS);
@@ -282,7 +342,10 @@ public final class EncryptionUtils {
         } catch (InvalidKeyException ignored) {
             throw new EncryptionException("Failed to initialize " + ENC_TYPE_FOR_PROPS + " cipher.");
         }
+        return encryptCipher;
+    }
 
+    private static String encrypt(String text, Cipher encryptCipher) throws EncryptionException {
         byte[] plainBytes = text.getBytes(StandardCharsets.UTF_8);
         byte[] encryptedBytes;
         try {
@@ -341,4 +404,14 @@ public final class EncryptionUtils {
             return super.getMessage();
         }
     }
+
+    private static final class CachedPublicKey {
+        private final String storedKey;
+        private final PublicKey publicKey;
+
+        private CachedPublicKey(String storedKey, PublicKey publicKey) {
+            this.storedKey = storedKey;
+            this.publicKey = publicKey;
+        }
+    }
 }
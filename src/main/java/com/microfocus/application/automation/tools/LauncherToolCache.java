@@ -0,0 +1,202 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools;
+
+import hudson.FilePath;
+import hudson.Plugin;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deploys the launcher binaries bundled with the plugin (HpToolsLauncher.exe, LRAnalysisLauncher.exe, ...)
+ * through a content addressed cache on each node: {@code <node root>/uft-tools-cache/<plugin version>/<sha256>/<file>}.
+ * A cached copy is verified by its hash and copied locally to the workspace, the resource is transferred
+ * over the remoting channel only when the node has no valid copy yet.
+ * Copies are installed by an atomic rename, so concurrent builds on the same node share one cached copy safely.
+ */
+public final class LauncherToolCache {
+
+    private static final Logger logger = Logger.getLogger(LauncherToolCache.class.getName());
+    private static final String CACHE_FOLDER = "uft-tools-cache";
+    private static final Map<String, String> resourceHashes = new ConcurrentHashMap<>();
+
+    private LauncherToolCache() {
+        // no meaning instantiating
+    }
+
+    /**
+     * Copies the plugin resource to the target file, using the cache of the node the target belongs to.
+     * Falls back to a plain copy when the node has no root path.
+     */
+    public static void deploy(URL resource, FilePath target) throws IOException, InterruptedException {
+        FilePath cacheDir = getCacheDir(target);
+        if (cacheDir == null) {
+            target.copyFrom(resource);
+            return;
+        }
+        String sha256 = getResourceHash(resource);
+        FilePath cached = cacheDir.child(sha256).child(target.getName());
+        if (target.act(new DeployCallable(cached.getRemote(), null, sha256))) {
+            return;
+        }
+
+        // no valid copy on the node, transfer the resource once and install it into the cache
+        FilePath temp = cached.getParent().child(target.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            temp.copyFrom(resource);
+            if (!target.act(new DeployCallable(cached.getRemote(), temp.getRemote(), sha256))) {
+                throw new IOException("Checksum mismatch after transferring " + target.getName() + " to " + cached.getRemote());
+            }
+        } finally {
+            temp.delete();
+        }
+    }
+
+    private static FilePath getCacheDir(FilePath target) {
+        Computer computer = target.toComputer();
+        Node node = computer == null ? null : computer.getNode();
+        FilePath root = node == null ? null : node.getRootPath();
+        return root == null ? null : root.child(CACHE_FOLDER).child(getPluginVersion());
+    }
+
+    private static String getPluginVersion() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        Plugin plugin = jenkins == null ? null : jenkins.getPlugin("hp-application-automation-tools-plugin");
+        return plugin == null ? "unknown" : plugin.getWrapper().getVersion().replaceAll("[^\\w.-]", "_");
+    }
+
+    static String getResourceHash(URL resource) throws IOException {
+        String key = resource.toExternalForm();
+        String hash = resourceHashes.get(key);
+        if (hash == null) {
+            try (InputStream in = resource.openStream()) {
+                hash = sha256(in);
+            }
+            resourceHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    static String sha256(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    static boolean hasHash(Path file, String sha256) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return sha256.equals(sha256(in));
+        }
+    }
+
+    /**
+     * Runs on the node of the target file. Installs the transferred file into the cache when one is given,
+     * then copies the verified cached file to the target.
+     * Returns false when the cache has no valid copy.
+     */
+    static final class DeployCallable extends MasterToSlaveFileCallable<Boolean> {
+        private static final long serialVersionUID = 1L;
+        private final String cachedPath;
+        private final String transferredPath;
+        private final String sha256;
+
+        DeployCallable(String cachedPath, String transferredPath, String sha256) {
+            this.cachedPath = cachedPath;
+            this.transferredPath = transferredPath;
+            this.sha256 = sha256;
+        }
+
+        @Override
+        public Boolean invoke(File target, VirtualChannel channel) throws IOException {
+            Path cached = new File(cachedPath).toPath();
+            if (transferredPath != null && !hasHash(cached, sha256)) {
+                Path transferred = new File(transferredPath).toPath();
+                if (!hasHash(transferred, sha256)) {
+                    return false;
+                }
+                install(transferred, cached, sha256);
+            }
+            if (!hasHash(cached, sha256)) {
+                return false;
+            }
+            Path targetPath = target.toPath();
+            if (!hasHash(targetPath, sha256)) {
+                Files.copy(cached, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }
+
+        private static void install(Path transferred, Path cached, String sha256) throws IOException {
+            try {
+                Files.move(transferred, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                logger.log(Level.FINE, "atomic move is not supported, replacing " + cached, e);
+                Files.move(transferred, cached, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                // on Windows the cached file can't be replaced while another build copies it,
+                // that build's copy has the same content so it can be used as is
+                if (!hasHash(cached, sha256)) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
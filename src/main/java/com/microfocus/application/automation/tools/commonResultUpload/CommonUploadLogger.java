@@ -32,6 +32,7 @@ import com.microfocus.application.automation.tools.sse.sdk.Logger;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class CommonUploadLogger implements Logger {
@@ -45,7 +46,7 @@ public class CommonUploadLogger implements Logger {
 
     public CommonUploadLogger(PrintStream printStream) {
         this.printStream = printStream;
-        failedMessages = new ArrayList<>();
+        failedMessages = Collections.synchronizedList(new ArrayList<>());
     }
 
     public void error(String message) {
@@ -30,15 +30,17 @@ package com.microfocus.application.automation.tools.commonResultUpload.service;
 
 import com.microfocus.application.automation.tools.commonResultUpload.CommonUploadLogger;
 import com.microfocus.application.automation.tools.rest.RestClient;
-import com.microfocus.application.automation.tools.sse.common.XPathUtils;
-import com.microfocus.application.automation.tools.sse.sdk.ResourceAccessLevel;
-import com.microfocus.application.automation.tools.sse.sdk.Response;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import com.microfocus.application.automation.tools.results.service.AlmCustomizationCache;
+import com.microfocus.application.automation.tools.results.service.AlmEntitySubtypes;
+import com.microfocus.application.automation.tools.results.service.AlmRestTool;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Reads the customization of the ALM project through the controller wide {@link AlmCustomizationCache}.
+ */
 public class CustomizationService {
 
     public static final String RUN_ENTITY_NAME = "run";
@@ -46,16 +48,13 @@ public class CustomizationService {
     public static final String TEST_ENTITY_NAME = "test";
     public static final String TEST_SET_ENTITY_NAME = "test-set";
 
-    private RestClient client;
     private CommonUploadLogger logger;
-    private Map<String, Map<String, String>> subtypeCache;
-    private Map<String, Map<String, String>> fieldCache;
+    private AlmRestTool almRestTool;
+    private Set<String> reloadedSubtypes = ConcurrentHashMap.newKeySet();
 
     public CustomizationService(RestClient client, CommonUploadLogger logger) {
-        this.client = client;
         this.logger = logger;
-        subtypeCache = new HashMap<>();
-        fieldCache = new HashMap<>();
+        this.almRestTool = new AlmRestTool(client, logger);
     }
 
     public String getRunSubtypeIdByTestInstance(String testInstanceSubtypeId) {
@@ -69,87 +68,63 @@ public class CustomizationService {
     }
 
     public String getSubtypeIdByName(String entityName, String subtypeName) {
-        return getEntitySubTypes(entityName).get(subtypeName);
+        AlmEntitySubtypes subtypes = getSubtypes(entityName);
+        String subtypeId = subtypes == null ? null : subtypes.getIdByName(subtypeName);
+        if (subtypeId == null && subtypeName != null) {
+            // The subtype may have been added after the customization was cached
+            subtypes = reloadSubtypes(entityName);
+            subtypeId = subtypes == null ? null : subtypes.getIdByName(subtypeName);
+        }
+        return subtypeId;
     }
 
     public String getSubtypeNameById(String entityName, String subtypeId) {
-        for (Map.Entry<String, String> subtype : getEntitySubTypes(entityName).entrySet()) {
-            if (subtype.getValue().equals(subtypeId)) {
-                return subtype.getKey();
-            }
+        AlmEntitySubtypes subtypes = getSubtypes(entityName);
+        String subtypeName = subtypes == null ? null : subtypes.getNameById(subtypeId);
+        if (subtypeName == null && subtypeId != null) {
+            subtypes = reloadSubtypes(entityName);
+            subtypeName = subtypes == null ? null : subtypes.getNameById(subtypeId);
         }
-        return null;
+        return subtypeName;
     }
 
     public Map<String, String> getEntitySubTypes(String entityName) {
-        if (subtypeCache.get(entityName) == null) {
-            String suffix = String.format("customization/entities/%s/types", entityName);
-            String url = client.buildRestRequest(suffix);
-            Response response = client.httpGet(
-                    url,
-                    null,
-                    null,
-                    ResourceAccessLevel.PROTECTED);
-            if (response.isOk() && !response.toString().equals("")) {
-                logger.info(String.format("Get customization entity subtypes success. [%s]", entityName));
-                Map<String, String> customizationMap = XPathUtils.getEntitySubtypesMap(response.toString());
-                subtypeCache.put(entityName, customizationMap);
-                return customizationMap;
-            } else {
-                logger.error("Get customization entity subtypes failed from: " + url);
-                logger.error(response.getFailure().toString());
-                return null;
-            }
-        } else {
-            return subtypeCache.get(entityName);
+        AlmEntitySubtypes subtypes = getSubtypes(entityName);
+        return subtypes == null ? null : subtypes.getIdsByName();
+    }
+
+    private AlmEntitySubtypes getSubtypes(String entityName) {
+        AlmEntitySubtypes subtypes = almRestTool.getEntitySubtypes(entityName);
+        if (subtypes == null) {
+            logger.error(String.format("Get customization entity subtypes failed. [%s]", entityName));
         }
+        return subtypes;
+    }
+
+    /**
+     * Reads the subtypes again from ALM, once per upload and entity type, so unknown subtypes do not cause a request each.
+     */
+    private AlmEntitySubtypes reloadSubtypes(String entityName) {
+        if (reloadedSubtypes.add(entityName)) {
+            almRestTool.invalidateCustomization(AlmCustomizationCache.Kind.SUBTYPES, entityName);
+        }
+        return getSubtypes(entityName);
     }
 
     public String getUDFNameByLabel(String entityName, String label) {
-        return getEntityFields(entityName).get(label);
+        Map<String, String> entityFields = getEntityFields(entityName);
+        return entityFields == null ? null : entityFields.get(label);
     }
 
     public Map<String, String> getEntityFields(String entityName) {
-        if (fieldCache.get(entityName) == null) {
-            String suffix = String.format("customization/entities/%s/fields", entityName);
-            String url = client.buildRestRequest(suffix);
-            Response response = client.httpGet(
-                    url,
-                    null,
-                    null,
-                    ResourceAccessLevel.PROTECTED);
-            if (response.isOk() && !response.toString().equals("")) {
-                logger.info(String.format("Get customization entity fields success. [%s]", entityName));
-                Map<String, String> entityFieldsMap = XPathUtils.getEntityFieldsMap(response.toString());
-                fieldCache.put(entityName, entityFieldsMap);
-                return entityFieldsMap;
-            } else {
-                logger.error("Get customization entity fields failed from: " + url);
-                logger.error(response.getFailure().toString());
-                return null;
-            }
-        } else {
-            return fieldCache.get(entityName);
+        Map<String, String> entityFields = almRestTool.getEntityFields(entityName);
+        if (entityFields == null) {
+            logger.error(String.format("Get customization entity fields failed. [%s]", entityName));
         }
+        return entityFields;
     }
 
     public boolean isVersioningEnabled(String entityName) {
-        String suffix = String.format("customization/entities/%s", entityName);
-        String url = client.buildRestRequest(suffix);
-        Response response = client.httpGet(
-                url,
-                null,
-                null,
-                ResourceAccessLevel.PROTECTED);
-        if (response.isOk() && !response.toString().equals("")) {
-            logger.log(String.format("INFO: -- Get Entity Resource Descriptor success. [%s]", entityName));
-            Document document = XPathUtils.getDocument(response.toString());
-            Element element = (Element) document.getElementsByTagName("SupportsVC").item(0);
-            return "true".equals(element.getTextContent());
-        } else {
-            logger.log("ERR: Get entities failed from: " + url);
-            logger.log("ERR: " + response.getFailure());
-            return false;
-        }
+        return Boolean.TRUE.equals(almRestTool.isVersioningEnabled(entityName));
     }
 }
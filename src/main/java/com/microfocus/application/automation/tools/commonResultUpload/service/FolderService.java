@@ -36,17 +36,35 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FolderService {
 
     private static final String FOLDER_SEPERATOR = "\\";
     private RestService restService;
+    private final Map<String, Map<String, String>> pathCache = new ConcurrentHashMap<>();
 
     public FolderService(RestService restService) {
         this.restService = restService;
     }
 
-    public Map<String, String> createOrFindPath(String prefix, String parentId, String path) {
+    /**
+     * Uploaders of several tests may ask for the same path at the same time,
+     * so the folders are created by one caller and the path is resolved only once.
+     */
+    public synchronized Map<String, String> createOrFindPath(String prefix, String parentId, String path) {
+        String key = prefix + "|" + parentId + "|" + path;
+        Map<String, String> folder = pathCache.get(key);
+        if (folder == null) {
+            folder = createOrFindFolders(prefix, parentId, path);
+            if (folder != null) {
+                pathCache.put(key, folder);
+            }
+        }
+        return folder;
+    }
+
+    private Map<String, String> createOrFindFolders(String prefix, String parentId, String path) {
         List<Map<String, String>> folders = new ArrayList<Map<String, String>>();
         StringTokenizer tokenizer = new StringTokenizer(path, FOLDER_SEPERATOR);
         while (tokenizer.hasMoreTokens()) {
@@ -52,21 +52,30 @@ public class RunUploader {
     public static final String RUN_PREFIX = "runs";
     private static final String RUN_VERSION_MAP_NAME = "udf|Run On Version";
     private static final String VC_VERSION_NUMBER = "vc-version-number";
+    /**
+     * Opt-in system property: create each run with its mapped status in a single request
+     * instead of creating it without status and updating the status afterwards.
+     */
+    static final String CREATE_WITH_STATUS_PROPERTY = RunUploader.class.getName() + ".createWithStatus";
 
     private CommonUploadLogger logger;
     private Map<String, String> params;
     private Map<String, String> runStatusMapping;
     private RestService restService;
     private CustomizationService customizationService;
+    private AttachmentUploadService attachmentUploadService;
+    private final boolean createWithStatus = Boolean.getBoolean(CREATE_WITH_STATUS_PROPERTY);
 
     public RunUploader(CommonUploadLogger logger, Map<String, String> params,
                        RestService restService, CustomizationService customizationService,
-                       Map<String, String> runStatusMapping) {
+                       Map<String, String> runStatusMapping,
+                       AttachmentUploadService attachmentUploadService) {
         this.logger = logger;
         this.params = params;
         this.restService = restService;
         this.customizationService = customizationService;
         this.runStatusMapping = runStatusMapping;
+        this.attachmentUploadService = attachmentUploadService;
     }
 
     public void upload(Map<String, String> testset, Map<String, String> test,
@@ -101,10 +110,13 @@ public class RunUploader {
         // Update test instance status
         String runstatus = RunStatusResolver.getRunStatus(run.get(AlmRun.RUN_STATUS), runStatusMapping);
 
-        if (StringUtils.isNotEmpty(runstatus)) {
+        if (StringUtils.isNotEmpty(runstatus) && !createWithStatus) {
             // Create a run without status
             run.remove(AlmRun.RUN_STATUS);
             Map<String, String> createdRun = restService.create(RUN_PREFIX, run);
+            if (createdRun == null) {
+                return;
+            }
 
             // Update status of the run
             Map<String, String> updateRun = new HashMap<>();
@@ -128,13 +140,18 @@ public class RunUploader {
                 }
             }
             if (StringUtils.isNotEmpty(attachment) && updateResult != null) {
-                AttachmentUploadService.getInstance().upload(attachment, RUN_PREFIX, updateResult.get("id"));
+                attachmentUploadService.submit(attachment, RUN_PREFIX, updateResult.get("id"));
             }
 
         } else {
+            // With createWithStatus the run is created with its mapped status in one request,
+            // ALM then updates the status of the test instance from the status of its new run.
+            if (StringUtils.isNotEmpty(runstatus)) {
+                run.put(AlmRun.RUN_STATUS, runstatus);
+            }
             Map<String, String> createdRun = restService.create(RUN_PREFIX, run);
-            if (StringUtils.isNotEmpty(attachment)) {
-                AttachmentUploadService.getInstance().upload(attachment, RUN_PREFIX, createdRun.get("id"));
+            if (StringUtils.isNotEmpty(attachment) && createdRun != null) {
+                attachmentUploadService.submit(attachment, RUN_PREFIX, createdRun.get("id"));
             }
         }
     }
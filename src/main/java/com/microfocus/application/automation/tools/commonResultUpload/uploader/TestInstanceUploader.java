@@ -54,15 +54,21 @@ public class TestInstanceUploader {
     private RestService restService;
     private RunUploader runUploader;
     private CustomizationService customizationService;
+    private UploadPipeline pipeline;
+    private AttachmentUploadService attachmentUploadService;
 
     public TestInstanceUploader(CommonUploadLogger logger, Map<String, String> params,
                                 RestService restService, RunUploader runUploader,
-                                CustomizationService customizationService) {
+                                CustomizationService customizationService,
+                                UploadPipeline pipeline,
+                                AttachmentUploadService attachmentUploadService) {
         this.logger = logger;
         this.params = params;
         this.restService = restService;
         this.runUploader = runUploader;
         this.customizationService = customizationService;
+        this.pipeline = pipeline;
+        this.attachmentUploadService = attachmentUploadService;
     }
 
     public void upload(Map<String, String> testset, XmlResultEntity xmlResultEntity, String attachment) {
@@ -81,13 +87,14 @@ public class TestInstanceUploader {
                 }
 
                 if (StringUtils.isNotEmpty(attachment)) {
-                    AttachmentUploadService.getInstance().upload(attachment, TEST_INSTANCE_PREFIX, testinstance.get("id"));
+                    attachmentUploadService.submit(attachment, TEST_INSTANCE_PREFIX, testinstance.get("id"));
                 }
 
                 // Upload run
                 if (xmlResultEntity.getSubEntities().size() > 0) {
-                    runUploader.upload(testset, test, testconfig, testinstance,
-                            xmlResultEntity.getSubEntities().get(0).getValueMap());
+                    final Map<String, String> createdTestinstance = testinstance;
+                    pipeline.submit(UploadPipeline.Level.RUN, () -> runUploader.upload(testset, test, testconfig,
+                            createdTestinstance, xmlResultEntity.getSubEntities().get(0).getValueMap()));
                 } else {
                     logger.info("No run is found for test: " + test.get("name"));
                 }
@@ -50,32 +50,40 @@ public class TestSetUploader {
     private RestService restService;
     private FolderService folderService;
     private TestUploader testuploader;
+    private UploadPipeline pipeline;
+    private AttachmentUploadService attachmentUploadService;
 
     public TestSetUploader(CommonUploadLogger logger, Map<String, String> params,
                            RestService restService,
                            FolderService folderService,
-                           TestUploader testuploader) {
+                           TestUploader testuploader,
+                           UploadPipeline pipeline,
+                           AttachmentUploadService attachmentUploadService) {
         this.logger = logger;
         this.params = params;
         this.restService = restService;
         this.folderService = folderService;
         this.testuploader = testuploader;
+        this.pipeline = pipeline;
+        this.attachmentUploadService = attachmentUploadService;
     }
 
     public void upload(List<XmlResultEntity> xmlResultEntities) {
         logger.info("Test set upload start.");
 
-        Map<String, String> folder = createOrFindTestsetFolder();
+        final Map<String, String> folder = createOrFindTestsetFolder();
 
-        for (XmlResultEntity xmlResultEntity : xmlResultEntities) {
-            Map<String, String> testset = xmlResultEntity.getValueMap();
+        for (final XmlResultEntity xmlResultEntity : xmlResultEntities) {
+            pipeline.submit(UploadPipeline.Level.TEST_SET, () -> {
+                Map<String, String> testset = xmlResultEntity.getValueMap();
 
-            // Find if there is test set with same name in the defined folder
-            Map<String, String> existTestset = folderService.findEntityInFolder(folder, testset,
-                    TEST_SET_REST_PREFIX, TEST_SET_FOLDERS_REST_PREFIX,
-                    new String[]{"id", "name", "subtype-id"});
+                // Find if there is test set with same name in the defined folder
+                Map<String, String> existTestset = folderService.findEntityInFolder(folder, testset,
+                        TEST_SET_REST_PREFIX, TEST_SET_FOLDERS_REST_PREFIX,
+                        new String[]{"id", "name", "subtype-id"});
 
-            uploadOrUpdateTestset(existTestset, testset, xmlResultEntity);
+                uploadOrUpdateTestset(existTestset, testset, xmlResultEntity);
+            });
         }
     }
 
@@ -97,7 +105,7 @@ public class TestSetUploader {
             return false;
         } else {
             if (StringUtils.isNotEmpty(attachment)) {
-                AttachmentUploadService.getInstance().upload(attachment, TEST_SET_REST_PREFIX, newTestset.get("id"));
+                attachmentUploadService.submit(attachment, TEST_SET_REST_PREFIX, newTestset.get("id"));
             }
             testuploader.upload(newTestset, xmlResultEntity.getSubEntities());
         }
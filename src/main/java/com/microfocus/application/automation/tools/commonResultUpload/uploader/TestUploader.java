@@ -40,6 +40,7 @@ import org.apache.commons.lang.StringUtils;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.microfocus.application.automation.tools.commonResultUpload.ParamConstant.ALM_TEST_FOLDER;
 import static com.microfocus.application.automation.tools.commonResultUpload.ParamConstant.CREATE_NEW_TEST;
@@ -60,12 +61,16 @@ public class TestUploader {
     private CustomizationService customizationService;
     private TestInstanceUploader testInstanceUploader;
     private VersionControlService versionControlService;
+    private UploadPipeline pipeline;
+    // Tests with the same name are uploaded one after the other, so the second one finds the test created by the first.
+    private final Map<String, Object> testNameLocks = new ConcurrentHashMap<>();
 
     public TestUploader(CommonUploadLogger logger, Map<String, String> params,
                         RestService restService, FolderService folderService,
                         TestInstanceUploader testInstanceUploader,
                         CustomizationService customizationService,
-                        VersionControlService versionControlService) {
+                        VersionControlService versionControlService,
+                        UploadPipeline pipeline) {
         this.logger = logger;
         this.params = params;
         this.restService = restService;
@@ -73,53 +78,55 @@ public class TestUploader {
         this.testInstanceUploader = testInstanceUploader;
         this.customizationService = customizationService;
         this.versionControlService = versionControlService;
+        this.pipeline = pipeline;
     }
 
-    public void upload(Map<String, String> testset, List<XmlResultEntity> xmlResultEntities) {
+    public void upload(final Map<String, String> testset, List<XmlResultEntity> xmlResultEntities) {
         logger.info("Test upload start.");
-        for (XmlResultEntity xmlResultEntity : xmlResultEntities) {
-            Map<String, String> test = xmlResultEntity.getValueMap();
-            Map<String, String> newTest;
-
-            String attachment = test.get("attachment");
-            test.remove("attachment");
-
-            if (!StringUtils.isEmpty(params.get(ALM_TEST_FOLDER))) {
-                // Create or find a exists folder
-                Map<String, String> folder = folderService.createOrFindPath(
-                        TEST_FOLDERS_REST_PREFIX, "2", params.get(ALM_TEST_FOLDER));
-                if (folder == null) {
-                    continue;
+        for (final XmlResultEntity xmlResultEntity : xmlResultEntities) {
+            pipeline.submit(UploadPipeline.Level.TEST, () -> {
+                Object lock = testNameLocks.computeIfAbsent(
+                        String.valueOf(xmlResultEntity.getValueMap().get(AlmCommonProperties.NAME)), name -> new Object());
+                synchronized (lock) {
+                    upload(testset, xmlResultEntity);
                 }
+            });
+        }
+    }
 
-                // Find exists test under folder
-                Map<String, String> existsTest = folderService.findEntityInFolder(folder, test,
-                        TEST_REST_PREFIX, TEST_FOLDERS_REST_PREFIX,
-                        new String[]{"id", "name", SUB_TYPE_ID, VC_VERSION_NUMBER});
-                if (existsTest != null) {
-                    // If exists, update the test.
-                    existsTest.putAll(test);
-                    newTest = restService.update(TEST_REST_PREFIX, existsTest);
-                } else {
-                    logger.log("Test not found by criteria:");
-                    for (Map.Entry<String, String> entry : test.entrySet()) {
-                        if (entry.getKey().equals("name") || entry.getKey().startsWith(CriteriaTranslator.CRITERIA_PREFIX)) {
-                            logger.log("----" + entry.getKey() + "=" + entry.getValue());
-                        }
-                    }
+    private void upload(Map<String, String> testset, XmlResultEntity xmlResultEntity) {
+        Map<String, String> test = xmlResultEntity.getValueMap();
+        Map<String, String> newTest;
+
+        String attachment = test.get("attachment");
+        test.remove("attachment");
+
+        if (!StringUtils.isEmpty(params.get(ALM_TEST_FOLDER))) {
+            // Create or find a exists folder
+            Map<String, String> folder = folderService.createOrFindPath(
+                    TEST_FOLDERS_REST_PREFIX, "2", params.get(ALM_TEST_FOLDER));
+            if (folder == null) {
+                return;
+            }
 
-                    // If not, create the test under the folder
-                    test.put(AlmCommonProperties.PARENT_ID, folder.get(AlmCommonProperties.ID));
-                    if (params.get(CREATE_NEW_TEST).equals("true")) {
-                        newTest = restService.create(TEST_REST_PREFIX, test);
-                    } else {
-                        newTest = null;
-                        logger.log("Test not found and not created: " + test.toString());
+            // Find exists test under folder
+            Map<String, String> existsTest = folderService.findEntityInFolder(folder, test,
+                    TEST_REST_PREFIX, TEST_FOLDERS_REST_PREFIX,
+                    new String[]{"id", "name", SUB_TYPE_ID, VC_VERSION_NUMBER});
+            if (existsTest != null) {
+                // If exists, update the test.
+                existsTest.putAll(test);
+                newTest = restService.update(TEST_REST_PREFIX, existsTest);
+            } else {
+                logger.log("Test not found by criteria:");
+                for (Map.Entry<String, String> entry : test.entrySet()) {
+                    if (entry.getKey().equals("name") || entry.getKey().startsWith(CriteriaTranslator.CRITERIA_PREFIX)) {
+                        logger.log("----" + entry.getKey() + "=" + entry.getValue());
                     }
                 }
-            } else {
-                // If no path was specified, put test under root
-                test.put(AlmCommonProperties.PARENT_ID, "0");
+
+                // If not, create the test under the folder
+                test.put(AlmCommonProperties.PARENT_ID, folder.get(AlmCommonProperties.ID));
                 if (params.get(CREATE_NEW_TEST).equals("true")) {
                     newTest = restService.create(TEST_REST_PREFIX, test);
                 } else {
@@ -127,16 +134,25 @@ public class TestUploader {
                     logger.log("Test not found and not created: " + test.toString());
                 }
             }
-
-            if (newTest == null) {
-                continue;
+        } else {
+            // If no path was specified, put test under root
+            test.put(AlmCommonProperties.PARENT_ID, "0");
+            if (params.get(CREATE_NEW_TEST).equals("true")) {
+                newTest = restService.create(TEST_REST_PREFIX, test);
             } else {
-                // upload test instance
-                getVersionNumberForVC(newTest);
-                test.putAll(newTest);
-                testInstanceUploader.upload(testset, xmlResultEntity, attachment);
+                newTest = null;
+                logger.log("Test not found and not created: " + test.toString());
             }
         }
+
+        if (newTest == null) {
+            return;
+        } else {
+            // upload test instance
+            getVersionNumberForVC(newTest);
+            test.putAll(newTest);
+            testInstanceUploader.upload(testset, xmlResultEntity, attachment);
+        }
     }
 
     private void getVersionNumberForVC(Map<String, String> newTest) {
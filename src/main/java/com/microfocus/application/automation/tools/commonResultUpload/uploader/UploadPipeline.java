@@ -0,0 +1,127 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.commonResultUpload.uploader;
+
+import com.microfocus.application.automation.tools.commonResultUpload.CommonUploadLogger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the uploads of each entity level on its own bounded pool of workers.
+ * <p>
+ * A child entity is only submitted by the task that created or found its parent, so the parent always exists
+ * in ALM before its children are uploaded. When the queue of a level is full, the submitting worker runs the
+ * task itself, which slows down the level above instead of buffering the whole result file.
+ * With a concurrency of 1 the tasks run right away on the calling thread, one entity at a time.
+ * <p>
+ * The first task that fails stops the tasks not started yet, and its exception is thrown again by {@link #await()},
+ * so a partial upload is never reported as a successful one.
+ */
+public class UploadPipeline {
+
+    /**
+     * The entity levels, from parent to child.
+     */
+    public enum Level {
+        TEST_SET,
+        TEST,
+        RUN
+    }
+
+    private static final int QUEUED_TASKS_PER_WORKER = 2;
+
+    private final CommonUploadLogger logger;
+    private final Map<Level, ThreadPoolExecutor> executors = new EnumMap<>(Level.class);
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    public UploadPipeline(CommonUploadLogger logger, int concurrency) {
+        this.logger = logger;
+        if (concurrency > 1) {
+            for (Level level : Level.values()) {
+                executors.put(level, new ThreadPoolExecutor(concurrency, concurrency,
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<Runnable>(concurrency * QUEUED_TASKS_PER_WORKER),
+                        new ThreadPoolExecutor.CallerRunsPolicy()));
+            }
+        }
+    }
+
+    public void submit(Level level, final Runnable task) {
+        ThreadPoolExecutor executor = executors.get(level);
+        if (executor == null) {
+            task.run();
+            return;
+        }
+
+        executor.execute(() -> {
+            if (failure.get() != null) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                if (failure.compareAndSet(null, e)) {
+                    logger.error("Upload failed. " + e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the submitted uploads, level by level, and releases the workers.
+     * No task may be submitted from outside the pipeline afterwards.
+     * @throws RuntimeException the failure of the first upload task that failed
+     */
+    public void await() throws InterruptedException {
+        try {
+            for (Level level : Level.values()) {
+                ThreadPoolExecutor executor = executors.get(level);
+                if (executor != null) {
+                    // the tasks of the parent levels are done, so nothing is submitted to this level anymore
+                    executor.shutdown();
+                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                }
+            }
+        } finally {
+            for (ThreadPoolExecutor executor : executors.values()) {
+                executor.shutdownNow();
+            }
+        }
+
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+}
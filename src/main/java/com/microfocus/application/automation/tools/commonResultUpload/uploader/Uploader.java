@@ -42,6 +42,7 @@ import com.microfocus.application.automation.tools.commonResultUpload.xmlreader.
 import com.microfocus.application.automation.tools.rest.RestClient;
 import com.microfocus.application.automation.tools.results.service.AlmRestTool;
 import com.microfocus.application.automation.tools.results.service.AttachmentUploadService;
+import com.microfocus.application.automation.tools.settings.RunnerMiscSettingsGlobalConfiguration;
 import com.microfocus.application.automation.tools.sse.sdk.authenticator.AuthenticationTool;
 import hudson.FilePath;
 import hudson.model.Run;
@@ -64,6 +65,8 @@ public class Uploader {
     private FolderService fs;
     private Run<?, ?> run;
     private FilePath workspace;
+    private UploadPipeline pipeline;
+    private AttachmentUploadService attachmentUploadService;
 
     public Uploader(Run<?, ?> run, FilePath workspace, CommonUploadLogger logger, Map<String, String> params) {
         this.run = run;
@@ -83,37 +86,78 @@ public class Uploader {
                 params.get(ALM_SERVER_URL), params.get(CLIENT_TYPE), logger);
         if (login) {
             init();
-            if (!rs.getDomains().contains(params.get(ALM_DOMAIN))) {
-                logger.error("Invalid domain name:" + params.get(ALM_DOMAIN));
-                return;
+            try {
+                uploadEntities();
+            } finally {
+                awaitUploads();
+                if (!restClient.getMetrics().isEmpty()) {
+                    logger.info(String.format("ALM requests per endpoint:%n%s", restClient.getMetrics()));
+                }
             }
-            if (!rs.getProjects(params.get(ALM_DOMAIN)).contains(params.get(ALM_PROJECT))) {
-                logger.error("Invalid project name:" + params.get(ALM_PROJECT));
-                return;
-            }
-            List<XmlResultEntity> xmlResultEntities = getUploadData();
-            if (xmlResultEntities == null || xmlResultEntities.size() == 0) {
-                return;
-            }
-            TestSetUploader testSetUploader = getTestSetUploader();
-            if (testSetUploader == null) {
-                return;
-            }
-            AlmRestTool almRestTool = new AlmRestTool(restClient, logger);
-            params.put(ACTUAL_USER, almRestTool.getActualUsername());
-            testSetUploader.upload(xmlResultEntities);
         } else {
             logger.error("Login failed.");
         }
     }
 
+    private void uploadEntities() {
+        if (!rs.getDomains().contains(params.get(ALM_DOMAIN))) {
+            logger.error("Invalid domain name:" + params.get(ALM_DOMAIN));
+            return;
+        }
+        if (!rs.getProjects(params.get(ALM_DOMAIN)).contains(params.get(ALM_PROJECT))) {
+            logger.error("Invalid project name:" + params.get(ALM_PROJECT));
+            return;
+        }
+        List<XmlResultEntity> xmlResultEntities = getUploadData();
+        if (xmlResultEntities == null || xmlResultEntities.size() == 0) {
+            return;
+        }
+        TestSetUploader testSetUploader = getTestSetUploader();
+        if (testSetUploader == null) {
+            return;
+        }
+        AlmRestTool almRestTool = new AlmRestTool(restClient, logger);
+        params.put(ACTUAL_USER, almRestTool.getActualUsername());
+        testSetUploader.upload(xmlResultEntities);
+    }
+
+    private void awaitUploads() {
+        try {
+            pipeline.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Upload interrupted.");
+        } finally {
+            awaitAttachmentUploads();
+        }
+    }
+
+    private void awaitAttachmentUploads() {
+        try {
+            attachmentUploadService.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Attachment upload interrupted.");
+        }
+    }
+
     private void init() {
         cs = new CustomizationService(restClient, logger);
         vs = new VersionControlService(restClient, logger);
         udt = new UDFTranslator(cs, logger);
         rs = new RestService(restClient, logger, udt);
         fs = new FolderService(rs);
-        AttachmentUploadService.init(run, workspace, restClient, logger);
+        int concurrency = getUploadConcurrency();
+        pipeline = new UploadPipeline(logger, concurrency);
+        attachmentUploadService = new AttachmentUploadService(run, workspace, restClient, logger, concurrency);
+    }
+
+    private static int getUploadConcurrency() {
+        try {
+            return RunnerMiscSettingsGlobalConfiguration.getInstance().getAlmUploadConcurrency();
+        } catch (NullPointerException ignored) {
+            return RunnerMiscSettingsGlobalConfiguration.DEFAULT_ALM_UPLOAD_CONCURRENCY;
+        }
     }
 
     private TestSetUploader getTestSetUploader() {
@@ -121,10 +165,11 @@ public class Uploader {
         if (runStatusMap == null) {
             return null;
         }
-        RunUploader runu = new RunUploader(logger, params, rs, cs, runStatusMap.getStatus());
-        TestInstanceUploader tiu = new TestInstanceUploader(logger, params, rs, runu, cs);
-        TestUploader testu = new TestUploader(logger, params, rs, fs, tiu, cs, vs);
-        return new TestSetUploader(logger, params, rs, fs, testu);
+        RunUploader runu = new RunUploader(logger, params, rs, cs, runStatusMap.getStatus(), attachmentUploadService);
+        TestInstanceUploader tiu = new TestInstanceUploader(logger, params, rs, runu, cs, pipeline,
+                attachmentUploadService);
+        TestUploader testu = new TestUploader(logger, params, rs, fs, tiu, cs, vs, pipeline);
+        return new TestSetUploader(logger, params, rs, fs, testu, pipeline, attachmentUploadService);
     }
 
     private List<XmlResultEntity> getUploadData() {
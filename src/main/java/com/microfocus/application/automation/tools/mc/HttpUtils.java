@@ -34,6 +34,8 @@ import org.apache.commons.lang.StringUtils;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -41,6 +43,7 @@ public class HttpUtils {
 
     public static final String POST = "POST";
     public static final String GET = "GET";
+    private static final int STREAMING_CHUNK_SIZE = 64 * 1024;
 
     private HttpUtils() {
 
@@ -57,11 +60,28 @@ public class HttpUtils {
         return response;
     }
 
+    /**
+     * Posts a request body produced by the given writer, streamed with a fixed length when the writer knows it and
+     * with chunked transfer encoding otherwise, so large payloads (e.g. application packages) are not buffered in
+     * memory first. Through a proxy with credentials the proxy authorization is sent up front, since a streamed body
+     * cannot be sent again after a proxy authentication challenge.
+     */
+    public static HttpResponse doPostStream(ProxyInfo proxyInfo, String url, Map<String, String> headers, RequestBodyWriter body) {
+
+        HttpResponse response = null;
+        try {
+            response = doHttp(proxyInfo, POST, url, null, headers, body);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return response;
+    }
+
     public static HttpResponse doGet(ProxyInfo proxyInfo, String url, Map<String, String> headers, String queryString) {
 
         HttpResponse response = null;
         try {
-            response = doHttp(proxyInfo, GET, url, queryString, headers, null);
+            response = doHttp(proxyInfo, GET, url, queryString, headers, (byte[]) null);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -70,6 +90,24 @@ public class HttpUtils {
 
 
     private static HttpResponse doHttp(ProxyInfo proxyInfo, String requestMethod, String connectionUrl, String queryString, Map<String, String> headers, byte[] data) throws IOException {
+        RequestBodyWriter body = null;
+        if (data != null && data.length > 0) {
+            body = new RequestBodyWriter() {
+                @Override
+                public void writeTo(OutputStream out) throws IOException {
+                    out.write(data);
+                }
+
+                @Override
+                public boolean isStreaming() {
+                    return false;
+                }
+            };
+        }
+        return doHttp(proxyInfo, requestMethod, connectionUrl, queryString, headers, body);
+    }
+
+    private static HttpResponse doHttp(ProxyInfo proxyInfo, String requestMethod, String connectionUrl, String queryString, Map<String, String> headers, RequestBodyWriter body) throws IOException {
         HttpResponse response = new HttpResponse();
 
         if ((queryString != null) && !queryString.isEmpty()) {
@@ -85,11 +123,24 @@ public class HttpUtils {
 
         setConnectionHeaders(connection, headers);
 
-        if (data != null && data.length > 0) {
+        if (body != null) {
             connection.setDoOutput(true);
+            if (body.isStreaming()) {
+                // a streamed body cannot be sent again when an authenticating proxy answers 407,
+                // so the proxy credentials are sent preemptively instead of waiting for the challenge
+                if (hasProxyCredentials(proxyInfo)) {
+                    connection.setRequestProperty("Proxy-Authorization", basicAuthorization(proxyInfo));
+                }
+                long contentLength = body.getContentLength();
+                if (contentLength >= 0) {
+                    connection.setFixedLengthStreamingMode(contentLength);
+                } else {
+                    connection.setChunkedStreamingMode(STREAMING_CHUNK_SIZE);
+                }
+            }
             try {
                 OutputStream out = connection.getOutputStream();
-                out.write(data);
+                body.writeTo(out);
                 out.flush();
                 out.close();
             } catch (Throwable cause) {
@@ -118,6 +169,15 @@ public class HttpUtils {
         return response;
     }
 
+    private static boolean hasProxyCredentials(ProxyInfo proxyInfo) {
+        return proxyInfo != null && !proxyInfo.isEmpty();
+    }
+
+    private static String basicAuthorization(ProxyInfo proxyInfo) {
+        String credentials = proxyInfo.userName + ":" + proxyInfo.password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
     private static URLConnection openConnection(final ProxyInfo proxyInfo, URL _url) throws IOException {
 
         Proxy proxy = null;
@@ -225,6 +285,25 @@ public class HttpUtils {
         return proxyInfo;
     }
 
+    /**
+     * Writes a request body directly to the connection output stream.
+     */
+    public interface RequestBodyWriter {
+
+        void writeTo(OutputStream out) throws IOException;
+
+        default boolean isStreaming() {
+            return true;
+        }
+
+        /**
+         * @return the number of bytes written by {@link #writeTo(OutputStream)}, -1 if unknown
+         */
+        default long getContentLength() {
+            return -1;
+        }
+    }
+
     static class ProxyInfo {
         String host;
         String port;
@@ -35,10 +35,11 @@ import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.JSONValue;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -149,37 +150,33 @@ public class JobConfigurationProxy {
 
     //upload app to MC
     public JSONObject upload(String mcUrl, AuthModel authModel, ProxySettings proxy, String appPath) throws IOException {
+        if (null == proxy) {
+            proxy = new ProxySettings();
+        }
+        JSONObject loginJson = loginToMC(mcUrl, authModel, proxy);
+        return upload(mcUrl, authModel, loginJson, proxy, appPath);
+    }
+
+    //upload app to MC reusing an existing login session, the file is streamed from disk
+    public JSONObject upload(String mcUrl, AuthModel authModel, JSONObject loginJson, ProxySettings proxy, String appPath) throws IOException {
         File appFile = new File(appPath);
+        if (!appFile.isFile()) {
+            throw new FileNotFoundException(appPath);
+        }
 
         String uploadUrl = mcUrl + Constants.APP_UPLOAD;
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
         StringBuilder content = new StringBuilder();
         content.append("\r\n").append("------").append(Constants.BOUNDARYSTR).append("\r\n");
         content.append("Content-Disposition: form-data; name=\"file\"; filename=\"" + appFile.getName() + "\"\r\n");
         content.append("Content-Type: application/octet-stream\r\n\r\n");
+        final byte[] head = content.toString().getBytes();
+        final byte[] tail = ("\r\n------" + Constants.BOUNDARYSTR + "--\r\n").getBytes();
 
-        outputStream.write(content.toString().getBytes());
-
-        try (FileInputStream in = new FileInputStream(appFile)) {
-            byte[] b = new byte[1024];
-            int i = 0;
-            while ((i = in.read(b)) != -1) {
-                outputStream.write(b, 0, i);
-            }
-        }
-
-        outputStream.write(("\r\n------" + Constants.BOUNDARYSTR + "--\r\n").getBytes());
-
-        byte[] bytes = outputStream.toByteArray();
-
-        outputStream.close();
         if (null == proxy) {
             proxy = new ProxySettings();
         }
         Map<String, String> headers = new HashMap<>();
-        JSONObject loginJson = loginToMC(mcUrl, authModel, proxy);
         if (loginJson != null) {
             String hp4mSecret = (String) loginJson.get(Constants.LOGIN_SECRET);
             String jsessionId = (String) loginJson.get(Constants.JSESSIONID);
@@ -200,7 +197,19 @@ public class JobConfigurationProxy {
         headers.put(Constants.FILENAME, appFile.getName());
 
         HttpUtils.ProxyInfo proxyInfo = HttpUtils.setProxyCfg(proxy.getFsProxyAddress(), proxy.getFsProxyUserName(), proxy.getFsProxyPassword());
-        HttpResponse response = HttpUtils.doPost(proxyInfo, uploadUrl, headers, bytes);
+        HttpResponse response = HttpUtils.doPostStream(proxyInfo, uploadUrl, headers, new HttpUtils.RequestBodyWriter() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(head);
+                Files.copy(appFile.toPath(), out);
+                out.write(tail);
+            }
+
+            @Override
+            public long getContentLength() {
+                return head.length + appFile.length() + tail.length;
+            }
+        });
 
         if (response != null && response.getJsonObject() != null) {
             return response.getJsonObject();
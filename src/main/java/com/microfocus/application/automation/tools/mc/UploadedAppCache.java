@@ -0,0 +1,123 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.mc;
+
+import com.microfocus.application.automation.tools.model.AuthModel;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Remembers the applications uploaded to Digital Lab servers by the SHA-256 of their package, so that
+ * an unchanged package is not sent to the same server again by the same user or access key. Entries live
+ * in the controller JVM only and are not checked against the server, so an application deleted there is
+ * not uploaded again until the controller restarts. The cache is therefore opt-in, it is switched on with
+ * the system property {@code <this class name>.enabled=true}.
+ */
+public final class UploadedAppCache {
+
+    private static final int MAX_ENTRIES = 500;
+    private static final boolean ENABLED = Boolean.getBoolean(UploadedAppCache.class.getName() + ".enabled");
+
+    private static final Map<String, String> uploadedApps = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private UploadedAppCache() {
+    }
+
+    /**
+     * @return true when the cache is turned on, callers can skip hashing the package otherwise
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return the upload response previously returned by the server for a package with the same hash uploaded
+     * with the same credentials, or null if it was not uploaded yet (or the cache is not enabled)
+     */
+    public static JSONObject get(String mcUrl, AuthModel authModel, String sha256) {
+        if (!ENABLED || sha256 == null) {
+            return null;
+        }
+        String json;
+        synchronized (uploadedApps) {
+            json = uploadedApps.get(toKey(mcUrl, authModel, sha256));
+        }
+        return json == null ? null : (JSONObject) JSONValue.parse(json);
+    }
+
+    /**
+     * records a successful upload, responses carrying an error are ignored
+     */
+    public static void put(String mcUrl, AuthModel authModel, String sha256, JSONObject app) {
+        if (!ENABLED || sha256 == null || app == null || Boolean.TRUE.equals(app.get("error"))) {
+            return;
+        }
+        synchronized (uploadedApps) {
+            uploadedApps.put(toKey(mcUrl, authModel, sha256), app.toJSONString());
+        }
+    }
+
+    public static void remove(String mcUrl, AuthModel authModel, String sha256) {
+        synchronized (uploadedApps) {
+            uploadedApps.remove(toKey(mcUrl, authModel, sha256));
+        }
+    }
+
+    static String toKey(String mcUrl, AuthModel authModel, String sha256) {
+        String url = mcUrl == null ? "" : mcUrl.trim().toLowerCase(Locale.ENGLISH);
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url + "|" + toIdentity(authModel) + "|" + sha256.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * the user and tenant for basic authentication, a hash of the access key otherwise (the key holds the secret)
+     */
+    private static String toIdentity(AuthModel authModel) {
+        if (authModel == null) {
+            return "";
+        }
+        if ("base".equals(authModel.getValue())) {
+            return "base:" + authModel.getMcUserName() + "#" + authModel.getMcTenantId();
+        }
+        String token = authModel.getMcExecToken();
+        return "token:" + (token == null ? "" : DigestUtils.sha256Hex(token.trim()));
+    }
+}
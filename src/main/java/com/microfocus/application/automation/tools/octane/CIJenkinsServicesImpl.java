@@ -172,35 +172,9 @@ public class CIJenkinsServicesImpl extends CIPluginServices {
     public CIJobsList getJobsList(boolean includeParameters, Long workspaceId) {
         ACLContext securityContext = startImpersonation(workspaceId);
         CIJobsList result = dtoFactory.newDTO(CIJobsList.class);
-        Map<String, PipelineNode> jobsMap = new HashMap<>();
 
         try {
-            Collection<String> jobNames = Jenkins.get().getJobNames();
-            for (String jobName : jobNames) {
-                String tempJobName = jobName;
-                try {
-                    Job tmpJob = (Job) Jenkins.get().getItemByFullName(tempJobName);
-
-                    if (!isJobIsRelevantForPipelineModule(tmpJob)) {
-                        continue;
-                    }
-
-                    PipelineNode tmpConfig;
-                    if (tmpJob != null && JobProcessorFactory.WORKFLOW_MULTI_BRANCH_JOB_NAME.equals(tmpJob.getParent().getClass().getName())) {
-                        tempJobName = tmpJob.getParent().getFullName();
-                        WorkflowMultiBranchProject parentItem = (WorkflowMultiBranchProject) Jenkins.get().getItem(tempJobName);
-                        if( (parentItem != null && parentItem.isDisabled()) || jobsMap.containsKey(tempJobName)){
-                            continue; //skip redundant creation config for multibranch job
-                        }
-                        tmpConfig = createPipelineNodeFromJobName(tempJobName);
-                    } else {
-                        tmpConfig = createPipelineNode(tempJobName, tmpJob, includeParameters);
-                    }
-                    jobsMap.put(tempJobName, tmpConfig);
-                } catch (Throwable e) {
-                    logger.error("failed to add job '" + tempJobName + "' to JobList", e);
-                }
-            }
+            Map<String, PipelineNode> jobsMap = JobsListSnapshot.getInstance().getJobs(includeParameters);
 
             if(jobsMap.isEmpty() && !Jenkins.get().hasPermission(Item.READ)){
                 //it is possible that user doesn't have general READ permission
@@ -372,7 +346,7 @@ public class CIJenkinsServicesImpl extends CIPluginServices {
             Run run = getRunByRefNames(jobId, buildId);
             if (run != null) {
                 try {
-                    result = new FileInputStream(run.getRootDir() + File.separator + TestListener.TEST_RESULT_FILE);
+                    result = TestListener.openTestResults(run.getRootDir());
                 } catch (Exception fnfe) {
                     logger.error("'" + TestListener.TEST_RESULT_FILE + "' file no longer exists, test results of '" + jobId + " #" + buildId + "' won't be pushed to Octane", fnfe);
                 }
@@ -643,7 +617,7 @@ public class CIJenkinsServicesImpl extends CIPluginServices {
         ImpersonationUtil.stopImpersonation(impersonatedContext);
     }
 
-    private PipelineNode createPipelineNode(String name, Job job, boolean includeParameters) {
+    static PipelineNode createPipelineNode(String name, Job job, boolean includeParameters) {
         PipelineNode tmpConfig = dtoFactory.newDTO(PipelineNode.class)
                 .setJobCiId(JobProcessorFactory.getFlowProcessor(job).getTranslatedJobName())
                 .setName(name);
@@ -667,7 +641,7 @@ public class CIJenkinsServicesImpl extends CIPluginServices {
         return tmpConfig;
     }
 
-    private PipelineNode createPipelineNodeFromJobName(String name) {
+    static PipelineNode createPipelineNodeFromJobName(String name) {
         return dtoFactory.newDTO(PipelineNode.class)
                 .setJobCiId(BuildHandlerUtils.translateFolderJobName(name))
                 .setName(name);
@@ -0,0 +1,246 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane;
+
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import com.microfocus.application.automation.tools.octane.model.processors.projects.JobProcessorFactory;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import org.apache.logging.log4j.Logger;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot of the jobs listed to Octane by {@link CIJenkinsServicesImpl#getJobsList(boolean, Long)}.
+ * The job names are loaded once and then kept current by item events, and the pipeline node of a job is built
+ * once instead of on every request. Permissions, disabled state and multibranch grouping are still evaluated
+ * when the list is read, with the impersonated user of the requesting workspace.
+ */
+public final class JobsListSnapshot {
+    private static final Logger logger = SDKBasedLoggerProvider.getLogger(JobsListSnapshot.class);
+    private static final JobsListSnapshot instance = new JobsListSnapshot();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    //upstream projects of a job change with the configuration of other jobs, so any item event outdates the parameters
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded;
+
+    private JobsListSnapshot() {
+    }
+
+    public static JobsListSnapshot getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the relevant jobs the current user can read, by their name in the jobs list
+     */
+    Map<String, PipelineNode> getJobs(boolean includeParameters) {
+        if (!loaded) {
+            load();
+        }
+
+        Map<String, PipelineNode> jobsMap = new HashMap<>();
+        long currentVersion = version.get();
+        for (Entry entry : entries.values()) {
+            String jobName = entry.fullName;
+            try {
+                Job job = Jenkins.get().getItemByFullName(jobName, Job.class);
+                if (!CIJenkinsServicesImpl.isJobIsRelevantForPipelineModule(job)) {
+                    continue;
+                }
+
+                if (JobProcessorFactory.WORKFLOW_MULTI_BRANCH_JOB_NAME.equals(job.getParent().getClass().getName())) {
+                    WorkflowMultiBranchProject parentItem = (WorkflowMultiBranchProject) job.getParent();
+                    jobName = parentItem.getFullName();
+                    if (parentItem.isDisabled() || jobsMap.containsKey(jobName)) {
+                        continue; //skip redundant creation config for multibranch job
+                    }
+                    jobsMap.put(jobName, entry.getMultiBranchNode(jobName));
+                } else {
+                    jobsMap.put(jobName, entry.getNode(job, includeParameters, currentVersion));
+                }
+            } catch (Throwable e) {
+                logger.error("failed to add job '" + jobName + "' to JobList", e);
+            }
+        }
+        return jobsMap;
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try (ACLContext ignored = ACL.as(ACL.SYSTEM)) {
+            for (Job job : Jenkins.get().allItems(Job.class)) {
+                entries.putIfAbsent(job.getFullName(), new Entry(job.getFullName()));
+            }
+        }
+        loaded = true;
+        logger.info("loaded jobs list snapshot of " + entries.size() + " jobs in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private synchronized void put(Item item) {
+        version.incrementAndGet();
+        if (!loaded) {
+            return;
+        }
+
+        try (ACLContext ignored = ACL.as(ACL.SYSTEM)) {
+            for (Job job : item.getAllJobs()) {
+                entries.put(job.getFullName(), new Entry(job.getFullName()));
+            }
+        }
+    }
+
+    private synchronized void remove(String fullName) {
+        version.incrementAndGet();
+        entries.remove(fullName);
+        String childPrefix = fullName + "/";
+        entries.keySet().removeIf(name -> name.startsWith(childPrefix));
+    }
+
+    private synchronized void clear() {
+        version.incrementAndGet();
+        loaded = false;
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final String fullName;
+        private volatile PipelineNode node;
+        private volatile VersionedNode nodeWithParameters;
+
+        private Entry(String fullName) {
+            this.fullName = fullName;
+        }
+
+        private PipelineNode getNode(Job job, boolean includeParameters, long currentVersion) {
+            if (includeParameters) {
+                VersionedNode cached = nodeWithParameters;
+                if (cached == null || cached.version != currentVersion) {
+                    cached = new VersionedNode(CIJenkinsServicesImpl.createPipelineNode(fullName, job, true), currentVersion);
+                    nodeWithParameters = cached;
+                }
+                return cached.node;
+            }
+
+            PipelineNode ret = node;
+            if (ret == null) {
+                ret = CIJenkinsServicesImpl.createPipelineNode(fullName, job, false);
+                node = ret;
+            }
+            return ret;
+        }
+
+        private PipelineNode getMultiBranchNode(String parentName) {
+            PipelineNode ret = node;
+            if (ret == null) {
+                ret = CIJenkinsServicesImpl.createPipelineNodeFromJobName(parentName);
+                node = ret;
+            }
+            return ret;
+        }
+    }
+
+    private static final class VersionedNode {
+        private final PipelineNode node;
+        private final long version;
+
+        private VersionedNode(PipelineNode node, long version) {
+            this.node = node;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Keeps the snapshot current: created, copied and reconfigured items are (re)added with all their jobs,
+     * deleted and moved items are dropped with everything below them.
+     */
+    @Extension
+    public static class ItemEventsListener extends ItemListener {
+
+        @Override
+        public void onCreated(Item item) {
+            instance.put(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            instance.put(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            instance.remove(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            instance.remove(oldFullName);
+            instance.put(item);
+        }
+
+        @Override
+        public void onLoaded() {
+            //configuration was (re)loaded from disk, all items are new instances
+            instance.clear();
+        }
+    }
+
+    /**
+     * Jobs changed programmatically (properties, parameters) are only saved, without an item update event.
+     */
+    @Extension
+    public static class JobSavedListener extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Job) {
+                instance.put((Job) o);
+            }
+        }
+    }
+}
@@ -47,6 +47,7 @@ import jenkins.tasks.SimpleBuildStep;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
 import javax.annotation.Nonnull;
@@ -62,6 +63,7 @@ import java.util.List;
 public class CoveragePublisher extends Recorder implements SimpleBuildStep {
 	private final String jacocoPathPattern;
 	private final String lcovPathPattern;
+	private boolean mergeReports;
 
 	/**
 	 * this ctor is being called from configuration page.
@@ -94,6 +96,20 @@ public class CoveragePublisher extends Recorder implements SimpleBuildStep {
 		return lcovPathPattern;
 	}
 
+	public boolean isMergeReports() {
+		return mergeReports;
+	}
+
+	/**
+	 * merge the matching reports of each type into a single report on the node of the workspace before copying it
+	 *
+	 * @param mergeReports true to merge
+	 */
+	@DataBoundSetter
+	public void setMergeReports(boolean mergeReports) {
+		this.mergeReports = mergeReports;
+	}
+
 	/**
 	 * this is where we build the project. this method is being called when we run the build
 	 *
@@ -127,8 +143,8 @@ public class CoveragePublisher extends Recorder implements SimpleBuildStep {
 		CoveragePublisherAction action = new CoveragePublisherAction(build, listener);
 		build.addAction(action);
 
-		List<String> jacocoReportFileNames = action.copyCoverageReportsToBuildFolder(jacocoPathPattern, CoverageService.Jacoco.JACOCO_DEFAULT_FILE_NAME);
-		List<String> lcovReportFileNames = action.copyCoverageReportsToBuildFolder(lcovPathPattern, CoverageService.Lcov.LCOV_DEFAULT_FILE_NAME);
+		List<String> jacocoReportFileNames = action.copyCoverageReportsToBuildFolder(jacocoPathPattern, CoverageService.Jacoco.JACOCO_DEFAULT_FILE_NAME, mergeReports);
+		List<String> lcovReportFileNames = action.copyCoverageReportsToBuildFolder(lcovPathPattern, CoverageService.Lcov.LCOV_DEFAULT_FILE_NAME, mergeReports);
 		boolean copyReportsToBuildFolderStatus = enqueueReports(build, jacocoReportFileNames, CoverageReportType.JACOCOXML) ||
 				enqueueReports(build, lcovReportFileNames, CoverageReportType.LCOV);
 
@@ -0,0 +1,178 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.actions;
+
+import hudson.FilePath;
+import hudson.remoting.RemoteOutputStream;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterOutputStream;
+
+/**
+ * Transfers report files from the workspace to the controller as a stream: the content is deflated on the node
+ * of the workspace and inflated while it is written on the controller, so big reports are neither held in memory
+ * nor sent uncompressed over the remoting channel.
+ */
+public final class WorkspaceFilesTransfer {
+	private static final int MAX_CONCURRENT_TRANSFERS = Integer.getInteger(WorkspaceFilesTransfer.class.getName() + ".maxConcurrentTransfers", 4);
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private WorkspaceFilesTransfer() {
+	}
+
+	/**
+	 * content that is produced on the node of the workspace
+	 */
+	public interface Content extends Serializable {
+		void writeTo(File workspace, OutputStream out) throws IOException;
+	}
+
+	/**
+	 * @param path absolute path or path relative to the workspace
+	 * @return the content of a single file
+	 */
+	public static Content fileContent(String path) {
+		return new FileContent(path);
+	}
+
+	/**
+	 * writes the content to the target file on the controller
+	 *
+	 * @return the size of the target file
+	 */
+	public static long transfer(FilePath workspace, Content content, File target) throws IOException, InterruptedException {
+		boolean transferred = false;
+		try (OutputStream os = new InflaterOutputStream(new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE))) {
+			workspace.act(new TransferCallable(content, new RemoteOutputStream(os)));
+			// make sure all the packets the node sent are written before the target is closed
+			VirtualChannel channel = workspace.getChannel();
+			if (channel != null) {
+				channel.syncLocalIO();
+			}
+			transferred = true;
+		} finally {
+			if (!transferred) {
+				Files.deleteIfExists(target.toPath());
+			}
+		}
+		return target.length();
+	}
+
+	/**
+	 * transfers several contents at once, the content at each index is written to the target at the same index
+	 *
+	 * @return the failure of each transfer, null for the transfers that succeeded
+	 */
+	public static List<Exception> transferAll(FilePath workspace, List<? extends Content> contents, List<File> targets) throws InterruptedException {
+		List<Exception> failures = new ArrayList<>(Collections.nCopies(contents.size(), null));
+		if (contents.isEmpty()) {
+			return failures;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENT_TRANSFERS, contents.size()),
+				new NamingThreadFactory(new DaemonThreadFactory(), WorkspaceFilesTransfer.class.getSimpleName()));
+		try {
+			List<Future<Long>> futures = new ArrayList<>(contents.size());
+			for (int i = 0; i < contents.size(); i++) {
+				Content content = contents.get(i);
+				File target = targets.get(i);
+				futures.add(executor.submit(() -> transfer(workspace, content, target)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					failures.set(i, cause instanceof Exception ? (Exception) cause : e);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return failures;
+	}
+
+	private static final class TransferCallable extends MasterToSlaveFileCallable<Void> {
+		private static final long serialVersionUID = 1L;
+		private final Content content;
+		private final RemoteOutputStream out;
+
+		private TransferCallable(Content content, RemoteOutputStream out) {
+			this.content = content;
+			this.out = out;
+		}
+
+		@Override
+		public Void invoke(File workspace, VirtualChannel channel) throws IOException {
+			Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+			try (OutputStream os = new DeflaterOutputStream(out, deflater, BUFFER_SIZE)) {
+				content.writeTo(workspace, os);
+			} finally {
+				deflater.end();
+			}
+			return null;
+		}
+	}
+
+	private static final class FileContent implements Content {
+		private static final long serialVersionUID = 1L;
+		private final String path;
+
+		private FileContent(String path) {
+			this.path = path;
+		}
+
+		@Override
+		public void writeTo(File workspace, OutputStream out) throws IOException {
+			File file = new File(path);
+			if (!file.isAbsolute()) {
+				file = new File(workspace, path);
+			}
+			Files.copy(file.toPath(), out);
+		}
+	}
+}
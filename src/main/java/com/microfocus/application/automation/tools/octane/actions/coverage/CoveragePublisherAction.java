@@ -55,6 +55,16 @@ public class CoveragePublisherAction implements Action {
 	 * @return list of file names that were copied; NEVER NULL; if an empty list returned - no coverage reports found
 	 */
 	public List<String> copyCoverageReportsToBuildFolder(String filePattern, String defaultFileName) {
+		return copyCoverageReportsToBuildFolder(filePattern, defaultFileName, false);
+	}
+
+	/**
+	 * this method copy all reports from specified path pattern, several reports are copied at once
+	 *
+	 * @param mergeReports merge the matching reports into a single report on the node of the workspace before the copy
+	 * @return list of file names that were copied; NEVER NULL; if an empty list returned - no coverage reports found
+	 */
+	public List<String> copyCoverageReportsToBuildFolder(String filePattern, String defaultFileName, boolean mergeReports) {
 		List<String> result = new LinkedList<>();
 		FilePath workspace = BuildHandlerUtils.getWorkspace(build);
 		if (workspace != null) {
@@ -62,17 +72,24 @@ public class CoveragePublisherAction implements Action {
 				CoverageService.log("start copying coverage report to build folder, using file patten of " + filePattern);
 				String[] files = CoverageService.getCoverageFiles(workspace, filePattern);
 				List<String> matchingReportFiles = filterFilesByFileExtension(files);
-				int index = 0;
 
-				for (String fileName : matchingReportFiles) {
-					File resultFile = new File(workspace.child(fileName).toURI());
-					String nextOutputFilename = CoverageService.getCoverageReportFileName(index++, defaultFileName);
-					result.add(nextOutputFilename);
-					File targetReportFile = new File(build.getRootDir(), nextOutputFilename);
-					CoverageService.copyCoverageFile(resultFile, targetReportFile, workspace);
+				if (mergeReports && matchingReportFiles.size() > 1) {
+					String outputFilename = CoverageService.getCoverageReportFileName(0, defaultFileName);
+					boolean jacoco = defaultFileName.endsWith(CoverageService.Jacoco.JACOCO_FILE_EXTENSION);
+					if (CoverageService.copyMergedCoverageFile(matchingReportFiles, jacoco, new File(build.getRootDir(), outputFilename), workspace)) {
+						result.add(outputFilename);
+					}
+				} else if (!matchingReportFiles.isEmpty()) {
+					List<File> targetReportFiles = new ArrayList<>(matchingReportFiles.size());
+					for (int i = 0; i < matchingReportFiles.size(); i++) {
+						targetReportFiles.add(new File(build.getRootDir(), CoverageService.getCoverageReportFileName(i, defaultFileName)));
+					}
+					for (File copied : CoverageService.copyCoverageFiles(matchingReportFiles, targetReportFiles, workspace)) {
+						result.add(copied.getName());
+					}
 				}
 
-				if (result.isEmpty()) {
+				if (matchingReportFiles.isEmpty()) {
 					// most likely a configuration error in the job - e.g. false pattern to match the cucumber result files
 					CoverageService.log("No coverage file that matched the specified pattern was found in workspace");
 				}
@@ -0,0 +1,253 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.actions.coverage;
+
+import com.microfocus.application.automation.tools.octane.actions.WorkspaceFilesTransfer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges several coverage reports into a single report, on the node of the workspace before the transfer.
+ * LCOV reports are concatenated. Each JaCoCo XML report becomes a group, named after the report, of a merged report
+ * whose session infos and counters are the union and the sums of the merged reports.
+ */
+public class CoverageReportMerger {
+
+    private static final String REPORT = "report";
+    private static final String SESSION_INFO = "sessioninfo";
+    private static final String GROUP = "group";
+    private static final String COUNTER = "counter";
+    private static final String MERGED_REPORT_NAME = "merged";
+
+    private CoverageReportMerger() {
+    }
+
+    /**
+     * @param paths report paths relative to the workspace
+     * @param jacoco true for JaCoCo XML reports, false for LCOV reports
+     * @return the merged content of the reports
+     */
+    public static WorkspaceFilesTransfer.Content mergedContent(List<String> paths, boolean jacoco) {
+        return new MergedContent(paths, jacoco);
+    }
+
+    public static void mergeLcov(List<File> reports, OutputStream out) throws IOException {
+        for (File report : reports) {
+            long size = Files.size(report.toPath());
+            Files.copy(report.toPath(), out);
+            if (size > 0 && !endsWithNewLine(report, size)) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private static boolean endsWithNewLine(File report, long size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(report, "r")) {
+            file.seek(size - 1);
+            return file.read() == '\n';
+        }
+    }
+
+    public static void mergeJacoco(List<File> reports, OutputStream out) throws IOException {
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+        Map<String, long[]> totals = new LinkedHashMap<>();
+
+        try {
+            XMLEventWriter writer = XMLOutputFactory.newInstance().createXMLEventWriter(out, "UTF-8");
+            writer.add(eventFactory.createStartDocument("UTF-8", "1.0"));
+            List<Attribute> reportAttributes = new ArrayList<>();
+            reportAttributes.add(eventFactory.createAttribute("name", MERGED_REPORT_NAME));
+            writer.add(eventFactory.createStartElement("", "", REPORT, reportAttributes.iterator(), null));
+
+            // session infos must precede the groups, they are read by a first pass that stops at the first other element
+            for (File report : reports) {
+                copySessionInfos(inputFactory, report, writer);
+            }
+            for (File report : reports) {
+                copyReportAsGroup(inputFactory, eventFactory, report, writer, totals);
+            }
+
+            for (Map.Entry<String, long[]> total : totals.entrySet()) {
+                List<Attribute> attributes = new ArrayList<>();
+                attributes.add(eventFactory.createAttribute("type", total.getKey()));
+                attributes.add(eventFactory.createAttribute("missed", String.valueOf(total.getValue()[0])));
+                attributes.add(eventFactory.createAttribute("covered", String.valueOf(total.getValue()[1])));
+                writer.add(eventFactory.createStartElement("", "", COUNTER, attributes.iterator(), null));
+                writer.add(eventFactory.createEndElement("", "", COUNTER));
+            }
+            writer.add(eventFactory.createEndElement("", "", REPORT));
+            writer.add(eventFactory.createEndDocument());
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to merge JaCoCo reports: " + e.getMessage(), e);
+        }
+    }
+
+    private static void copySessionInfos(XMLInputFactory inputFactory, File report, XMLEventWriter writer) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(report.toPath()))) {
+            XMLEventReader reader = inputFactory.createXMLEventReader(in);
+            try {
+                int depth = 0;
+                boolean inSessionInfo = false;
+                while (reader.hasNext()) {
+                    XMLEvent event = reader.nextEvent();
+                    if (event.isStartElement()) {
+                        depth++;
+                        if (depth == 2) {
+                            if (!SESSION_INFO.equals(event.asStartElement().getName().getLocalPart())) {
+                                return;
+                            }
+                            inSessionInfo = true;
+                        }
+                    }
+                    if (inSessionInfo) {
+                        writer.add(event);
+                    }
+                    if (event.isEndElement()) {
+                        if (depth == 2) {
+                            inSessionInfo = false;
+                        }
+                        depth--;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static void copyReportAsGroup(XMLInputFactory inputFactory, XMLEventFactory eventFactory, File report,
+                                          XMLEventWriter writer, Map<String, long[]> totals) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(report.toPath()))) {
+            XMLEventReader reader = inputFactory.createXMLEventReader(in);
+            try {
+                int depth = 0;
+                boolean skipping = false;
+                while (reader.hasNext()) {
+                    XMLEvent event = reader.nextEvent();
+                    if (event.isStartElement()) {
+                        depth++;
+                        StartElement element = event.asStartElement();
+                        String name = element.getName().getLocalPart();
+                        if (depth == 1) {
+                            Attribute reportName = element.getAttributeByName(new QName("name"));
+                            List<Attribute> attributes = new ArrayList<>();
+                            attributes.add(eventFactory.createAttribute("name", reportName != null ? reportName.getValue() : report.getName()));
+                            writer.add(eventFactory.createStartElement("", "", GROUP, attributes.iterator(), null));
+                            continue;
+                        }
+                        if (depth == 2) {
+                            skipping = SESSION_INFO.equals(name);
+                            if (COUNTER.equals(name)) {
+                                addToTotals(element, totals);
+                            }
+                        }
+                    }
+                    if (event.isEndElement()) {
+                        depth--;
+                        if (depth == 0) {
+                            writer.add(eventFactory.createEndElement("", "", GROUP));
+                            continue;
+                        }
+                        if (depth == 1 && skipping) {
+                            skipping = false;
+                            continue;
+                        }
+                    }
+                    if (depth >= 1 && !skipping && !event.isStartDocument() && !event.isEndDocument()) {
+                        writer.add(event);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static void addToTotals(StartElement counter, Map<String, long[]> totals) {
+        Attribute type = counter.getAttributeByName(new QName("type"));
+        Attribute missed = counter.getAttributeByName(new QName("missed"));
+        Attribute covered = counter.getAttributeByName(new QName("covered"));
+        if (type == null || missed == null || covered == null) {
+            return;
+        }
+        long[] total = totals.computeIfAbsent(type.getValue(), k -> new long[2]);
+        total[0] += Long.parseLong(missed.getValue());
+        total[1] += Long.parseLong(covered.getValue());
+    }
+
+    private static final class MergedContent implements WorkspaceFilesTransfer.Content {
+        private static final long serialVersionUID = 1L;
+        private final List<String> paths;
+        private final boolean jacoco;
+
+        private MergedContent(List<String> paths, boolean jacoco) {
+            this.paths = new ArrayList<>(paths);
+            this.jacoco = jacoco;
+        }
+
+        @Override
+        public void writeTo(File workspace, OutputStream out) throws IOException {
+            List<File> reports = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                reports.add(new File(workspace, path));
+            }
+            if (jacoco) {
+                mergeJacoco(reports, out);
+            } else {
+                mergeLcov(reports, out);
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@
 
 package com.microfocus.application.automation.tools.octane.actions.coverage;
 
+import com.microfocus.application.automation.tools.octane.actions.WorkspaceFilesTransfer;
 import hudson.FilePath;
 import hudson.Util;
 import hudson.model.TaskListener;
@@ -37,9 +38,10 @@ import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.types.FileSet;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Helper Service for coverage publisher
@@ -75,28 +77,68 @@ public class CoverageService {
     public static void copyCoverageFile(File resultFile, File targetReportFile, final FilePath workspace) throws IOException, InterruptedException {
         log(String.format("Copying %s to %s", resultFile.getPath(), targetReportFile));
 
-        byte[] content = workspace.act(new FileContentCallable(resultFile));
-
-        if (validateContent(content)) {
-            log("Got coverage file content");
+        long size = WorkspaceFilesTransfer.transfer(workspace, WorkspaceFilesTransfer.fileContent(resultFile.getPath()), targetReportFile);
+        validateCopiedFile(size, targetReportFile);
+    }
 
-            try (FileOutputStream os = new FileOutputStream(targetReportFile)) {
-                os.write(content);
+    /**
+     * copies several coverage files at once, each file is streamed compressed from the workspace
+     *
+     * @param resultFiles paths relative to the workspace
+     * @param targetReportFiles target of each result file
+     * @return the target files that were copied successfully
+     */
+    public static List<File> copyCoverageFiles(List<String> resultFiles, List<File> targetReportFiles, final FilePath workspace) throws InterruptedException {
+        List<WorkspaceFilesTransfer.Content> contents = new ArrayList<>(resultFiles.size());
+        for (int i = 0; i < resultFiles.size(); i++) {
+            log(String.format("Copying %s to %s", resultFiles.get(i), targetReportFiles.get(i)));
+            contents.add(WorkspaceFilesTransfer.fileContent(resultFiles.get(i)));
+        }
+        List<Exception> failures = WorkspaceFilesTransfer.transferAll(workspace, contents, targetReportFiles);
+        List<File> copied = new ArrayList<>();
+        for (int i = 0; i < resultFiles.size(); i++) {
+            File target = targetReportFiles.get(i);
+            if (failures.get(i) != null) {
+                log(String.format("Copying %s failed because of %s", resultFiles.get(i), failures.get(i)));
+            } else if (validateCopiedFile(target.length(), target)) {
+                copied.add(target);
             }
+        }
+        return copied;
+    }
+
+    /**
+     * merges the coverage files into a single report on the node of the workspace and copies it
+     *
+     * @param resultFiles paths relative to the workspace
+     * @param jacoco true for JaCoCo XML reports, false for LCOV reports
+     * @return true if the merged report was copied successfully
+     */
+    public static boolean copyMergedCoverageFile(List<String> resultFiles, boolean jacoco, File targetReportFile, final FilePath workspace) throws IOException, InterruptedException {
+        log(String.format("Merging %d coverage files to %s", resultFiles.size(), targetReportFile));
+
+        long size = WorkspaceFilesTransfer.transfer(workspace, CoverageReportMerger.mergedContent(resultFiles, jacoco), targetReportFile);
+        return validateCopiedFile(size, targetReportFile);
+    }
+
+    private static boolean validateCopiedFile(long size, File targetReportFile) throws IOException {
+        if (validateContent(size)) {
             log(String.format("coverage file copied successfully to %s", targetReportFile.getPath()));
-        } else {
-            log("coverage file content corrupted, failed to copy the file to target destination");
+            return true;
         }
+        Files.deleteIfExists(targetReportFile.toPath());
+        log("coverage file content corrupted, failed to copy the file to target destination");
+        return false;
     }
 
     /**
      * most of the validations will be done in octane side
      * this is a place holder to do more validations if needed
-     * @param content of the file
+     * @param size of the file
      * @return status
      */
-    private static boolean validateContent(byte[] content) {
-        return content.length > 0;
+    private static boolean validateContent(long size) {
+        return size > 0;
     }
 
     public static void log(final String message) {
@@ -126,18 +168,4 @@ public class CoverageService {
             return ds.getIncludedFiles();
         }
     }
-
-    private static final class FileContentCallable extends MasterToSlaveFileCallable<byte[]> {
-        private final File file;
-
-        private FileContentCallable(File file) {
-            this.file = file;
-        }
-
-        @Override
-        public byte[] invoke(File rootDir, VirtualChannel channel) throws IOException {
-            return Files.readAllBytes(file.toPath());
-        }
-    }
-
 }
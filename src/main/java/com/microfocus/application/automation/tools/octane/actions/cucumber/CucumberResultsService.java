@@ -29,6 +29,7 @@
 package com.microfocus.application.automation.tools.octane.actions.cucumber;
 
 import com.microfocus.application.automation.tools.octane.Messages;
+import com.microfocus.application.automation.tools.octane.actions.WorkspaceFilesTransfer;
 import hudson.FilePath;
 import hudson.Util;
 import hudson.model.TaskListener;
@@ -38,9 +39,13 @@ import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.types.FileSet;
 
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Helper Service for Gherkin results
@@ -68,30 +73,67 @@ public class CucumberResultsService {
     }
 
     public static void copyResultFile(File resultFile, File destinationFolder, final FilePath workspace) throws IOException, InterruptedException {
-        File existingReportFile;
-        int existingResultIndex = -1;
-
-        log("Copying %s to %s", resultFile.getPath(), destinationFolder.getPath());
+        copyResultFiles(Collections.singletonList(resultFile), destinationFolder, workspace);
+    }
 
-        do {
-            existingReportFile = new File(destinationFolder, getGherkinResultFileName(++existingResultIndex));
-        } while (existingReportFile.exists());
-        log("New file name on destination will be %s", existingReportFile.getPath());
+    /**
+     * copies several result files at once, each file is streamed compressed from the workspace.
+     * All the files are tried, the first failure is thrown afterwards.
+     */
+    public static void copyResultFiles(List<File> resultFiles, File destinationFolder, final FilePath workspace) throws IOException, InterruptedException {
+        List<WorkspaceFilesTransfer.Content> contents = new ArrayList<>(resultFiles.size());
+        List<File> targets = new ArrayList<>(resultFiles.size());
+        int existingResultIndex = -1;
+        for (File resultFile : resultFiles) {
+            File existingReportFile;
+            log("Copying %s to %s", resultFile.getPath(), destinationFolder.getPath());
 
-        byte[] content = workspace.act(new FileContentCallable(resultFile));
-        log("Got result file content");
+            do {
+                existingReportFile = new File(destinationFolder, getGherkinResultFileName(++existingResultIndex));
+            } while (existingReportFile.exists());
+            log("New file name on destination will be %s", existingReportFile.getPath());
 
-        validateContent(content);
+            contents.add(WorkspaceFilesTransfer.fileContent(resultFile.getPath()));
+            targets.add(existingReportFile);
+        }
 
-        File target = existingReportFile;
-        try (FileOutputStream os = new FileOutputStream(target)) {
-            os.write(content);
+        List<Exception> failures = WorkspaceFilesTransfer.transferAll(workspace, contents, targets);
+        Exception firstFailure = null;
+        for (int i = 0; i < targets.size(); i++) {
+            File target = targets.get(i);
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                try {
+                    validateContent(target);
+                    log("Result file copied to %s", target.getPath());
+                } catch (IllegalArgumentException e) {
+                    Files.deleteIfExists(target.toPath());
+                    failure = e;
+                }
+            }
+            if (failure != null && firstFailure == null) {
+                firstFailure = failure;
+            }
+        }
+        if (firstFailure instanceof IOException) {
+            throw (IOException) firstFailure;
+        } else if (firstFailure instanceof RuntimeException) {
+            throw (RuntimeException) firstFailure;
+        } else if (firstFailure != null) {
+            throw new IOException(firstFailure);
         }
-        log("Result file copied to %s", target.getPath());
     }
 
-    private static void validateContent(byte[] content) {
-        String contentStr = new String(content, 0, Math.min(content.length , 2000));
+    private static void validateContent(File target) throws IOException {
+        byte[] head = new byte[2000];
+        int length = 0;
+        try (InputStream in = new FileInputStream(target)) {
+            int read;
+            while (length < head.length && (read = in.read(head, length, head.length - length)) != -1) {
+                length += read;
+            }
+        }
+        String contentStr = new String(head, 0, length);
         //Heuristic validation. we don't check the whole file structure here - we should be quick.
         if(!contentStr.contains("<features")) {
             throw new IllegalArgumentException("The file is not Octane Gherkin results file");
@@ -123,18 +165,4 @@ public class CucumberResultsService {
             return ds.getIncludedFiles();
         }
     }
-
-    private static final class FileContentCallable extends MasterToSlaveFileCallable<byte[]> {
-        private final File file;
-
-        private FileContentCallable(File file) {
-            this.file = file;
-        }
-
-        @Override
-        public byte[] invoke(File rootDir, VirtualChannel channel) throws IOException {
-            return Files.readAllBytes(file.toPath());
-        }
-    }
-
 }
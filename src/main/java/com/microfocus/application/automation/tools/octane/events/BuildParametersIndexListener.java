@@ -26,59 +26,39 @@
  * ___________________________________________________________________
  */
 
-package com.microfocus.application.automation.tools.octane.tests.impl;
+package com.microfocus.application.automation.tools.octane.events;
 
 import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
-import hudson.FilePath;
+import com.microfocus.application.automation.tools.octane.model.processors.projects.BuildParametersIndex;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-
-public class ObjectStreamIterator<E> implements Iterator<E> {
-    private static Logger logger = SDKBasedLoggerProvider.getLogger(ObjectStreamIterator.class);
-
-    private ObjectInputStream ois;
-    private E next;
-
-    public ObjectStreamIterator(FilePath filePath) throws IOException, InterruptedException {
-        this.ois = new ObjectInputStream(new BufferedInputStream(filePath.read()));
-    }
+/**
+ * Run Listener that keeps the Octane parameters to build index of each job up to date
+ */
 
-    @Override
-    public boolean hasNext() {
-        if (next != null) {
-            return true;
-        }
-        try {
-            next = (E) ois.readObject();
-            return true;
-        } catch (Throwable e) {
-            try {
-                ois.close();
-            } catch (IOException ioe) {
-                logger.error("Failed to close the stream", ioe); // NON-NLS
-            }
-            return false;
-        }
-    }
+@Extension
+public final class BuildParametersIndexListener extends RunListener<Run> {
+	private static final Logger logger = SDKBasedLoggerProvider.getLogger(BuildParametersIndexListener.class);
 
-    @Override
-    public E next() {
-        if (hasNext()) {
-            E value = next;
-            next = null;
-            return value;
-        } else {
-            throw new NoSuchElementException();
-        }
-    }
+	@Override
+	public void onStarted(Run run, TaskListener listener) {
+		try {
+			BuildParametersIndex.onStarted(run);
+		} catch (Throwable throwable) {
+			logger.error("failed to index parameters of " + run, throwable);
+		}
+	}
 
-    @Override
-    public void remove() {
-        throw new UnsupportedOperationException();
-    }
+	@Override
+	public void onDeleted(Run run) {
+		try {
+			BuildParametersIndex.onDeleted(run);
+		} catch (Throwable throwable) {
+			logger.error("failed to remove " + run + " from parameters index", throwable);
+		}
+	}
 }
@@ -144,17 +144,13 @@ public abstract class AbstractProjectProcessor<T extends Job> {
 				});
 			});
 
-			job.getBuilds().forEach(build -> {
-				if (!foundInfo.found) {
-					Run run = (Run)build;
-					run.getActions(ParametersAction.class).forEach(action -> {
-						if (checkIfParamExistAndEqual(action, paramToSearch, paramValueToSearch)) {
-							stopBuild(run);
-							foundInfo.found = true;
-						}
-					});
+			if (!foundInfo.found) {
+				Run run = BuildParametersIndex.findBuild(job, paramToSearch, paramValueToSearch);
+				if (run != null) {
+					stopBuild(run);
+					foundInfo.found = true;
 				}
-			});
+			}
 		}
 	}
 
@@ -200,30 +196,30 @@ public abstract class AbstractProjectProcessor<T extends Job> {
 				});
 			}
 
-			job.getBuilds().forEach(build -> {
-				if (!foundInfo.found) {
-					Run aBuild = (Run) build;
-					aBuild.getActions(ParametersAction.class).forEach(action -> {
-						if (checkIfParamExistAndEqual(action, paramName, paramValue)) {
-							if (aBuild.isBuilding()) {
-								status.setBuildStatus(CIBuildStatus.RUNNING);
-							} else {
-								status.setBuildStatus(CIBuildStatus.FINISHED);
-								status.setResult(BuildHandlerUtils.translateRunResult(aBuild));
-								status.setEnvironmentOutputtedParameters(OutputEnvironmentParametersHelper.getOutputEnvironmentParams(aBuild));
-							}
-							status.setAllBuildParams(ParameterProcessors.getInstances(aBuild));
-							status.setBuildCiId(BuildHandlerUtils.getBuildCiId(aBuild));
-							foundInfo.found = true;
-						}
-					});
-				}
-			});
+			if (foundInfo.found) {
+				return status;
+			}
+			Run aBuild = BuildParametersIndex.findBuild(job, paramName, paramValue);
+			if (aBuild != null) {
+				setFoundBuildStatus(status, aBuild);
+			}
 		}
 
 		return status;
 	}
 
+	private void setFoundBuildStatus(CIBuildStatusInfo status, Run aBuild) {
+		if (aBuild.isBuilding()) {
+			status.setBuildStatus(CIBuildStatus.RUNNING);
+		} else {
+			status.setBuildStatus(CIBuildStatus.FINISHED);
+			status.setResult(BuildHandlerUtils.translateRunResult(aBuild));
+			status.setEnvironmentOutputtedParameters(OutputEnvironmentParametersHelper.getOutputEnvironmentParams(aBuild));
+		}
+		status.setAllBuildParams(ParameterProcessors.getInstances(aBuild));
+		status.setBuildCiId(BuildHandlerUtils.getBuildCiId(aBuild));
+	}
+
 	private String getParameterValueIfExist(ParametersAction parametersAction, String paramName) {
 		ParameterValue pv = parametersAction.getParameter(paramName);
 		if (pv != null) {
@@ -0,0 +1,238 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.model.processors.projects;
+
+import com.hp.octane.integrations.utils.SdkConstants;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import hudson.model.Job;
+import hudson.model.ParameterValue;
+import hudson.model.ParametersAction;
+import hudson.model.Run;
+import hudson.util.AtomicFileWriter;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+/**
+ * Per job index from the Octane identification parameters of a build (suite run id, auto action execution id)
+ * to the build number, so finding the build of a suite run does not load every retained build.
+ * The index is kept in the job folder, maintained by a run listener and built from the existing builds
+ * the first time it is needed. A value missing from the index (e.g. a build loaded from disk that the
+ * listener never saw) falls back to scanning the builds, and the build found is added to the index.
+ * Build id lookups do not need it, they go to the build directly.
+ */
+public final class BuildParametersIndex {
+	private static final Logger logger = SDKBasedLoggerProvider.getLogger(BuildParametersIndex.class);
+	static final String INDEX_FILE = "octane-parameters-index.properties";
+	private static final List<String> INDEXED_PARAMETERS = Arrays.asList(
+			SdkConstants.JobParameters.SUITE_RUN_ID_PARAMETER_NAME,
+			SdkConstants.JobParameters.OCTANE_AUTO_ACTION_EXECUTION_ID_PARAMETER_NAME);
+
+	private static final Map<Job, JobIndex> indexes = new WeakHashMap<>();
+
+	private BuildParametersIndex() {
+	}
+
+	public static boolean isIndexed(String paramName) {
+		return INDEXED_PARAMETERS.contains(paramName);
+	}
+
+	/**
+	 * @return the latest build of the job started with the parameter value, null if there is none
+	 */
+	public static Run findBuild(Job job, String paramName, String paramValue) {
+		if (paramValue == null || paramValue.isEmpty()) {
+			return null;
+		}
+		if (!isIndexed(paramName)) {
+			return scan(job, paramName, paramValue);
+		}
+		JobIndex index = getIndex(job);
+		Integer number = index.get(paramName, paramValue);
+		if (number != null) {
+			Run run = job.getBuildByNumber(number);
+			if (run != null && paramValue.equals(getIndexedValues(run).get(paramName))) {
+				return run;
+			}
+			index.removeBuild(job, number);
+		}
+		Run run = scan(job, paramName, paramValue);
+		if (run != null) {
+			index.put(job, getIndexedValues(run), run.getNumber());
+		}
+		return run;
+	}
+
+	public static void onStarted(Run run) {
+		Map<String, String> values = getIndexedValues(run);
+		if (!values.isEmpty()) {
+			Job job = run.getParent();
+			getIndex(job).put(job, values, run.getNumber());
+		}
+	}
+
+	public static void onDeleted(Run run) {
+		Job job = run.getParent();
+		JobIndex index;
+		synchronized (indexes) {
+			index = indexes.get(job);
+		}
+		if (index == null && getIndexFile(job).exists()) {
+			index = getIndex(job);
+		}
+		if (index != null) {
+			index.removeBuild(job, run.getNumber());
+		}
+	}
+
+	private static JobIndex getIndex(Job job) {
+		JobIndex index;
+		synchronized (indexes) {
+			index = indexes.computeIfAbsent(job, j -> new JobIndex());
+		}
+		index.ensureLoaded(job);
+		return index;
+	}
+
+	/**
+	 * resolved on each use, the job folder changes when the job is renamed or moved
+	 */
+	private static File getIndexFile(Job job) {
+		return new File(job.getRootDir(), INDEX_FILE);
+	}
+
+	private static Run scan(Job job, String paramName, String paramValue) {
+		for (Object build : job.getBuilds()) {
+			Run run = (Run) build;
+			for (ParametersAction action : run.getActions(ParametersAction.class)) {
+				ParameterValue pv = action.getParameter(paramName);
+				if (pv != null && paramValue.equals(pv.getValue())) {
+					return run;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static Map<String, String> getIndexedValues(Run run) {
+		Map<String, String> values = new LinkedHashMap<>();
+		for (ParametersAction action : run.getActions(ParametersAction.class)) {
+			for (String paramName : INDEXED_PARAMETERS) {
+				ParameterValue pv = action.getParameter(paramName);
+				if (pv != null && pv.getValue() != null && !String.valueOf(pv.getValue()).isEmpty()) {
+					values.put(paramName, String.valueOf(pv.getValue()));
+				}
+			}
+		}
+		return values;
+	}
+
+	private static String key(String paramName, String paramValue) {
+		return paramName + "=" + paramValue;
+	}
+
+	/**
+	 * does not keep the job (nor its folder), the job is the weak key of the index
+	 */
+	private static final class JobIndex {
+		private final Properties entries = new Properties();
+		private boolean loaded = false;
+
+		private synchronized void ensureLoaded(Job job) {
+			if (loaded) {
+				return;
+			}
+			File file = getIndexFile(job);
+			if (file.exists()) {
+				try (InputStream in = Files.newInputStream(file.toPath())) {
+					entries.load(in);
+					loaded = true;
+					return;
+				} catch (IOException | IllegalArgumentException e) {
+					logger.warn("failed to load " + file + ", rebuilding it : " + e.getMessage());
+					entries.clear();
+				}
+			}
+			long start = System.currentTimeMillis();
+			for (Object build : job.getBuilds()) {
+				Run run = (Run) build;
+				// builds are ordered from the newest, the newest build of a suite run wins
+				getIndexedValues(run).forEach((paramName, paramValue) ->
+						entries.putIfAbsent(key(paramName, paramValue), String.valueOf(run.getNumber())));
+			}
+			loaded = true;
+			save(job);
+			logger.info(String.format("parameters index of %s built in %d ms", job.getFullName(), System.currentTimeMillis() - start));
+		}
+
+		private synchronized Integer get(String paramName, String paramValue) {
+			String number = entries.getProperty(key(paramName, paramValue));
+			try {
+				return number == null ? null : Integer.valueOf(number);
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		private synchronized void put(Job job, Map<String, String> values, int number) {
+			values.forEach((paramName, paramValue) -> entries.setProperty(key(paramName, paramValue), String.valueOf(number)));
+			save(job);
+		}
+
+		private synchronized void removeBuild(Job job, int number) {
+			if (entries.values().removeIf(value -> String.valueOf(number).equals(value))) {
+				save(job);
+			}
+		}
+
+		private void save(Job job) {
+			File file = getIndexFile(job);
+			try {
+				AtomicFileWriter writer = new AtomicFileWriter(file);
+				try {
+					entries.store(writer, "Octane parameters to build number index");
+					writer.commit();
+				} finally {
+					writer.abort();
+				}
+			} catch (IOException e) {
+				logger.warn("failed to save " + file + " : " + e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.model.processors.scm;
+
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.EditList;
+import org.eclipse.jgit.lib.AnyObjectId;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blame and diff results of the git line enricher, kept in the JVM of the node the enricher runs on,
+ * so that following builds of the same repository only compute what is new.
+ * Blames are keyed by blob id and file path, commit diffs (against the first parent) by commit id.
+ */
+final class GitLineEnricherCache {
+	private static final int MAX_BLAMES = 10000;
+	private static final int MAX_COMMIT_DIFFS = 2000;
+
+	private static final Map<String, List<BlameRange>> blames = createLru(MAX_BLAMES);
+	private static final Map<String, List<FileDiff>> commitDiffs = createLru(MAX_COMMIT_DIFFS);
+
+	private GitLineEnricherCache() {
+	}
+
+	static List<BlameRange> getBlame(AnyObjectId blobId, String path) {
+		synchronized (blames) {
+			return blames.get(blobId.getName() + ":" + path);
+		}
+	}
+
+	static void putBlame(AnyObjectId blobId, String path, List<BlameRange> ranges) {
+		synchronized (blames) {
+			blames.put(blobId.getName() + ":" + path, Collections.unmodifiableList(ranges));
+		}
+	}
+
+	static List<FileDiff> getCommitDiff(AnyObjectId commitId) {
+		synchronized (commitDiffs) {
+			return commitDiffs.get(commitId.getName());
+		}
+	}
+
+	static void putCommitDiff(AnyObjectId commitId, List<FileDiff> diffs) {
+		synchronized (commitDiffs) {
+			commitDiffs.put(commitId.getName(), Collections.unmodifiableList(diffs));
+		}
+	}
+
+	private static <V> Map<String, V> createLru(final int maxEntries) {
+		return new LinkedHashMap<String, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/*lines [start, end] of a file, last changed by the revision*/
+	static final class BlameRange {
+		final String revision;
+		final int start;
+		final int end;
+
+		BlameRange(String revision, int start, int end) {
+			this.revision = revision;
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	/*one file of a commit diff, with its edits already computed*/
+	static final class FileDiff {
+		final DiffEntry.ChangeType changeType;
+		final String oldPath;
+		final String newPath;
+		final EditList edits;
+
+		FileDiff(DiffEntry.ChangeType changeType, String oldPath, String newPath, EditList edits) {
+			this.changeType = changeType;
+			this.oldPath = oldPath;
+			this.newPath = newPath;
+			this.edits = edits;
+		}
+	}
+}
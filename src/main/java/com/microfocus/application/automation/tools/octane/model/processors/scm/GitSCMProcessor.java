@@ -64,8 +64,10 @@ import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.util.io.DisabledOutputStream;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 
@@ -73,6 +75,11 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Created by gullery on 31/03/2015.
@@ -82,13 +89,19 @@ class GitSCMProcessor implements SCMProcessor {
 	private static final Logger logger = SDKBasedLoggerProvider.getLogger(GitSCMProcessor.class);
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 	private static final String MASTER = "refs/remotes/origin/master";
+	private static final int MAX_BLAME_THREADS = 4;
 
 	@Override
 	public SCMData getSCMData(AbstractBuild build, SCM scm) {
+		return getSCMData(build, scm, null);
+	}
+
+	@Override
+	public SCMData getSCMData(AbstractBuild build, SCM scm, TaskListener listener) {
 		List<ChangeLogSet<? extends ChangeLogSet.Entry>> changes = new ArrayList<>();
 		changes.add(build.getChangeSet());
 		SCMData scmData = extractSCMData(build, scm, changes);
-		scmData = enrichLinesOnSCMData(scmData, build);
+		scmData = enrichLinesOnSCMData(scmData, build, listener);
 		return scmData;
 	}
 
@@ -97,15 +110,16 @@ class GitSCMProcessor implements SCMProcessor {
 	 * into existing scm events, so that the new enriched events will have line ranges.
 	 * in addition, for each renamed file, we enrich inside delete event the 'renamed to' file
 	 *
-	 * @param scmData SCM data as an input
-	 * @param build   build context
+	 * @param scmData  SCM data as an input
+	 * @param build    build context
+	 * @param listener build listener to report the elapsed time to, may be null
 	 */
-	private SCMData enrichLinesOnSCMData(SCMData scmData, AbstractBuild build) {
+	private SCMData enrichLinesOnSCMData(SCMData scmData, AbstractBuild build, TaskListener listener) {
 		long startTime = System.currentTimeMillis();
 		try {
 			FilePath workspace = build.getWorkspace();
 			if (workspace != null) {
-				scmData = workspace.act(new LineEnricherCallable(getCheckoutDir(build), scmData));
+				scmData = workspace.act(new LineEnricherCallable(getCheckoutDir(build), scmData, listener));
 				logger.debug("Line enricher: process took: " + ((System.currentTimeMillis() - startTime) / 1000) + " seconds");
 			} else {
 				logger.warn("Line enricher: workspace is null");
@@ -350,10 +364,12 @@ class GitSCMProcessor implements SCMProcessor {
 	private static final class LineEnricherCallable extends MasterToSlaveFileCallable<SCMData> {
 		private final String checkoutDir;
 		private final SCMData scmData;
+		private final TaskListener listener;
 
-		private LineEnricherCallable(String checkoutDir, SCMData scmData) {
+		private LineEnricherCallable(String checkoutDir, SCMData scmData, TaskListener listener) {
 			this.checkoutDir = checkoutDir;
 			this.scmData = scmData;
+			this.listener = listener;
 		}
 
 		@Override
@@ -372,55 +388,83 @@ class GitSCMProcessor implements SCMProcessor {
 					df.setDetectRenames(true);
 
 					//add blame data to scm data
+					long blameStart = System.currentTimeMillis();
 					Set<String> committedFiles = getAddedOrEditedFiles(scmData);
-					List<SCMFileBlame> fileBlameList = getBlameData(repo, committedFiles);
+					BlameStats blameStats = new BlameStats();
+					List<SCMFileBlame> fileBlameList = getBlameData(repo, committedFiles, blameStats);
 					scmData.setFileBlameList(fileBlameList);
+					long blameTime = System.currentTimeMillis() - blameStart;
 
+					long diffStart = System.currentTimeMillis();
+					int cachedDiffs = 0;
 					for (SCMCommit curCommit : scmData.getCommits()) {
 						Map<String, SCMChange> fileChanges = new HashMap<>();
 						curCommit.getChanges().forEach(change -> fileChanges.put(change.getFile(), change));
-						RevCommit commit = rw.parseCommit(repo.resolve(curCommit.getRevId())); // Any ref will work here (HEAD, a sha1, tag, branch)
-						RevCommit parent = rw.parseCommit(commit.getParent(0).getId());
-
-						List<DiffEntry> diffs = df.scan(parent.getTree(), commit.getTree());
+						ObjectId commitId = repo.resolve(curCommit.getRevId()); // Any ref will work here (HEAD, a sha1, tag, branch)
+						List<GitLineEnricherCache.FileDiff> diffs = GitLineEnricherCache.getCommitDiff(commitId);
+						if (diffs == null) {
+							diffs = getCommitDiff(rw, df, commitId);
+							GitLineEnricherCache.putCommitDiff(commitId, diffs);
+						} else {
+							cachedDiffs++;
+						}
 						// FOR EACH FILE
-						for (DiffEntry diff : diffs) { // each file change will be in seperate diff
-							EditList fileEdits = df.toFileHeader(diff).toEditList();
-							switch (diff.getChangeType()) {
+						for (GitLineEnricherCache.FileDiff diff : diffs) { // each file change will be in seperate diff
+							EditList fileEdits = diff.edits;
+							switch (diff.changeType) {
 								case ADD:
 									// old path == null, need to use new path
-									handleAddLinesDiff(fileEdits, fileChanges.get(diff.getNewPath()));
+									handleAddLinesDiff(fileEdits, fileChanges.get(diff.newPath));
 									break;
 								case COPY:
 									// need to validate this type
-									handleModifyDiff(fileEdits, fileChanges.get(diff.getNewPath()));
+									handleModifyDiff(fileEdits, fileChanges.get(diff.newPath));
 									break;
 								case DELETE:
 									// new path == null, need to use old path
-									handleDeleteLinesDiff(fileEdits, fileChanges.get(diff.getOldPath()));
+									handleDeleteLinesDiff(fileEdits, fileChanges.get(diff.oldPath));
 									break;
 								case MODIFY:
-									handleModifyDiff(fileEdits, fileChanges.get(diff.getNewPath()));
+									handleModifyDiff(fileEdits, fileChanges.get(diff.newPath));
 									break;
 								case RENAME:
 									// enrich delete event with 'rename to' data
-									SCMChange deletedChange = fileChanges.get(diff.getOldPath());
-									SCMChange newRenamedFile = fileChanges.get(diff.getNewPath());
+									SCMChange deletedChange = fileChanges.get(diff.oldPath);
+									SCMChange newRenamedFile = fileChanges.get(diff.newPath);
 									deletedChange.setRenamedToFile(newRenamedFile.getFile());
 									// handle changes
-									handleModifyDiff(fileEdits, fileChanges.get(diff.getNewPath()));
+									handleModifyDiff(fileEdits, fileChanges.get(diff.newPath));
 									break;
 								default:
 									break;
 							}
 						}
 					}
+					long diffTime = System.currentTimeMillis() - diffStart;
+
+					if (listener != null) {
+						listener.getLogger().println(MessageFormat.format(
+								"Line enricher: blame of {0} files ({1} cached) took {2} ms, diff of {3} commits ({4} cached) took {5} ms",
+								committedFiles.size(), blameStats.cached, blameTime, scmData.getCommits().size(), cachedDiffs, diffTime));
+					}
 					return scmData;
 				}
 			}
 		}
 	}
 
+	private static List<GitLineEnricherCache.FileDiff> getCommitDiff(RevWalk rw, DiffFormatter df, ObjectId commitId) throws IOException {
+		RevCommit commit = rw.parseCommit(commitId);
+		RevCommit parent = rw.parseCommit(commit.getParent(0).getId());
+
+		List<GitLineEnricherCache.FileDiff> fileDiffs = new ArrayList<>();
+		for (DiffEntry diff : df.scan(parent.getTree(), commit.getTree())) {
+			fileDiffs.add(new GitLineEnricherCache.FileDiff(diff.getChangeType(), diff.getOldPath(), diff.getNewPath(),
+					df.toFileHeader(diff).toEditList()));
+		}
+		return fileDiffs;
+	}
+
 	private static Set<String> getAddedOrEditedFiles(SCMData scmData) {
 		Set<String> filesCommittedInPPR = new HashSet<>();
 		for (SCMCommit curCommit : scmData.getCommits()) {
@@ -429,47 +473,101 @@ class GitSCMProcessor implements SCMProcessor {
 		return filesCommittedInPPR;
 	}
 
-	private static List<SCMFileBlame> getBlameData(Repository repo, Set<String> files) {
-		BlameCommand blamer = new BlameCommand(repo);
+	private static final class BlameStats {
+		private int cached;
+	}
+
+	private static List<SCMFileBlame> getBlameData(Repository repo, Set<String> files, BlameStats stats) {
 		List<SCMFileBlame> fileBlameList = new ArrayList<>();
-		ObjectId commitID;
-		try {
-			commitID = repo.resolve(Constants.HEAD);
+		if (files.isEmpty()) {
+			return fileBlameList;
+		}
+
+		ExecutorService blamePool = Executors.newFixedThreadPool(Math.min(MAX_BLAME_THREADS, files.size()));
+		try (RevWalk rw = new RevWalk(repo)) {
+			ObjectId commitID = repo.resolve(Constants.HEAD);
+			RevTree headTree = rw.parseCommit(commitID).getTree();
+
+			Map<String, Future<List<GitLineEnricherCache.BlameRange>>> pending = new LinkedHashMap<>();
 			for (String filePath : files) {
-				blamer.setStartCommit(commitID);
-				blamer.setFilePath(filePath);
-				BlameResult blameResult = blamer.call();
-				if (blameResult == null) {
+				ObjectId blobId = getBlobId(repo, filePath, headTree);
+				if (blobId == null) {
 					continue;
 				}
-				RawText rawText = blameResult.getResultContents();
-				int fileSize = rawText.size();
-
-				RevisionsMap revisionsMap = new RevisionsMap();
-
-				if (fileSize > 0) {
-					String startRangeRevision = blameResult.getSourceCommit(0).getName();
-					int startRange = 1;
-					for (int i = 1; i < fileSize; i++) {
-						String currentRevision = blameResult.getSourceCommit(i).getName();
-						if (!currentRevision.equals(startRangeRevision)) {
-							LineRange range = new LineRange(startRange, i);//line numbers starting from 1 not from 0.
-							revisionsMap.addRangeToRevision(startRangeRevision, range);
-							startRange = i + 1;
-							startRangeRevision = currentRevision;
+				List<GitLineEnricherCache.BlameRange> ranges = GitLineEnricherCache.getBlame(blobId, filePath);
+				if (ranges != null) {
+					stats.cached++;
+					pending.put(filePath, CompletableFuture.completedFuture(ranges));
+				} else {
+					pending.put(filePath, blamePool.submit(() -> {
+						List<GitLineEnricherCache.BlameRange> blamed = blame(repo, commitID, filePath);
+						if (blamed != null) {
+							GitLineEnricherCache.putBlame(blobId, filePath, blamed);
 						}
+						return blamed;
+					}));
+				}
+			}
+
+			for (Map.Entry<String, Future<List<GitLineEnricherCache.BlameRange>>> entry : pending.entrySet()) {
+				try {
+					List<GitLineEnricherCache.BlameRange> ranges = entry.getValue().get();
+					if (ranges == null) {
+						continue;
+					}
+					RevisionsMap revisionsMap = new RevisionsMap();
+					for (GitLineEnricherCache.BlameRange range : ranges) {
+						revisionsMap.addRangeToRevision(range.revision, new LineRange(range.start, range.end));
 					}
+					fileBlameList.add(new SCMFileBlameImpl(entry.getKey(), revisionsMap));
+				} catch (ExecutionException e) {
+					logger.error("failed to get blame result from git for " + entry.getKey(), e.getCause());
 				}
-				fileBlameList.add(new SCMFileBlameImpl(filePath, revisionsMap));
 			}
 		} catch (IOException e) {
 			logger.error("failed to resolve repo head", e);
-		} catch (GitAPIException e) {
-			logger.error("failed to get blame result from git", e);
+		} catch (InterruptedException e) {
+			logger.error("interrupted while getting blame results from git", e);
+			Thread.currentThread().interrupt();
+		} finally {
+			blamePool.shutdownNow();
 		}
 		return fileBlameList;
 	}
 
+	private static ObjectId getBlobId(Repository repo, String filePath, RevTree tree) throws IOException {
+		try (TreeWalk treeWalk = TreeWalk.forPath(repo, filePath, tree)) {
+			return treeWalk == null ? null : treeWalk.getObjectId(0);
+		}
+	}
+
+	private static List<GitLineEnricherCache.BlameRange> blame(Repository repo, ObjectId commitID, String filePath) throws GitAPIException {
+		BlameCommand blamer = new BlameCommand(repo);
+		blamer.setStartCommit(commitID);
+		blamer.setFilePath(filePath);
+		BlameResult blameResult = blamer.call();
+		if (blameResult == null) {
+			return null;
+		}
+		RawText rawText = blameResult.getResultContents();
+		int fileSize = rawText.size();
+
+		List<GitLineEnricherCache.BlameRange> ranges = new ArrayList<>();
+		if (fileSize > 0) {
+			String startRangeRevision = blameResult.getSourceCommit(0).getName();
+			int startRange = 1;
+			for (int i = 1; i < fileSize; i++) {
+				String currentRevision = blameResult.getSourceCommit(i).getName();
+				if (!currentRevision.equals(startRangeRevision)) {
+					ranges.add(new GitLineEnricherCache.BlameRange(startRangeRevision, startRange, i));//line numbers starting from 1 not from 0.
+					startRange = i + 1;
+					startRangeRevision = currentRevision;
+				}
+			}
+		}
+		return ranges;
+	}
+
 	private static void handleModifyDiff(EditList fileEdits, SCMChange scmChange) {
 		if (scmChange != null) {
 			for (Edit edit : fileEdits) {
@@ -35,6 +35,7 @@ import hudson.FilePath;
 import hudson.matrix.MatrixConfiguration;
 import hudson.model.AbstractBuild;
 import hudson.model.Run;
+import hudson.model.TaskListener;
 import hudson.scm.SCM;
 import org.apache.logging.log4j.Logger;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -55,11 +56,15 @@ public class SCMUtils {
     }
 
     public static SCMData extractSCMData(Run run, SCM scm, SCMProcessor scmProcessor) {
+        return extractSCMData(run, scm, scmProcessor, null);
+    }
+
+    public static SCMData extractSCMData(Run run, SCM scm, SCMProcessor scmProcessor, TaskListener listener) {
         SCMData result = null;
         if (run.getParent() instanceof MatrixConfiguration || run instanceof AbstractBuild) {
             AbstractBuild build = (AbstractBuild) run;
             if (!build.getChangeSet().isEmptySet()) {
-                result = scmProcessor.getSCMData(build, scm);
+                result = scmProcessor.getSCMData(build, scm, listener);
             }
         } else if (run instanceof WorkflowRun) {
             WorkflowRun wRun = (WorkflowRun) run;
@@ -34,6 +34,7 @@ import com.hp.octane.integrations.executor.*;
 import com.hp.octane.integrations.executor.converters.*;
 import com.hp.octane.integrations.utils.SdkConstants;
 import com.hp.octane.integrations.utils.SdkStringUtils;
+import com.microfocus.application.automation.tools.LauncherToolCache;
 import com.microfocus.application.automation.tools.AlmToolsUtils;
 import com.microfocus.application.automation.tools.model.TestsFramework;
 import com.microfocus.application.automation.tools.octane.configuration.ConfigurationValidator;
@@ -309,10 +310,8 @@ public class TestsToRunConverterBuilder extends Builder implements SimpleBuildSt
             printToConsole(listener, "MBT props file saved to " + fileProps.getRemote());
 
             // Copy the script to the project workspace
-            if (!cmdLineExe.exists()) {
-                cmdLineExe.copyFrom(cmdExeUrl);
-                printToConsole(listener, "HPToolLauncher copied to " + cmdLineExe.getRemote());
-            }
+            LauncherToolCache.deploy(cmdExeUrl, cmdLineExe);
+            printToConsole(listener, "HPToolLauncher deployed to " + cmdLineExe.getRemote());
 
         } catch (IOException | InterruptedException e) {
             build.setResult(Result.FAILURE);
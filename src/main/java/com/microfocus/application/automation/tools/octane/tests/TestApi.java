@@ -37,8 +37,10 @@ import org.kohsuke.stapler.StaplerResponse;
 import org.kohsuke.stapler.export.Flavor;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Locale;
 
 @SuppressWarnings({"squid:S2699", "squid:S3658", "squid:S2259", "squid:S1872", "squid:S2925", "squid:S109", "squid:S1607"})
 public class TestApi {
@@ -51,11 +53,11 @@ public class TestApi {
 
 	public void doXml(StaplerRequest req, StaplerResponse res) throws IOException, InterruptedException {
 		build.getACL().checkPermission(Item.READ);
-		serveFile(res, TestListener.TEST_RESULT_FILE, Flavor.XML);
+		serveTestResults(build.getRootDir(), req, res);
 	}
 
-	private void serveFile(StaplerResponse res, String relativePath, Flavor flavor) throws IOException, InterruptedException {
-		FilePath file = new FilePath(new File(build.getRootDir(), relativePath));
+	private static void serveFile(StaplerResponse res, File buildDir, String relativePath, Flavor flavor) throws IOException, InterruptedException {
+		FilePath file = new FilePath(new File(buildDir, relativePath));
 		if (!file.exists()) {
 			res.sendError(404, "Information not available");
 			return;
@@ -66,4 +68,63 @@ public class TestApi {
 		IOUtils.copy(is, res.getOutputStream());
 		IOUtils.closeQuietly(is);
 	}
+
+	/**
+	 * Test results are stored compressed, they are sent as stored to clients accepting gzip and decompressed to the others.
+	 * Builds processed before the results were compressed only have the plain file, it is sent as is.
+	 */
+	static void serveTestResults(File buildDir, StaplerRequest req, StaplerResponse res) throws IOException, InterruptedException {
+		File gzipFile = new File(buildDir, TestListener.TEST_RESULT_GZIP_FILE);
+		if (!gzipFile.exists()) {
+			serveFile(res, buildDir, TestListener.TEST_RESULT_FILE, Flavor.XML);
+			return;
+		}
+		res.setStatus(200);
+		res.setContentType(Flavor.XML.contentType);
+		res.setHeader("Vary", "Accept-Encoding");
+		if (acceptsGzip(req.getHeader("Accept-Encoding"))) {
+			res.setHeader("Content-Encoding", "gzip");
+			try (InputStream is = new FileInputStream(gzipFile)) {
+				IOUtils.copy(is, res.getOutputStream());
+			}
+		} else {
+			try (InputStream is = TestListener.openTestResults(buildDir)) {
+				IOUtils.copy(is, res.getOutputStream());
+			}
+		}
+	}
+
+	/**
+	 * Checks an Accept-Encoding header value, gzip is accepted when it is listed (or matched by *) with a quality
+	 * above 0.
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		Float gzipQuality = null;
+		Float anyQuality = null;
+		for (String coding : acceptEncoding.split(",")) {
+			String[] params = coding.split(";");
+			String name = params[0].trim().toLowerCase(Locale.ENGLISH);
+			float quality = 1;
+			for (int i = 1; i < params.length; i++) {
+				String param = params[i].trim().toLowerCase(Locale.ENGLISH);
+				if (param.startsWith("q=")) {
+					try {
+						quality = Float.parseFloat(param.substring(2).trim());
+					} catch (NumberFormatException e) {
+						quality = 0;
+					}
+				}
+			}
+			if ("gzip".equals(name) || "x-gzip".equals(name)) {
+				gzipQuality = quality;
+			} else if ("*".equals(name)) {
+				anyQuality = quality;
+			}
+		}
+		Float quality = gzipQuality != null ? gzipQuality : anyQuality;
+		return quality != null && quality > 0;
+	}
 }
@@ -39,6 +39,11 @@ import jenkins.model.Jenkins;
 import org.apache.logging.log4j.Logger;
 
 import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Jenkins events life cycle listener for processing test results on build completed
@@ -49,10 +54,13 @@ public class TestListener {
 	private static Logger logger = SDKBasedLoggerProvider.getLogger(TestListener.class);
 
 	public static final String TEST_RESULT_FILE = "mqmTests.xml";
+	//test results are stored compressed, TEST_RESULT_FILE is only read for builds that were processed before
+	public static final String TEST_RESULT_GZIP_FILE = TEST_RESULT_FILE + ".gz";
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
 
 	public boolean processBuild(Run run) {
-		FilePath resultPath = new FilePath(new FilePath(run.getRootDir()), TEST_RESULT_FILE);
+		FilePath resultPath = new FilePath(new FilePath(run.getRootDir()), TEST_RESULT_GZIP_FILE);
 		TestResultXmlWriter resultWriter = new TestResultXmlWriter(resultPath, run);
 		boolean success = true;
 		boolean hasTests = false;
@@ -87,11 +95,31 @@ public class TestListener {
 						}
 					}
 				}
-			} catch (XMLStreamException xmlse) {
+			} catch (XMLStreamException | IOException e) {
 				success = false;
-				logger.error("failed to finalize test results processing", xmlse);
+				logger.error("failed to finalize test results processing", e);
 			}
 		}
 		return success && hasTests;
 	}
+
+	/**
+	 * Opens the decompressed test results of a build, whether they were stored compressed or not.
+	 *
+	 * @throws java.io.FileNotFoundException when the build has no test results
+	 */
+	public static InputStream openTestResults(File buildDir) throws IOException {
+		File gzipFile = new File(buildDir, TEST_RESULT_GZIP_FILE);
+		if (!gzipFile.exists()) {
+			return new FileInputStream(new File(buildDir, TEST_RESULT_FILE));
+		}
+
+		InputStream in = new FileInputStream(gzipFile);
+		try {
+			return new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
 }
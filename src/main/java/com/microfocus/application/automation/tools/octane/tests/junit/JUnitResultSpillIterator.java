@@ -0,0 +1,203 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import com.hp.octane.integrations.testresults.XmlWritableTestResult;
+import com.hp.octane.integrations.uft.ufttestresults.schema.UftResultIterationData;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import com.microfocus.application.automation.tools.octane.tests.HPRunnerType;
+import hudson.FilePath;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.microfocus.application.automation.tools.octane.tests.junit.JUnitResultSpillWriter.*;
+
+/**
+ * Streams back the {@link JUnitTestResult}s written by {@link JUnitResultSpillWriter}, one record at a time.
+ */
+public class JUnitResultSpillIterator implements Iterator<XmlWritableTestResult> {
+    private static Logger logger = SDKBasedLoggerProvider.getLogger(JUnitResultSpillIterator.class);
+
+    private static final TestResultStatus[] STATUSES = TestResultStatus.values();
+    private static final HPRunnerType[] RUNNER_TYPES = HPRunnerType.values();
+
+    private final DataInputStream in;
+    private final List<String> dictionary = new ArrayList<>();
+    private byte[] recordBuffer = new byte[512];
+    private JUnitTestResult next;
+    private boolean finished;
+
+    public JUnitResultSpillIterator(FilePath filePath) throws IOException, InterruptedException {
+        this(filePath.read());
+    }
+
+    public JUnitResultSpillIterator(InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a test results spill file");
+            }
+            byte version = in.readByte();
+            if (version > VERSION) {
+                throw new IOException("Unsupported test results spill file version " + version);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            next = readNext();
+        } catch (Exception e) {
+            logger.error("Failed to read test results spill file", e); // NON-NLS
+            next = null;
+        }
+        if (next == null) {
+            finish();
+        }
+        return next != null;
+    }
+
+    @Override
+    public XmlWritableTestResult next() {
+        if (hasNext()) {
+            JUnitTestResult value = next;
+            next = null;
+            return value;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private JUnitTestResult readNext() throws IOException, ClassNotFoundException {
+        while (true) {
+            byte type = in.readByte();
+            int length = in.readInt();
+            if (type == RECORD_END) {
+                return null;
+            }
+            if (recordBuffer.length < length) {
+                recordBuffer = new byte[Math.max(length, recordBuffer.length * 2)];
+            }
+            in.readFully(recordBuffer, 0, length);
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(recordBuffer, 0, length));
+            if (type == RECORD_DICTIONARY) {
+                dictionary.add(readString(record));
+            } else if (type == RECORD_TEST_RUN) {
+                return readTestRun(record);
+            }
+            // records of unknown types (written by newer versions) are skipped
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JUnitTestResult readTestRun(DataInputStream record) throws IOException, ClassNotFoundException {
+        String moduleName = readNameRef(record);
+        String packageName = readNameRef(record);
+        String className = readNameRef(record);
+        String testName = readString(record);
+        byte status = record.readByte();
+        long duration = record.readLong();
+        long started = record.readLong();
+        TestError testError = null;
+        if (record.readBoolean()) {
+            testError = new TestError(readString(record), readString(record), readString(record));
+        }
+        String externalReportUrl = readString(record);
+        String description = readString(record);
+        byte runnerType = record.readByte();
+        String externalRunId = readString(record);
+        boolean octaneSupportsSteps = record.readBoolean();
+        List<UftResultIterationData> uftResultData = null;
+        int uftResultDataLength = record.readInt();
+        if (uftResultDataLength >= 0) {
+            try (ObjectInputStream ois = new ObjectInputStream(record)) {
+                uftResultData = (List<UftResultIterationData>) ois.readObject();
+            }
+        }
+
+        return new JUnitTestResult(moduleName, packageName, className, testName,
+                status < 0 ? null : STATUSES[status], duration, started, testError, externalReportUrl, description,
+                runnerType < 0 ? null : RUNNER_TYPES[runnerType], externalRunId, uftResultData, octaneSupportsSteps);
+    }
+
+    private String readNameRef(DataInputStream record) throws IOException {
+        int ref = record.readInt();
+        if (ref == NULL_REF) {
+            return null;
+        } else if (ref == INLINE_REF) {
+            return readString(record);
+        }
+        return dictionary.get(ref);
+    }
+
+    private static String readString(DataInputStream stream) throws IOException {
+        int length = stream.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        stream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void finish() {
+        finished = true;
+        try {
+            in.close();
+        } catch (IOException ioe) {
+            logger.error("Failed to close the stream", ioe); // NON-NLS
+        }
+    }
+}
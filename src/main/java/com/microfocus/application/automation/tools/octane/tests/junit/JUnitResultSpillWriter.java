@@ -0,0 +1,186 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes {@link JUnitTestResult}s into the spill file read back by {@link JUnitResultSpillIterator}.
+ * <p>
+ * The file starts with {@link #MAGIC} and {@link #VERSION}, followed by length prefixed records:
+ * <pre>
+ *   record    := type(byte) length(int) payload
+ *   DICTIONARY payload := string          - the next id of the string dictionary
+ *   TEST_RUN   payload := see {@link #writeTestRun(JUnitTestResult)}
+ *   END        payload := (empty)
+ * </pre>
+ * Module, package and class names are written once into the dictionary and referenced by id afterwards.
+ * Unlike an {@code ObjectOutputStream} the writer keeps no back-references to the written results.
+ */
+public class JUnitResultSpillWriter implements Closeable {
+
+    static final int MAGIC = 0x4F4A5452; // "OJTR"
+    static final byte VERSION = 1;
+
+    static final byte RECORD_END = 0;
+    static final byte RECORD_DICTIONARY = 1;
+    static final byte RECORD_TEST_RUN = 2;
+
+    static final int NULL_REF = -1;
+    static final int INLINE_REF = -2;
+    /**
+     * Names beyond this many distinct values are written inline to keep the dictionary bounded.
+     */
+    static final int MAX_DICTIONARY_SIZE = 100000;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(512);
+    private final DataOutputStream record = new DataOutputStream(recordBuffer);
+    private boolean closed;
+
+    public JUnitResultSpillWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    public void write(JUnitTestResult testResult) throws IOException {
+        defineName(testResult.getModuleName());
+        defineName(testResult.getPackageName());
+        defineName(testResult.getClassName());
+
+        recordBuffer.reset();
+        writeTestRun(testResult);
+        record.flush();
+        writeRecord(RECORD_TEST_RUN);
+    }
+
+    /**
+     * TEST_RUN payload: module, package, class (name refs), test name, status ordinal, duration, started,
+     * error (flag + stack trace, type, message), external report url, description, runner type ordinal (-1 for none),
+     * external run id, steps support flag and the UFT iteration data (length prefixed serialized form, -1 for none).
+     */
+    private void writeTestRun(JUnitTestResult testResult) throws IOException {
+        writeNameRef(testResult.getModuleName());
+        writeNameRef(testResult.getPackageName());
+        writeNameRef(testResult.getClassName());
+        writeString(record, testResult.getTestName());
+        record.writeByte(testResult.getResult() == null ? -1 : testResult.getResult().ordinal());
+        record.writeLong(testResult.getDuration());
+        record.writeLong(testResult.getStarted());
+        TestError testError = testResult.getTestError();
+        record.writeBoolean(testError != null);
+        if (testError != null) {
+            writeString(record, testError.getStackTraceStr());
+            writeString(record, testError.getErrorType());
+            writeString(record, testError.getErrorMsg());
+        }
+        writeString(record, testResult.getExternalReportUrl());
+        writeString(record, testResult.getDescription());
+        record.writeByte(testResult.getRunnerType() == null ? -1 : testResult.getRunnerType().ordinal());
+        writeString(record, testResult.getExternalRunId());
+        record.writeBoolean(testResult.isOctaneSupportsSteps());
+        if (testResult.getUftResultData() == null) {
+            record.writeInt(-1);
+        } else {
+            // UFT step data is an SDK model, rare and small compared to the test runs - keep its serialized form
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+                oos.writeObject(testResult.getUftResultData());
+            }
+            record.writeInt(serialized.size());
+            serialized.writeTo(record);
+        }
+    }
+
+    private void defineName(String name) throws IOException {
+        if (name == null || dictionary.containsKey(name) || dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return;
+        }
+        dictionary.put(name, dictionary.size());
+        recordBuffer.reset();
+        writeString(record, name);
+        record.flush();
+        writeRecord(RECORD_DICTIONARY);
+    }
+
+    private void writeNameRef(String name) throws IOException {
+        if (name == null) {
+            record.writeInt(NULL_REF);
+            return;
+        }
+        Integer id = dictionary.get(name);
+        if (id != null) {
+            record.writeInt(id);
+        } else {
+            record.writeInt(INLINE_REF);
+            writeString(record, name);
+        }
+    }
+
+    private void writeRecord(byte type) throws IOException {
+        out.writeByte(type);
+        out.writeInt(recordBuffer.size());
+        recordBuffer.writeTo(out);
+    }
+
+    static void writeString(DataOutputStream stream, String value) throws IOException {
+        if (value == null) {
+            stream.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.writeByte(RECORD_END);
+            out.writeInt(0);
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -35,7 +35,6 @@ import com.microfocus.application.automation.tools.octane.tests.build.BuildHandl
 import com.microfocus.application.automation.tools.octane.tests.detection.ResultFields;
 import hudson.FilePath;
 import hudson.model.Run;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 
 import javax.xml.stream.XMLOutputFactory;
@@ -45,9 +44,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Save results to mqmTests.xml in XML format
+ * Save results to mqmTests.xml in XML format, gzip compressed when the target file name ends with .gz
  */
 @SuppressWarnings("all")
 public class TestResultXmlWriter {
@@ -55,6 +55,8 @@ public class TestResultXmlWriter {
 	private FilePath targetPath;
 	private BuildDescriptor buildDescriptor;
 
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
 	private XMLStreamWriter writer;
 	private OutputStream outputStream;
 
@@ -81,19 +83,28 @@ public class TestResultXmlWriter {
 		}
 	}
 
-	public void close() throws XMLStreamException {
+	/**
+	 * Completes the document and closes the file, a failure to close it (e.g. to write the gzip trailer) is thrown
+	 * since the file is then incomplete.
+	 */
+	public void close() throws XMLStreamException, IOException {
 		if (outputStream != null) {
-			writer.writeEndElement(); // test_runs
-			writer.writeEndElement(); // test_result
-			writer.writeEndDocument();
-			writer.close();
-			IOUtils.closeQuietly(outputStream);
+			try (OutputStream out = outputStream) {
+				outputStream = null;
+				writer.writeEndElement(); // test_runs
+				writer.writeEndElement(); // test_result
+				writer.writeEndDocument();
+				writer.close();
+			}
 		}
 	}
 
 	private void initialize(ResultFields resultFields) throws IOException, InterruptedException, XMLStreamException {
 		if (outputStream == null) {
 			outputStream = targetPath.write();
+			if (targetPath.getName().endsWith(".gz")) {
+				outputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+			}
 			writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name() );
 			writer.writeStartDocument();
 
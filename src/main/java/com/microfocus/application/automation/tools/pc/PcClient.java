@@ -54,11 +54,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class PcClient {
 
+    private static final long TREND_POLL_INTERVAL = 5000;
+    private static final long TREND_PUBLISH_TIMEOUT = 10 * 60 * 1000;
+
     private PcModel model;
     private PcRestProxy restProxy;
     private boolean loggedIn;
@@ -376,6 +381,28 @@ public class PcClient {
     }
 
     public PcRunResponse waitForRunCompletion(int runId, int interval) throws InterruptedException, ClientProtocolException, PcException, IOException {
+        try {
+            return await(monitorRunCompletion(runId, interval));
+        } finally {
+            logger.println(String.format("%s - %s", dateFormatter.getDate(), getRunMonitor()));
+        }
+    }
+
+
+    /**
+     * Monitors the run until it reaches the completion state of the post run action, without holding a thread
+     * between the polls.
+     *
+     * @param runId    the run
+     * @param interval the interval between polls after the state changed, in milliseconds
+     * @return the future completed with the last response of LRE about the run
+     */
+    public CompletableFuture<PcRunResponse> monitorRunCompletion(int runId, int interval) {
+        return getRunMonitor().watch(new RunStateProbe(runId, getCompletionState()),
+                interval, Math.max(interval, PcRunMonitor.MAX_POLL_INTERVAL));
+    }
+
+    private RunState getCompletionState() {
         RunState state = RunState.UNDEFINED;
         switch (model.getPostRunAction()) {
             case DO_NOTHING:
@@ -388,71 +415,108 @@ public class PcClient {
                 state = RunState.FINISHED;
                 break;
         }
-        return waitForRunState(runId, state, interval);
+        return state;
+    }
+
+    private PcRunMonitor getRunMonitor() {
+        return PcRunMonitor.forServer(restProxy.GetPcServer());
     }
 
+    private static <T> T await(CompletableFuture<T> future) throws InterruptedException, PcException, IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof PcException) {
+                throw (PcException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
 
-    private PcRunResponse waitForRunState(int runId, RunState completionState, int interval) throws InterruptedException,
-            ClientProtocolException, PcException, IOException {
+    /**
+     * Polls the state of a run, it is done when the run reaches the completion state, when it stays before collating
+     * or analyzing for a minute, or after three consecutive failures.
+     */
+    private final class RunStateProbe implements PcRunMonitor.Probe<PcRunResponse> {
+        private final int runId;
+        private final RunState completionState;
+        private final List<RunState> waitingStates = Arrays.asList(RunState.BEFORE_COLLATING_RESULTS, RunState.BEFORE_CREATING_ANALYSIS_DATA);
+        private PcRunResponse response;
+        private RunState lastState = RunState.UNDEFINED;
+        private int threeStrikes = 3;
+        private int counter;
+
+        private RunStateProbe(int runId, RunState completionState) {
+            this.runId = runId;
+            this.completionState = completionState;
+        }
 
-        int counter = 0;
-        RunState[] states = {RunState.BEFORE_COLLATING_RESULTS, RunState.BEFORE_CREATING_ANALYSIS_DATA};
-        PcRunResponse response = null;
-        RunState lastState = RunState.UNDEFINED;
-        int threeStrikes = 3;
-        do {
+        @Override
+        public PcRunMonitor.Outcome<PcRunResponse> poll() throws IOException {
             try {
-
                 if (threeStrikes < 3) {
-                    logger.println(String.format("%s - Cannot get response from LRE about the state of the Run (ID=%s) %s time(s) consecutively",
-                            dateFormatter.getDate(),
-                            runId,
-                            (3 - threeStrikes)));
-                    if (threeStrikes == 0) {
-                        logger.println(String.format("%s - %s: %s",
-                                dateFormatter.getDate(),
-                                Messages.StoppingMonitoringOnRun(),
-                                runId));
-                        break;
-                    }
-                    Thread.sleep(2000);
                     login();
                 }
                 response = restProxy.getRunData(runId);
-                RunState currentState = RunState.get(response.getRunState());
-                if (lastState.ordinal() < currentState.ordinal()) {
-                    lastState = currentState;
-                    logger.println(String.format("%s - RunID: %s - State = %s",
+            } catch (PcException e) {
+                threeStrikes--;
+                logger.println(String.format("%s - Cannot get response from LRE about the state of the Run (ID=%s) %s time(s) consecutively",
+                        dateFormatter.getDate(),
+                        runId,
+                        (3 - threeStrikes)));
+                if (threeStrikes == 0) {
+                    logger.println(String.format("%s - %s: %s",
                             dateFormatter.getDate(),
-                            runId,
-                            currentState.value()));
+                            Messages.StoppingMonitoringOnRun(),
+                            runId));
+                    return PcRunMonitor.Outcome.done(response);
                 }
+                return PcRunMonitor.Outcome.retryIn(2000);
+            }
+            threeStrikes = 3;
 
-                // In case we are in state before collate or before analyze, we will wait 1 minute for the state to change otherwise we exit
-                // because the user probably stopped the run from LRE or timeslot has reached the end.
-                if (Arrays.asList(states).contains(currentState)) {
-                    counter++;
-                    Thread.sleep(1000);
-                    if (counter > 60) {
-                        logger.println(String.format("%s - Run ID: %s  - %s = %s",
-                                dateFormatter.getDate(),
-                                runId,
-                                Messages.StoppedFromPC(),
-                                currentState.value()));
-                        break;
-                    }
-                } else {
-                    counter = 0;
-                    Thread.sleep(interval);
+            RunState currentState = RunState.get(response.getRunState());
+            boolean changed = lastState.ordinal() < currentState.ordinal();
+            if (changed) {
+                lastState = currentState;
+                logger.println(String.format("%s - RunID: %s - State = %s",
+                        dateFormatter.getDate(),
+                        runId,
+                        currentState.value()));
+            }
+            if (lastState.ordinal() >= completionState.ordinal()) {
+                return PcRunMonitor.Outcome.done(response);
+            }
+
+            // In case we are in state before collate or before analyze, we will wait 1 minute for the state to change otherwise we exit
+            // because the user probably stopped the run from LRE or timeslot has reached the end.
+            if (waitingStates.contains(currentState)) {
+                counter++;
+                if (counter > 60) {
+                    logger.println(String.format("%s - Run ID: %s  - %s = %s",
+                            dateFormatter.getDate(),
+                            runId,
+                            Messages.StoppedFromPC(),
+                            currentState.value()));
+                    return PcRunMonitor.Outcome.done(response);
                 }
-                threeStrikes = 3;
-            } catch (InterruptedException e) {
-                throw e;
-            } catch (PcException e) {
-                threeStrikes--;
+                return PcRunMonitor.Outcome.retryIn(1000);
             }
-        } while (lastState.ordinal() < completionState.ordinal());
-        return response;
+            counter = 0;
+            return changed ? PcRunMonitor.Outcome.<PcRunResponse>changed() : PcRunMonitor.Outcome.<PcRunResponse>unchanged();
+        }
     }
 
     public FilePath publishRunReport(int runId, String reportDirectory) throws IOException, PcException, InterruptedException {
@@ -557,58 +621,84 @@ public class PcClient {
     }
 
     public void waitForRunToPublishOnTrendReport(int runId, String trendReportId) throws PcException, IOException, InterruptedException {
+        await(monitorRunPublishOnTrendReport(runId, trendReportId));
+    }
 
-        ArrayList<PcTrendedRun> trendReportMetaDataResultsList;
-        boolean publishEnded = false;
-        int counterPublishStarted = 0;
-        int counterPublishNotStarted = 0;
-        boolean resultNotFound = true;
+    /**
+     * Monitors the publishing of the run on the trend report, without holding a thread between the polls.
+     *
+     * @param runId         the run
+     * @param trendReportId the trend report
+     * @return the future completed once the run is trended or failed to, or once waiting for it timed out
+     */
+    public CompletableFuture<Void> monitorRunPublishOnTrendReport(int runId, String trendReportId) {
+        return getRunMonitor().watch(new TrendPublishProbe(runId, trendReportId),
+                TREND_POLL_INTERVAL, Math.max(TREND_POLL_INTERVAL, PcRunMonitor.MAX_POLL_INTERVAL));
+    }
 
-        do {
-            trendReportMetaDataResultsList = restProxy.getTrendReportMetaData(trendReportId);
+    /**
+     * Polls the publishing state of a run on a trend report, waiting up to 10 minutes for the publishing to start
+     * and up to 10 minutes for it to end.
+     */
+    private final class TrendPublishProbe implements PcRunMonitor.Probe<Void> {
+        private final int runId;
+        private final String trendReportId;
+        private final long startedAt = System.currentTimeMillis();
+        private String lastState;
+        private long publishStartedAt;
+        private int warnings;
+
+        private TrendPublishProbe(int runId, String trendReportId) {
+            this.runId = runId;
+            this.trendReportId = trendReportId;
+        }
 
-            if (trendReportMetaDataResultsList.isEmpty()) break;
+        @Override
+        public PcRunMonitor.Outcome<Void> poll() throws PcException, IOException {
+            ArrayList<PcTrendedRun> trendReportMetaDataResultsList = restProxy.getTrendReportMetaData(trendReportId);
+            if (trendReportMetaDataResultsList.isEmpty()) {
+                return PcRunMonitor.Outcome.done(null);
+            }
 
+            long now = System.currentTimeMillis();
             for (PcTrendedRun result : trendReportMetaDataResultsList) {
-                resultNotFound = result.getRunID() != runId;
-                if (resultNotFound) continue;
-
+                if (result.getRunID() != runId) {
+                    continue;
+                }
                 if (result.getState().equals(PcBuilder.TRENDED) || result.getState().equals(PcBuilder.ERROR)) {
-                    publishEnded = true;
                     logger.println(String.format("%s - Run: %s %s: %s",
                             dateFormatter.getDate(),
                             runId,
                             Messages.PublishingStatus(),
                             result.getState()));
-                    break;
-                } else {
-                    Thread.sleep(5000);
-                    counterPublishStarted++;
-                    if (counterPublishStarted >= 360) { //waiting 30 minutes for timeout
-                        String msg = String.format("%s: %s",
-                                Messages.Error(),
-                                Messages.PublishingEndTimeout());
-                        throw new PcException(msg);
-                    }
+                    return PcRunMonitor.Outcome.done(null);
                 }
-            }
-            if (!publishEnded && resultNotFound) {
-                Thread.sleep(5000);
-                counterPublishNotStarted++;
-                if (counterPublishNotStarted >= 180) { //waiting 15 minutes for timeout
-                    String msg = String.format("%s",
-                            Messages.PublishingStartTimeout());
-                    throw new PcException(msg);
-                } else if (counterPublishNotStarted % 12 == 0) { //warning every minute until timeout
-                    logger.println(String.format("%s - %s. %s: %s ... ",
-                            dateFormatter.getDate(),
-                            Messages.WaitingForTrendReportToStart(),
-                            Messages.MinutesUntilTimeout(),
-                            10 - (counterPublishNotStarted / 12)
-                    ));
+                if (publishStartedAt == 0) {
+                    publishStartedAt = now;
                 }
+                if (now - publishStartedAt >= TREND_PUBLISH_TIMEOUT) {
+                    return PcRunMonitor.Outcome.done(null);
+                }
+                boolean changed = !result.getState().equals(lastState);
+                lastState = result.getState();
+                return changed ? PcRunMonitor.Outcome.<Void>changed() : PcRunMonitor.Outcome.<Void>unchanged();
+            }
+
+            long waiting = now - startedAt;
+            if (waiting >= TREND_PUBLISH_TIMEOUT) {
+                return PcRunMonitor.Outcome.done(null);
+            }
+            if (waiting / 60000 > warnings) { //warning every minute until timeout
+                warnings++;
+                logger.println(String.format("%s - %s. %s: %s ... ",
+                        dateFormatter.getDate(),
+                        Messages.WaitingForTrendReportToStart(),
+                        Messages.MinutesUntilTimeout(),
+                        10 - warnings
+                ));
             }
-        } while (!publishEnded && counterPublishStarted < 120 && counterPublishNotStarted < 120);
+            return PcRunMonitor.Outcome.unchanged();
+        }
     }
 
     public boolean downloadTrendReportAsPdf(String trendReportId, String directory) throws PcException {
@@ -663,48 +753,17 @@ public class PcClient {
     // for example:
     // <Action_Transaction:0.001>
     // <Virtual transaction 2:0.51>
-    // This function uses reflection since we know only at runtime which transactions data will be reposed from the rest request.
+    // To get several measurements of the same run, fetch the table once with getTrendReportTable.
     public Map<String, String> getTrendReportByXML(String trendReportId, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) throws IOException, PcException, IntrospectionException, NoSuchMethodException {
 
-        Map<String, String> measurmentsMap = new LinkedHashMap<String, String>();
-        measurmentsMap.put("RunId", "_" + runId + "_");
-        measurmentsMap.put("Trend Measurement Type", measurement.toString() + "_" + pctType.toString());
+        return getTrendReportTable(trendReportId, runId).getMeasurementMap(runId, dataType, pctType, measurement);
+    }
 
+    // Downloads the trend report data of the run once and parses all of its measurements.
+    public TrendReportTable getTrendReportTable(String trendReportId, int runId) throws IOException, PcException {
 
         TrendReportTransactionDataRoot res = restProxy.getTrendReportByXML(trendReportId, runId);
-
-//            java.lang.reflect.Method rootMethod =  res.getClass().getMethod("getTrendReport" + dataType.toString() + "DataRowsList");
-//            ArrayList<Object> RowsListObj = (ArrayList<Object>) rootMethod.invoke(res);
-//            RowsListObj.get(0);
-
-        List<Object> RowsListObj = res.getTrendReportRoot();
-
-        for (int i = 0; i < RowsListObj.size(); i++) {
-            try {
-
-                java.lang.reflect.Method rowListMethod = RowsListObj.get(i).getClass().getMethod("getTrendReport" + dataType.toString() + "DataRowList");
-
-                for (Object DataRowObj : (ArrayList<Object>) rowListMethod.invoke(RowsListObj.get(i))) {
-                    if (DataRowObj.getClass().getMethod("getPCT_TYPE").invoke(DataRowObj).equals(pctType.toString())) {
-                        java.lang.reflect.Method method;
-                        method = DataRowObj.getClass().getMethod("get" + measurement.toString());
-                        measurmentsMap.put(DataRowObj.getClass().getMethod("getPCT_NAME").invoke(DataRowObj).toString(), method.invoke(DataRowObj) == null ? "" : method.invoke(DataRowObj).toString());
-                    }
-                }
-            } catch (NoSuchMethodException e) {
-                //  logger.println("No such method exception: " + e);
-            } catch (Exception e) {
-                // logger.println(String.format("%s - Error on getTrendReportByXML: %s ", dateFormatter.getDate(), e));
-            }
-        }
-
-
-        //  logger.print(res);
-
-
-        return measurmentsMap;
-
-
+        return TrendReportTable.parse(res.getTrendReportRoot());
     }
 
 }
@@ -0,0 +1,283 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.pc;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls LRE asynchronously, one monitor (and scheduler) per LRE server is shared by all the builds.
+ * <p>
+ * Every watch polls its {@link Probe} on the scheduler of the monitor: the interval is reset to the minimal interval
+ * when the probe reports a change and grows up to the maximal interval while nothing changes. The future of the watch
+ * is completed once the probe is done, so no thread is held between the polls.
+ */
+public final class PcRunMonitor {
+
+    private static final ConcurrentMap<String, PcRunMonitor> MONITORS = new ConcurrentHashMap<>();
+    private static final int THREADS = Integer.getInteger(PcRunMonitor.class.getName() + ".threads", 2);
+    static final long MAX_POLL_INTERVAL = Long.getLong(PcRunMonitor.class.getName() + ".maxPollInterval", 30000L);
+
+    private final String server;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong failedPolls = new AtomicLong();
+    private final AtomicLong transitions = new AtomicLong();
+    private final AtomicLong transitionLatencyMillis = new AtomicLong();
+    private final AtomicLong maxTransitionLatencyMillis = new AtomicLong();
+    private final AtomicInteger activeWatches = new AtomicInteger();
+
+    private PcRunMonitor(String server) {
+        this.server = server;
+        scheduler = new ScheduledThreadPoolExecutor(THREADS,
+                new NamingThreadFactory(new DaemonThreadFactory(), PcRunMonitor.class.getSimpleName() + " " + server));
+        scheduler.setKeepAliveTime(1, TimeUnit.MINUTES);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @param server the LRE server
+     * @return the monitor of the server
+     */
+    public static PcRunMonitor forServer(String server) {
+        return MONITORS.computeIfAbsent(String.valueOf(server), PcRunMonitor::new);
+    }
+
+    /**
+     * Starts polling the probe until it is done.
+     *
+     * @param probe       the probe
+     * @param minInterval the interval between polls after a change, in milliseconds
+     * @param maxInterval the maximal interval between polls while nothing changes, in milliseconds
+     * @return the future completed with the result of the probe, cancelling it stops the polling
+     */
+    public <T> CompletableFuture<T> watch(Probe<T> probe, long minInterval, long maxInterval) {
+        Watch<T> watch = new Watch<>(probe, Math.max(1, minInterval), Math.max(minInterval, maxInterval));
+        activeWatches.incrementAndGet();
+        // the watch completes its result itself once the probe is done, this only handles a cancelled result
+        watch.result.whenComplete((value, error) -> {
+            watch.stop();
+            watch.cancelNext();
+        });
+        watch.schedule(0);
+        return watch.result;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    public long getPollCount() {
+        return polls.get();
+    }
+
+    public long getFailedPollCount() {
+        return failedPolls.get();
+    }
+
+    public long getStateTransitionCount() {
+        return transitions.get();
+    }
+
+    /**
+     * @return the average time between a state transition and the poll before it, in milliseconds. It bounds the
+     * time it took to notice the transitions.
+     */
+    public long getAverageStateTransitionLatencyMillis() {
+        long count = transitions.get();
+        return count == 0 ? 0 : transitionLatencyMillis.get() / count;
+    }
+
+    public long getMaxStateTransitionLatencyMillis() {
+        return maxTransitionLatencyMillis.get();
+    }
+
+    public int getActiveWatchCount() {
+        return activeWatches.get();
+    }
+
+    /**
+     * @return the polling metrics of the server, printed to the build log when a wait ends
+     */
+    @Override
+    public String toString() {
+        return String.format("LRE server %s monitor: %d polls, %d failed, %d state transitions " +
+                        "(average latency %d ms, max %d ms), %d active watches",
+                server, getPollCount(), getFailedPollCount(), getStateTransitionCount(),
+                getAverageStateTransitionLatencyMillis(), getMaxStateTransitionLatencyMillis(), getActiveWatchCount());
+    }
+
+    /**
+     * Polls LRE once for a watch.
+     */
+    public interface Probe<T> {
+        /**
+         * @return the outcome of the poll, a probe which throws is not polled again
+         * @throws Exception the poll failed
+         */
+        Outcome<T> poll() throws Exception;
+    }
+
+    /**
+     * The outcome of a single poll.
+     */
+    public static final class Outcome<T> {
+        private final boolean done;
+        private final T value;
+        private final boolean changed;
+        private final long delay;
+
+        private Outcome(boolean done, T value, boolean changed, long delay) {
+            this.done = done;
+            this.value = value;
+            this.changed = changed;
+            this.delay = delay;
+        }
+
+        /**
+         * @param value the result of the watch
+         * @return the probe is done
+         */
+        public static <T> Outcome<T> done(T value) {
+            return new Outcome<>(true, value, false, -1);
+        }
+
+        /**
+         * @return the state changed, the next poll is after the minimal interval
+         */
+        public static <T> Outcome<T> changed() {
+            return new Outcome<>(false, null, true, -1);
+        }
+
+        /**
+         * @return nothing changed, the interval grows
+         */
+        public static <T> Outcome<T> unchanged() {
+            return new Outcome<>(false, null, false, -1);
+        }
+
+        /**
+         * @param delay the delay of the next poll, in milliseconds
+         * @return the next poll is after the given delay, the interval is kept
+         */
+        public static <T> Outcome<T> retryIn(long delay) {
+            return new Outcome<>(false, null, false, delay);
+        }
+    }
+
+    private final class Watch<T> implements Runnable {
+        private final Probe<T> probe;
+        private final long minInterval;
+        private final long maxInterval;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        private long interval;
+        private long lastPoll;
+        private volatile ScheduledFuture<?> next;
+
+        private Watch(Probe<T> probe, long minInterval, long maxInterval) {
+            this.probe = probe;
+            this.minInterval = minInterval;
+            this.maxInterval = maxInterval;
+            this.interval = minInterval;
+        }
+
+        private void schedule(long delay) {
+            if (result.isDone()) {
+                return;
+            }
+            next = scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Leaves the active watches, before the result is completed so the count is current for its waiters.
+         */
+        private void stop() {
+            if (active.compareAndSet(true, false)) {
+                activeWatches.decrementAndGet();
+            }
+        }
+
+        private void cancelNext() {
+            ScheduledFuture<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long previousPoll = lastPoll;
+            lastPoll = now;
+            polls.incrementAndGet();
+            Outcome<T> outcome;
+            try {
+                outcome = probe.poll();
+            } catch (Exception | Error e) {
+                failedPolls.incrementAndGet();
+                stop();
+                result.completeExceptionally(e);
+                return;
+            }
+            if (outcome.done) {
+                stop();
+                result.complete(outcome.value);
+            } else if (outcome.delay >= 0) {
+                schedule(outcome.delay);
+            } else if (outcome.changed) {
+                if (previousPoll > 0) {
+                    long latency = now - previousPoll;
+                    transitions.incrementAndGet();
+                    transitionLatencyMillis.addAndGet(latency);
+                    maxTransitionLatencyMillis.accumulateAndGet(latency, Math::max);
+                }
+                interval = minInterval;
+                schedule(interval);
+            } else {
+                interval = Math.min(maxInterval, interval + interval / 2);
+                schedule(interval);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.pc;
+
+import com.microfocus.adm.performancecenter.plugins.common.pcentities.TrendReportTypes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The measurements of a trend report, parsed once and kept as one column of (transaction name, value)
+ * per data type, pct type and measurement, so all the plot CSV files of a run come from a single download.
+ * The rows of the report are only known at runtime, so they are read by reflection with the methods
+ * looked up once per row class.
+ */
+public class TrendReportTable {
+
+    private final Map<ColumnKey, Map<String, String>> columns = new HashMap<>();
+    private final Map<Class<?>, Map<String, Optional<Method>>> methodsByClass = new HashMap<>();
+
+    /**
+     * @param rowsLists the content of {@code TrendReportTransactionDataRoot.getTrendReportRoot()}
+     */
+    public static TrendReportTable parse(List<Object> rowsLists) {
+        TrendReportTable table = new TrendReportTable();
+        if (rowsLists != null) {
+            for (Object rowsList : rowsLists) {
+                table.addRowsList(rowsList);
+            }
+        }
+        return table;
+    }
+
+    private void addRowsList(Object rowsList) {
+        for (TrendReportTypes.DataType dataType : TrendReportTypes.DataType.values()) {
+            Method rowListMethod = getMethod(rowsList.getClass(), "getTrendReport" + dataType.toString() + "DataRowList");
+            if (rowListMethod == null) {
+                continue;
+            }
+            try {
+                Object rows = rowListMethod.invoke(rowsList);
+                if (rows instanceof List) {
+                    for (Object row : (List<?>) rows) {
+                        addRow(dataType, row);
+                    }
+                }
+            } catch (Exception e) {
+                // a rows list that cannot be read contributes nothing, as when fetching one measurement at a time
+            }
+        }
+    }
+
+    private void addRow(TrendReportTypes.DataType dataType, Object row) throws ReflectiveOperationException {
+        Method pctTypeMethod = getMethod(row.getClass(), "getPCT_TYPE");
+        Method pctNameMethod = getMethod(row.getClass(), "getPCT_NAME");
+        if (pctTypeMethod == null || pctNameMethod == null) {
+            return;
+        }
+        Object pctType = pctTypeMethod.invoke(row);
+        Object pctName = pctNameMethod.invoke(row);
+        if (pctType == null || pctName == null) {
+            return;
+        }
+        for (TrendReportTypes.Measurement measurement : TrendReportTypes.Measurement.values()) {
+            Method method = getMethod(row.getClass(), "get" + measurement.toString());
+            if (method == null) {
+                continue;
+            }
+            Object value = method.invoke(row);
+            columns.computeIfAbsent(new ColumnKey(dataType, pctType.toString(), measurement), k -> new LinkedHashMap<>())
+                    .put(pctName.toString(), value == null ? "" : value.toString());
+        }
+    }
+
+    private Method getMethod(Class<?> clazz, String name) {
+        // missing methods are remembered too, most rows lack most measurements
+        return methodsByClass.computeIfAbsent(clazz, c -> new HashMap<>()).computeIfAbsent(name, n -> {
+            try {
+                return Optional.of(clazz.getMethod(n));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @return transaction name to value of the measurement, in report order
+     */
+    public Map<String, String> getColumn(TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) {
+        Map<String, String> column = columns.get(new ColumnKey(dataType, pctType.toString(), measurement));
+        return column == null ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(column);
+    }
+
+    /**
+     * @return the column preceded by the run id and measurement type entries expected by the plot CSV files
+     */
+    public Map<String, String> getMeasurementMap(int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) {
+        Map<String, String> measurementMap = new LinkedHashMap<>();
+        measurementMap.put("RunId", "_" + runId + "_");
+        measurementMap.put("Trend Measurement Type", measurement.toString() + "_" + pctType.toString());
+        measurementMap.putAll(getColumn(dataType, pctType, measurement));
+        return measurementMap;
+    }
+
+    /**
+     * Write the plot CSV of one measurement: a line of names and a line of values.
+     */
+    public void writeCsv(Writer writer, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) throws IOException {
+        Map<String, String> measurementMap = getMeasurementMap(runId, dataType, pctType, measurement);
+        for (String key : measurementMap.keySet()) {
+            writer.write(key);
+            writer.write(',');
+        }
+        writer.write("\r\n");
+        for (String value : measurementMap.values()) {
+            writer.write(value);
+            writer.write(',');
+        }
+        writer.flush();
+    }
+
+    private static final class ColumnKey {
+        private final TrendReportTypes.DataType dataType;
+        private final String pctType;
+        private final TrendReportTypes.Measurement measurement;
+
+        private ColumnKey(TrendReportTypes.DataType dataType, String pctType, TrendReportTypes.Measurement measurement) {
+            this.dataType = dataType;
+            this.pctType = pctType;
+            this.measurement = measurement;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ColumnKey)) {
+                return false;
+            }
+            ColumnKey other = (ColumnKey) o;
+            return dataType == other.dataType && pctType.equals(other.pctType) && measurement == other.measurement;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dataType, pctType, measurement);
+        }
+    }
+}
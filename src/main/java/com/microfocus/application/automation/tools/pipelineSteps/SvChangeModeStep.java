@@ -76,7 +76,7 @@ public class SvChangeModeStep extends AbstractSvStep {
 
     @Override
     public SimpleBuildStep getBuilder() {
-        return new SvChangeModeBuilder(serverName, force, mode, dataModel, performanceModel, serviceSelection);
+        return configure(new SvChangeModeBuilder(serverName, force, mode, dataModel, performanceModel, serviceSelection));
     }
 
     @Extension
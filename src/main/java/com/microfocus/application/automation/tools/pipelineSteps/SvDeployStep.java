@@ -70,7 +70,7 @@ public class SvDeployStep extends AbstractSvStep {
 
     @Override
     public SimpleBuildStep getBuilder() {
-        return new SvDeployBuilder(serverName, force, service, projectPath, projectPassword, firstAgentFallback);
+        return configure(new SvDeployBuilder(serverName, force, service, projectPath, projectPassword, firstAgentFallback));
     }
 
     @Extension
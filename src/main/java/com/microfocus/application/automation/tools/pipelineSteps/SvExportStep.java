@@ -78,7 +78,7 @@ public class SvExportStep extends AbstractSvStep {
 
     @Override
     public SimpleBuildStep getBuilder() {
-        return new SvExportBuilder(serverName, force, targetDirectory, cleanTargetDirectory, serviceSelection, switchToStandByFirst, archive);
+        return configure(new SvExportBuilder(serverName, force, targetDirectory, cleanTargetDirectory, serviceSelection, switchToStandByFirst, archive));
     }
 
     @Extension
@@ -58,7 +58,7 @@ public class SvUndeployStep extends AbstractSvStep {
 
     @Override
     public SimpleBuildStep getBuilder() {
-        return new SvUndeployBuilder(serverName, continueIfNotDeployed, force, serviceSelection);
+        return configure(new SvUndeployBuilder(serverName, continueIfNotDeployed, force, serviceSelection));
     }
 
     @Extension
@@ -0,0 +1,60 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.rest;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.microfocus.application.automation.tools.sse.sdk.Response;
+
+/**
+ * The wire level part of {@link RestClient}: sends one request and reads the whole response.
+ * Cookies, user info headers and metrics are handled by the client, so an implementation only has
+ * to move bytes. The default implementation is {@link PooledHttpTransport}.
+ */
+public interface HttpTransport {
+
+    /**
+     * Execute a request.
+     *
+     * @param method
+     *            http method (GET, POST, PUT ...)
+     * @param url
+     *            full url including the query string
+     * @param headers
+     *            request headers, including the cookie header
+     * @param data
+     *            request body, may be null
+     * @return the response; statuses of 400 and above are reported through
+     *         {@link Response#getFailure()} with the error page kept as the response data
+     * @throws IOException
+     *             if the server could not be reached or the response could not be read
+     */
+    Response execute(String method, String url, Map<String, String> headers, byte[] data) throws IOException;
+}
@@ -0,0 +1,222 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.rest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+import com.microfocus.application.automation.tools.sse.sdk.Response;
+import hudson.ProxyConfiguration;
+import jenkins.model.Jenkins;
+
+/**
+ * {@link HttpTransport} backed by one pooled Apache http client shared by all {@link RestClient}s,
+ * so consecutive calls to the same ALM server reuse kept-alive connections instead of doing a new
+ * TCP and TLS handshake per request. Responses are transparently gzip/deflate decoded and
+ * cookie handling is left to the calling client, which keeps its own store.
+ * Timeouts can be tuned with the system properties named after the constants below.
+ */
+public final class PooledHttpTransport implements HttpTransport {
+
+    public static final String CONNECT_TIMEOUT_PROPERTY = PooledHttpTransport.class.getName() + ".connectTimeout";
+    public static final String READ_TIMEOUT_PROPERTY = PooledHttpTransport.class.getName() + ".readTimeout";
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 60 * 1000;
+    public static final int DEFAULT_READ_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+    private static final int MAX_CONNECTIONS = 100;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final long IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+    private final CloseableHttpClient httpClient;
+    private final RequestConfig defaultConfig;
+
+    private PooledHttpTransport() {
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(createTrustAllContext(), NoopHostnameVerifier.INSTANCE))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(registry);
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+
+        int connectTimeout = Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MILLIS);
+        defaultConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(Integer.getInteger(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT_MILLIS))
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultConfig)
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private static class Holder {
+        private static final PooledHttpTransport INSTANCE = new PooledHttpTransport();
+    }
+
+    public static PooledHttpTransport getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public Response execute(String method, String url, Map<String, String> headers, byte[] data) throws IOException {
+        RequestBuilder builder = RequestBuilder.create(method).setUri(url);
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        if (data != null && data.length > 0) {
+            builder.setEntity(new ByteArrayEntity(data));
+        }
+
+        HttpClientContext context = HttpClientContext.create();
+        builder.setConfig(configureProxy(URI.create(url).getHost(), context));
+
+        try (CloseableHttpResponse httpResponse = httpClient.execute(builder.build(), context)) {
+            Response ret = new Response();
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            ret.setStatusCode(statusCode);
+            ret.setHeaders(toHeaderMap(httpResponse.getAllHeaders()));
+            HttpEntity entity = httpResponse.getEntity();
+            // reading the entity to its end is what hands the connection back to the pool
+            ret.setData(entity == null ? new byte[0] : EntityUtils.toByteArray(entity));
+            if (statusCode >= 400) {
+                ret.setFailure(new IOException(
+                        String.format("Server returned HTTP response code: %d for URL: %s", statusCode, url)));
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * Route the request through the Jenkins proxy, honoring its no proxy hosts.
+     */
+    private RequestConfig configureProxy(String host, HttpClientContext context) {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        ProxyConfiguration proxyConfiguration = jenkins == null ? null : jenkins.proxy;
+        if (proxyConfiguration == null || host == null) {
+            return defaultConfig;
+        }
+        Proxy proxy = proxyConfiguration.createProxy(host);
+        SocketAddress address = proxy.address();
+        if (proxy.type() != Proxy.Type.HTTP || !(address instanceof InetSocketAddress)) {
+            return defaultConfig;
+        }
+        InetSocketAddress proxyAddress = (InetSocketAddress) address;
+        HttpHost proxyHost = new HttpHost(proxyAddress.getHostString(), proxyAddress.getPort());
+        String userName = proxyConfiguration.getUserName();
+        if (userName != null && !userName.isEmpty()) {
+            BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+            credentialsProvider.setCredentials(
+                    new AuthScope(proxyHost),
+                    new UsernamePasswordCredentials(userName, proxyConfiguration.getPassword()));
+            context.setCredentialsProvider(credentialsProvider);
+        }
+        return RequestConfig.copy(defaultConfig).setProxy(proxyHost).build();
+    }
+
+    private static Map<String, List<String>> toHeaderMap(Header[] headers) {
+        Map<String, List<String>> ret = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : headers) {
+            ret.computeIfAbsent(header.getName(), k -> new ArrayList<>()).add(header.getValue());
+        }
+        return ret;
+    }
+
+    /**
+     * Same trust everything policy that {@link RestClient} installs for url connections.
+     */
+    private static SSLContext createTrustAllContext() {
+        X509TrustManager trustManager = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                // Don't do anything.
+            }
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                // Don't do anything.
+            }
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext sslcontext = SSLContext.getInstance("TLS");
+            sslcontext.init(null, new TrustManager[] { trustManager }, null);
+            return sslcontext;
+        } catch (KeyManagementException | NoSuchAlgorithmException e) {
+            throw new SSEException(e);
+        }
+    }
+}
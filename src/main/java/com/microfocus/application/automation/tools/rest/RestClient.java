@@ -28,24 +28,21 @@
 
 package com.microfocus.application.automation.tools.rest;
 
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.CookieHandler;
+import java.io.IOException;
 import java.net.CookieManager;
 import java.net.HttpCookie;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -58,7 +55,6 @@ import com.microfocus.application.automation.tools.common.SSEException;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.ResourceAccessLevel;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
-import hudson.ProxyConfiguration;
 
 import com.microfocus.application.automation.tools.sse.sdk.HttpRequestDecorator;
 
@@ -73,13 +69,15 @@ import com.microfocus.adm.performancecenter.plugins.common.rest.RESTConstants;
 public class RestClient implements Client {
 
     private final String _serverUrl;
-    protected Map<String, String> _cookies = new HashMap<String, String>();
+    protected Map<String, String> _cookies = new ConcurrentHashMap<String, String>();
     private final String _restPrefix;
     private final String _webuiPrefix;
     private final String _username;
     private final String XSRF_TOKEN_VALUE;
 
-    private CookieManager cookieManager;
+    private final HttpTransport _transport;
+    private final CookieManager cookieManager;
+    private final RestClientMetrics _metrics = new RestClientMetrics();
 
     /**
      * Configure SSL context for the client.
@@ -127,6 +125,13 @@ public class RestClient implements Client {
      * Constructor for setting rest client properties.
      */
     public RestClient(String url, String domain, String project, String username) {
+        this(url, domain, project, username, PooledHttpTransport.getInstance());
+    }
+
+    /**
+     * Constructor for setting rest client properties and the transport the requests are sent with.
+     */
+    public RestClient(String url, String domain, String project, String username, HttpTransport transport) {
 
         if (!url.endsWith("/")) {
             url = String.format("%s/", url);
@@ -143,9 +148,9 @@ public class RestClient implements Client {
         XSRF_TOKEN_VALUE = UUID.randomUUID().toString();
         _cookies.put("XSRF-TOKEN", XSRF_TOKEN_VALUE);
 
-
+        _transport = transport;
+        // kept per client: a JVM wide cookie handler would mix the sessions of concurrent builds
         cookieManager = new CookieManager();
-        CookieHandler.setDefault(cookieManager);
     }
 
     public String getXsrfTokenValue() {
@@ -272,10 +277,10 @@ public class RestClient implements Client {
         if ((queryString != null) && !queryString.isEmpty()) {
             url += "?" + queryString;
         }
+        long start = System.currentTimeMillis();
+        boolean failed = true;
         try {
-            HttpURLConnection connection = (HttpURLConnection)ProxyConfiguration.open(new URL(url));
-            connection.setRequestMethod(type);
-
+            URI uri = new URI(url);
             Map<String, String> decoratedHeaders = new HashMap<String, String>();
             if (headers != null) {
                 decoratedHeaders.putAll(headers);
@@ -286,108 +291,16 @@ public class RestClient implements Client {
                     getUsername(),
                     resourceAccessLevel);
 
-            prepareHttpRequest(connection, decoratedHeaders, data);
-            connection.connect();
-            ret = retrieveHtmlResponse(connection);
-            updateCookies(ret);
-        } catch (Exception cause) {
-            throw new SSEException(cause);
-        }
-
-        return ret;
-    }
-
-    /**
-     * Prepare http request
-     */
-    private void prepareHttpRequest(
-            HttpURLConnection connnection,
-            Map<String, String> headers,
-            byte[] bytes) {
-
-        // set all cookies for request
-        connnection.setRequestProperty(RESTConstants.COOKIE, getCookiesString());
-
-        setConnectionHeaders(connnection, headers);
-
-        setConnectionData(connnection, bytes);
-    }
-
-    /**
-     * Set connection data
-     */
-    private void setConnectionData(HttpURLConnection connnection, byte[] bytes) {
-
-        if (bytes != null && bytes.length > 0) {
-            connnection.setDoOutput(true);
-            try {
-                OutputStream out = connnection.getOutputStream();
-                out.write(bytes);
-                out.flush();
-                out.close();
-            } catch (Exception cause) {
-                throw new SSEException(cause);
-            }
-        }
-    }
+            // set all cookies for request
+            decoratedHeaders.put(RESTConstants.COOKIE, getCookiesString(uri));
 
-    /**
-     * Set connection headers
-     */
-    private void setConnectionHeaders(HttpURLConnection connnection, Map<String, String> headers) {
-
-        if (headers != null) {
-            Iterator<Entry<String, String>> headersIterator = headers.entrySet().iterator();
-            while (headersIterator.hasNext()) {
-                Entry<String, String> header = headersIterator.next();
-                connnection.setRequestProperty(header.getKey(), header.getValue());
-            }
-        }
-    }
-
-    /**
-     * Retrieve Html Response
-     * @param connection
-     *            that is already connected to its url with an http request, and that should contain
-     *            a response for us to retrieve
-     * @return a response from the server to the previously submitted http request
-     */
-    private Response retrieveHtmlResponse(HttpURLConnection connection) {
-
-        Response ret = new Response();
-
-        try {
-            ret.setStatusCode(connection.getResponseCode());
-            ret.setHeaders(connection.getHeaderFields());
+            ret = _transport.execute(type, url, decoratedHeaders, data);
+            updateCookies(uri, ret);
+            failed = !ret.isOk();
         } catch (Exception cause) {
             throw new SSEException(cause);
-        }
-
-        InputStream inputStream;
-        // select the source of the input bytes, first try 'regular' input
-        try {
-            inputStream = connection.getInputStream();
-        }
-        // if the connection to the server somehow failed, for example 404 or 500,
-        // con.getInputStream() will throw an exception, which we'll keep.
-        // we'll also store the body of the exception page, in the response data. */
-        catch (Exception e) {
-            inputStream = connection.getErrorStream();
-            ret.setFailure(e);
-        }
-
-        // this takes data from the previously set stream (error or input)
-        // and stores it in a byte[] inside the response
-        ByteArrayOutputStream container = new ByteArrayOutputStream();
-        byte[] buf = new byte[1024];
-        int read;
-        try {
-            while ((read = inputStream.read(buf, 0, 1024)) > 0) {
-                container.write(buf, 0, read);
-            }
-            ret.setData(container.toByteArray());
-        } catch (Exception ex) {
-            throw new SSEException(ex);
+        } finally {
+            _metrics.record(type, url, System.currentTimeMillis() - start, failed);
         }
 
         return ret;
@@ -396,9 +309,12 @@ public class RestClient implements Client {
     /**
      * Update cookies
      */
-    private void updateCookies(Response response) {
+    private void updateCookies(URI uri, Response response) throws IOException {
+        if (response.getHeaders() != null) {
+            cookieManager.put(uri, response.getHeaders());
+        }
         if (response.isOk()) {
-            List<HttpCookie> cookies = cookieManager.getCookieStore().getCookies();
+            List<HttpCookie> cookies = cookieManager.getCookieStore().get(uri);
             for (HttpCookie cookie : cookies) {
                 switch (cookie.getName()) {
                     case "LWSSO_COOKIE_KEY":
@@ -416,13 +332,21 @@ public class RestClient implements Client {
     /**
      * Get cookies string
      */
-    private String getCookiesString() {
-        StringBuilder ret = new StringBuilder();
-        if (!_cookies.isEmpty()) {
-            for (Entry<String, String> entry : _cookies.entrySet()) {
-                ret.append(entry.getKey()).append("=").append(entry.getValue()).append(";");
+    private String getCookiesString(URI uri) {
+        // cookies received from the server (QCSession, ALM_USER...) first, explicitly kept ones win
+        Map<String, String> cookies = new LinkedHashMap<String, String>();
+        String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+        for (HttpCookie cookie : cookieManager.getCookieStore().get(uri)) {
+            if (cookie.getPath() == null || path.startsWith(cookie.getPath())) {
+                cookies.put(cookie.getName(), cookie.getValue());
             }
         }
+        cookies.putAll(_cookies);
+
+        StringBuilder ret = new StringBuilder();
+        for (Entry<String, String> entry : cookies.entrySet()) {
+            ret.append(entry.getKey()).append("=").append(entry.getValue()).append(";");
+        }
 
         return ret.toString();
     }
@@ -439,4 +363,11 @@ public class RestClient implements Client {
     public Map<String, String> getCookies() {
         return _cookies;
     }
+
+    /**
+     * Get the latency statistics of the requests sent by this client
+     */
+    public RestClientMetrics getMetrics() {
+        return _metrics;
+    }
 }
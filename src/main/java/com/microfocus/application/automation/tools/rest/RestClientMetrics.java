@@ -0,0 +1,155 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.rest;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per endpoint latency statistics of the requests sent by one {@link RestClient}, printed to the build log
+ * when the client's work is done.
+ * Endpoints are keyed by method and url path with the domain, project and numeric ids replaced
+ * by placeholders, so all "GET .../test-sets/{id}" calls share one entry whatever the project.
+ */
+public final class RestClientMetrics {
+
+    private static final Pattern DOMAIN_PROJECT =
+            Pattern.compile("/domains/[^/]+/projects/[^/]+");
+    private static final Pattern WEBUI_DOMAIN_PROJECT =
+            Pattern.compile("/webui/alm/[^/]+/[^/]+");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    RestClientMetrics() {
+    }
+
+    /**
+     * Record one request.
+     * @param method http method
+     * @param url full request url
+     * @param elapsedMillis time from sending the request until the whole response was read
+     * @param failed true if the request failed or the server answered with an error status
+     */
+    public void record(String method, String url, long elapsedMillis, boolean failed) {
+        endpoints.computeIfAbsent(toEndpoint(method, url), k -> new EndpointStats())
+                .add(elapsedMillis, failed);
+    }
+
+    /**
+     * @return the statistics collected so far, sorted by endpoint
+     */
+    public SortedMap<String, EndpointStats> getSnapshot() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(endpoints));
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    static String toEndpoint(String method, String url) {
+        String path;
+        try {
+            path = URI.create(url).getRawPath();
+        } catch (IllegalArgumentException e) {
+            int query = url.indexOf('?');
+            path = query < 0 ? url : url.substring(0, query);
+        }
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        path = DOMAIN_PROJECT.matcher(path).replaceFirst("/domains/{domain}/projects/{project}");
+        path = WEBUI_DOMAIN_PROJECT.matcher(path).replaceFirst("/webui/alm/{domain}/{project}");
+        path = NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+        return method + " " + path;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : getSnapshot().entrySet()) {
+            ret.append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Counters of a single endpoint.
+     */
+    public static final class EndpointStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        void add(long elapsedMillis, boolean failed) {
+            count.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis.sum();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public long getAverageMillis() {
+            long n = getCount();
+            return n == 0 ? 0 : getTotalMillis() / n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, failures=%d, avg=%dms, max=%dms",
+                    getCount(), getFailures(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -36,9 +36,8 @@ import hudson.model.Run;
 import jenkins.tasks.SimpleBuildStep;
 import net.minidev.json.JSONObject;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
 
 
 /**
@@ -49,6 +48,7 @@ public class PerformanceJobReportAction extends InvisibleAction implements Simpl
     private Run<?, ?> build;
     private JSONObject jobDataSet;
     private LrJobResults _resultFiles;
+    private transient PerformanceProjectAction projectAction;
 
     /**
      * Instantiates a new Performance job report action.
@@ -94,10 +94,15 @@ public class PerformanceJobReportAction extends InvisibleAction implements Simpl
     }
 
 
+    /**
+     * The project action is kept with the last build, so its trend data is only collected again when the
+     * trend index changes.
+     */
     @Override
-    public Collection<? extends Action> getProjectActions() {
-        List<PerformanceProjectAction> projectActions = new ArrayList<PerformanceProjectAction>();
-        projectActions.add(new PerformanceProjectAction(build.getParent()));
-        return projectActions;
+    public synchronized Collection<? extends Action> getProjectActions() {
+        if (projectAction == null) {
+            projectAction = new PerformanceProjectAction(build.getParent());
+        }
+        return Collections.singletonList(projectAction);
     }
 }
@@ -40,8 +40,6 @@ import com.microfocus.application.automation.tools.results.projectparser.perform
 import com.microfocus.application.automation.tools.results.projectparser.performance.WholeRunResult;
 import hudson.model.Action;
 import hudson.model.Job;
-import hudson.model.Run;
-import hudson.util.RunList;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
@@ -76,6 +74,7 @@ public class PerformanceProjectAction implements Action {
     public final Job<?, ?> currentProject;
     private ArrayList<LrJobResults> jobLrResults;
     private int lastBuildId = -1;
+    private long lastIndexStamp = -1;
     private ArrayList<Integer> _workedBuilds;
     private ProjectLrResults _projectResult;
     private Collection<Action> projectActions;
@@ -106,6 +105,7 @@ public class PerformanceProjectAction implements Action {
      */
     @JavaScriptMethod
     public JSONArray getScenarioList() {
+        getUpdatedData();
         JSONArray scenarioList = new JSONArray();
         for (String scenarioName : _projectResult.getScenarioResults().keySet()) {
             JSONObject scenario = new JSONObject();
@@ -124,8 +124,8 @@ public class PerformanceProjectAction implements Action {
     @JavaScriptMethod
     public JSONObject getGraphData() {
         JSONObject projectDataSet = new JSONObject();
+        getUpdatedData();
         if (_projectResult == null) {
-//            getUpdatedData();
             return new JSONObject();
         }
 
@@ -216,17 +216,13 @@ public class PerformanceProjectAction implements Action {
      * @return the boolean
      */
     boolean isVisible() {
-        List<? extends Run<?, ?>> builds = currentProject.getBuilds();
-        for (Run run : builds) {
-            if (run.getAction(PerformanceJobReportAction.class) != null) {
-                return true;
-            }
-        }
-        return false;
+        return !PerformanceTrendIndex.read(currentProject).isEmpty();
     }
 
     /**
      * Gets updated data.
+     * The trend is read from the job's {@link PerformanceTrendIndex} so only the displayed builds are deserialized
+     * and no build has to be loaded.
      */
     public synchronized void getUpdatedData() {
         if (!isUpdateDataNeeded()) {
@@ -237,45 +233,31 @@ public class PerformanceProjectAction implements Action {
 
         _workedBuilds = new ArrayList<Integer>();
 
-        RunList<? extends Run> projectBuilds = currentProject.getBuilds();
-
-        // updateLastBuild();
-
-        for (Run run : projectBuilds) {
-            PerformanceJobReportAction performanceJobReportAction = run.getAction(PerformanceJobReportAction.class);
-            if (performanceJobReportAction == null) {
-                continue;
-            }
-            if (run.isBuilding()) {
-                continue;
-            }
-
-            int runNumber = run.getNumber();
-            if (_workedBuilds.contains(runNumber)) {
-                continue;
-            }
-
-
+        PerformanceTrendIndex.Entries trendEntries = PerformanceTrendIndex.read(currentProject);
+        lastIndexStamp = trendEntries.getStamp();
 
+        for (int runNumber : trendEntries.getBuildNumbers()) {
             _workedBuilds.add(runNumber);
-            LrJobResults jobLrResult = performanceJobReportAction.getLrResultBuildDataset();
 
             // get all the ran scenario results from this run and insert them into the project
-            for (Map.Entry<String, JobLrScenarioResult> runResult : jobLrResult.getLrScenarioResults().entrySet()) {
+            for (String scenarioName : trendEntries.getScenarioNames(runNumber)) {
                 // add the scenario if it's the first time it's ran in this build (allows scenarios to be also added
                 // at diffrent time)
-                if (!_projectResult.getScenarioResults().containsKey(runResult.getKey())) {
-                    _projectResult.addScenario(new LrProjectScenarioResults(runResult.getKey()));
+                if (!_projectResult.getScenarioResults().containsKey(scenarioName)) {
+                    _projectResult.addScenario(new LrProjectScenarioResults(scenarioName));
                 }
                 // Join the SLA rule results
                 LrProjectScenarioResults lrProjectScenarioResults =
-                        _projectResult.getScenarioResults().get(runResult.getKey());
+                        _projectResult.getScenarioResults().get(scenarioName);
                 if(lrProjectScenarioResults.getBuildCount() > MAX_DISPLAY_BUILDS)
                 {
                     continue;
                 }
+                JobLrScenarioResult scenarioRunResult = trendEntries.getScenarioResult(runNumber, scenarioName);
+                if (scenarioRunResult == null) {
+                    continue;
+                }
                 lrProjectScenarioResults.incBuildCount();
-                JobLrScenarioResult scenarioRunResult = runResult.getValue();
                 for (GoalResult goalResult : scenarioRunResult.scenarioSlaResults) {
                     scenarioGoalResult(runNumber, lrProjectScenarioResults, goalResult);
                 }
@@ -430,17 +412,7 @@ public class PerformanceProjectAction implements Action {
     }
 
     private boolean isUpdateDataNeeded() {
-//        final Run<?, ?> lastBuild = currentProject.getLastBuild();
-//        if (null == lastBuild) {
-//            return false;
-//        }
-//
-//        int latestBuildNumber = lastBuild.getNumber();
-//        if (latestBuildNumber == lastBuildId) {
-//            return true;
-//        }
-
-        return true;
+        return _projectResult == null || lastIndexStamp != PerformanceTrendIndex.getStamp(currentProject);
     }
 
 //    @Override
@@ -0,0 +1,393 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results;
+
+import com.microfocus.application.automation.tools.results.projectparser.performance.JobLrScenarioResult;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import hudson.util.XStream2;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only, per job index of the LoadRunner scenario results recorded by the job builds.
+ * <p>
+ * The project performance report reads its trend data from this index instead of loading every retained build
+ * and its {@link PerformanceJobReportAction}. Each line of the index holds one record:
+ * <ul>
+ * <li>{@code A<TAB>build<TAB>scenario<TAB>payload} - the results of one scenario in one build; a later record for the
+ * same build and scenario replaces an earlier one (pipelines merge several LR steps into one build)</li>
+ * <li>{@code D<TAB>build} - the build was deleted</li>
+ * </ul>
+ * Scenario names and payloads (the XStream form of {@link JobLrScenarioResult}) are Base64 encoded so each record
+ * stays on a single line.
+ */
+public final class PerformanceTrendIndex {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PerformanceTrendIndex.class.getName());
+    static final String INDEX_FILE_NAME = "lrTrendIndex.log";
+    private static final String ADD_RECORD = "A";
+    private static final String DELETE_RECORD = "D";
+    private static final String SEPARATOR = "\t";
+    /**
+     * The index is rewritten once it holds more superseded records than this.
+     */
+    private static final int COMPACTION_THRESHOLD = 200;
+    private static final XStream2 XSTREAM = new XStream2();
+    /**
+     * The lock and the last read entries of each job index, the job is a weak key.
+     */
+    private static final Map<Job<?, ?>, JobIndex> JOB_INDEXES = new WeakHashMap<>();
+
+    private PerformanceTrendIndex() {
+    }
+
+    /**
+     * Gets the index file of a job.
+     *
+     * @param job the job
+     * @return the index file
+     */
+    static File getIndexFile(Job<?, ?> job) {
+        return new File(job.getRootDir(), INDEX_FILE_NAME);
+    }
+
+    /**
+     * Records the scenario results attached to a build.
+     * The first time a job is indexed the index is built from the already existing builds.
+     *
+     * @param run     the build
+     * @param results the scenario results of the build
+     */
+    public static void record(Run<?, ?> run, Map<String, JobLrScenarioResult> results) {
+        File indexFile = getIndexFile(run.getParent());
+        JobIndex jobIndex = getJobIndex(run.getParent());
+        synchronized (jobIndex) {
+            jobIndex.entries = null;
+            try {
+                if (!indexFile.exists()) {
+                    rebuild(run.getParent(), run.getNumber());
+                }
+                try (Writer writer = openForAppend(indexFile)) {
+                    for (JobLrScenarioResult scenarioResult : results.values()) {
+                        writeRecord(writer, run.getNumber(), scenarioResult);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to update the performance trend index of " + run, e);
+            }
+        }
+    }
+
+    /**
+     * Marks a build as deleted.
+     *
+     * @param run the deleted build
+     */
+    static void delete(Run<?, ?> run) {
+        File indexFile = getIndexFile(run.getParent());
+        JobIndex jobIndex = getJobIndex(run.getParent());
+        synchronized (jobIndex) {
+            jobIndex.entries = null;
+            if (!indexFile.exists()) {
+                return;
+            }
+            try (Writer writer = openForAppend(indexFile)) {
+                writer.write(DELETE_RECORD + SEPARATOR + run.getNumber() + "\n");
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to update the performance trend index of " + run, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the index of a job, building it from the job builds when it does not exist yet.
+     * The entries are parsed again only when the index changed since they were last read.
+     *
+     * @param job the job
+     * @return the scenario results per build number (newest first), per scenario name
+     */
+    public static Entries read(Job<?, ?> job) {
+        File indexFile = getIndexFile(job);
+        JobIndex jobIndex = getJobIndex(job);
+        synchronized (jobIndex) {
+            try {
+                if (!indexFile.exists()) {
+                    rebuild(job, -1);
+                }
+                if (jobIndex.entries == null || jobIndex.entries.getStamp() != indexFile.length()) {
+                    jobIndex.entries = readEntries(indexFile);
+                }
+                return jobIndex.entries;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to read the performance trend index of " + job.getFullName(), e);
+                return new Entries(new TreeMap<Integer, Map<String, String>>(Collections.reverseOrder()), 0L);
+            }
+        }
+    }
+
+    /**
+     * Gets the current stamp of the index of a job, used to tell whether it changed since it was last read.
+     *
+     * @param job the job
+     * @return the index size, 0 if the index does not exist
+     */
+    public static long getStamp(Job<?, ?> job) {
+        File indexFile = getIndexFile(job);
+        return indexFile.exists() ? indexFile.length() : 0L;
+    }
+
+    private static JobIndex getJobIndex(Job<?, ?> job) {
+        synchronized (JOB_INDEXES) {
+            JobIndex jobIndex = JOB_INDEXES.get(job);
+            if (jobIndex == null) {
+                jobIndex = new JobIndex();
+                JOB_INDEXES.put(job, jobIndex);
+            }
+            return jobIndex;
+        }
+    }
+
+    private static Entries readEntries(File indexFile) throws IOException {
+        NavigableMap<Integer, Map<String, String>> builds = new TreeMap<>(Collections.reverseOrder());
+        int supersededRecords = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR);
+                try {
+                    if (ADD_RECORD.equals(fields[0]) && fields.length == 4) {
+                        int buildNumber = Integer.parseInt(fields[1]);
+                        Map<String, String> scenarios = builds.get(buildNumber);
+                        if (scenarios == null) {
+                            scenarios = new LinkedHashMap<>();
+                            builds.put(buildNumber, scenarios);
+                        }
+                        if (scenarios.put(decode(fields[2]), fields[3]) != null) {
+                            supersededRecords++;
+                        }
+                    } else if (DELETE_RECORD.equals(fields[0]) && fields.length == 2) {
+                        Map<String, String> removed = builds.remove(Integer.parseInt(fields[1]));
+                        supersededRecords += 1 + (removed == null ? 0 : removed.size());
+                    }
+                } catch (IllegalArgumentException e) {
+                    // a partially written line - ignore it
+                    supersededRecords++;
+                }
+            }
+        }
+
+        if (supersededRecords > COMPACTION_THRESHOLD) {
+            compact(indexFile, builds);
+        }
+        return new Entries(builds, indexFile.length());
+    }
+
+    private static void compact(File indexFile, NavigableMap<Integer, Map<String, String>> builds) throws IOException {
+        File tmpFile = new File(indexFile.getParentFile(), INDEX_FILE_NAME + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)) {
+            for (Map.Entry<Integer, Map<String, String>> build : builds.descendingMap().entrySet()) {
+                for (Map.Entry<String, String> scenario : build.getValue().entrySet()) {
+                    writer.write(ADD_RECORD + SEPARATOR + build.getKey() + SEPARATOR + encode(scenario.getKey())
+                            + SEPARATOR + scenario.getValue() + "\n");
+                }
+            }
+        }
+        if (!indexFile.delete() || !tmpFile.renameTo(indexFile)) {
+            throw new IOException("Failed to replace " + indexFile + " with its compacted copy");
+        }
+    }
+
+    /**
+     * Builds the index of a job from its builds. Used once for jobs recorded before the index existed.
+     *
+     * @param job       the job
+     * @param skipBuild a build number to leave out (the build currently being recorded), -1 for none
+     */
+    private static void rebuild(Job<?, ?> job, int skipBuild) throws IOException {
+        File indexFile = getIndexFile(job);
+        File tmpFile = new File(indexFile.getParentFile(), INDEX_FILE_NAME + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)) {
+            for (Run<?, ?> run : job.getBuilds()) {
+                if (run.getNumber() == skipBuild || run.isBuilding()) {
+                    continue;
+                }
+                PerformanceJobReportAction performanceJobReportAction = run.getAction(PerformanceJobReportAction.class);
+                if (performanceJobReportAction == null) {
+                    continue;
+                }
+                for (JobLrScenarioResult scenarioResult : performanceJobReportAction.getLrResultBuildDataset()
+                        .getLrScenarioResults().values()) {
+                    writeRecord(writer, run.getNumber(), scenarioResult);
+                }
+            }
+        }
+        if (!tmpFile.renameTo(indexFile)) {
+            throw new IOException("Failed to create " + indexFile);
+        }
+    }
+
+    private static Writer openForAppend(File indexFile) throws IOException {
+        return new OutputStreamWriter(new FileOutputStream(indexFile, true), StandardCharsets.UTF_8);
+    }
+
+    private static void writeRecord(Writer writer, int buildNumber, JobLrScenarioResult scenarioResult)
+            throws IOException {
+        StringWriter xml = new StringWriter();
+        XSTREAM.marshal(scenarioResult, new CompactWriter(xml));
+        writer.write(ADD_RECORD + SEPARATOR + buildNumber + SEPARATOR + encode(scenarioResult.getScenarioName())
+                + SEPARATOR + encode(xml.toString()) + "\n");
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Guards the index file of one job and keeps its last read entries.
+     */
+    private static final class JobIndex {
+        private Entries entries;
+    }
+
+    /**
+     * The indexed scenario results of a job. Payloads are only deserialized when requested.
+     */
+    public static final class Entries {
+        private final NavigableMap<Integer, Map<String, String>> builds;
+        private final long stamp;
+
+        Entries(NavigableMap<Integer, Map<String, String>> builds, long stamp) {
+            this.builds = builds;
+            this.stamp = stamp;
+        }
+
+        /**
+         * Gets the indexed build numbers, newest first.
+         *
+         * @return the build numbers
+         */
+        public Iterable<Integer> getBuildNumbers() {
+            return builds.keySet();
+        }
+
+        /**
+         * Gets the names of the scenarios recorded by a build.
+         *
+         * @param buildNumber the build number
+         * @return the scenario names
+         */
+        public Iterable<String> getScenarioNames(int buildNumber) {
+            Map<String, String> scenarios = builds.get(buildNumber);
+            return scenarios == null ? Collections.<String>emptySet() : scenarios.keySet();
+        }
+
+        /**
+         * Deserializes the results of one scenario in one build.
+         *
+         * @param buildNumber  the build number
+         * @param scenarioName the scenario name
+         * @return the scenario results, or null if not indexed or unreadable
+         */
+        public JobLrScenarioResult getScenarioResult(int buildNumber, String scenarioName) {
+            Map<String, String> scenarios = builds.get(buildNumber);
+            String payload = scenarios == null ? null : scenarios.get(scenarioName);
+            if (payload == null) {
+                return null;
+            }
+            try {
+                return (JobLrScenarioResult) XSTREAM.fromXML(decode(payload));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to read indexed results of scenario " + scenarioName
+                        + " in build #" + buildNumber, e);
+                return null;
+            }
+        }
+
+        /**
+         * Checks whether any build is indexed.
+         *
+         * @return true if no build is indexed
+         */
+        public boolean isEmpty() {
+            return builds.isEmpty();
+        }
+
+        /**
+         * Gets the stamp of the index when it was read.
+         *
+         * @return the index stamp
+         */
+        public long getStamp() {
+            return stamp;
+        }
+    }
+
+    /**
+     * Keeps the index in sync with deleted builds.
+     */
+    @Extension
+    public static final class DeletedBuildListener extends RunListener<Run> {
+        @Override
+        public void onDeleted(Run run) {
+            if (run.getAction(PerformanceJobReportAction.class) != null) {
+                delete(run);
+            }
+        }
+    }
+}
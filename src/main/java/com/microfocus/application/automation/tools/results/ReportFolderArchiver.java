@@ -0,0 +1,193 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results;
+
+import hudson.FilePath;
+import hudson.remoting.RemoteOutputStream;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Zips report folders on the node that holds them and streams the archive straight into a file on the controller.
+ * <p>
+ * Unlike zipping into a {@code ByteArrayOutputStream} first, only the fixed size buffers of the zip stream and of the
+ * remoting pipe are held in memory, whatever the size of the report. Like {@link FilePath#zip(OutputStream)} the
+ * archive holds the report folder itself as its top level entry.
+ * Several folders can be archived concurrently with {@link #submit(FilePath, File)} followed by {@link #await()}.
+ */
+class ReportFolderArchiver {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int compressionLevel;
+    private final ExecutorService executor;
+    private final List<Future<Void>> pending = new ArrayList<>();
+
+    /**
+     * @param compressionLevel the zip compression level, 0-9 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param concurrency      the number of folders archived at the same time
+     */
+    ReportFolderArchiver(int compressionLevel, int concurrency) {
+        this.compressionLevel = compressionLevel;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+    }
+
+    /**
+     * Zips a folder into a file, synchronously.
+     *
+     * @param source           the folder to archive
+     * @param target           the archive file to create on the controller
+     * @param compressionLevel the zip compression level
+     */
+    static void archive(FilePath source, File target, int compressionLevel) throws IOException, InterruptedException {
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("Failed to create folder " + parent);
+        }
+        boolean archived = false;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE)) {
+            OutputStream zipTarget = source.isRemote() ? new RemoteOutputStream(out) : out;
+            source.act(new ZipFolder(zipTarget, compressionLevel));
+            // make sure all the packets the node sent are written before the archive is closed
+            VirtualChannel channel = source.getChannel();
+            if (source.isRemote() && channel != null) {
+                channel.syncLocalIO();
+            }
+            archived = true;
+        } finally {
+            if (!archived) {
+                // do not leave a truncated archive behind
+                Files.deleteIfExists(target.toPath());
+            }
+        }
+    }
+
+    /**
+     * Schedules the archiving of a folder.
+     *
+     * @param source the folder to archive
+     * @param target the archive file to create on the controller
+     */
+    synchronized void submit(final FilePath source, final File target) {
+        pending.add(executor.submit(() -> {
+            archive(source, target, compressionLevel);
+            return null;
+        }));
+    }
+
+    /**
+     * Waits for all scheduled archives and releases the archiving threads.
+     *
+     * @return the failures of the scheduled archives, empty if all succeeded
+     */
+    synchronized List<Throwable> await() throws InterruptedException {
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Future<Void> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        } finally {
+            pending.clear();
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    private static final class ZipFolder extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+        private final OutputStream out;
+        private final int compressionLevel;
+
+        ZipFolder(OutputStream out, int compressionLevel) {
+            this.out = out;
+            this.compressionLevel = compressionLevel;
+        }
+
+        @Override
+        public Void invoke(File folder, VirtualChannel channel) throws IOException {
+            final Path root = folder.toPath().getParent();
+            try (final ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
+                zip.setLevel(compressionLevel);
+                Files.walkFileTree(folder.toPath(), new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        ZipEntry entry = new ZipEntry(entryName(root, dir) + '/');
+                        entry.setTime(attrs.lastModifiedTime().toMillis());
+                        zip.putNextEntry(entry);
+                        zip.closeEntry();
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (!attrs.isRegularFile()) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        ZipEntry entry = new ZipEntry(entryName(root, file));
+                        entry.setTime(attrs.lastModifiedTime().toMillis());
+                        zip.putNextEntry(entry);
+                        Files.copy(file, zip);
+                        zip.closeEntry();
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+            return null;
+        }
+
+        private static String entryName(Path root, Path path) {
+            Path relative = root == null ? path : root.relativize(path);
+            return relative.toString().replace('\\', '/');
+        }
+    }
+}
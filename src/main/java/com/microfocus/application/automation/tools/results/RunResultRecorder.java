@@ -37,6 +37,7 @@ import com.microfocus.application.automation.tools.run.PcBuilder;
 import com.microfocus.application.automation.tools.run.RunFromAlmBuilder;
 import com.microfocus.application.automation.tools.run.RunFromFileBuilder;
 import com.microfocus.application.automation.tools.run.SseBuilder;
+import com.microfocus.application.automation.tools.settings.RunnerMiscSettingsGlobalConfiguration;
 import com.microfocus.application.automation.tools.uft.utils.UftToolUtils;
 import hudson.EnvVars;
 import hudson.Extension;
@@ -72,6 +73,7 @@ import javax.annotation.Nonnull;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -79,6 +81,8 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
 import java.util.*;
 
 import static com.microfocus.application.automation.tools.results.projectparser.performance.XmlParserUtil.getNode;
@@ -238,7 +242,7 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 
 		try {
 			archiveTestsReport(build, listener, fileSystemResultNames, result, workspace);
-		} catch (ParserConfigurationException | SAXException e) {
+		} catch (XMLStreamException e) {
 			listener.error(ARCHIVING_TEST_REPORTS_FAILED_DUE_TO_XML_PARSING_ERROR + e);
 		}
 
@@ -259,6 +263,8 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 					performanceJobReportAction = new PerformanceJobReportAction(build, jobDataSet);
 				}
 				build.replaceAction(performanceJobReportAction);
+				PerformanceTrendIndex.record(build,
+						performanceJobReportAction.getLrResultBuildDataset().getLrScenarioResults());
 			}
 		}
 		publishLrReports(build);
@@ -315,15 +321,14 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 	 * @param resultFiles
 	 * @param testResult
 	 * @param runWorkspace
-	 * @throws ParserConfigurationException
-	 * @throws SAXException
+	 * @throws XMLStreamException
 	 * @throws IOException
 	 * @throws InterruptedException
 	 */
 	@SuppressWarnings({ "squid:S134", "squid:S135" })
 	private void archiveTestsReport(Run<?, ?> build, TaskListener listener, List<String> resultFiles,
 	                                TestResult testResult, FilePath runWorkspace)
-			throws ParserConfigurationException, SAXException, IOException, InterruptedException {
+			throws XMLStreamException, IOException, InterruptedException {
 
 		if ((resultFiles == null) || (resultFiles.isEmpty())) { return; }
 
@@ -379,236 +384,290 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 		}
 		for (String resultsFilePath : resultFiles) {
 			FilePath resultsFile = projectWS.child(resultsFilePath);
-			List<ReportMetaData> ReportInfoToCollect = new ArrayList<ReportMetaData>();
-
-			DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-
-			Document doc = dBuilder.parse(resultsFile.read());
-			doc.getDocumentElement().normalize();
-
-			Node testSuiteNode = doc.getElementsByTagName("testsuite").item(0);
-			Element testSuiteElement = (Element) testSuiteNode;
-			if (testSuiteElement.hasAttribute("name") && testSuiteElement.getAttribute("name").endsWith(".lrs")) { // LR
-				// test
-				NodeList testSuiteNodes = doc.getElementsByTagName("testsuite");
-				for (int i = 0; i < testSuiteNodes.getLength(); i++) {
-					testSuiteNode = testSuiteNodes.item(i);
-					testSuiteElement = (Element) testSuiteNode;
-					if (!testSuiteElement.hasAttribute("name")) {
-						continue;
-					}
-					String testFolderPath = testSuiteElement.getAttribute("name");
-					int testPathArr = testFolderPath.lastIndexOf('\\');
-					String testName = testFolderPath.substring(testPathArr + 1);
-					reportNames.add(testName);
-					String testStatus = ("0".equals(testSuiteElement.getAttribute("failures"))) ? "pass" : "fail";
-
-					Node testCaseNode = testSuiteElement.getElementsByTagName("testcase").item(0);
-					if (testCaseNode == null) {
-						listener.getLogger().println("No report folder was found in results");
+			long parseStart = System.currentTimeMillis();
+			HeapUsageSampler heapUsage = new HeapUsageSampler();
+			int testCaseCount;
+			try (TestsResultsXmlReader reader = new TestsResultsXmlReader(resultsFile.read())) {
+				if (reader.next() != TestsResultsXmlReader.ElementType.TESTSUITE) {
+					listener.getLogger().println("No test suite was found in " + resultsFilePath);
+					continue;
+				}
+				String firstSuiteName = reader.getName();
+				if (firstSuiteName != null && firstSuiteName.endsWith(".lrs")) { // LR test
+					if (!archiveLrTestsReport(build, listener, reader, heapUsage, testResult, projectWS, artifactsDir,
+							zipFileNames, reportFolders, reportNames)) {
 						return;
 					}
-					if (testCaseNode.getNodeType() == Node.ELEMENT_NODE) {
-
-						Element testCaseElement = (Element) testCaseNode;
-
-						if (!testCaseElement.hasAttribute(REPORT_NAME_FIELD)) {
-							continue;
-						}
-
-						String reportFolderPath = testCaseElement.getAttribute(REPORT_NAME_FIELD);
-
-						FilePath reportFolder = new FilePath(projectWS.getChannel(), reportFolderPath);
-						reportFolders.add(reportFolder);
-
-						FilePath testFolder = new FilePath(projectWS.getChannel(), testFolderPath);
-						String zipFileName = getUniqueZipFileNameInFolder(zipFileNames, testFolder.getName(), "LR");
-						FilePath archivedFile = new FilePath(new FilePath(artifactsDir), zipFileName);
-
-						if (archiveFolder(reportFolder, testStatus, archivedFile, listener)) {
-							zipFileNames.add(zipFileName);
-						}
-
-						createRichReports(reportFolder, testFolderPath, artifactsDir, reportNames, testResult,
-								listener);
-						createHtmlReport(reportFolder, testFolderPath, artifactsDir, reportNames, testResult);
-						createTransactionSummary(reportFolder, testFolderPath, artifactsDir, reportNames, testResult);
-						try {
-							FilePath testSla = copyRunReport(reportFolder, build.getRootDir(), testFolder.getName());
-							if (testSla == null) {
-								listener.getLogger().println("no RunReport.xml file was created");
-							} else {
-								runReportList.add(testSla);
-							}
-						} catch (IOException | InterruptedException e) {
-							listener.getLogger().println(e);
-						}
-					}
+				} else { // UFT Test
+					archiveUftTestsReport(build, listener, reader, heapUsage, runWorkspace, artifactsDir, channel,
+							nodeName, zipFileNames, reportFolders);
 				}
-			} else { // UFT Test
-				boolean isHtmlReport = false;
-				NodeList testCasesNodes = ((Element) testSuiteNode).getElementsByTagName("testcase");
-
-				// to keep counting how many times this TestName have appeared, used for counting the correct count of appearance
-				Map<String, Integer> fileNameCount = new HashMap<>();
-				// to keep counting how many times this TestPath have appeared, used for accessing the correct Report dir
-				Map<String, Integer> filePathCount = new HashMap<>();
+				testCaseCount = reader.getTestCaseCount();
+			}
+			listener.getLogger().println(String.format("Processed %s: %d test cases in %d ms, JVM heap used grew by up to %d MB",
+					resultsFilePath, testCaseCount, System.currentTimeMillis() - parseStart,
+					heapUsage.getPeakGrowthMegabytes()));
+		}
+	}
 
-				for (int i = 0; i < testCasesNodes.getLength(); i++) {
-					Node nNode = testCasesNodes.item(i);
+	/**
+	 * Archives the reports of the LR scenarios of one results file, reading its test suites one at a time.
+	 *
+	 * @return false if a scenario has no report folder and archiving should stop
+	 */
+	private boolean archiveLrTestsReport(Run<?, ?> build, TaskListener listener, TestsResultsXmlReader reader,
+	                                     HeapUsageSampler heapUsage, TestResult testResult, FilePath projectWS,
+	                                     File artifactsDir, ArrayList<String> zipFileNames,
+	                                     List<FilePath> reportFolders, List<String> reportNames)
+			throws XMLStreamException, IOException, InterruptedException {
+		TestsResultsXmlReader.ElementType elementType = reader.getCurrentType();
+		while (elementType != null) {
+			// the current element is a test suite
+			String testFolderPath = reader.getName();
+			String testStatus = ("0".equals(reader.getFailures())) ? "pass" : "fail";
+			elementType = reader.next();
+			heapUsage.sample();
+			if (testFolderPath == null) {
+				while (elementType == TestsResultsXmlReader.ElementType.TESTCASE) {
+					elementType = reader.next();
+				}
+				continue;
+			}
+			int testPathArr = testFolderPath.lastIndexOf('\\');
+			String testName = testFolderPath.substring(testPathArr + 1);
+			reportNames.add(testName);
 
-					if (nNode.getNodeType() == Node.ELEMENT_NODE) {
+			if (elementType != TestsResultsXmlReader.ElementType.TESTCASE) {
+				listener.getLogger().println("No report folder was found in results");
+				return false;
+			}
+			// only the first test case of a scenario holds its report
+			String reportFolderPath = reader.getReport();
+			while (elementType == TestsResultsXmlReader.ElementType.TESTCASE) {
+				elementType = reader.next();
+			}
+			if (reportFolderPath == null) {
+				continue;
+			}
 
-						Element eElement = (Element) nNode;
+			FilePath reportFolder = new FilePath(projectWS.getChannel(), reportFolderPath);
+			reportFolders.add(reportFolder);
 
-						if (!eElement.hasAttribute(REPORT_NAME_FIELD)) {
-							continue;
-						}
+			FilePath testFolder = new FilePath(projectWS.getChannel(), testFolderPath);
+			String zipFileName = getUniqueZipFileNameInFolder(zipFileNames, testFolder.getName(), "LR");
+			FilePath archivedFile = new FilePath(new FilePath(artifactsDir), zipFileName);
 
-						String reportFolderPath = eElement.getAttribute(REPORT_NAME_FIELD); // e.g. "C:\UFTTest\GuiTest1\Report"
+			if (archiveFolder(reportFolder, testStatus, archivedFile, listener)) {
+				zipFileNames.add(zipFileName);
+			}
 
-						String testFolderPath = eElement.getAttribute("name"); // e.g. "C:\UFTTest\GuiTest1"
-						String testStatus = eElement.getAttribute("status"); // e.g. "pass"
-						Node nodeSystemInfo = eElement.getElementsByTagName("system-out").item(0);
-						String sysInfo = nodeSystemInfo.getFirstChild().getNodeValue();
-						String testDateTime = sysInfo.substring(0, 19);
-						FilePath testFileFullName = new FilePath(channel, testFolderPath);
+			createRichReports(reportFolder, testFolderPath, artifactsDir, reportNames, testResult,
+					listener);
+			createHtmlReport(reportFolder, testFolderPath, artifactsDir, reportNames, testResult);
+			createTransactionSummary(reportFolder, testFolderPath, artifactsDir, reportNames, testResult);
+			try {
+				FilePath testSla = copyRunReport(reportFolder, build.getRootDir(), testFolder.getName());
+				if (testSla == null) {
+					listener.getLogger().println("no RunReport.xml file was created");
+				} else {
+					runReportList.add(testSla);
+				}
+			} catch (IOException | InterruptedException e) {
+				listener.getLogger().println(e);
+			}
+		}
+		return true;
+	}
 
-						if(!testFileFullName.exists()){
-							break;
-						}
+	/**
+	 * Archives the reports of the UFT tests of the first test suite of one results file, reading its test cases
+	 * one at a time.
+	 */
+	@SuppressWarnings("squid:S3776")
+	private void archiveUftTestsReport(Run<?, ?> build, TaskListener listener, TestsResultsXmlReader reader,
+	                                   HeapUsageSampler heapUsage, FilePath runWorkspace, File artifactsDir,
+	                                   VirtualChannel channel, String nodeName, ArrayList<String> zipFileNames,
+	                                   List<FilePath> reportFolders)
+			throws XMLStreamException, IOException, InterruptedException {
+		List<ReportMetaData> ReportInfoToCollect = new ArrayList<ReportMetaData>();
+		boolean isHtmlReport = false;
+
+		// to keep counting how many times this TestName have appeared, used for counting the correct count of appearance
+		Map<String, Integer> fileNameCount = new HashMap<>();
+		// to keep counting how many times this TestPath have appeared, used for accessing the correct Report dir
+		Map<String, Integer> filePathCount = new HashMap<>();
+
+		ReportFolderArchiver reportArchiver = new ReportFolderArchiver(getReportArchiveCompressionLevel(),
+				getReportArchiveConcurrency());
+		try {
+			// only the test cases of the first test suite are archived
+			while (reader.next() == TestsResultsXmlReader.ElementType.TESTCASE) {
+				heapUsage.sample();
+				String reportFolderPath = reader.getReport(); // e.g. "C:\UFTTest\GuiTest1\Report"
+				if (reportFolderPath == null) {
+					continue;
+				}
 
-						String testName = testFileFullName.getName();
+				String testFolderPath = reader.getName(); // e.g. "C:\UFTTest\GuiTest1"
+				String testStatus = reader.getStatus(); // e.g. "pass"
+				String sysInfo = reader.getSystemOut();
+				String testDateTime = sysInfo != null && sysInfo.length() >= 19 ? sysInfo.substring(0, 19) : "";
+				FilePath testFileFullName = new FilePath(channel, testFolderPath);
 
-						int nameCount = 1;
-						if (fileNameCount.containsKey(testName)) {
-							nameCount = fileNameCount.get(testName) + 1;
-						}
-						// update the count for this file
-						fileNameCount.put(testName, nameCount);
-						testName += "[" + nameCount + "]";
+				if(!testFileFullName.exists()){
+					break;
+				}
 
-						String testPath = testFileFullName.getRemote();
+				String testName = testFileFullName.getName();
 
-						int pathCount = 1;
-						if (filePathCount.containsKey(testPath)) {
-							pathCount = filePathCount.get(testPath) + 1;
-						}
-						// update the count for this path
-						filePathCount.put(testPath, pathCount);
-
-						String reportIndex = "";
-						if (filePathCount.get(testPath) != null) {
-							reportIndex = Integer.toString(filePathCount.get(testPath));
-						} else {
-							reportIndex = "1";
-						}
+				int nameCount = 1;
+				if (fileNameCount.containsKey(testName)) {
+					nameCount = fileNameCount.get(testName) + 1;
+				}
+				// update the count for this file
+				fileNameCount.put(testName, nameCount);
+				testName += "[" + nameCount + "]";
 
-						FilePath reportFolder = new FilePath(channel, reportFolderPath + reportIndex);
-						if (!reportFolder.exists()) {
-							reportFolder = new FilePath(channel, reportFolderPath);
-						}
-						if(!reportFolder.exists()){
-							listener.getLogger().println("Report folder does not exist.");
-						}
+				String testPath = testFileFullName.getRemote();
 
-						boolean isParallelRunnerReport = isParallelRunnerReportPath(reportFolder);
-						reportFolders.add(reportFolder);
-
-						String archiveTestResultMode = _resultsPublisherModel.getArchiveTestResultsMode();
-						boolean archiveTestResult;
-
-						// check for the new html report
-						FilePath htmlReport = new FilePath(reportFolder,
-								isParallelRunnerReport ? PARALLEL_RESULT_FILE : "run_results.html");
-						ReportMetaData reportMetaData = new ReportMetaData();
-						if (htmlReport.exists()) {
-							isHtmlReport = true;
-							String htmlReportDir = reportFolder.getRemote();
-							reportMetaData.setFolderPath(htmlReportDir);
-							reportMetaData.setIsHtmlReport(true);
-							reportMetaData.setDateTime(testDateTime);
-							reportMetaData.setStatus(testStatus);
-							reportMetaData.setIsParallelRunnerReport(isParallelRunnerReport); // we need to handle
-
-							// the type for this report
-							String resourceUrl = "artifact/UFTReport/" + (StringUtils.isBlank(nodeName) ? "" : nodeName + "/") + testName + "/Result";
-							reportMetaData.setResourceURL(resourceUrl);
-							reportMetaData.setDisPlayName(testName); // use the name, not the full path
-							reportMetaData.computeStResFolders(new FilePath(reportFolder, RUN_RESULTS_XML), listener);
-
-							// don't know reportMetaData's URL path yet, we will generate it later.
-							ReportInfoToCollect.add(reportMetaData);
-						}
+				int pathCount = 1;
+				if (filePathCount.containsKey(testPath)) {
+					pathCount = filePathCount.get(testPath) + 1;
+				}
+				// update the count for this path
+				filePathCount.put(testPath, pathCount);
 
-						archiveTestResult = isArchiveTestResult(testStatus, archiveTestResultMode);
-						if (archiveTestResult) {
-							if (reportFolder.exists()) {
-								FilePath testFolder = new FilePath(channel, testFolderPath);
-								String zipFileName = getUniqueZipFileNameInFolder(zipFileNames, (StringUtils.isBlank(nodeName) ? "" : nodeName + "_") + testFolder.getName(), "UFT");
-								zipFileNames.add(zipFileName);
-								try (ByteArrayOutputStream outStr = new ByteArrayOutputStream()) {
-
-									// don't use FileFilter for zip, or it will cause bug when files are on slave
-									reportFolder.zip(outStr);
-
-									/*
-									 * I did't use copyRecursiveTo or copyFrom due to bug in
-									 * jekins:https://issues.jenkins-ci.org/browse /JENKINS-9189 //(which is
-									 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
-									 * it to the master.
-									 */
-
-									try (InputStream instr = new ByteArrayInputStream(outStr.toByteArray())) {
-										FilePath archivedFile = new FilePath(new FilePath(artifactsDir), zipFileName);
-										archivedFile.copyFrom(instr);
-									}
-								}
+				String reportIndex = Integer.toString(pathCount);
 
-								// add to Report list
-								String zipFileUrlName = "artifact/" + zipFileName;
-								reportMetaData.setArchiveUrl(zipFileUrlName);
+				FilePath reportFolder = new FilePath(channel, reportFolderPath + reportIndex);
+				if (!reportFolder.exists()) {
+					reportFolder = new FilePath(channel, reportFolderPath);
+				}
+				if(!reportFolder.exists()){
+					listener.getLogger().println("Report folder does not exist.");
+				}
 
-							} else {
-								listener.getLogger().println("No report folder was found in: " + reportFolderPath);
-							}
-						}
+				boolean isParallelRunnerReport = isParallelRunnerReportPath(reportFolder);
+				reportFolders.add(reportFolder);
+
+				String archiveTestResultMode = _resultsPublisherModel.getArchiveTestResultsMode();
+				boolean archiveTestResult;
+
+				// check for the new html report
+				FilePath htmlReport = new FilePath(reportFolder,
+						isParallelRunnerReport ? PARALLEL_RESULT_FILE : "run_results.html");
+				ReportMetaData reportMetaData = new ReportMetaData();
+				if (htmlReport.exists()) {
+					isHtmlReport = true;
+					String htmlReportDir = reportFolder.getRemote();
+					reportMetaData.setFolderPath(htmlReportDir);
+					reportMetaData.setIsHtmlReport(true);
+					reportMetaData.setDateTime(testDateTime);
+					reportMetaData.setStatus(testStatus);
+					reportMetaData.setIsParallelRunnerReport(isParallelRunnerReport); // we need to handle
+
+					// the type for this report
+					String resourceUrl = "artifact/UFTReport/" + (StringUtils.isBlank(nodeName) ? "" : nodeName + "/") + testName + "/Result";
+					reportMetaData.setResourceURL(resourceUrl);
+					reportMetaData.setDisPlayName(testName); // use the name, not the full path
+					reportMetaData.computeStResFolders(new FilePath(reportFolder, RUN_RESULTS_XML), listener);
+
+					// don't know reportMetaData's URL path yet, we will generate it later.
+					ReportInfoToCollect.add(reportMetaData);
+				}
 
+				archiveTestResult = isArchiveTestResult(testStatus, archiveTestResultMode);
+				if (archiveTestResult) {
+					if (reportFolder.exists()) {
+						FilePath testFolder = new FilePath(channel, testFolderPath);
+						String zipFileName = getUniqueZipFileNameInFolder(zipFileNames, (StringUtils.isBlank(nodeName) ? "" : nodeName + "_") + testFolder.getName(), "UFT");
+						zipFileNames.add(zipFileName);
+						/*
+						 * I did't use copyRecursiveTo or copyFrom due to bug in
+						 * jekins:https://issues.jenkins-ci.org/browse /JENKINS-9189 //(which is
+						 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
+						 * it to the master.
+						 */
+						reportArchiver.submit(reportFolder, new File(artifactsDir, zipFileName));
+						listener.getLogger().println("Zipping report folder: " + reportFolder);
+
+						// add to Report list
+						String zipFileUrlName = "artifact/" + zipFileName;
+						reportMetaData.setArchiveUrl(zipFileUrlName);
+
+					} else {
+						listener.getLogger().println("No report folder was found in: " + reportFolderPath);
 					}
 				}
+			}
+		} finally {
+			// wait for the report archives before the html reports are collected
+			for (Throwable failure : reportArchiver.await()) {
+				listener.getLogger().println("Failed to archive a report folder: " + failure);
+			}
+		}
 
-				if (isHtmlReport && !ReportInfoToCollect.isEmpty()) {
-					collectAndPrepareHtmlReports(build, listener, ReportInfoToCollect, runWorkspace, nodeName);
+		if (isHtmlReport && !ReportInfoToCollect.isEmpty()) {
+			collectAndPrepareHtmlReports(build, listener, ReportInfoToCollect, runWorkspace, nodeName);
+		}
+
+		if (!ReportInfoToCollect.isEmpty()) {
+			int index = 1;
+			String reportName = "report_metadata" + "_" + index + ".xml";
+			// serialize report metadata
+			synchronized (HtmlBuildReportAction.class) {
+				while (new File(artifactsDir.getParent(), reportName).exists()) {
+					index++;
+					reportName = "report_metadata" + "_" + index + ".xml";
 				}
+				File reportMetaDataXmlFile = new File(artifactsDir.getParent(), reportName);
+				String reportMetaDataXml = reportMetaDataXmlFile.getAbsolutePath();
+				writeReportMetaData2XML(ReportInfoToCollect, reportMetaDataXml, listener);
 
-				if (!ReportInfoToCollect.isEmpty()) {
-					int index = 1;
-					String reportName = "report_metadata" + "_" + index + ".xml";
-					// serialize report metadata
-					synchronized (HtmlBuildReportAction.class) {
-						while (new File(artifactsDir.getParent(), reportName).exists()) {
-							index++;
-							reportName = "report_metadata" + "_" + index + ".xml";
-						}
-						File reportMetaDataXmlFile = new File(artifactsDir.getParent(), reportName);
-						String reportMetaDataXml = reportMetaDataXmlFile.getAbsolutePath();
-						writeReportMetaData2XML(ReportInfoToCollect, reportMetaDataXml, listener);
-
-						// Add UFT report action
-						try {
-							listener.getLogger().println("Adding a report action to the current build.");
-							HtmlBuildReportAction reportAction = new HtmlBuildReportAction(build, reportName, index);
-							build.addAction(reportAction);
-						} catch (IOException | SAXException | ParserConfigurationException ex) {
-							listener.getLogger().println("a problem adding action: " + ex);
-						}
-					}
+				// Add UFT report action
+				try {
+					listener.getLogger().println("Adding a report action to the current build.");
+					HtmlBuildReportAction reportAction = new HtmlBuildReportAction(build, reportName, index);
+					build.addAction(reportAction);
+				} catch (IOException | SAXException | ParserConfigurationException ex) {
+					listener.getLogger().println("a problem adding action: " + ex);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Tracks how much the used heap grew above its level before a results file is processed. The heap is shared by
+	 * the whole JVM, so the growth is an upper bound of what the processing itself used.
+	 */
+	private static final class HeapUsageSampler {
+		private static final int SAMPLE_INTERVAL = 100;
+		private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+		private final long baselineUsed;
+		private long peakUsed;
+		private int calls;
+
+		HeapUsageSampler() {
+			baselineUsed = memoryBean.getHeapMemoryUsage().getUsed();
+			peakUsed = baselineUsed;
+		}
+
+		void sample() {
+			if (++calls % SAMPLE_INTERVAL == 0) {
+				update();
+			}
+		}
+
+		long getPeakGrowthMegabytes() {
+			update();
+			return (peakUsed - baselineUsed) / (1024 * 1024);
+		}
+
+		private void update() {
+			peakUsed = Math.max(peakUsed, memoryBean.getHeapMemoryUsage().getUsed());
+		}
+	}
+
 	private void writeReportMetaData2XML(List<ReportMetaData> htmlReportsInfo, String xmlFile, TaskListener _logger) {
 		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
 		DocumentBuilder builder = null;
@@ -772,19 +831,13 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 		String zipFileName = "UFT_Report_HTML_tmp.zip";
 		FilePath archivedFile = new FilePath(rootTarget, zipFileName);
 
-		try (ByteArrayOutputStream outStr = new ByteArrayOutputStream()) {
-			source.zip(outStr);
+		//zip on slave and stream to master
+		ReportFolderArchiver.archive(source, new File(reportDir, zipFileName), getReportArchiveCompressionLevel());
+		// end zip copy and unzip
+		archivedFile.unzip(rootTarget);
 
-			try (ByteArrayInputStream inStr = new ByteArrayInputStream(outStr.toByteArray())) {
-				//copy from slave to master
-				archivedFile.copyFrom(inStr);
-			}
-			// end zip copy and unzip
-			archivedFile.unzip(rootTarget);
-
-			//delete temporary archive UFT_Report_HTML_tmp.zip
-			archivedFile.delete();
-		}
+		//delete temporary archive UFT_Report_HTML_tmp.zip
+		archivedFile.delete();
 	}
 
 	/**
@@ -839,22 +892,14 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 
 				listener.getLogger().println("Zipping report folder: " + reportFolder);
 
-				ByteArrayOutputStream outstr = new ByteArrayOutputStream();
-				reportFolder.zip(outstr);
-
 				/*
 				 * I did't use copyRecursiveTo or copyFrom due to bug in
 				 * jekins:https://issues.jenkins-ci.org/browse /JENKINS-9189 //(which is
 				 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
 				 * it to the master.
 				 */
-
-				ByteArrayInputStream instr = new ByteArrayInputStream(outstr.toByteArray());
-
-				archivedFile.copyFrom(instr);
-
-				outstr.close();
-				instr.close();
+				ReportFolderArchiver.archive(reportFolder, new File(archivedFile.getRemote()),
+						getReportArchiveCompressionLevel());
 				return true;
 			} else {
 				listener.getLogger().println("No report folder was found in: " + reportFolder);
@@ -864,6 +909,22 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 		return false;
 	}
 
+	private static int getReportArchiveCompressionLevel() {
+		try {
+			return RunnerMiscSettingsGlobalConfiguration.getInstance().getReportArchiveCompressionLevel();
+		} catch (NullPointerException ignored) {
+			return RunnerMiscSettingsGlobalConfiguration.DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL;
+		}
+	}
+
+	private static int getReportArchiveConcurrency() {
+		try {
+			return RunnerMiscSettingsGlobalConfiguration.getInstance().getReportArchiveConcurrency();
+		} catch (NullPointerException ignored) {
+			return RunnerMiscSettingsGlobalConfiguration.DEFAULT_REPORT_ARCHIVE_CONCURRENCY;
+		}
+	}
+
 	private boolean isArchiveTestResult(String testStatus, String archiveTestResultMode) {
 		if (archiveTestResultMode.equals(ResultsPublisherModel.alwaysArchiveResults.getValue())
 				|| archiveTestResultMode.equals(ResultsPublisherModel.CreateHtmlReportResults.getValue())) {
@@ -901,18 +962,14 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 			if (srcDirectoryFilePath.exists()) {
 				FilePath srcFilePath = new FilePath(srcDirectoryFilePath, IE_REPORT_FOLDER);
 				if (srcFilePath.exists()) {
-					ByteArrayOutputStream baos = new ByteArrayOutputStream();
-					srcFilePath.zip(baos);
 					File reportDirectory = new File(artifactsDir.getParent(), PERFORMANCE_REPORT_FOLDER);
 					if (!reportDirectory.exists()) {
 						reportDirectory.mkdir();
 					}
-					ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
 					FilePath reportDirectoryFilePath = new FilePath(reportDirectory);
 					FilePath tmpZipFile = new FilePath(reportDirectoryFilePath, "tmp.zip");
-					tmpZipFile.copyFrom(bais);
-					bais.close();
-					baos.close();
+					ReportFolderArchiver.archive(srcFilePath, new File(reportDirectory, "tmp.zip"),
+							getReportArchiveCompressionLevel());
 					tmpZipFile.unzip(reportDirectoryFilePath);
 					String newFolderName = org.apache.commons.io.FilenameUtils.getName(testFolderPathFile.getPath());
 					FileUtils.moveDirectory(new File(reportDirectory, IE_REPORT_FOLDER),
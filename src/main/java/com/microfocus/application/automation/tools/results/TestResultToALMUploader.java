@@ -42,6 +42,7 @@ import com.microfocus.application.automation.tools.results.service.AttachmentUpl
 import com.microfocus.application.automation.tools.results.service.ExternalEntityUploadLogger;
 import com.microfocus.application.automation.tools.results.service.IExternalEntityUploadService;
 import com.microfocus.application.automation.tools.settings.AlmServerSettingsGlobalConfiguration;
+import com.microfocus.application.automation.tools.settings.RunnerMiscSettingsGlobalConfiguration;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
@@ -325,11 +326,20 @@ public class TestResultToALMUploader extends Recorder implements Serializable, M
                     Util.replaceMacro(uploadTestResultToAlmModel.getAlmTestSetFolder(), varResolver)
             );
             AlmRestTool almRestTool = new AlmRestTool(loginInfo, logger);
+            int uploadBatchSize = RunnerMiscSettingsGlobalConfiguration.DEFAULT_ALM_UPLOAD_BATCH_SIZE;
+            int uploadConcurrency = RunnerMiscSettingsGlobalConfiguration.DEFAULT_ALM_UPLOAD_CONCURRENCY;
+            try {
+                uploadBatchSize = RunnerMiscSettingsGlobalConfiguration.getInstance().getAlmUploadBatchSize();
+                uploadConcurrency = RunnerMiscSettingsGlobalConfiguration.getInstance().getAlmUploadConcurrency();
+            } catch (NullPointerException ignored) {
+                // keep the defaults
+            }
 
         	for (String fileName : files) {
         		String fullpath = root.getAbsolutePath() + File.separator + fileName;
     			logger.log("INFO: Start to upload "+fullpath);
-    			IExternalEntityUploadService service = new DefaultExternalEntityUploadServiceImpl(almRestTool, workspace, logger);
+    			IExternalEntityUploadService service = new DefaultExternalEntityUploadServiceImpl(almRestTool, workspace, logger,
+                    uploadBatchSize, uploadConcurrency);
     			try {
                     importedTestsetIds = service.uploadExternalTestSet(loginInfo,
 	    					fullpath,
@@ -355,8 +365,9 @@ public class TestResultToALMUploader extends Recorder implements Serializable, M
                     && testingAttachment != null
                     && !testingAttachment.isEmpty()) {
 
-                AttachmentUploadService.init(build, workspace, almRestTool.getRestClient(), logger);
-                if (!AttachmentUploadService.getInstance().upload(testingAttachment, "test-sets", importedTestsetIds.get(0))) {
+                AttachmentUploadService attachmentUploadService =
+                        new AttachmentUploadService(build, workspace, almRestTool.getRestClient(), logger);
+                if (!attachmentUploadService.upload(testingAttachment, "test-sets", importedTestsetIds.get(0))) {
                     build.setResult(Result.UNSTABLE);
                 }
             }
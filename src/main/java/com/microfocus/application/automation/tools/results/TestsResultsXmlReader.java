@@ -0,0 +1,194 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Single pass, streaming reader of the results xml written by the UFT / LR launchers.
+ * <p>
+ * The structure of the result file is:
+ * <pre>
+ * &lt;testsuites&gt;
+ *   &lt;testsuite name="..." failures="..."&gt;
+ *     &lt;testcase name="..." status="..." report="path-to-report"&gt;&lt;system-out&gt;...&lt;/system-out&gt;&lt;/testcase&gt;
+ *   &lt;/testsuite&gt;
+ * &lt;/testsuites&gt;
+ * </pre>
+ * Instead of building a DOM of the whole file, the reader returns the test suites and test cases one at a time, so
+ * only the current element is held in memory.
+ */
+class TestsResultsXmlReader implements Closeable {
+
+    /**
+     * The kinds of elements returned by the reader.
+     */
+    enum ElementType {
+        TESTSUITE,
+        TESTCASE
+    }
+
+    private static final String TESTSUITE = "testsuite";
+    private static final String TESTCASE = "testcase";
+    private static final String SYSTEM_OUT = "system-out";
+
+    private final InputStream inputStream;
+    private final XMLStreamReader reader;
+    private ElementType currentType;
+    private String name;
+    private String status;
+    private String failures;
+    private String report;
+    private String systemOut;
+    private int testCaseCount;
+
+    TestsResultsXmlReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.inputStream = inputStream;
+        this.reader = factory.createXMLStreamReader(inputStream);
+    }
+
+    /**
+     * Moves to the next test suite or test case. A test case is returned only after its content was read.
+     *
+     * @return the type of the element, null at the end of the file
+     * @throws XMLStreamException if the file is malformed
+     */
+    ElementType next() throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String localName = reader.getLocalName();
+            if (TESTSUITE.equals(localName)) {
+                currentType = ElementType.TESTSUITE;
+                name = reader.getAttributeValue(null, "name");
+                failures = reader.getAttributeValue(null, "failures");
+                status = null;
+                report = null;
+                systemOut = null;
+                return currentType;
+            } else if (TESTCASE.equals(localName)) {
+                currentType = ElementType.TESTCASE;
+                name = reader.getAttributeValue(null, "name");
+                status = reader.getAttributeValue(null, "status");
+                report = reader.getAttributeValue(null, RunResultRecorder.REPORT_NAME_FIELD);
+                failures = null;
+                systemOut = null;
+                readTestCaseContent();
+                testCaseCount++;
+                return currentType;
+            }
+        }
+        currentType = null;
+        return null;
+    }
+
+    private void readTestCaseContent() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (systemOut == null && SYSTEM_OUT.equals(reader.getLocalName())) {
+                    systemOut = reader.getElementText();
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    ElementType getCurrentType() {
+        return currentType;
+    }
+
+    /**
+     * @return the name attribute of the current element, null if missing
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the failures attribute of the current test suite, null if missing
+     */
+    String getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the status attribute of the current test case, null if missing
+     */
+    String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the report folder attribute of the current test case, null if missing
+     */
+    String getReport() {
+        return report;
+    }
+
+    /**
+     * @return the text of the system-out element of the current test case, null if missing
+     */
+    String getSystemOut() {
+        return systemOut;
+    }
+
+    /**
+     * @return the number of test cases read so far
+     */
+    int getTestCaseCount() {
+        return testCaseCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            inputStream.close();
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.lrscriptresultparser;
+
+import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.io.input.BOMInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Single pass streaming converter of LR script results xml (Results.xml) to JUNIT.
+ * <p>
+ * The results are read with StAX, the test cases of every action are spooled to a temporary file as soon as they are
+ * known, and the JUNIT report is assembled from the spooled files once the summaries are read, so the memory used does
+ * not depend on the size of the results.
+ */
+public final class LrScriptResultsConverter {
+
+    private static final String ACTION = "Action";
+    private static final String ACTION_NAME = "AName";
+    private static final String STEP = "Step";
+    private static final String STEP_OBJECT = "Obj";
+    private static final String STEP_ARGS = "NodeArgs";
+    private static final String SUMMARY = "Summary";
+    private static final String PASSED_STATUS = "Passed";
+    private static final String REPORT_PASSED = "passed";
+    private static final String REPORT_FAILED = "failed";
+    private static final int PROLOG_READ_LIMIT = 64 * 1024;
+
+    private final String scriptName;
+    private final File spoolDir;
+    private final Deque<ActionState> openActions = new ArrayDeque<>();
+    private final Deque<StepState> openSteps = new ArrayDeque<>();
+    private final List<ActionState> actions = new ArrayList<>();
+    private String[] rootSummary;
+    private int spoolCount;
+
+    private LrScriptResultsConverter(String scriptName, File spoolDir) {
+        this.scriptName = scriptName;
+        this.spoolDir = spoolDir;
+    }
+
+    /**
+     * Converts the LR script results to a JUNIT report.
+     *
+     * @param results    the results xml, it is sanitized from characters that are not allowed in xml
+     * @param junit      the stream the JUNIT report is written to
+     * @param scriptName the script name, used as the name of the report and the package of the suites
+     * @param spoolDir   directory for the temporary files of the conversion, the files are deleted when done
+     * @throws IOException        the io exception
+     * @throws XMLStreamException the results are not a valid xml
+     */
+    public static void convert(InputStream results, OutputStream junit, String scriptName, File spoolDir)
+            throws IOException, XMLStreamException {
+        LrScriptResultsConverter converter = new LrScriptResultsConverter(scriptName, spoolDir);
+        try {
+            converter.read(results);
+            converter.write(junit);
+        } finally {
+            converter.deleteSpools();
+        }
+    }
+
+    private void read(InputStream results) throws IOException, XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        InputStream buffered = new BufferedInputStream(results);
+        Charset charset = detectEncoding(factory, buffered);
+        BOMInputStream unmarked = new BOMInputStream(buffered,
+                ByteOrderMark.UTF_8, ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_16BE);
+        if (unmarked.hasBOM()) {
+            charset = Charset.forName(unmarked.getBOMCharsetName());
+        }
+        CharsetDecoder decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        // the characters that are not allowed in xml are fatal to the parser, they are dropped before it
+        XMLStreamReader reader = factory.createXMLStreamReader(
+                new LrScriptResultsSanitizer(new InputStreamReader(unmarked, decoder)));
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(reader);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    endElement(reader.getLocalName());
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Lets the parser detect the encoding of the results from their first bytes (byte order mark, xml declaration),
+     * the stream is reset to its start afterwards.
+     */
+    private static Charset detectEncoding(XMLInputFactory factory, InputStream results) throws IOException {
+        results.mark(PROLOG_READ_LIMIT);
+        String encoding = null;
+        try {
+            XMLStreamReader prolog = factory.createXMLStreamReader(new CloseShieldInputStream(results));
+            try {
+                encoding = prolog.getEncoding();
+                if (encoding == null) {
+                    encoding = prolog.getCharacterEncodingScheme();
+                }
+            } finally {
+                prolog.close();
+            }
+        } catch (XMLStreamException ignored) {
+            // not a valid prolog, read as utf-8 and let the parsing report it
+        } finally {
+            results.reset();
+        }
+        try {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (IllegalArgumentException ignored) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private void startElement(XMLStreamReader reader) throws IOException, XMLStreamException {
+        switch (reader.getLocalName()) {
+            case ACTION:
+                ActionState action = new ActionState(new File(spoolDir, "action" + (spoolCount++) + ".xml"));
+                openActions.push(action);
+                actions.add(action);
+                break;
+            case ACTION_NAME:
+                String actionName = readLeadingText(reader);
+                for (ActionState open : openActions) {
+                    if (open.name == null) {
+                        open.name = actionName;
+                    }
+                }
+                break;
+            case STEP:
+                // steps are reported in the suite of the action they run in
+                if (!openActions.isEmpty()) {
+                    StepState step = new StepState(openActions.peek());
+                    openSteps.push(step);
+                    step.owner.pending.add(step);
+                }
+                break;
+            case STEP_OBJECT:
+                String stepName = readLeadingText(reader).replace("Url: ", "");
+                for (StepState open : openSteps) {
+                    if (open.name == null) {
+                        open.name = stepName;
+                    }
+                }
+                flushOpenActions();
+                break;
+            case STEP_ARGS:
+                String status = attribute(reader, "status");
+                for (StepState open : openSteps) {
+                    if (open.status == null) {
+                        open.status = status;
+                    }
+                }
+                flushOpenActions();
+                break;
+            case SUMMARY:
+                String[] summary = {attribute(reader, REPORT_PASSED), attribute(reader, REPORT_FAILED)};
+                if (openActions.isEmpty()) {
+                    rootSummary = summary;
+                }
+                for (ActionState open : openActions) {
+                    if (open.summary == null) {
+                        open.summary = summary;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void endElement(String name) throws IOException {
+        if (STEP.equals(name) && !openSteps.isEmpty()) {
+            StepState step = openSteps.pop();
+            step.closed = true;
+            flush(step.owner);
+        } else if (ACTION.equals(name) && !openActions.isEmpty()) {
+            ActionState action = openActions.pop();
+            flush(action);
+            action.closeSpool();
+        }
+    }
+
+    private void flushOpenActions() throws IOException {
+        for (ActionState open : openActions) {
+            flush(open);
+        }
+    }
+
+    /**
+     * Writes the test cases of the action that are known so far, keeping the order of the steps.
+     */
+    private void flush(ActionState action) throws IOException {
+        while (!action.pending.isEmpty() && action.pending.peek().isResolved()) {
+            StepState step = action.pending.poll();
+            Writer out = action.openSpool();
+            out.write("<testcase");
+            writeAttribute(out, "name", step.name == null ? "" : step.name);
+            if (PASSED_STATUS.equals(step.status)) {
+                writeAttribute(out, "status", "pass");
+                writeAttribute(out, "classname", scriptName + "." + action.getName());
+                out.write("/>");
+            } else {
+                writeAttribute(out, "status", "fail");
+                writeAttribute(out, "classname", scriptName + "." + action.getName());
+                out.write("><failure message=\"\"/></testcase>");
+            }
+        }
+    }
+
+    private void write(OutputStream junit) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(junit, StandardCharsets.UTF_8));
+        String[] summary = rootSummary == null ? new String[]{"0", "0"} : rootSummary;
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?><testsuites");
+        writeAttribute(out, REPORT_PASSED, summary[0]);
+        writeAttribute(out, "failures", summary[1]);
+        writeAttribute(out, "name", scriptName);
+        writeAttribute(out, "xmlns:xsd", "http://www.w3.org/2001/XMLSchema");
+        writeAttribute(out, "xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        writeAttribute(out, "tests", String.valueOf(count(summary)));
+        out.write(">");
+        for (ActionState action : actions) {
+            String[] suiteSummary = action.summary == null ? new String[]{"0", "0"} : action.summary;
+            int tests = count(suiteSummary);
+            if (tests <= 0) {
+                continue;
+            }
+            out.write("<testsuite");
+            writeAttribute(out, "name", action.getName());
+            writeAttribute(out, REPORT_PASSED, suiteSummary[0]);
+            writeAttribute(out, "failures", suiteSummary[1]);
+            writeAttribute(out, "package", scriptName);
+            writeAttribute(out, "tests", String.valueOf(tests));
+            out.write(">");
+            if (action.spool.exists()) {
+                out.flush();
+                Files.copy(action.spool.toPath(), junit);
+            }
+            out.write("</testsuite>");
+        }
+        out.write("</testsuites>");
+        out.flush();
+    }
+
+    private void deleteSpools() {
+        for (ActionState action : actions) {
+            action.closeSpoolQuietly();
+            if (action.spool.exists() && !action.spool.delete()) {
+                action.spool.deleteOnExit();
+            }
+        }
+    }
+
+    private static int count(String[] summary) {
+        return parseCount(summary[0]) + parseCount(summary[1]);
+    }
+
+    private static int parseCount(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Reads the text of the current element up to its first child element.
+     */
+    private static String readLeadingText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        boolean leading = true;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                leading = false;
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (leading && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void writeAttribute(Writer out, String name, String value) throws IOException {
+        out.write(' ');
+        out.write(name);
+        out.write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '"':
+                    out.write("&quot;");
+                    break;
+                case '\n':
+                    out.write("&#10;");
+                    break;
+                case '\r':
+                    out.write("&#13;");
+                    break;
+                case '\t':
+                    out.write("&#9;");
+                    break;
+                default:
+                    out.write(c);
+            }
+        }
+        out.write('"');
+    }
+
+    private static final class ActionState {
+        private final File spool;
+        private final Deque<StepState> pending = new ArrayDeque<>();
+        private Writer spoolOut;
+        private String name;
+        private String[] summary;
+
+        private ActionState(File spool) {
+            this.spool = spool;
+        }
+
+        private String getName() {
+            return name == null ? "" : name;
+        }
+
+        private Writer openSpool() throws IOException {
+            if (spoolOut == null) {
+                spoolOut = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(spool.toPath()),
+                        StandardCharsets.UTF_8));
+            }
+            return spoolOut;
+        }
+
+        private void closeSpool() throws IOException {
+            if (spoolOut != null) {
+                spoolOut.close();
+                spoolOut = null;
+            }
+        }
+
+        private void closeSpoolQuietly() {
+            try {
+                closeSpool();
+            } catch (IOException ignored) {
+                spoolOut = null;
+            }
+        }
+    }
+
+    private static final class StepState {
+        private final ActionState owner;
+        private String name;
+        private String status;
+        private boolean closed;
+
+        private StepState(ActionState owner) {
+            this.owner = owner;
+        }
+
+        private boolean isResolved() {
+            return closed || (name != null && status != null);
+        }
+    }
+}
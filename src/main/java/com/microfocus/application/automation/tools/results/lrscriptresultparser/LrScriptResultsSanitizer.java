@@ -47,19 +47,16 @@ public class LrScriptResultsSanitizer extends FilterReader {
     }
 
     /**
-     * This is another no-op read() method we have to implement. We implement it
-     * in terms of the method above. Our superclass implements the remaining
-     * read() methods in terms of these two.
+     * Reads a single character, skipping the characters that are not allowed in xml. Works directly on the
+     * underlying reader, without going through a temporary buffer.
      */
     @Override
     public int read() throws IOException {
-        char[] buf = new char[1];
-        int result = read(buf, 0, 1);
-        if (result == -1) {
-            return -1;
-        } else {
-            return (int) buf[0];
-        }
+        int current;
+        do {
+            current = in.read();
+        } while (current != -1 && isBadXMLChar((char) current));
+        return current;
     }
 
     @Override
@@ -30,6 +30,7 @@ package com.microfocus.application.automation.tools.results.parser;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTestSet;
 
@@ -44,4 +45,15 @@ public interface ReportParser {
 	String EXTERNAL_RUN_TYPE_ID = "hp.qc.run.external-test";
 	
 	List<AlmTestSet> parseTestSets(InputStream reportInputStream, String testingFramework, String testingTool) throws ReportParseException;
+
+	/**
+	 * Hands each test set to the handler as soon as it is parsed. Parsers that can read the report
+	 * one test suite at a time override this, the others parse the whole report first.
+	 */
+	default void parseTestSets(InputStream reportInputStream, String testingFramework, String testingTool,
+							   Consumer<AlmTestSet> handler) throws ReportParseException {
+		for (AlmTestSet testSet : parseTestSets(reportInputStream, testingFramework, testingTool)) {
+			handler.accept(testSet);
+		}
+	}
 }
@@ -32,6 +32,11 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 
 import com.microfocus.application.automation.tools.results.parser.antjunit.AntJUnitReportParserImpl;
 import com.microfocus.application.automation.tools.results.parser.jenkinsjunit.JenkinsJUnitReportParserImpl;
@@ -43,53 +48,111 @@ import com.microfocus.application.automation.tools.results.service.almentities.A
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import hudson.FilePath;
 
+/**
+ * Picks the parser of a report from its root element, so the report is read once instead of being
+ * tried against every parser in turn. Reports with an unknown root element are still tried against all of them.
+ * A manager is created per upload, it holds the workspace and logger of that build.
+ */
 public class ReportParserManager {
 	
-	private static ReportParserManager instance = new ReportParserManager();
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
 
-	private List<ReportParser> parserList;
-	private FilePath workspace;
-	private Logger logger;
+	private final FilePath workspace;
+	private final Logger logger;
 
-	private ReportParserManager() {}
+	public ReportParserManager(FilePath workspace, Logger logger) {
+		this.workspace = workspace;
+		this.logger = logger;
+	}
 
-	public static ReportParserManager getInstance(FilePath workspace, Logger logger) {
-		if (instance.workspace == null) {
-			instance.workspace = workspace;
-		}
-		if (instance.logger == null) {
-			instance.logger = logger;
+	public List<AlmTestSet> parseTestSets(String reportFilePath, String testingFramework, String testingTool) {
+		for (ReportParser reportParser : getParsers(getRootElement(reportFilePath))) {
+			try (InputStream in = new FileInputStream(reportFilePath)) {
+				return reportParser.parseTestSets(in, testingFramework, testingTool);
+			} catch (Exception e) {
+				logger.log("Failed to parse file with: " + reportParser.getClass().getName());
+			}
 		}
-		return instance;
+		return null;
 	}
 
-	public List<AlmTestSet> parseTestSets(String reportFilePath, String testingFramework, String testingTool) {
-		init();
-		List<AlmTestSet> testsets = null;
-		for (ReportParser reportParser : parserList) {
-			try {
-				InputStream in = new FileInputStream(reportFilePath);
-				testsets = reportParser.parseTestSets(in, testingFramework, testingTool);
-				break;
+	/**
+	 * Hands each test set to the handler as soon as it is parsed.
+	 * Once a parser has handed out a test set the report is not retried with another parser.
+	 *
+	 * @return false when the report could not be parsed
+	 */
+	public boolean parseTestSets(String reportFilePath, String testingFramework, String testingTool,
+								 Consumer<AlmTestSet> handler) {
+		for (ReportParser reportParser : getParsers(getRootElement(reportFilePath))) {
+			final int[] parsed = new int[1];
+			try (InputStream in = new FileInputStream(reportFilePath)) {
+				reportParser.parseTestSets(in, testingFramework, testingTool, testSet -> {
+					parsed[0]++;
+					handler.accept(testSet);
+				});
+				return true;
 			} catch (Exception e) {
 				logger.log("Failed to parse file with: " + reportParser.getClass().getName());
+				if (parsed[0] > 0) {
+					return false;
+				}
 			}
 		}
-		return testsets;
+		return false;
 	}
 
-	private void init() {
-		if (parserList == null) {
-			parserList = new ArrayList<ReportParser>();
+	List<ReportParser> getParsers(String rootElement) {
+		List<ReportParser> parsers = new ArrayList<ReportParser>();
+		if ("result".equals(rootElement)) {
+			parsers.add(new JenkinsJUnitReportParserImpl());
+		} else if ("testsuite".equals(rootElement)) {
+			parsers.add(new MavenSureFireReportParserImpl());
+		} else if ("testng-results".equals(rootElement)) {
+			parsers.add(new TestNGXmlReportParserImpl());
+		} else if ("test-run".equals(rootElement) || "test-results".equals(rootElement)) {
+			parsers.add(new NUnit3ReportParserImpl(workspace));
+			parsers.add(new NUnitReportParserImpl());
+		} else if ("testsuites".equals(rootElement)) {
+			parsers.add(new AntJUnitReportParserImpl());
+		} else {
+			parsers.add(new JenkinsJUnitReportParserImpl());
+			parsers.add(new MavenSureFireReportParserImpl());
+			parsers.add(new TestNGXmlReportParserImpl());
+			parsers.add(new NUnit3ReportParserImpl(workspace));
+			parsers.add(new NUnitReportParserImpl());
+			parsers.add(new AntJUnitReportParserImpl());
 		}
+		return parsers;
+	}
 
-		if (parserList.isEmpty()) {
-			parserList.add(new JenkinsJUnitReportParserImpl());
-			parserList.add(new MavenSureFireReportParserImpl());
-			parserList.add(new TestNGXmlReportParserImpl());
-			parserList.add(new NUnit3ReportParserImpl(workspace));
-			parserList.add(new NUnitReportParserImpl());
-			parserList.add(new AntJUnitReportParserImpl());
+	/**
+	 * Reads the report up to its root element only.
+	 *
+	 * @return the local name of the root element, null when it cannot be read
+	 */
+	static String getRootElement(String reportFilePath) {
+		try (InputStream in = new FileInputStream(reportFilePath)) {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						return reader.getLocalName();
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (Exception e) {
+			// not well formed up to the root element, let every parser try it
 		}
+		return null;
+	}
+
+	private static XMLInputFactory createXMLInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
 	}
 }
@@ -32,10 +32,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParseException;
 import com.microfocus.application.automation.tools.results.parser.ReportParser;
@@ -52,11 +56,26 @@ import com.microfocus.application.automation.tools.sse.sdk.Base64Encoder;
 
 public class AntJUnitReportParserImpl implements ReportParser {
 
+	private static final String ROOT_ELEMENT = "testsuites";
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
 	public List<AlmTestSet> parseTestSets(InputStream reportInputStream,
                                           String testingFramework, String testingTool) throws ReportParseException {
 		
+		List<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
+		parseTestSets(reportInputStream, testingFramework, testingTool, testSets::add);
+		return testSets;
+	}
+	
+	/**
+	 * Reads the report one testsuite at a time, so only the current suite is held in memory.
+	 */
+	@Override
+	public void parseTestSets(InputStream reportInputStream, String testingFramework, String testingTool,
+							  Consumer<AlmTestSet> handler) throws ReportParseException {
+		
 		try {
-			return parseTestSetsFromAntJUnitReport(reportInputStream, testingFramework, testingTool);
+			parseTestSetsFromAntJUnitReport(reportInputStream, testingFramework, testingTool, handler);
 
 		} catch (Exception e) {
 			throw new ReportParseException(e);
@@ -70,20 +89,6 @@ public class AntJUnitReportParserImpl implements ReportParser {
 				throw new ReportParseException(e);
 			}
 		}
-	}	
-	
-	private Testsuites parseFromAntJUnitReport(InputStream reportInputStream) throws JAXBException {
-		JAXBContext jaxbContext;
-		Thread t = Thread.currentThread();
-		ClassLoader orig = t.getContextClassLoader();
-		t.setContextClassLoader(AntJUnitReportParserImpl.class.getClassLoader());
-		try {
-			jaxbContext = JAXBContext.newInstance(Testsuites.class);
-		} finally {
-			t.setContextClassLoader(orig);
-		}
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		return (Testsuites)unmarshaller.unmarshal(reportInputStream);
 	}
 	
 	private AlmTest createExternalTestForAntJUnit(Testcase tc, String testingFramework, String testingTool) {
@@ -97,34 +102,64 @@ public class AntJUnitReportParserImpl implements ReportParser {
 	}
 
 
-	private ArrayList<AlmTestSet> parseTestSetsFromAntJUnitReport(InputStream reportInputStream, String testingFramework, String testingTool) throws JAXBException {
-		Testsuites testsuites = parseFromAntJUnitReport(reportInputStream);
-		
-		ArrayList<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
-		
-		for(Testsuite ts : testsuites.getTestsuite()) {
-			AlmTestSet testSet = new AlmTestSetImpl();
-			testSet.setFieldValue(AlmTestSet.TESTSET_NAME, ParserUtil.replaceInvalidCharsForTestSetName(ts.getName()));
-			testSet.setFieldValue(AlmTestSet.TESTSET_SUB_TYPE_ID, EXTERNAL_TEST_SET_TYPE_ID);
-			testSets.add(testSet);
+	private void parseTestSetsFromAntJUnitReport(InputStream reportInputStream, String testingFramework, String testingTool,
+												 Consumer<AlmTestSet> handler) throws JAXBException, XMLStreamException {
+		XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(reportInputStream);
+		try {
+			if (toNextTag(reader) != XMLStreamConstants.START_ELEMENT || !ROOT_ELEMENT.equals(reader.getLocalName())) {
+				throw new JAXBException("Report root element is not " + ROOT_ELEMENT);
+			}
+			
+			Unmarshaller unmarshaller = ParserUtil.getJAXBContext(Testsuites.class).createUnmarshaller();
+			reader.next();
+			// unmarshalling a testsuite leaves the reader on the event right after it
+			while (toNextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+				Testsuite ts = unmarshaller.unmarshal(reader, Testsuite.class).getValue();
+				handler.accept(createTestSet(ts, testingFramework, testingTool));
+			}
+		} finally {
+			reader.close();
+		}
+	}
+	
+	private AlmTestSet createTestSet(Testsuite ts, String testingFramework, String testingTool) {
+		AlmTestSet testSet = new AlmTestSetImpl();
+		testSet.setFieldValue(AlmTestSet.TESTSET_NAME, ParserUtil.replaceInvalidCharsForTestSetName(ts.getName()));
+		testSet.setFieldValue(AlmTestSet.TESTSET_SUB_TYPE_ID, EXTERNAL_TEST_SET_TYPE_ID);
 
-			for (Testcase tc: ts.getTestcase()) {
-				AlmTestInstance testInstance = new AlmTestInstanceImpl();
-				testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_SUBTYPE_ID, EXTERNAL_TEST_INSTANCE_TYPE_ID);
-				testSet.addRelatedEntity(EntityRelation.TESTSET_TO_TESTINSTANCE_CONTAINMENT_RELATION, testInstance);
-				
-				AlmTest test = createExternalTestForAntJUnit(tc, testingFramework, testingTool);
-				testInstance.addRelatedEntity(EntityRelation.TEST_TO_TESTINSTANCE_REALIZATION_RELATION, test);
-				
-				AlmRun run = ParserUtil.createRun(getRunStatus(tc),
-												ts.getTimestamp(),  
-												tc.getTime(), 
-												getRunDetail (tc));
-				testInstance.addRelatedEntity(EntityRelation.TESTINSTANCE_TO_RUN_REALIZATION_RELATION, run);
-			}			
+		for (Testcase tc: ts.getTestcase()) {
+			AlmTestInstance testInstance = new AlmTestInstanceImpl();
+			testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_SUBTYPE_ID, EXTERNAL_TEST_INSTANCE_TYPE_ID);
+			testSet.addRelatedEntity(EntityRelation.TESTSET_TO_TESTINSTANCE_CONTAINMENT_RELATION, testInstance);
+			
+			AlmTest test = createExternalTestForAntJUnit(tc, testingFramework, testingTool);
+			testInstance.addRelatedEntity(EntityRelation.TEST_TO_TESTINSTANCE_REALIZATION_RELATION, test);
+			
+			AlmRun run = ParserUtil.createRun(getRunStatus(tc),
+											ts.getTimestamp(),  
+											tc.getTime(), 
+											getRunDetail (tc));
+			testInstance.addRelatedEntity(EntityRelation.TESTINSTANCE_TO_RUN_REALIZATION_RELATION, run);
 		}
 		
-		return testSets;
+		return testSet;
+	}
+	
+	private static int toNextTag(XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.getEventType();
+		while (event != XMLStreamConstants.START_ELEMENT
+				&& event != XMLStreamConstants.END_ELEMENT
+				&& event != XMLStreamConstants.END_DOCUMENT) {
+			event = reader.next();
+		}
+		return event;
+	}
+	
+	private static XMLInputFactory createXMLInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
 	}
 	
 	private String getRunStatus(Testcase testcase) {
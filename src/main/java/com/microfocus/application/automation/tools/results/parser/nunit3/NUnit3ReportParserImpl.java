@@ -34,7 +34,8 @@ import com.microfocus.application.automation.tools.results.parser.antjunit.AntJU
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTestSet;
 import hudson.FilePath;
 
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -43,7 +44,9 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * NUnit3 Report Parser implement.
@@ -55,6 +58,8 @@ public class NUnit3ReportParserImpl implements ReportParser {
     private static final String TEMP_JUNIT_FILE_SUFFIX = ".xml";
     private static final String NUNIT_TO_JUNIT_XSLFILE = "nunit-to-junit.xsl";
 
+    private static volatile Templates nunitTemplates;
+
     private FilePath workspace;
 
     public NUnit3ReportParserImpl(FilePath workspace) {
@@ -65,21 +70,32 @@ public class NUnit3ReportParserImpl implements ReportParser {
     public List<AlmTestSet> parseTestSets(InputStream reportInputStream, String testingFramework, String testingTool)
             throws ReportParseException {
 
+        List<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
+        parseTestSets(reportInputStream, testingFramework, testingTool, testSets::add);
+        return testSets;
+    }
+
+    @Override
+    public void parseTestSets(InputStream reportInputStream, String testingFramework, String testingTool,
+                              Consumer<AlmTestSet> handler) throws ReportParseException {
+
         // Use the xsl to convert the nunit3 and nunit to junit and then parse with junit logic.
         // This can be extended to cover all kinds of result format.
         // When new format comes, only need to provide a xsl, no need to change any code.
 
-        FileOutputStream fileOutputStream = null;
+        File junitTargetFile = null;
         try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer nunitTransformer = transformerFactory.newTransformer(
-                        new StreamSource(this.getClass().getResourceAsStream(NUNIT_TO_JUNIT_XSLFILE)));
-            File junitTargetFile = new File(workspace.createTempFile(TEMP_JUNIT_FILE_PREFIX, TEMP_JUNIT_FILE_SUFFIX).toURI());
-            fileOutputStream = new FileOutputStream(junitTargetFile);
-            nunitTransformer.transform(new StreamSource(reportInputStream), new StreamResult(fileOutputStream));
+            junitTargetFile = new File(workspace.createTempFile(TEMP_JUNIT_FILE_PREFIX, TEMP_JUNIT_FILE_SUFFIX).toURI());
+            try (FileOutputStream fileOutputStream = new FileOutputStream(junitTargetFile)) {
+                getNUnitTemplates().newTransformer().transform(
+                        new StreamSource(reportInputStream), new StreamResult(fileOutputStream));
+            }
 
             InputStream in = new FileInputStream(junitTargetFile);
-            return new AntJUnitReportParserImpl().parseTestSets(in, testingFramework, testingTool);
+            new AntJUnitReportParserImpl().parseTestSets(in, testingFramework, testingTool, handler);
+
+        } catch (ReportParseException e) {
+            throw e;
 
         } catch (Exception e) {
             throw new ReportParseException(e);
@@ -93,13 +109,27 @@ public class NUnit3ReportParserImpl implements ReportParser {
                 throw new ReportParseException(e);
             }
 
-            try {
-                if (fileOutputStream != null) {
-                    fileOutputStream.close();
+            if (junitTargetFile != null && !junitTargetFile.delete()) {
+                junitTargetFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * The compiled stylesheet is thread safe, so it is compiled once instead of for every report.
+     */
+    private Templates getNUnitTemplates() throws TransformerConfigurationException {
+        Templates templates = nunitTemplates;
+        if (templates == null) {
+            synchronized (NUnit3ReportParserImpl.class) {
+                templates = nunitTemplates;
+                if (templates == null) {
+                    templates = TransformerFactory.newInstance().newTemplates(
+                            new StreamSource(this.getClass().getResourceAsStream(NUNIT_TO_JUNIT_XSLFILE)));
+                    nunitTemplates = templates;
                 }
-            } catch (IOException e) {
-                throw new ReportParseException(e);
             }
         }
+        return templates;
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Controller wide cache of ALM customization metadata (entity subtypes, fields, versioning support),
+ * shared by all the builds uploading to the same ALM project.
+ * <p>
+ * Projects are keyed by their REST url, which holds the server, domain and project. An entry expires
+ * {@link #DEFAULT_TTL_MILLIS} after it was loaded, and the least recently used projects are evicted once more than
+ * {@link #DEFAULT_MAX_PROJECTS} are cached. Values which failed to load (null) are not cached.
+ */
+public class AlmCustomizationCache {
+
+	public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	public static final int DEFAULT_MAX_PROJECTS = 50;
+
+	/**
+	 * The kinds of cached metadata.
+	 */
+	public enum Kind {
+		SUBTYPES,
+		FIELDS,
+		VERSIONING
+	}
+
+	private static final AlmCustomizationCache INSTANCE =
+			new AlmCustomizationCache(DEFAULT_TTL_MILLIS, DEFAULT_MAX_PROJECTS, System::currentTimeMillis);
+
+	private final long ttlMillis;
+	private final LongSupplier clock;
+	private final Map<String, Map<String, CacheEntry>> projects;
+
+	AlmCustomizationCache(long ttlMillis, final int maxProjects, LongSupplier clock) {
+		this.ttlMillis = ttlMillis;
+		this.clock = clock;
+		this.projects = new LinkedHashMap<String, Map<String, CacheEntry>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Map<String, CacheEntry>> eldest) {
+				return size() > maxProjects;
+			}
+		};
+	}
+
+	public static AlmCustomizationCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Gets a cached value, loading it if it is missing or expired.
+	 * The loader is called without holding the cache lock, so a slow ALM server does not block other projects.
+	 *
+	 * @param projectKey the key of the ALM project
+	 * @param kind       the kind of metadata
+	 * @param entityName the ALM entity name, e.g. "test"
+	 * @param loader     loads the value, returns null on failure
+	 * @return the value, null if it could not be loaded
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String projectKey, Kind kind, String entityName, Supplier<T> loader) {
+		String entryKey = getEntryKey(kind, entityName);
+		synchronized (projects) {
+			Map<String, CacheEntry> project = projects.get(projectKey);
+			CacheEntry entry = project == null ? null : project.get(entryKey);
+			if (entry != null && clock.getAsLong() - entry.loadedAt < ttlMillis) {
+				return (T) entry.value;
+			}
+		}
+
+		T value = loader.get();
+		if (value != null) {
+			synchronized (projects) {
+				Map<String, CacheEntry> project = projects.get(projectKey);
+				if (project == null) {
+					project = new HashMap<String, CacheEntry>();
+					projects.put(projectKey, project);
+				}
+				project.put(entryKey, new CacheEntry(value, clock.getAsLong()));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Drops one cached value, e.g. after a lookup missed because the customization changed in ALM.
+	 */
+	public void invalidate(String projectKey, Kind kind, String entityName) {
+		synchronized (projects) {
+			Map<String, CacheEntry> project = projects.get(projectKey);
+			if (project != null) {
+				project.remove(getEntryKey(kind, entityName));
+			}
+		}
+	}
+
+	/**
+	 * Drops all the cached values of a project.
+	 */
+	public void invalidate(String projectKey) {
+		synchronized (projects) {
+			projects.remove(projectKey);
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (projects) {
+			projects.clear();
+		}
+	}
+
+	private static String getEntryKey(Kind kind, String entityName) {
+		return kind + "/" + entityName;
+	}
+
+	private static final class CacheEntry {
+		private final Object value;
+		private final long loadedAt;
+
+		private CacheEntry(Object value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
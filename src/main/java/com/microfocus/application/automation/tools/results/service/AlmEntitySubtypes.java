@@ -0,0 +1,69 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The subtypes of an ALM entity type, indexed by name and by id.
+ */
+public class AlmEntitySubtypes {
+
+	private final Map<String, String> idsByName;
+	private final Map<String, String> namesById;
+
+	/**
+	 * @param idsByName subtype ids by subtype name
+	 */
+	public AlmEntitySubtypes(Map<String, String> idsByName) {
+		Map<String, String> namesById = new HashMap<String, String>();
+		for (Map.Entry<String, String> subtype : idsByName.entrySet()) {
+			namesById.put(subtype.getValue(), subtype.getKey());
+		}
+		this.idsByName = Collections.unmodifiableMap(new HashMap<String, String>(idsByName));
+		this.namesById = Collections.unmodifiableMap(namesById);
+	}
+
+	public String getIdByName(String subtypeName) {
+		return idsByName.get(subtypeName);
+	}
+
+	public String getNameById(String subtypeId) {
+		return namesById.get(subtypeId);
+	}
+
+	/**
+	 * @return subtype ids by subtype name
+	 */
+	public Map<String, String> getIdsByName() {
+		return idsByName;
+	}
+}
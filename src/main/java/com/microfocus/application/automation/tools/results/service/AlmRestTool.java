@@ -30,22 +30,28 @@ package com.microfocus.application.automation.tools.results.service;
 
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.microfocus.application.automation.tools.common.Pair;
+import com.microfocus.application.automation.tools.results.service.AlmCustomizationCache.Kind;
 import com.microfocus.application.automation.tools.rest.RestClient;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmEntity;
+import com.microfocus.application.automation.tools.results.service.rest.CreateAlmEntitiesRequest;
 import com.microfocus.application.automation.tools.results.service.rest.CreateAlmEntityRequest;
 import com.microfocus.application.automation.tools.results.service.rest.GetAlmEntityRequest;
 import com.microfocus.application.automation.tools.results.service.rest.UpdateAlmEntityRequest;
+import com.microfocus.application.automation.tools.sse.common.AlmEntityReader;
 import com.microfocus.application.automation.tools.sse.common.XPathUtils;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import com.microfocus.application.automation.tools.sse.sdk.ResourceAccessLevel;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
 import com.microfocus.application.automation.tools.sse.sdk.authenticator.AuthenticationTool;
 import com.microfocus.application.automation.tools.sse.sdk.authenticator.RestAuthenticator;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 public class AlmRestTool {
 	
@@ -109,6 +115,68 @@ public class AlmRestTool {
         );
 	}
 
+    /**
+     * Get the key of the ALM project of this tool in the customization cache
+     */
+	public String getCustomizationCacheKey() {
+		return restClient.buildRestRequest("customization");
+	}
+
+    /**
+     * Get the subtypes of an entity type, from the customization cache
+     * @return the subtypes, null if they could not be read
+     */
+	public AlmEntitySubtypes getEntitySubtypes(final String entityName) {
+		return AlmCustomizationCache.getInstance().get(getCustomizationCacheKey(), Kind.SUBTYPES, entityName, () -> {
+			Response response = getCustomization(String.format("customization/entities/%s/types", entityName));
+			return response == null ? null : new AlmEntitySubtypes(XPathUtils.getEntitySubtypesMap(response.toString()));
+		});
+	}
+
+    /**
+     * Get the field names by field label of an entity type, from the customization cache
+     * @return the fields, null if they could not be read
+     */
+	public Map<String, String> getEntityFields(final String entityName) {
+		return AlmCustomizationCache.getInstance().get(getCustomizationCacheKey(), Kind.FIELDS, entityName, () -> {
+			Response response = getCustomization(String.format("customization/entities/%s/fields", entityName));
+			return response == null ? null : Collections.unmodifiableMap(XPathUtils.getEntityFieldsMap(response.toString()));
+		});
+	}
+
+    /**
+     * Get whether version control is enabled for an entity type, from the customization cache
+     * @return null if it could not be read
+     */
+	public Boolean isVersioningEnabled(final String entityName) {
+		return AlmCustomizationCache.getInstance().get(getCustomizationCacheKey(), Kind.VERSIONING, entityName, () -> {
+			Response response = getCustomization(String.format("customization/entities/%s", entityName));
+			if (response == null) {
+				return null;
+			}
+			Document document = XPathUtils.getDocument(response.toString());
+			Element element = (Element) document.getElementsByTagName("SupportsVC").item(0);
+			return "true".equals(element.getTextContent());
+		});
+	}
+
+    /**
+     * Drop cached customization of an entity type, so it is read again from ALM
+     */
+	public void invalidateCustomization(Kind kind, String entityName) {
+		AlmCustomizationCache.getInstance().invalidate(getCustomizationCacheKey(), kind, entityName);
+	}
+
+	private Response getCustomization(String suffix) {
+		String url = restClient.buildRestRequest(suffix);
+		Response response = restClient.httpGet(url, null, null, ResourceAccessLevel.PROTECTED);
+		if (response.isOk() && !response.toString().equals("")) {
+			return response;
+		}
+		_logger.log("ERR: Get customization failed from: " + url + " " + response.getFailure());
+		return null;
+	}
+
     /**
      * Get Pair list for ALM entity fields
      */
@@ -244,6 +312,51 @@ public class AlmRestTool {
 
 	}
 
+    /**
+     * Get all ALM entities matching a query string, reading them page by page until the TotalResults of the
+     * response are read. A page shorter than asked, as returned by a server with a lower page size limit,
+     * does not end the read.
+     * @throws ExternalEntityUploadException if a page cannot be read, so no existing entity is missed
+     */
+	public <E extends AlmEntity> List<E> getAllAlmEntities(E entity, String queryString, int pageSize) throws ExternalEntityUploadException {
+
+		List<E> ret = new ArrayList<E>();
+		while (true) {
+			String pageQueryString = String.format("%s&order-by={id[ASC]}&page-size=%d&start-index=%d",
+					queryString, pageSize, ret.size() + 1);
+			Response response = new GetAlmEntityRequest(entity, getRestClient(), pageQueryString).perform();
+			if (!response.isOk() || response.getData() == null) {
+				_logger.log("Failed to get Entity:" + entity.toString() + " with query string:" + pageQueryString);
+				throw new ExternalEntityUploadException("Failed to get entities:" + entity.getRestPrefix()
+						+ " with query string:" + pageQueryString, response.getFailure());
+			}
+
+			List<Map<String, String>> page = new ArrayList<Map<String, String>>();
+			int totalResults;
+			try {
+				totalResults = AlmEntityReader.readEntities(response.getData(),
+						fields -> page.add(new HashMap<String, String>(fields)));
+			} catch (RuntimeException e) {
+				throw new ExternalEntityUploadException("Failed to read entities:" + entity.getRestPrefix()
+						+ " with query string:" + pageQueryString, e);
+			}
+			ret.addAll(getAlmEntityList(page, (Class<E>) entity.getClass()));
+
+			if (totalResults < 0) {
+				// no TotalResults in the response, read until an empty page
+				if (page.isEmpty()) {
+					return ret;
+				}
+			} else if (ret.size() >= totalResults) {
+				return ret;
+			} else if (page.isEmpty()) {
+				throw new ExternalEntityUploadException(String.format(
+						"Got %d of %d entities:%s with query string:%s",
+						ret.size(), totalResults, entity.getRestPrefix(), queryString));
+			}
+		}
+	}
+
     /**
      * Create ALM entity
      */
@@ -269,6 +382,28 @@ public class AlmRestTool {
 		
 	}
 
+    /**
+     * Create ALM entities of the same type with one request
+     * @return the created entities as returned by the server, which does not guarantee their order
+     */
+	public <E extends AlmEntity> List<E> createAlmEntities(List<E> entities, String[] fieldsForCreation) throws ExternalEntityUploadException {
+
+		List<Map<String, String>> fieldsMapList = new ArrayList<Map<String, String>>();
+		for (E entity : entities) {
+			fieldsMapList.addAll(getMapListForAlmEntityFields(entity, fieldsForCreation));
+		}
+
+		E first = entities.get(0);
+		CreateAlmEntitiesRequest createRequest = new CreateAlmEntitiesRequest(getRestClient(), first, fieldsMapList);
+		Response response = createRequest.execute();
+		if (response.isOk() && !response.toString().equals("")) {
+			List<Map<String, String>> entities2 = XPathUtils.toEntities(response.toString());
+			return getAlmEntityList(entities2, (Class<E>) first.getClass());
+		}
+		_logger.log("Failed to create " + entities.size() + " entities:" + first.getRestPrefix());
+		throw new ExternalEntityUploadException("Failed to create " + entities.size() + " entities:" + first.getRestPrefix());
+	}
+
     /**
      * Update ALM entity
      */
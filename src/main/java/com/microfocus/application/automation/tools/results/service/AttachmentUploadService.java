@@ -38,6 +38,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class AttachmentUploadService {
 
@@ -45,24 +51,29 @@ public class AttachmentUploadService {
     private FilePath workspace;
     private RestClient restClient;
     private Logger logger;
+    private ExecutorService executor;
+    private final List<Future<Boolean>> pending = new ArrayList<>();
 
-    private static AttachmentUploadService aus;
-
-    public static void init(Run<?, ?> run, FilePath workspace, RestClient restClient, Logger logger) {
-        aus = new AttachmentUploadService(run, workspace, restClient, logger);
-    }
-
-    public static AttachmentUploadService getInstance() {
-        return aus;
-    }
-
-    private AttachmentUploadService(Run<?, ?> run, FilePath workspace, RestClient restClient, Logger logger) {
+    public AttachmentUploadService(Run<?, ?> run, FilePath workspace, RestClient restClient, Logger logger) {
         this.run = run;
         this.workspace = workspace;
         this.restClient = restClient;
         this.logger = logger;
     }
 
+    /**
+     * Same as {@link #AttachmentUploadService(Run, FilePath, RestClient, Logger)}, with attachments submitted by
+     * {@link #submit(String, String, String)} uploaded in the background by the given number of threads.
+     * The threads belong to this instance and are released by {@link #await()}.
+     */
+    public AttachmentUploadService(Run<?, ?> run, FilePath workspace, RestClient restClient, Logger logger,
+                                   int asyncUploads) {
+        this(run, workspace, restClient, logger);
+        if (asyncUploads > 1) {
+            executor = Executors.newFixedThreadPool(asyncUploads);
+        }
+    }
+
     public boolean upload(String fileName, String entityCollectionName, String entityId) {
         DirectoryScanner ds = new DirectoryScanner();
         ds.setBasedir(run.getRootDir());
@@ -110,6 +121,47 @@ public class AttachmentUploadService {
         return result;
     }
 
+    /**
+     * Uploads the attachment in the background if background uploads were enabled, right away otherwise.
+     * The outcome is reported by {@link #await()}.
+     */
+    public void submit(final String fileName, final String entityCollectionName, final String entityId) {
+        synchronized (pending) {
+            if (executor != null) {
+                pending.add(executor.submit(() -> upload(fileName, entityCollectionName, entityId)));
+                return;
+            }
+        }
+        upload(fileName, entityCollectionName, entityId);
+    }
+
+    /**
+     * Waits for the attachments submitted so far and stops the background uploads.
+     * @return false if any of them failed
+     */
+    public boolean await() throws InterruptedException {
+        boolean result = true;
+        synchronized (pending) {
+            try {
+                for (Future<Boolean> future : pending) {
+                    try {
+                        result &= future.get();
+                    } catch (ExecutionException e) {
+                        logger.log("ERR: Attachment upload failed. " + e.getCause());
+                        result = false;
+                    }
+                }
+            } finally {
+                pending.clear();
+                if (executor != null) {
+                    executor.shutdownNow();
+                    executor = null;
+                }
+            }
+        }
+        return result;
+    }
+
     private boolean upload(byte[] fileContent, String filename, String entityCollectionName, String entityId) {
         logger.log("INFO: Uploading file: " + filename);
         CreateAttachment ca = new CreateAttachment(entityCollectionName,
@@ -35,11 +35,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParserManager;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmCommonProperties;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmEntity;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmRun;
+import com.microfocus.application.automation.tools.results.service.almentities.AlmRunImpl;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTest;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTestConfig;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTestConfigImpl;
@@ -60,14 +65,30 @@ import hudson.FilePath;
 public class DefaultExternalEntityUploadServiceImpl implements
 		IExternalEntityUploadService {
 
+	private static final int PAGE_SIZE = 2000;
+	private static final int IDS_PER_QUERY = 100;
+
 	Logger logger;
 	private AlmRestTool restTool;
 	private FilePath workspace;
+	private int batchSize;
+	private int concurrency;
 	
 	public DefaultExternalEntityUploadServiceImpl(AlmRestTool restTool, FilePath workspace, Logger logger) {
+		this(restTool, workspace, logger, 1, 1);
+	}
+
+	/**
+	 * @param batchSize   the number of tests, test instances or runs created by one request,
+	 *                    1 to look up and create the entities one by one
+	 * @param concurrency the number of batch requests sent at the same time
+	 */
+	public DefaultExternalEntityUploadServiceImpl(AlmRestTool restTool, FilePath workspace, Logger logger, int batchSize, int concurrency) {
 		this.restTool = restTool;
 		this.logger = logger;
 		this.workspace = workspace;
+		this.batchSize = Math.max(1, batchSize);
+		this.concurrency = Math.max(1, concurrency);
 	}
 
 	private String [] getTestCreationFields() {
@@ -84,12 +105,50 @@ public class DefaultExternalEntityUploadServiceImpl implements
 							};
 	}
 	
-	private AlmTest importTest(AlmTest test , int testFolderId, String testingTool, String testdesigner) throws ExternalEntityUploadException{
+	/**
+	 * Finds the test matching the given test among the existing tests with the same class and method names.
+	 * If none matches, gives the given test a name not used by the existing tests.
+	 */
+	private <T extends AlmTest> T matchExistingTest(AlmTest test, List<T> existingTests) {
+
+		if(existingTests.size() <= 0) {
+			return null;
+		}
 
 		String className = (String) test.getFieldValue(AlmTest.TS_UT_CLASS_NAME);
 		String methodName = (String) test.getFieldValue(AlmTest.TS_UT_METHOD_NAME);
 		String packageName = (String) test.getFieldValue(AlmTest.TS_UT_PACKAGE_NAME);
 		String testingFramework = (String) test.getFieldValue(AlmTest.TS_TESTING_FRAMEWORK);
+		Map<String, T> existingTestMap = new HashMap<String, T> ();
+		
+		for(T existingTest : existingTests) {
+			if(existingTest.getKey().endsWith(test.getKey())) {
+				return existingTest;
+			}
+			existingTestMap.put(existingTest.getName(), existingTest);
+		}
+		
+		String tempName = className + "_" + methodName;
+		if(!existingTestMap.containsKey(tempName)) {
+			test.setFieldValue(AlmTest.TEST_NAME, tempName);
+		} else { 
+			tempName = packageName + "_" +tempName;
+			if(!existingTestMap.containsKey(tempName)) {
+				test.setFieldValue(AlmTest.TEST_NAME, tempName);
+			} else {
+				tempName = tempName +"_" +testingFramework;
+				if(!existingTestMap.containsKey(tempName)) {
+					test.setFieldValue(AlmTest.TEST_NAME, tempName);
+				}
+			}
+		}
+		return null;
+	}
+
+	private AlmTest importTest(AlmTest test , int testFolderId, String testingTool, String testdesigner) throws ExternalEntityUploadException{
+
+		String className = (String) test.getFieldValue(AlmTest.TS_UT_CLASS_NAME);
+		String methodName = (String) test.getFieldValue(AlmTest.TS_UT_METHOD_NAME);
 		
 		String queryString = String.format("query={parent-id[%s];subtype-id[EXTERNAL-TEST];ut-class-name[%s];ut-method-name[%s]}&fields=id,name,ut-package-name,ut-class-name,ut-method-name,testing-framework&page-size=2000", 
 											String.valueOf(testFolderId),
@@ -99,36 +158,8 @@ public class DefaultExternalEntityUploadServiceImpl implements
 		
 		AlmTestImpl importedTest = null;//restTool.getEntityUnderParentFolder(AlmTestImpl.class, testFolderId, test.getName());
 		
-		if(existingTests != null && existingTests.size() >0) {
-			boolean exists = false;
-			Map<String, AlmTestImpl> existingTestMap = new HashMap<String, AlmTestImpl> ();
-			
-			for(AlmTestImpl existingTest : existingTests) {
-				if(existingTest.getKey().endsWith(test.getKey())) {
-					exists = true;
-					importedTest = existingTest;
-					break;
-				}
-				existingTestMap.put(existingTest.getName(), existingTest);
-			}
-			
-			if(!exists) {
-				String tempName = className + "_" + methodName;
-				if(!existingTestMap.containsKey(tempName)) {
-					test.setFieldValue(AlmTest.TEST_NAME, tempName);
-				} else { 
-					tempName = packageName + "_" +tempName;
-					if(!existingTestMap.containsKey(tempName)) {
-						test.setFieldValue(AlmTest.TEST_NAME, tempName);
-					} else {
-						tempName = tempName +"_" +testingFramework;
-						if(!existingTestMap.containsKey(tempName)) {
-							test.setFieldValue(AlmTest.TEST_NAME, tempName);
-						}
-					}
-				}
-				
-			}
+		if(existingTests != null) {
+			importedTest = matchExistingTest(test, existingTests);
 		}
 		
 		if(importedTest	== null) {
@@ -242,7 +273,21 @@ public class DefaultExternalEntityUploadServiceImpl implements
     	};
     }
     
-	private AlmRun generateRun(String tester, 
+	private AlmRun generateRun(String tester,
+								AlmRun run,
+								String testsetId,
+								String testId,
+								String testInstanceId,
+								String testconfigId,
+								String subversion,
+								String jobName,
+								String buildUrl) throws ExternalEntityUploadException{
+
+		prepareRun(tester, run, testsetId, testId, testInstanceId, testconfigId, subversion, jobName, buildUrl);
+		return restTool.createAlmEntity(run, getRunCreationFields());
+	}
+
+	private void prepareRun(String tester, 
 								AlmRun run, 
 								String testsetId, 
 								String testId, 
@@ -250,7 +295,7 @@ public class DefaultExternalEntityUploadServiceImpl implements
 								String testconfigId, 
 								String subversion,
 								String jobName,
-								String buildUrl) throws ExternalEntityUploadException{
+								String buildUrl) {
 		
 		run.setFieldValue(AlmRun.RUN_CONFIG_ID, String.valueOf(testconfigId));
 		run.setFieldValue(AlmRun.RUN_CYCLE_ID, String.valueOf(testsetId));
@@ -268,10 +313,6 @@ public class DefaultExternalEntityUploadServiceImpl implements
 		
 		run.setFieldValue(AlmCommonProperties.NAME, generateImportRunName());
 		run.setFieldValue(AlmCommonProperties.OWNER, tester);
-		
-		return restTool.createAlmEntity(run, getRunCreationFields());
-
-
 	}
 
 	private String[] getCreationFieldsForTestFolder() {
@@ -372,7 +413,7 @@ public class DefaultExternalEntityUploadServiceImpl implements
 		logger.log("INFO: Start to parse file: " + reportFilePath);
 
 		List<String> importedTestsetIds = new ArrayList<>();
-		ReportParserManager reportParserManager = ReportParserManager.getInstance(workspace, logger);
+		ReportParserManager reportParserManager = new ReportParserManager(workspace, logger);
 
 		List<AlmTestSet> testsets = reportParserManager.parseTestSets(reportFilePath, testingFramework,  testingTool);
 
@@ -426,6 +467,10 @@ public class DefaultExternalEntityUploadServiceImpl implements
 	
 	private List<String> importExternalTestSet(List<AlmTestSet> testsets, String tester, int testsetFolderId, int testFolderId, String testingTool, String subversion, String jobName, String buildUrl ) throws ExternalEntityUploadException{
 
+		if (batchSize > 1) {
+			return importExternalTestSetInBatches(testsets, tester, testsetFolderId, testFolderId, testingTool, subversion, jobName, buildUrl);
+		}
+
 		List<String> importedTestsetIds = new ArrayList<String>();
 
 		for (AlmTestSet testset : testsets){
@@ -482,4 +527,368 @@ public class DefaultExternalEntityUploadServiceImpl implements
 		return importedTestsetIds;
 	}
 	
+	/**
+	 * Same as the one by one import, with fewer requests: the existing tests of the test folder and the existing
+	 * test instances of each test set are read once, and the missing tests, test instances and runs are created
+	 * by batches of {@link #batchSize} entities, {@link #concurrency} batches at a time.
+	 */
+	private List<String> importExternalTestSetInBatches(List<AlmTestSet> testsets, String tester, int testsetFolderId, int testFolderId, String testingTool, String subversion, String jobName, String buildUrl) throws ExternalEntityUploadException {
+
+		List<String> importedTestsetIds = new ArrayList<String>();
+		Map<String, List<AlmTest>> folderTests = getTestsUnderFolder(testFolderId);
+		Map<String, String> mainTestConfigIds = new HashMap<String, String>();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+
+		try {
+			for (AlmTestSet testset : testsets) {
+				AlmTestSet importedTestSet = importTestSet(testset, testsetFolderId);
+				if (importedTestSet == null) {
+					continue;
+				}
+
+				importedTestsetIds.add(importedTestSet.getId());
+
+				List<AlmEntity> testinstances = testset.getRelatedEntities().get(EntityRelation.TESTSET_TO_TESTINSTANCE_CONTAINMENT_RELATION);
+				if (testinstances == null || testinstances.size() <= 0) {
+					continue;
+				}
+
+				// Tests
+				List<AlmTestInstance> instances = new ArrayList<AlmTestInstance>();
+				List<AlmTest> importedTests = new ArrayList<AlmTest>();
+				List<AlmTest> newTests = new ArrayList<AlmTest>();
+				for (AlmEntity testinstanceEntity : testinstances) {
+					AlmTestInstance testInstance = (AlmTestInstance) testinstanceEntity;
+					List<AlmEntity> tests = testInstance.getRelatedEntities().get(EntityRelation.TEST_TO_TESTINSTANCE_REALIZATION_RELATION);
+					if (tests == null || tests.size() <= 0) {
+						continue;
+					}
+
+					AlmTest test = (AlmTest) tests.get(0);
+					List<AlmTest> sameTests = getTestsWithClassAndMethod(folderTests, test);
+					AlmTest importedTest = matchExistingTest(test, sameTests);
+					if (importedTest == null) {
+						test.setFieldValue(AlmCommonProperties.PARENT_ID, String.valueOf(testFolderId));
+						test.setFieldValue(AlmTest.TS_TESTING_TOOL, testingTool);
+						test.setFieldValue(AlmTest.TEST_RESPONSIBLE, tester);
+						sameTests.add(test);
+						newTests.add(test);
+						importedTest = test;
+					}
+					instances.add(testInstance);
+					importedTests.add(importedTest);
+				}
+				createInBatches(newTests, getTestCreationFields(), executor,
+						DefaultExternalEntityUploadServiceImpl::getTestKey,
+						batch -> getAllTestsUnderFolder(testFolderId));
+				findMainTestConfigs(importedTests, mainTestConfigIds);
+
+				// Test instances
+				Map<String, AlmTestInstance> existingInstances = getTestInstancesOfTestSet(importedTestSet.getId());
+				List<AlmTestInstance> newInstances = new ArrayList<AlmTestInstance>();
+				List<PendingRun> pendingRuns = new ArrayList<PendingRun>();
+				for (int i = 0; i < instances.size(); i++) {
+					AlmTest importedTest = importedTests.get(i);
+					String testconfigId = mainTestConfigIds.get(importedTest.getId());
+					if (testconfigId == null) {
+						continue;
+					}
+
+					String instanceKey = importedTest.getId() + "_" + testconfigId;
+					AlmTestInstance importedTestInstance = existingInstances.get(instanceKey);
+					AlmTestInstance testInstance = instances.get(i);
+					if (importedTestInstance == null) {
+						testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_TESTSET_ID, importedTestSet.getId());
+						testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_CONFIG_ID, testconfigId);
+						testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_TEST_ID, importedTest.getId());
+						testInstance.setFieldValue(AlmTestInstance.TEST_INSTANCE_TESTER_NAME, tester);
+						existingInstances.put(instanceKey, testInstance);
+						newInstances.add(testInstance);
+						importedTestInstance = testInstance;
+					}
+
+					List<AlmEntity> runs = testInstance.getRelatedEntities().get(EntityRelation.TESTINSTANCE_TO_RUN_REALIZATION_RELATION);
+					if (runs != null && runs.size() > 0) {
+						pendingRuns.add(new PendingRun((AlmRun) runs.get(0), importedTest, importedTestInstance, testconfigId));
+					}
+				}
+				final String testsetId = importedTestSet.getId();
+				createInBatches(newInstances, getTestInstanceCreationFields(), executor,
+						DefaultExternalEntityUploadServiceImpl::getTestInstanceKey,
+						batch -> getAllTestInstancesOfTestSet(testsetId));
+
+				// Runs
+				List<AlmRun> newRuns = new ArrayList<AlmRun>();
+				for (PendingRun pendingRun : pendingRuns) {
+					prepareRun(tester,
+							pendingRun.run,
+							importedTestSet.getId(),
+							pendingRun.test.getId(),
+							pendingRun.testInstance.getId(),
+							pendingRun.testconfigId,
+							subversion,
+							jobName,
+							buildUrl);
+					newRuns.add(pendingRun.run);
+				}
+				createInBatches(newRuns, getRunCreationFields(), executor,
+						DefaultExternalEntityUploadServiceImpl::getRunKey,
+						batch -> getRunsOfTestInstances(testsetId, batch));
+				logger.log(String.format("INFO: Testset %s: %d tests, %d test instances and %d runs created.",
+						importedTestSet.getName(), newTests.size(), newInstances.size(), newRuns.size()));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return importedTestsetIds;
+	}
+
+	private static String getClassAndMethodKey(AlmEntity test) {
+		return test.getFieldValue(AlmTest.TS_UT_CLASS_NAME) + "#" + test.getFieldValue(AlmTest.TS_UT_METHOD_NAME);
+	}
+
+	private static List<AlmTest> getTestsWithClassAndMethod(Map<String, List<AlmTest>> tests, AlmEntity test) {
+		String key = getClassAndMethodKey(test);
+		List<AlmTest> sameTests = tests.get(key);
+		if (sameTests == null) {
+			sameTests = new ArrayList<AlmTest>();
+			tests.put(key, sameTests);
+		}
+		return sameTests;
+	}
+
+	/**
+	 * Reads the external tests of a test folder, grouped by class and method names.
+	 */
+	private Map<String, List<AlmTest>> getTestsUnderFolder(int testFolderId) throws ExternalEntityUploadException {
+		List<AlmTestImpl> existingTests = getAllTestsUnderFolder(testFolderId);
+
+		Map<String, List<AlmTest>> tests = new HashMap<String, List<AlmTest>>();
+		for (AlmTestImpl existingTest : existingTests) {
+			getTestsWithClassAndMethod(tests, existingTest).add(existingTest);
+		}
+		logger.log("INFO: " + existingTests.size() + " existing tests found in test folder.");
+		return tests;
+	}
+
+	private List<AlmTestImpl> getAllTestsUnderFolder(int testFolderId) throws ExternalEntityUploadException {
+		String queryString = String.format("query={parent-id[%s];subtype-id[EXTERNAL-TEST]}&fields=id,name,ut-package-name,ut-class-name,ut-method-name,testing-framework",
+				String.valueOf(testFolderId));
+		return restTool.getAllAlmEntities(new AlmTestImpl(), queryString, PAGE_SIZE);
+	}
+
+	/**
+	 * Finds the main test configuration of the tests whose one is not known yet, for several tests per query.
+	 */
+	private void findMainTestConfigs(List<AlmTest> tests, Map<String, String> mainTestConfigIds) throws ExternalEntityUploadException {
+		List<String> testIds = new ArrayList<String>();
+		for (AlmTest test : tests) {
+			if (!mainTestConfigIds.containsKey(test.getId()) && !testIds.contains(test.getId())) {
+				testIds.add(test.getId());
+			}
+		}
+
+		for (int from = 0; from < testIds.size(); from += IDS_PER_QUERY) {
+			List<String> ids = testIds.subList(from, Math.min(from + IDS_PER_QUERY, testIds.size()));
+			String queryString = String.format("query={parent-id[%s]}&fields=id,name,parent-id", String.join("%20OR%20", ids));
+			// ordered by id, so the first configuration of a test is the one created with it
+			for (AlmTestConfigImpl testconfig : restTool.getAllAlmEntities(new AlmTestConfigImpl(), queryString, PAGE_SIZE)) {
+				String testId = (String) testconfig.getFieldValue(AlmCommonProperties.PARENT_ID);
+				if (!mainTestConfigIds.containsKey(testId)) {
+					mainTestConfigIds.put(testId, testconfig.getId());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the test instances of a test set, by test and test configuration.
+	 */
+	private Map<String, AlmTestInstance> getTestInstancesOfTestSet(String testsetId) throws ExternalEntityUploadException {
+		Map<String, AlmTestInstance> testInstances = new HashMap<String, AlmTestInstance>();
+		for (AlmTestInstanceImpl testInstance : getAllTestInstancesOfTestSet(testsetId)) {
+			String key = getTestInstanceKey(testInstance);
+			if (!testInstances.containsKey(key)) {
+				testInstances.put(key, testInstance);
+			}
+		}
+		return testInstances;
+	}
+
+	private List<AlmTestInstanceImpl> getAllTestInstancesOfTestSet(String testsetId) throws ExternalEntityUploadException {
+		String queryString = String.format("query={cycle-id[%s]}&fields=id,name,test-id,test-config-id", testsetId);
+		return restTool.getAllAlmEntities(new AlmTestInstanceImpl(), queryString, PAGE_SIZE);
+	}
+
+	/**
+	 * Reads the runs of the test set that belong to the test instances of the given runs.
+	 */
+	private List<AlmEntity> getRunsOfTestInstances(String testsetId, List<? extends AlmEntity> runs) throws ExternalEntityUploadException {
+		List<String> testInstanceIds = new ArrayList<String>();
+		for (AlmEntity run : runs) {
+			String testInstanceId = String.valueOf(run.getFieldValue(AlmRun.RUN_TESTCYCL_UNIQUE_ID));
+			if (!testInstanceIds.contains(testInstanceId)) {
+				testInstanceIds.add(testInstanceId);
+			}
+		}
+
+		List<AlmEntity> ret = new ArrayList<AlmEntity>();
+		for (int from = 0; from < testInstanceIds.size(); from += IDS_PER_QUERY) {
+			List<String> ids = testInstanceIds.subList(from, Math.min(from + IDS_PER_QUERY, testInstanceIds.size()));
+			String queryString = String.format("query={cycle-id[%s];testcycl-id[%s]}&fields=id,name,testcycl-id",
+					testsetId, String.join("%20OR%20", ids));
+			ret.addAll(restTool.getAllAlmEntities(new AlmRunImpl(), queryString, PAGE_SIZE));
+		}
+		return ret;
+	}
+
+	/**
+	 * Test names are unique in a test folder.
+	 */
+	private static String getTestKey(AlmEntity test) {
+		return String.valueOf(test.getFieldValue(AlmTest.TEST_NAME));
+	}
+
+	private static String getTestInstanceKey(AlmEntity testInstance) {
+		return testInstance.getFieldValue(AlmTestInstance.TEST_INSTANCE_TEST_ID) + "_"
+				+ testInstance.getFieldValue(AlmTestInstance.TEST_INSTANCE_CONFIG_ID);
+	}
+
+	/**
+	 * The generated run name holds the time of the import, so older runs of the test instance have other names.
+	 */
+	private static String getRunKey(AlmEntity run) {
+		return run.getFieldValue(AlmRun.RUN_TESTCYCL_UNIQUE_ID) + "_" + run.getFieldValue(AlmCommonProperties.NAME);
+	}
+
+	/**
+	 * Gives the key that identifies an entity among the entities created with it.
+	 */
+	private interface EntityKey {
+		String of(AlmEntity entity);
+	}
+
+	/**
+	 * Reads the entities of the server that may have been created by a failed batch request.
+	 */
+	private interface ExistingEntities {
+		List<? extends AlmEntity> read(List<? extends AlmEntity> batch) throws ExternalEntityUploadException;
+	}
+
+	/**
+	 * Creates the entities by batches and sets the id of each created entity to the given one.
+	 * The created entities are matched to the given ones by their key, not by their position in the response.
+	 * When a batch request fails, the server is read again and only the entities of the batch it does not hold
+	 * are created, one at a time, so a partly applied batch does not leave duplicates.
+	 */
+	private <E extends AlmEntity> void createInBatches(List<E> entities, final String[] fieldsForCreation, ExecutorService executor,
+			final EntityKey key, final ExistingEntities existingEntities) throws ExternalEntityUploadException {
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		for (int from = 0; from < entities.size(); from += batchSize) {
+			final List<E> batch = entities.subList(from, Math.min(from + batchSize, entities.size()));
+			futures.add(executor.submit(() -> {
+				createBatch(batch, fieldsForCreation, key, existingEntities);
+				return null;
+			}));
+		}
+
+		ExternalEntityUploadException failure = null;
+		for (Future<Void> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ExternalEntityUploadException(e);
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof ExternalEntityUploadException ?
+							(ExternalEntityUploadException) e.getCause() : new ExternalEntityUploadException(e.getCause());
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private <E extends AlmEntity> void createBatch(List<E> batch, String[] fieldsForCreation, EntityKey key,
+			ExistingEntities existingEntities) throws ExternalEntityUploadException {
+		List<E> created;
+		try {
+			created = restTool.createAlmEntities(batch, fieldsForCreation);
+		} catch (ExternalEntityUploadException e) {
+			logger.log("WARN: Failed to create " + batch.size() + " entities with one request, creating the missing ones one by one.");
+			createMissing(batch, fieldsForCreation, key, existingEntities);
+			return;
+		}
+
+		if (created.size() != batch.size() || !setIds(batch, created, key)) {
+			throw new ExternalEntityUploadException(String.format(
+					"Created %d entities:%s with one request, but got %d matching entities in the response.",
+					batch.size(), batch.get(0).getRestPrefix(), created.size()));
+		}
+	}
+
+	/**
+	 * Creates the entities of the batch that the server does not hold.
+	 */
+	private <E extends AlmEntity> void createMissing(List<E> batch, String[] fieldsForCreation, EntityKey key,
+			ExistingEntities existingEntities) throws ExternalEntityUploadException {
+		Map<String, List<String>> existingIds = getIdsByKey(existingEntities.read(batch), key);
+		for (E entity : batch) {
+			String id = takeId(existingIds, key.of(entity));
+			if (id == null) {
+				id = restTool.createAlmEntity(entity, fieldsForCreation).getId();
+			}
+			entity.setId(id);
+		}
+	}
+
+	/**
+	 * Sets the id of each entity of the batch to the created entity with the same key.
+	 * @return false if an entity of the batch has no created entity
+	 */
+	private static boolean setIds(List<? extends AlmEntity> batch, List<? extends AlmEntity> created, EntityKey key) {
+		Map<String, List<String>> createdIds = getIdsByKey(created, key);
+		List<String> ids = new ArrayList<String>(batch.size());
+		for (AlmEntity entity : batch) {
+			String id = takeId(createdIds, key.of(entity));
+			if (id == null) {
+				return false;
+			}
+			ids.add(id);
+		}
+		for (int i = 0; i < batch.size(); i++) {
+			batch.get(i).setId(ids.get(i));
+		}
+		return true;
+	}
+
+	private static Map<String, List<String>> getIdsByKey(List<? extends AlmEntity> entities, EntityKey key) {
+		Map<String, List<String>> ret = new HashMap<String, List<String>>();
+		for (AlmEntity entity : entities) {
+			ret.computeIfAbsent(key.of(entity), k -> new ArrayList<String>()).add(entity.getId());
+		}
+		return ret;
+	}
+
+	private static String takeId(Map<String, List<String>> idsByKey, String key) {
+		List<String> ids = idsByKey.get(key);
+		return ids == null || ids.isEmpty() ? null : ids.remove(0);
+	}
+
+	private static final class PendingRun {
+		private final AlmRun run;
+		private final AlmTest test;
+		private final AlmTestInstance testInstance;
+		private final String testconfigId;
+
+		private PendingRun(AlmRun run, AlmTest test, AlmTestInstance testInstance, String testconfigId) {
+			this.run = run;
+			this.test = test;
+			this.testInstance = testInstance;
+			this.testconfigId = testconfigId;
+		}
+	}
 }
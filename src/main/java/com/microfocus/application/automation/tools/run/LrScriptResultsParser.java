@@ -25,30 +25,21 @@
  *
  * ___________________________________________________________________
  */
-
 package com.microfocus.application.automation.tools.run;
 
+import com.microfocus.application.automation.tools.results.lrscriptresultparser.LrScriptResultsConverter;
 import hudson.FilePath;
 import hudson.model.TaskListener;
-import org.w3c.dom.CharacterData;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 
 /**
  * Created by YafimK on 22/03/2017.
@@ -64,6 +55,7 @@ public class LrScriptResultsParser {
      * The constant LR_SCRIPT_RESULT_FILENAME.
      */
     public static final String LR_SCRIPT_RESULT_FILENAME = "Results.xml";
+    public static final String LR_SCRIPT_JUNIT_RESULT_FILENAME = "JunitResult.xml";
     public static final String LR_SCRIPT_PASSED_STATUS = "Passed";
     public static final String LR_SCRIPT_REPORT_PASSED_STATUS = "passed";
     public static final String LR_SCRIPT_REPORT_FAILED_STATUS = "failed";
@@ -98,83 +90,37 @@ public class LrScriptResultsParser {
      */
     public void invoke(FilePath ws_filePath) throws InterruptedException {
         FilePath sourceFile = ws_filePath.child(this._scriptName).child(LR_SCRIPT_RESULT_FILENAME);
-        FilePath targetFile = ws_filePath.child(this._scriptName).child("JunitResult.xml");
+        FilePath targetFile = ws_filePath.child(this._scriptName).child(LR_SCRIPT_JUNIT_RESULT_FILENAME);
         parse(sourceFile, targetFile);
     }
 
     /**
      * Parse.
+     * The results are converted while they are streamed, on the node the results are on when the JUNIT report is
+     * written to the same node.
      *
      * @param scriptName the script name
      * @param outputFile the output file
      */
     public void parse(FilePath scriptName, FilePath outputFile) throws InterruptedException {
-        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder dBuilder = null;
-        Document doc;
-        Document newDoc;
+        String name = scriptName.getParent().getBaseName();
         try {
-            dBuilder = dbFactory.newDocumentBuilder();
-            doc = dBuilder.parse(scriptName.read());
-
-            newDoc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-
-            doc.getDocumentElement().normalize();
-            NodeList actionNodes = doc.getElementsByTagName("Action");
-
-            Element testSuits = newDoc.createElement("testsuites");
-            parseScriptAction(newDoc, actionNodes, testSuits, scriptName.getParent().getBaseName());
-            Element reportSummaryNode = (Element) doc.getElementsByTagName("Summary").item(actionNodes.getLength());
-            testSuits.setAttribute(
-                    LR_SCRIPT_REPORT_PASSED_STATUS, reportSummaryNode.getAttribute(LR_SCRIPT_REPORT_PASSED_STATUS));
-            testSuits.setAttribute("failures", reportSummaryNode.getAttribute(LR_SCRIPT_REPORT_FAILED_STATUS));
-            testSuits.setAttribute("name", scriptName.getParent().getBaseName());
-            testSuits.setAttribute("xmlns:xsd", "http://www.w3.org/2001/XMLSchema");
-            testSuits.setAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
-            int tests =
-                    Integer.parseInt(reportSummaryNode.getAttribute(LR_SCRIPT_REPORT_FAILED_STATUS)) +
-                            Integer.parseInt(reportSummaryNode
-                                    .getAttribute(LR_SCRIPT_REPORT_PASSED_STATUS));
-            testSuits.setAttribute("tests", String.valueOf(tests));
-            newDoc.appendChild(testSuits);
-            newDoc.setXmlVersion("1.0");
-
-            TransformerFactory tFactory =
-                    TransformerFactory.newInstance();
-            Transformer transformer =
-                    tFactory.newTransformer();
-
-            DOMSource source = new DOMSource(newDoc);
-            StreamResult result = new StreamResult(outputFile.write());
-
-            transformer.transform(source, result);
-        } catch (SAXException e) {
+            if (scriptName.getChannel() == outputFile.getChannel()) {
+                scriptName.act(new ConvertResultsCallable(outputFile.getRemote(), name));
+            } else {
+                File spoolDir = Files.createTempDirectory("lrscript").toFile();
+                try (InputStream in = scriptName.read(); OutputStream out = outputFile.write()) {
+                    LrScriptResultsConverter.convert(in, out, name, spoolDir);
+                } finally {
+                    Files.deleteIfExists(spoolDir.toPath());
+                }
+            }
+        } catch (XMLStreamException e) {
             log("XML reader error");
             log(e);
-        } catch (ParserConfigurationException e) {
-            log("XML parser error");
-            log(e);
         } catch (IOException e) {
-            log("IO error");
+            log(e.getCause() instanceof XMLStreamException ? "XML reader error" : "IO error");
             log(e);
-        } catch (TransformerConfigurationException tce) {
-            log("* Transformer Factory error");
-            log(" " + tce.getMessage());
-
-            Throwable x = tce;
-            if (tce.getException() != null) {
-                x = tce.getException();
-            }
-            log(x);
-        } catch (TransformerException te) {
-            log("* Transformation error");
-            log(" " + te.getMessage());
-
-            Throwable x = te;
-            if (te.getException() != null) {
-                x = te.getException();
-            }
-            log(x);
         }
     }
 
@@ -182,79 +128,6 @@ public class LrScriptResultsParser {
         _logger.error(msg.toString());
     }
 
-    private static void parseScriptAction(Document newDoc, NodeList actionNodes, Element rootnode, String scriptName) {
-        for (int i = 0; i < actionNodes.getLength(); i++) {
-
-            Element action = (Element) actionNodes.item(i);
-
-
-            NodeList actionProps = action.getElementsByTagName("AName");
-            Element actionName = (Element) actionProps.item(0);
-
-            Element testSuite = newDoc.createElement("testsuite");
-            final String suiteName = getCharacterDataFromElement(actionName);
-            testSuite.setAttribute("name", suiteName);
-
-            NodeList stepNodes = action.getElementsByTagName("Step");
-            parseScriptActionStep(newDoc, testSuite, stepNodes, scriptName + "." + suiteName);
-
-            Element suiteSummaryNode = (Element) action.getElementsByTagName("Summary").item(0);
-            testSuite.setAttribute(
-                    LR_SCRIPT_REPORT_PASSED_STATUS, suiteSummaryNode.getAttribute(LR_SCRIPT_REPORT_PASSED_STATUS));
-            testSuite.setAttribute("failures", suiteSummaryNode.getAttribute(LR_SCRIPT_REPORT_FAILED_STATUS));
-            int tests =
-                    Integer.parseInt(suiteSummaryNode.getAttribute(LR_SCRIPT_REPORT_FAILED_STATUS)) +
-                            Integer.parseInt(suiteSummaryNode.getAttribute(LR_SCRIPT_REPORT_PASSED_STATUS));
-            testSuite.setAttribute("package", scriptName);
-
-            testSuite.setAttribute("tests", String.valueOf(tests));
-            if (tests > 0) {
-                rootnode.appendChild(testSuite);
-            }
-        }
-    }
-
-    private static void parseScriptActionStep(Document newDoc, Element testSuite, NodeList stepNodes,
-                                              String className) {
-        for (int j = 0; j < stepNodes.getLength(); j++) {
-            Element step = (Element) stepNodes.item(j);
-            Element objNode = (Element) step.getElementsByTagName("Obj").item(0);
-            Element testCase = newDoc.createElement("testcase");
-            testCase.setAttribute("name", getStepDataFromElement(objNode));
-            Element nodeArgs = (Element) step.getElementsByTagName("NodeArgs").item(0);
-            String stepStatus = nodeArgs.getAttribute("status");
-            if (stepStatus.equals(LR_SCRIPT_PASSED_STATUS)) {
-                stepStatus = "pass";
-            } else {
-                stepStatus = "fail";
-                Element failureMessage = newDoc.createElement("failure");
-                failureMessage.setAttribute("message", "");
-
-                testCase.appendChild(failureMessage);
-            }
-            testCase.setAttribute("status", stepStatus);
-            testCase.setAttribute("classname", className);
-
-            testSuite.appendChild(testCase);
-        }
-    }
-
-    private static String getStepDataFromElement(Element e) {
-        String stepName = getCharacterDataFromElement(e);
-        stepName = stepName.replace("Url: ", "");
-
-        return stepName;
-    }
-
-    private static String getCharacterDataFromElement(Element e) {
-        Node child = e.getFirstChild();
-        if (child instanceof CharacterData) {
-            CharacterData cd = (CharacterData) child;
-            return cd.getData();
-        }
-        return "";
-    }
-
     /**
      * Parse.
      *
@@ -274,4 +147,33 @@ public class LrScriptResultsParser {
     public void setScriptName(String _scriptName) {
         this._scriptName = _scriptName;
     }
+
+    /**
+     * Converts the results on the node they are on, the JUNIT report is written next to them.
+     */
+    private static final class ConvertResultsCallable extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+        private final String outputPath;
+        private final String scriptName;
+
+        private ConvertResultsCallable(String outputPath, String scriptName) {
+            this.outputPath = outputPath;
+            this.scriptName = scriptName;
+        }
+
+        @Override
+        public Void invoke(File results, VirtualChannel channel) throws IOException, InterruptedException {
+            File output = new File(outputPath);
+            File spoolDir = Files.createTempDirectory(output.getAbsoluteFile().getParentFile().toPath(), "junit").toFile();
+            try (InputStream in = Files.newInputStream(results.toPath());
+                 OutputStream out = Files.newOutputStream(output.toPath())) {
+                LrScriptResultsConverter.convert(in, out, scriptName, spoolDir);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                Files.deleteIfExists(spoolDir.toPath());
+            }
+            return null;
+        }
+    }
 }
@@ -40,6 +40,7 @@ import com.cloudbees.plugins.credentials.matchers.IdMatcher;
 import com.microfocus.adm.performancecenter.plugins.common.pcentities.*;
 import com.microfocus.application.automation.tools.pc.PcClient;
 import com.microfocus.application.automation.tools.pc.PcModel;
+import com.microfocus.application.automation.tools.pc.TrendReportTable;
 import com.microfocus.application.automation.tools.pc.helper.DateFormatter;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Error;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Failure;
@@ -67,11 +68,15 @@ import org.kohsuke.stapler.QueryParameter;
 
 import javax.annotation.Nonnull;
 import java.beans.IntrospectionException;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.text.Format;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -730,27 +735,21 @@ public class PcBuilder extends Builder implements SimpleBuildStep {
                 new TriTrendReportTypes(TrendReportTypes.DataType.Regular, TrendReportTypes.PctType.WEB, TrendReportTypes.Measurement.PCT_SUM1)
         };
 
+        TrendReportTable trendReportTable = pcClient.getTrendReportTable(getPcModel().getTrendReportId(true), runId);
         for (TriTrendReportTypes triTrendReportType : triTrendReportTypes
         ) {
-            saveFileToWorkspacePath(pcClient, getPcModel().getTrendReportId(true), runId, triTrendReportType.getDataType(), triTrendReportType.getPctType(), triTrendReportType.getMeasurement());
+            saveFileToWorkspacePath(trendReportTable, runId, triTrendReportType.getDataType(), triTrendReportType.getPctType(), triTrendReportType.getMeasurement());
         }
 
     }
 
-    private boolean saveFileToWorkspacePath(PcClient pcClient, String trendReportID, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) throws IOException, PcException, IntrospectionException, NoSuchMethodException {
+    private boolean saveFileToWorkspacePath(TrendReportTable trendReportTable, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) throws IOException {
         String fileName = measurement.toString().toLowerCase() + "_" + pctType.toString().toLowerCase() + ".csv";
-        Map<String, String> measurementMap = pcClient.getTrendReportByXML(trendReportID, runId, dataType, pctType, measurement);
         try {
             FilePath filePath = new FilePath(Workspace.getChannel(), getWorkspacePath().getPath() + "/" + fileName);
-            String filepathContent = "";
-            for (String key : measurementMap.keySet()) {
-                filepathContent += key + ",";
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(filePath.write(), Charset.defaultCharset()))) {
+                trendReportTable.writeCsv(writer, runId, dataType, pctType, measurement);
             }
-            filepathContent += "\r\n";
-            for (String value : measurementMap.values()) {
-                filepathContent += value + ",";
-            }
-            filePath.write(filepathContent, null);
             return true;
         } catch (InterruptedException e) {
             if (getWorkspacePath().getPath() != null)
@@ -29,6 +29,7 @@
 package com.microfocus.application.automation.tools.run;
 
 import com.microfocus.application.automation.tools.JenkinsUtils;
+import com.microfocus.application.automation.tools.LauncherToolCache;
 import com.microfocus.application.automation.tools.model.*;
 import com.microfocus.application.automation.tools.octane.executor.UftConstants;
 import com.microfocus.application.automation.tools.uft.model.FilterTestsModel;
@@ -404,8 +405,8 @@ public class RunFromAlmBuilder extends Builder implements SimpleBuildStep {
                 return;
             }
             // Copy the script to the project workspace
-            cmdLineExe.copyFrom(cmdExeUrl);
-            cmdLineExeCfg.copyFrom(cmdExeCfgUrl);
+            LauncherToolCache.deploy(cmdExeUrl, cmdLineExe);
+            LauncherToolCache.deploy(cmdExeCfgUrl, cmdLineExeCfg);
         } catch (IOException | InterruptedException e) {
             build.setResult(Result.FAILURE);
             listener.error("Failed to copy props file or UFT tools to agent machine. " + e);
@@ -30,6 +30,7 @@ package com.microfocus.application.automation.tools.run;
 
 import com.hp.octane.integrations.executor.TestsToRunConverter;
 import com.microfocus.application.automation.tools.JenkinsUtils;
+import com.microfocus.application.automation.tools.LauncherToolCache;
 import com.microfocus.application.automation.tools.AlmToolsUtils;
 import com.microfocus.application.automation.tools.EncryptionUtils;
 import com.microfocus.application.automation.tools.Messages;
@@ -41,6 +42,7 @@ import com.microfocus.application.automation.tools.settings.MCServerSettingsGlob
 import com.microfocus.application.automation.tools.uft.model.SpecifyParametersModel;
 import com.microfocus.application.automation.tools.uft.model.UftRunAsUser;
 import com.microfocus.application.automation.tools.uft.model.UftSettingsModel;
+import com.microfocus.application.automation.tools.uft.utils.UftBuildTestsCallable;
 import com.microfocus.application.automation.tools.uft.utils.UftToolUtils;
 import hudson.*;
 import hudson.model.*;
@@ -810,28 +812,34 @@ public class RunFromFileBuilder extends Builder implements SimpleBuildStep {
             }
         }
 
-        // clean cleanuptests' report folders
+        // clean report folders of the cleanup tests and of the actual tests, in a single call to the node
+        List<String> testPaths = new ArrayList<>();
         int index = 1;
         while (mergedProps.getProperty("CleanupTest" + index) != null) {
-            String testPath = mergedProps.getProperty("CleanupTest" + index);
-            List<String> cleanupTests = UftToolUtils.getBuildTests(selectedNode, testPath);
-            for (String test : cleanupTests) {
-                UftToolUtils.deleteReportFoldersFromNode(selectedNode, test, listener);
-            }
-
+            testPaths.add(mergedProps.getProperty("CleanupTest" + index));
             index++;
         }
-
-        // clean actual tests' report folders
         index = 1;
         while (mergedProps.getProperty("Test" + index) != null) {
-            String testPath = mergedProps.getProperty(("Test" + index));
-            List<String> buildTests = UftToolUtils.getBuildTests(selectedNode, testPath);
-            for (String test : buildTests) {
-                UftToolUtils.deleteReportFoldersFromNode(selectedNode, test, listener);
-            }
+            testPaths.add(mergedProps.getProperty("Test" + index));
             index++;
         }
+        try {
+            UftBuildTestsCallable.Result prepared = UftToolUtils.prepareBuildTests(selectedNode, testPaths);
+            for (String line : prepared.getLog()) {
+                listener.getLogger().println(line);
+            }
+            listener.getLogger().println(String.format("Found %d tests in %d test paths in %d ms, deleted %d report folders in %d ms",
+                    prepared.getTestsCount(), testPaths.size(), prepared.getExpandMillis(),
+                    prepared.getDeletedFolders(), prepared.getCleanupMillis()));
+        } catch (IOException e) {
+            listener.error("Failure in clearing report folders : " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            build.setResult(Result.ABORTED);
+            listener.error("Clearing report folders was interrupted - build aborted");
+            return;
+        }
 
         mergedProps.setProperty("numOfTests", String.valueOf(index - 1));
 
@@ -880,9 +888,9 @@ public class RunFromFileBuilder extends Builder implements SimpleBuildStep {
                 return;
             }
             // Copy the script to the project workspace
-            cmdLineExe.copyFrom(cmdExeUrl);
-            cmdLineExeCfg.copyFrom(cmdExeCfgUrl);
-            cmdLineExe2.copyFrom(cmdExe2Url);
+            LauncherToolCache.deploy(cmdExeUrl, cmdLineExe);
+            LauncherToolCache.deploy(cmdExeCfgUrl, cmdLineExeCfg);
+            LauncherToolCache.deploy(cmdExe2Url, cmdLineExe2);
         } catch (IOException | InterruptedException e) {
             build.setResult(Result.FAILURE);
             listener.error("Failed to copy props file or UFT tools to agent machine. " + e);
@@ -246,7 +246,7 @@ public class RunLoadRunnerScript extends Builder implements SimpleBuildStep {
             listener,
                                          FilePath buildWorkDir, String scriptName)
             throws InterruptedException, IOException {
-        JUnitResultArchiver jUnitResultArchiver = new JUnitResultArchiver("JunitResult.xml");
+        JUnitResultArchiver jUnitResultArchiver = new JUnitResultArchiver(LrScriptResultsParser.LR_SCRIPT_JUNIT_RESULT_FILENAME);
         jUnitResultArchiver.setKeepLongStdio(true);
         jUnitResultArchiver.setAllowEmptyResults(true);
         jUnitResultArchiver.perform(build, buildWorkDir.child(scriptName), launcher, listener);
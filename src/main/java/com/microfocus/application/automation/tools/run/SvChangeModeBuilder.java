@@ -101,10 +101,9 @@ public class SvChangeModeBuilder extends AbstractSvRunBuilder<SvChangeModeModel>
         public String call() throws Exception {
             PrintStream logger = listener.getLogger();
 
-            ICommandExecutor exec = createCommandExecutor();
-            for (ServiceInfo service : getServiceList(false, logger, workspace)) {
-                changeServiceMode(service, logger, exec);
-            }
+            ICommandExecutor exec = getCommandExecutor();
+            processServices(getServiceList(false, logger, workspace), ServiceInfo::getDisplayName,
+                    service -> changeServiceMode(service, logger, exec), logger);
 
             return null;
         }
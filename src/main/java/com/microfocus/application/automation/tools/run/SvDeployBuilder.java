@@ -37,6 +37,7 @@ import com.microfocus.application.automation.tools.model.SvServerSettingsModel;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRemoteRunner;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRunBuilder;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRunDescriptor;
+import com.microfocus.application.automation.tools.sv.runner.ServiceInfo;
 import com.microfocus.sv.svconfigurator.core.IDataModel;
 import com.microfocus.sv.svconfigurator.core.IPerfModel;
 import com.microfocus.sv.svconfigurator.core.IProject;
@@ -113,15 +114,15 @@ public class SvDeployBuilder extends AbstractSvRunBuilder<SvDeployModel> {
         }
 
         private void deployServiceFromProject(IProject project, PrintStream logger) throws Exception {
-            IDeployProcessor processor = new DeployProcessor(null);
-            ICommandExecutor commandExecutor = createCommandExecutor();
+            ICommandExecutor commandExecutor = getCommandExecutor();
 
-            for (IService service : getServiceList(project)) {
+            processServices(getServiceList(project), service -> ServiceInfo.getDisplayName(service.getName(), service.getId()), service -> {
                 logger.printf("  Deploying service '%s' [%s] %n", service.getName(), service.getId());
-                DeployProcessorInput deployInput = new DeployProcessorInput(model.isForce(), false, project, model.getService(), null, false);
+                IDeployProcessor processor = new DeployProcessor(null);
+                DeployProcessorInput deployInput = new DeployProcessorInput(model.isForce(), false, project, service.getId(), null, false);
                 deployInput.setFirstAgentFailover(model.isFirstAgentFallback());
                 processor.process(deployInput, commandExecutor);
-            }
+            }, logger);
         }
     }
 
@@ -102,12 +102,10 @@ public class SvExportBuilder extends AbstractSvRunBuilder<SvExportModel> {
 
             verifyNotNull(model.getTargetDirectory(), "Target directory must be set");
 
-            ExportProcessor exportProcessor = new ExportProcessor(null);
-            IChmodeProcessor chmodeProcessor = new ChmodeProcessor(null);
             IProject project = null;
             String targetDirectory = workspace.child(model.getTargetDirectory()).getRemote();
 
-            ICommandExecutor exec = createCommandExecutor();
+            ICommandExecutor exec = getCommandExecutor();
 
             if (model.isCleanTargetDirectory()) {
                 cleanTargetDirectory(logger, new FilePath(new File(targetDirectory)));
@@ -117,19 +115,20 @@ public class SvExportBuilder extends AbstractSvRunBuilder<SvExportModel> {
                 project = new ProjectBuilder().buildProject(new File(model.getServiceSelection().getProjectPath()), model.getServiceSelection().getProjectPassword());
             }
 
-            for (ServiceInfo serviceInfo : getServiceList(false, logger, workspace)) {
+            final IProject selectedProject = project;
+            processServices(getServiceList(false, logger, workspace), ServiceInfo::getDisplayName, serviceInfo -> {
                 if (model.isSwitchToStandByFirst()) {
-                    switchToStandBy(serviceInfo, chmodeProcessor, exec, logger);
+                    switchToStandBy(serviceInfo, new ChmodeProcessor(null), exec, logger);
                 }
 
                 logger.printf("  Exporting service '%s' [%s] to %s %n", serviceInfo.getName(), serviceInfo.getId(), targetDirectory);
                 verifyNotLearningBeforeExport(logger, exec, serviceInfo);
                 if (!model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT)) {
-                    exportProcessor.process(exec, targetDirectory, serviceInfo.getId(), project, false, model.isArchive(), false);
+                    new ExportProcessor(null).process(exec, targetDirectory, serviceInfo.getId(), selectedProject, false, model.isArchive(), false);
                 }
-            }
+            }, logger);
             if (model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT)) {
-                exportProcessor.process(exec, targetDirectory, null, project, false, model.isArchive(), false);
+                new ExportProcessor(null).process(exec, targetDirectory, null, project, false, model.isArchive(), false);
             }
             return null;
         }
@@ -77,13 +77,13 @@ public class SvUndeployBuilder extends AbstractSvRunBuilder<SvUndeployModel> {
         public String call() throws Exception {
             PrintStream logger = listener.getLogger();
 
-            IUndeployProcessor processor = new UndeployProcessor(null);
-            ICommandExecutor exec = createCommandExecutor();
-            for (ServiceInfo service : getServiceList(model.isContinueIfNotDeployed(), logger, workspace)) {
+            ICommandExecutor exec = getCommandExecutor();
+            processServices(getServiceList(model.isContinueIfNotDeployed(), logger, workspace), ServiceInfo::getDisplayName, service -> {
                 logger.printf("  Undeploying service '%s' [%s] %n", service.getName(), service.getId());
+                IUndeployProcessor processor = new UndeployProcessor(null);
                 UndeployProcessorInput undeployProcessorInput = new UndeployProcessorInput(model.isForce(), null, service.getId());
                 processor.process(undeployProcessorInput, exec);
-            }
+            }, logger);
 
             return null;
         }
@@ -29,6 +29,7 @@
 package com.microfocus.application.automation.tools.run;
 
 import com.microfocus.application.automation.tools.mc.JobConfigurationProxy;
+import com.microfocus.application.automation.tools.mc.UploadedAppCache;
 import com.microfocus.application.automation.tools.model.*;
 import com.microfocus.application.automation.tools.settings.MCServerSettingsGlobalConfiguration;
 import com.microfocus.application.automation.tools.sse.common.StringUtils;
@@ -40,17 +41,32 @@ import hudson.model.AbstractBuild;
 import hudson.model.AbstractProject;
 import hudson.model.BuildListener;
 import hudson.model.Result;
+import hudson.remoting.VirtualChannel;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Builder;
+import hudson.util.StreamTaskListener;
+import jenkins.MasterToSlaveFileCallable;
 import net.minidev.json.JSONObject;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.FilenameUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -63,6 +79,8 @@ import java.util.regex.Pattern;
  */
 public class UploadAppBuilder extends Builder {
 
+    private static final int MAX_CONCURRENT_UPLOADS = Integer.getInteger(UploadAppBuilder.class.getName() + ".maxConcurrentUploads", 3);
+
     private final UploadAppModel uploadAppModel;
 
     @DataBoundConstructor
@@ -81,7 +99,6 @@ public class UploadAppBuilder extends Builder {
         // get the Digital Lab server settings
         MCServerSettingsModel mcServerSettingsModel = getMCServerSettingsModel();
         JobConfigurationProxy job = JobConfigurationProxy.getInstance();
-        JSONObject app = null;
         String mcServerUrl = "";
         PrintStream out = listener.getLogger();
         List<UploadAppPathModel> paths = null;
@@ -97,97 +114,211 @@ public class UploadAppBuilder extends Builder {
             out.println(String.format("There are %d apps to be uploaded.", paths.size()));
             String workspace = build.getWorkspace() == null ? "" : build.getWorkspace().toURI().getPath();
 
-            for (int i = 1; i <= paths.size(); i++) {
-                String path = paths.get(i - 1).getMcAppPath();
-                String originPath = path;
-                if (StringUtils.isNullOrEmpty(path)) {
-                    out.println(String.format("ignore the empty app %d upload", i));
-                    continue;
+            // one login session is shared by all the uploads of this step
+            JSONObject loginJson = job.loginToMC(mcServerUrl, uploadAppModel.getAuthModel(), uploadAppModel.getProxySettings());
+
+            int threads = Math.max(1, Math.min(MAX_CONCURRENT_UPLOADS, paths.size()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory(build));
+            try {
+                List<Future<UploadResult>> results = new ArrayList<>(paths.size());
+                for (int i = 1; i <= paths.size(); i++) {
+                    final int index = i;
+                    final String path = paths.get(i - 1).getMcAppPath();
+                    final String serverUrl = mcServerUrl;
+                    results.add(executor.submit(() -> uploadApp(build, job, loginJson, serverUrl, workspace, index, path)));
                 }
-                //case insensitive replace of workspace to its real path
-                if (path.toUpperCase(Locale.ENGLISH).startsWith("${WORKSPACE}")) {
-                    path = path.replaceAll("(?i)" + Pattern.quote("${WORKSPACE}"), Matcher.quoteReplacement(workspace));
-                    if (!FilenameUtils.normalize(path).startsWith(FilenameUtils.normalize(workspace))) {
-                        out.println(String.format("Failed to upload app, Cause invalid application file: %s", path));
+                for (Future<UploadResult> future : results) {
+                    UploadResult result;
+                    try {
+                        result = future.get();
+                    } catch (ExecutionException e) {
+                        out.println("Failed to upload app to Digital Lab server. Cause: " + e.getCause());
                         build.setResult(Result.FAILURE);
                         allSuccess = false;
                         continue;
                     }
-                }
-                FilePath filePath = new FilePath(build.getWorkspace().getChannel(), path);
-                File tempFile = null;
-                if (filePath.isRemote()) {
-                    tempFile = File.createTempFile("uftm", "." + FilenameUtils.getExtension(path));
-                    try (OutputStream outputStream = new FileOutputStream(tempFile)) {
-                        filePath.copyTo(outputStream);
-                        path = tempFile.getCanonicalPath();
-                    } catch (NoSuchFileException noSuchFileException) {
-                        out.println(String.format("Failed to upload app, Cause cannot find application file: %s", path));
+                    out.print(result.log.toString(StandardCharsets.UTF_8.name()));
+                    if (result.status != UploadStatus.SUCCESS) {
                         build.setResult(Result.FAILURE);
                         allSuccess = false;
-                        continue;
-                    } catch (Exception e) {
-                        out.println(String.format("Failed to upload app, Cause failed to copy application file: %s", path));
-                        build.setResult(Result.FAILURE);
-                        allSuccess = false;
-                        continue;
                     }
-                }
-
-                try {
-                    out.println(String.format("starting to upload app %d %s", i, originPath));
-                    app = job.upload(mcServerUrl, uploadAppModel.getAuthModel(), uploadAppModel.getProxySettings(), path);
-                    if (app == null) {
-                        if (uploadAppModel.isUseProxy()) {
-                            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s",
-                                    mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress()));
-                        } else if (uploadAppModel.isUseAuthentication()) {
-                            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s, proxy userName:%s",
-                                    mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
-                        } else {
-                            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s.", mcServerUrl));
-                        }
-                        build.setResult(Result.FAILURE);
+                    if (result.status == UploadStatus.ABORTED) {
                         return false;
                     }
-                    if ((Boolean) app.get("error")) {
-                        out.println("Job failed because got error message during the application uploading. " + app.toJSONString());
-                        allSuccess = false;
-                        build.setResult(Result.FAILURE);
-                    }
-                    out.println("uploaded app info: " + app.toJSONString());
-                } catch (FileNotFoundException fnf) {
-                    out.println(String.format("Failed to upload app to Digital Lab server. Cause: File: %s is not found.", path));
-                    build.setResult(Result.FAILURE);
-                    allSuccess = false;
-                    continue;
-                } catch (IOException ioe) {
-                    Util.displayIOException(ioe, listener);
-                    build.setResult(Result.FAILURE);
-                    allSuccess = false;
-                    continue;
-                } catch (Exception e) {
-                    if (uploadAppModel.isUseProxy()) {
-                        out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s",
-                                mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress()));
-                    } else if (uploadAppModel.isUseAuthentication()) {
-                        out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s, proxy userName:%s",
-                                mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
-                    } else {
-                        out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s", mcServerUrl));
-                    }
-                    build.setResult(Result.FAILURE);
-                    return false;
-                } finally {
-                    if (tempFile != null) {
-                        Files.delete(tempFile.toPath());
-                    }
                 }
+            } finally {
+                executor.shutdownNow();
             }
         }
         return allSuccess;
     }
 
+    private UploadResult uploadApp(AbstractBuild<?, ?> build, JobConfigurationProxy job, JSONObject loginJson,
+                                   String mcServerUrl, String workspace, int i, String path) throws InterruptedException {
+        UploadResult result = new UploadResult();
+        PrintStream out = result.out;
+        String originPath = path;
+        if (StringUtils.isNullOrEmpty(path)) {
+            out.println(String.format("ignore the empty app %d upload", i));
+            return result;
+        }
+        //case insensitive replace of workspace to its real path
+        if (path.toUpperCase(Locale.ENGLISH).startsWith("${WORKSPACE}")) {
+            path = path.replaceAll("(?i)" + Pattern.quote("${WORKSPACE}"), Matcher.quoteReplacement(workspace));
+            if (!FilenameUtils.normalize(path).startsWith(FilenameUtils.normalize(workspace))) {
+                out.println(String.format("Failed to upload app, Cause invalid application file: %s", path));
+                return result.failed();
+            }
+        }
+        FilePath filePath = new FilePath(build.getWorkspace().getChannel(), path);
+
+        String sha256 = UploadedAppCache.isEnabled() ? computeSha256(filePath) : null;
+        JSONObject app = sha256 == null ? null : UploadedAppCache.get(mcServerUrl, uploadAppModel.getAuthModel(), sha256);
+        if (app != null) {
+            out.println(String.format("app %d %s (sha256 %s) was already uploaded, skipping upload", i, originPath, sha256));
+            out.println("uploaded app info: " + app.toJSONString());
+            return result;
+        }
+
+        File tempFile = null;
+        try {
+            if (filePath.isRemote()) {
+                tempFile = File.createTempFile("uftm", "." + FilenameUtils.getExtension(path));
+                try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+                    filePath.copyTo(outputStream);
+                    path = tempFile.getCanonicalPath();
+                } catch (NoSuchFileException noSuchFileException) {
+                    out.println(String.format("Failed to upload app, Cause cannot find application file: %s", path));
+                    return result.failed();
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    out.println(String.format("Failed to upload app, Cause failed to copy application file: %s", path));
+                    return result.failed();
+                }
+            }
+
+            out.println(String.format("starting to upload app %d %s", i, originPath));
+            app = job.upload(mcServerUrl, uploadAppModel.getAuthModel(), loginJson, uploadAppModel.getProxySettings(), path);
+            if (app == null) {
+                printConnectionError(out, mcServerUrl);
+                return result.aborted();
+            }
+            if ((Boolean) app.get("error")) {
+                out.println("Job failed because got error message during the application uploading. " + app.toJSONString());
+                result.failed();
+            } else if (sha256 != null) {
+                UploadedAppCache.put(mcServerUrl, uploadAppModel.getAuthModel(), sha256, app);
+            }
+            out.println("uploaded app info: " + app.toJSONString());
+        } catch (FileNotFoundException fnf) {
+            out.println(String.format("Failed to upload app to Digital Lab server. Cause: File: %s is not found.", path));
+            return result.failed();
+        } catch (IOException ioe) {
+            Util.displayIOException(ioe, new StreamTaskListener(out, StandardCharsets.UTF_8));
+            return result.failed();
+        } catch (Exception e) {
+            printConnectionError(out, mcServerUrl);
+            return result.aborted();
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.delete(tempFile.toPath());
+                } catch (IOException e) {
+                    out.println(String.format("Failed to delete temporary file %s", tempFile));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void printConnectionError(PrintStream out, String mcServerUrl) {
+        if (uploadAppModel.isUseProxy()) {
+            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s",
+                    mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress()));
+        } else if (uploadAppModel.isUseAuthentication()) {
+            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s, Proxy url:%s, proxy userName:%s",
+                    mcServerUrl, uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
+        } else {
+            out.println(String.format("Failed to upload app, Cause Digital Lab connection info is incorrect. url:%s", mcServerUrl));
+        }
+    }
+
+    //hash is computed where the file is, so an already uploaded app is not copied to the controller
+    private static String computeSha256(FilePath filePath) throws InterruptedException {
+        try {
+            return filePath.act(new Sha256Callable());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static final class Sha256Callable extends MasterToSlaveFileCallable<String> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String invoke(File f, VirtualChannel channel) throws IOException {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+            try (InputStream in = new DigestInputStream(new FileInputStream(f), digest)) {
+                byte[] buffer = new byte[64 * 1024];
+                while (in.read(buffer) != -1) {
+                    // reading updates the digest
+                }
+            }
+            return Hex.encodeHexString(digest.digest());
+        }
+    }
+
+    private enum UploadStatus {
+        SUCCESS, FAILED, ABORTED
+    }
+
+    //outcome of one app upload, its log is printed in the app order once the upload completes
+    private static final class UploadResult {
+        private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        private final PrintStream out;
+        private UploadStatus status = UploadStatus.SUCCESS;
+
+        private UploadResult() {
+            try {
+                out = new PrintStream(log, true, StandardCharsets.UTF_8.name());
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private UploadResult failed() {
+            status = UploadStatus.FAILED;
+            return this;
+        }
+
+        private UploadResult aborted() {
+            status = UploadStatus.ABORTED;
+            return this;
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private NamedThreadFactory(AbstractBuild<?, ?> build) {
+            prefix = "Digital Lab app upload " + build.getFullDisplayName() + " #";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     public MCServerSettingsModel getMCServerSettingsModel() {
         for (MCServerSettingsModel mcServer : getDescriptor().getMcServers()) {
             if (this.uploadAppModel != null
@@ -34,6 +34,7 @@ import hudson.util.FormValidation;
 import jenkins.model.GlobalConfiguration;
 import com.microfocus.application.automation.tools.sse.common.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
 import java.io.Serializable;
@@ -42,6 +43,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.Deflater;
 
 @Extension(ordinal = 1, optional = true)
 public class RunnerMiscSettingsGlobalConfiguration extends GlobalConfiguration implements Serializable {
@@ -54,11 +56,22 @@ public class RunnerMiscSettingsGlobalConfiguration extends GlobalConfiguration i
 
     public static final String DEFAULT_BRANCHES = "master main trunk mainline";
     public static final String DEFAULT_OUTPUT_ENVIRONMENT_PARAMETERS = "BUILD_DISPLAY_NAME BUILD_TAG BUILD_URL";
+    public static final int DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    public static final int DEFAULT_REPORT_ARCHIVE_CONCURRENCY = 4;
+    public static final int MAX_REPORT_ARCHIVE_CONCURRENCY = 16;
+    public static final int DEFAULT_ALM_UPLOAD_BATCH_SIZE = 1;
+    public static final int MAX_ALM_UPLOAD_BATCH_SIZE = 1000;
+    public static final int DEFAULT_ALM_UPLOAD_CONCURRENCY = 1;
+    public static final int MAX_ALM_UPLOAD_CONCURRENCY = 16;
 
     private String dateFormat;
     private String defaultBranches;
     private String outputEnvironmentParameters;
     private boolean agentToControllerEnabled;
+    private Integer reportArchiveCompressionLevel;
+    private Integer reportArchiveConcurrency;
+    private Integer almUploadBatchSize;
+    private Integer almUploadConcurrency;
 
     @DataBoundConstructor
     public RunnerMiscSettingsGlobalConfiguration(String mfDateFormat, String defaultBranches, String outputEnvironmentParameters, boolean agentToControllerEnabled) {
@@ -148,6 +161,112 @@ public class RunnerMiscSettingsGlobalConfiguration extends GlobalConfiguration i
         save();
     }
 
+    public int getReportArchiveCompressionLevel() {
+        return reportArchiveCompressionLevel != null ? reportArchiveCompressionLevel : DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL;
+    }
+
+    /**
+     * @param reportArchiveCompressionLevel the level as entered in the form, empty or invalid for the default level
+     */
+    @DataBoundSetter
+    public void setReportArchiveCompressionLevel(String reportArchiveCompressionLevel) {
+        int level = DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL;
+        if (!StringUtils.isNullOrEmpty(reportArchiveCompressionLevel)) {
+            try {
+                level = Integer.parseInt(reportArchiveCompressionLevel.trim());
+            } catch (NumberFormatException ignored) {
+                // falls back to the default level
+            }
+        }
+        if (level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION) {
+            this.reportArchiveCompressionLevel = level;
+        } else {
+            this.reportArchiveCompressionLevel = DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL;
+        }
+        save();
+    }
+
+    public int getReportArchiveConcurrency() {
+        return reportArchiveConcurrency != null ? reportArchiveConcurrency : DEFAULT_REPORT_ARCHIVE_CONCURRENCY;
+    }
+
+    @DataBoundSetter
+    public void setReportArchiveConcurrency(int reportArchiveConcurrency) {
+        this.reportArchiveConcurrency = Math.min(Math.max(reportArchiveConcurrency, 1), MAX_REPORT_ARCHIVE_CONCURRENCY);
+        save();
+    }
+
+    public FormValidation doCheckReportArchiveCompressionLevel(@QueryParameter String value) {
+        if (StringUtils.isNullOrEmpty(value)) {
+            return FormValidation.warning("Will fallback to the default compression level.");
+        }
+        try {
+            int level = Integer.parseInt(value.trim());
+            if (level == DEFAULT_REPORT_ARCHIVE_COMPRESSION_LEVEL || (level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION)) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        return FormValidation.error("Compression level must be between 0 and 9, or -1 for the default level.");
+    }
+
+    public FormValidation doCheckReportArchiveConcurrency(@QueryParameter String value) {
+        try {
+            int concurrency = Integer.parseInt(value.trim());
+            if (concurrency >= 1 && concurrency <= MAX_REPORT_ARCHIVE_CONCURRENCY) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        return FormValidation.error("Concurrency must be between 1 and " + MAX_REPORT_ARCHIVE_CONCURRENCY + ".");
+    }
+
+    public int getAlmUploadBatchSize() {
+        return almUploadBatchSize != null ? almUploadBatchSize : DEFAULT_ALM_UPLOAD_BATCH_SIZE;
+    }
+
+    @DataBoundSetter
+    public void setAlmUploadBatchSize(int almUploadBatchSize) {
+        this.almUploadBatchSize = Math.min(Math.max(almUploadBatchSize, 1), MAX_ALM_UPLOAD_BATCH_SIZE);
+        save();
+    }
+
+    public int getAlmUploadConcurrency() {
+        return almUploadConcurrency != null ? almUploadConcurrency : DEFAULT_ALM_UPLOAD_CONCURRENCY;
+    }
+
+    @DataBoundSetter
+    public void setAlmUploadConcurrency(int almUploadConcurrency) {
+        this.almUploadConcurrency = Math.min(Math.max(almUploadConcurrency, 1), MAX_ALM_UPLOAD_CONCURRENCY);
+        save();
+    }
+
+    public FormValidation doCheckAlmUploadBatchSize(@QueryParameter String value) {
+        try {
+            int batchSize = Integer.parseInt(value.trim());
+            if (batchSize >= 1 && batchSize <= MAX_ALM_UPLOAD_BATCH_SIZE) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        return FormValidation.error("Batch size must be between 1 and " + MAX_ALM_UPLOAD_BATCH_SIZE + ".");
+    }
+
+    public FormValidation doCheckAlmUploadConcurrency(@QueryParameter String value) {
+        try {
+            int concurrency = Integer.parseInt(value.trim());
+            if (concurrency >= 1 && concurrency <= MAX_ALM_UPLOAD_CONCURRENCY) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        return FormValidation.error("Concurrency must be between 1 and " + MAX_ALM_UPLOAD_CONCURRENCY + ".");
+    }
+
     public FormValidation doCheckDateFormat(@QueryParameter String value) {
         if (!StringUtils.isNullOrEmpty(value)) {
             try {
@@ -62,10 +62,20 @@ public class SSEBuilderPerformer {
                 args.getProject(),
                 args.getUsername());
 
-        ret = _runManager.execute(restClient, args, logger);
+        try {
+            ret = _runManager.execute(restClient, args, logger);
+        } finally {
+            logRequestMetrics(restClient, logger);
+        }
         return ret;
     }
     
+    private static void logRequestMetrics(RestClient restClient, Logger logger) {
+        if (!restClient.getMetrics().isEmpty()) {
+            logger.log(String.format("ALM requests per endpoint:%n%s", restClient.getMetrics()));
+        }
+    }
+
     public void stop() {
         _runManager.stop();
     }
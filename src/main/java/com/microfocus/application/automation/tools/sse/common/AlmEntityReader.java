@@ -0,0 +1,373 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.sse.common;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Streaming reader of ALM entity responses, reads the response bytes with StAX instead of building a DOM.
+ */
+public class AlmEntityReader {
+
+    private static final String ENTITY = "Entity";
+    private static final String FIELDS = "Fields";
+    private static final String FIELD = "Field";
+    private static final String NAME = "Name";
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /***
+     * Receives the fields of the entities of a response.
+     */
+    public interface EntityHandler {
+
+        /**
+         * @param fields the fields of the entity by name, the map is reused for the next entity
+         */
+        void entity(Map<String, String> fields);
+    }
+
+    private AlmEntityReader() {
+        // no meaning instantiating
+    }
+
+    /**
+     * Streams the entities of the response to the handler, in document order. The fields of a nested entity are
+     * also fields of the entities it is nested in.
+     *
+     * @return the TotalResults of the response, -1 when the response has none
+     */
+    public static int readEntities(byte[] xml, EntityHandler handler) {
+        return read(createReader(xml), handler);
+    }
+
+    public static int readEntities(String xml, EntityHandler handler) {
+        return read(createReader(xml), handler);
+    }
+
+    public static List<Map<String, String>> toEntities(byte[] xml) {
+        List<Map<String, String>> ret = new ArrayList<>();
+        readEntities(xml, fields -> ret.add(new HashMap<>(fields)));
+        return ret;
+    }
+
+    public static List<Map<String, String>> toEntities(String xml) {
+        List<Map<String, String>> ret = new ArrayList<>();
+        readEntities(xml, fields -> ret.add(new HashMap<>(fields)));
+        return ret;
+    }
+
+    /**
+     * Reads the fields of a single entity response (Entity/Fields/Field), the first field of each name is kept.
+     */
+    public static Map<String, String> readRootEntityFields(byte[] xml) {
+        return readRootEntityFields(createReader(xml));
+    }
+
+    public static Map<String, String> readRootEntityFields(String xml) {
+        return readRootEntityFields(createReader(xml));
+    }
+
+    public static boolean hasResults(byte[] xml) {
+        return hasResults(createReader(xml));
+    }
+
+    public static boolean hasResults(String xml) {
+        return hasResults(createReader(xml));
+    }
+
+    /**
+     * @return the values of the first fields of every Fields element, when they are cycle-id fields
+     */
+    public static List<String> getTestSetIds(byte[] xml) {
+        return getTestSetIds(createReader(xml));
+    }
+
+    public static List<String> getTestSetIds(String xml) {
+        return getTestSetIds(createReader(xml));
+    }
+
+    private static int read(XMLStreamReader reader, EntityHandler handler) {
+        int totalResults = -1;
+        boolean root = true;
+        Map<String, String> reusable = new HashMap<>();
+        Deque<Map<String, String>> open = new ArrayDeque<>();
+        List<Map<String, String>> buffered = new ArrayList<>();
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (root) {
+                        root = false;
+                        totalResults = getTotalResults(reader);
+                    }
+                    String name = reader.getLocalName();
+                    if (ENTITY.equals(name)) {
+                        Map<String, String> fields;
+                        if (open.isEmpty()) {
+                            reusable.clear();
+                            fields = reusable;
+                        } else {
+                            fields = new HashMap<>();
+                        }
+                        open.push(fields);
+                        buffered.add(fields);
+                    } else if (FIELD.equals(name) && !open.isEmpty()) {
+                        String fieldName = getFieldName(reader);
+                        String value = readFieldValue(reader);
+                        if (fieldName != null) {
+                            for (Map<String, String> fields : open) {
+                                fields.put(fieldName, value);
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && ENTITY.equals(reader.getLocalName())) {
+                    open.pop();
+                    if (open.isEmpty()) {
+                        for (Map<String, String> fields : buffered) {
+                            handler.entity(fields);
+                        }
+                        buffered.clear();
+                    }
+                }
+            }
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        } finally {
+            close(reader);
+        }
+
+        return totalResults;
+    }
+
+    private static int getTotalResults(XMLStreamReader reader) {
+        String totalResults = reader.getAttributeValue(null, "TotalResults");
+        if (totalResults == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(totalResults.trim());
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> readRootEntityFields(XMLStreamReader reader) {
+        Map<String, String> ret = new LinkedHashMap<>();
+        try {
+            int depth = 0;
+            boolean entity = false;
+            boolean fields = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String name = reader.getLocalName();
+                    if (depth == 1) {
+                        entity = ENTITY.equals(name);
+                        if (!entity) {
+                            break;
+                        }
+                    } else if (depth == 2) {
+                        fields = FIELDS.equals(name);
+                    } else if (depth == 3 && fields && FIELD.equals(name)) {
+                        String fieldName = getNecessaryAttribute(reader, NAME);
+                        String value = readFieldValue(reader);
+                        depth--;
+                        if (!ret.containsKey(fieldName)) {
+                            ret.put(fieldName, value);
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        } finally {
+            close(reader);
+        }
+
+        return ret;
+    }
+
+    private static boolean hasResults(XMLStreamReader reader) {
+        try {
+            boolean root = true;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (root) {
+                    root = false;
+                    String totalResults = reader.getAttributeValue(null, "TotalResults");
+                    if (totalResults != null && Integer.parseInt(totalResults) > 0) {
+                        return true;
+                    }
+                }
+                if (ENTITY.equals(reader.getLocalName())) {
+                    return true;
+                }
+            }
+        } catch (XMLStreamException | NumberFormatException cause) {
+            throw new SSEException(cause);
+        } finally {
+            close(reader);
+        }
+
+        return false;
+    }
+
+    private static List<String> getTestSetIds(XMLStreamReader reader) {
+        List<String> ids = new LinkedList<>();
+        try {
+            boolean firstOfFields = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    firstOfFields = false;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (FIELDS.equals(reader.getLocalName())) {
+                    firstOfFields = true;
+                } else if (firstOfFields) {
+                    firstOfFields = false;
+                    if ("cycle-id".equals(reader.getAttributeValue(null, NAME))) {
+                        ids.add(readFieldValue(reader));
+                    }
+                }
+            }
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        } finally {
+            close(reader);
+        }
+
+        return ids;
+    }
+
+    private static String getFieldName(XMLStreamReader reader) {
+        String ret = reader.getAttributeValue(null, NAME);
+        if (ret == null && reader.getAttributeCount() > 0) {
+            ret = reader.getAttributeValue(0);
+        }
+
+        return ret;
+    }
+
+    private static String getNecessaryAttribute(XMLStreamReader reader, String attributeName) {
+        String ret = reader.getAttributeValue(null, attributeName);
+        if (ret == null) {
+            throw new SSEException(String.format(
+                    "Error parsing XML, missing mandatory attribute '%s'",
+                    attributeName));
+        }
+        if (StringUtils.isNullOrEmpty(ret)) {
+            throw new SSEException(String.format(
+                    "Error parsing XML, mandatory attribute '%s' cannot be empty", //$NON-NLS-1$
+                    attributeName));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads the text of the first child of the field (its Value) and moves to the end of the field.
+     */
+    private static String readFieldValue(XMLStreamReader reader) throws XMLStreamException {
+        String ret = null;
+        int depth = 1;
+        boolean firstChild = false;
+        boolean seenChild = false;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                firstChild = depth == 2 && !seenChild;
+                seenChild = true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                firstChild = false;
+            } else if (firstChild && depth == 2 && ret == null
+                    && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                ret = reader.getText();
+            }
+        }
+
+        return ret;
+    }
+
+    private static XMLStreamReader createReader(byte[] xml) {
+        try {
+            return FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        }
+    }
+
+    private static XMLStreamReader createReader(String xml) {
+        try {
+            return FACTORY.createXMLStreamReader(new StringReader(xml));
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // nothing to release
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -33,15 +33,11 @@ import java.util.*;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import com.microfocus.application.automation.tools.common.SSEException;
-import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 
@@ -53,6 +49,10 @@ import org.xml.sax.InputSource;
  */
 
 public class XPathUtils {
+    
+    // creating a builder looks up the parser implementation, each thread reuses its own builder
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+            ThreadLocal.withInitial(XPathUtils::createDocumentBuilder);
 
     public static Map<String, String> getEntityFieldsMap(String xml) {
         Document document = getDocument(xml);
@@ -78,99 +78,44 @@ public class XPathUtils {
     
     public static List<Map<String, String>> toEntities(String xml) {
         
-        Document document = getDocument(xml);
-        
-        List<Map<String, String>> ret = new ArrayList<Map<String, String>>();
-        NodeList entities = document.getElementsByTagName("Entity");
-        for (int i = 0; i < entities.getLength(); i++) {
-            Map<String, String> currEntity = new HashMap<String, String>();
-            NodeList fields = ((Element) entities.item(i)).getElementsByTagName("Field");
-            for (int j = 0; j < fields.getLength(); j++) {
-                Node item = fields.item(j);
-                currEntity.put(item.getAttributes().item(0).getNodeValue(), getFieldValue(item));
-            }
-            ret.add(currEntity);
-        }
+        return AlmEntityReader.toEntities(xml);
+    }
+    
+    public static List<Map<String, String>> toEntities(byte[] xml) {
         
-        return ret;
+        return AlmEntityReader.toEntities(xml);
     }
     
     public static String getAttributeValue(String xml, String attrName) {
         
-        NodeList nodes = getChildNodes(xml, "Entity/Fields/Field");
-        String ret = StringUtils.EMPTY_STRING;
-        for (int i = 0; i < nodes.getLength(); i++) {
-            Node currNode = nodes.item(i);
-            String attr;
-            try {
-                attr = getNecessaryAttribute(currNode, "Name");
-            } catch (Throwable cause) {
-                throw new SSEException(cause);
-            }
-            if (attr.equals(attrName)) {
-                ret = getFieldValue(currNode);
-                break;
-            }
-        }
-        
-        return ret;
+        return getAttributeValue(AlmEntityReader.readRootEntityFields(xml), attrName);
     }
     
-    private static String getFieldValue(Node node) {
-        
-        String ret = null;
-        Node child = node.getFirstChild();
-        if (child != null) {
-            Node child2 = child.getFirstChild();
-            if (child2 != null) {
-                ret = child2.getNodeValue();
-            }
-        }
+    public static String getAttributeValue(byte[] xml, String attrName) {
         
-        return ret;
+        return getAttributeValue(AlmEntityReader.readRootEntityFields(xml), attrName);
     }
     
-    private static NodeList getChildNodes(String xml, String xpath) {
+    /**
+     * Reads all the fields of a single entity response at once, for looking up several of them with
+     * {@link #getAttributeValue(Map, String)}.
+     */
+    public static Map<String, String> getAttributeValues(byte[] xml) {
         
-        NodeList ret = null;
-        try {
-            Document document = getDocument(xml);
-            XPathFactory factory = XPathFactory.newInstance();
-            XPathExpression expression = factory.newXPath().compile(xpath);
-            ret = (NodeList) expression.evaluate(document, XPathConstants.NODESET);
-        } catch (Throwable cause) {
-            throw new SSEException(cause);
-        }
-        
-        return ret;
+        return AlmEntityReader.readRootEntityFields(xml);
     }
     
-    private static String getNecessaryAttribute(Node node, String attributeName) {
+    public static String getAttributeValue(Map<String, String> attributeValues, String attrName) {
         
-        if (!node.hasAttributes()) {
-            return null;
-        }
-        Node attr = node.getAttributes().getNamedItem(attributeName);
-        if (attr == null) {
-            throw new SSEException(String.format(
-                    "Error parsing XML, missing mandatory attribute '%s'",
-                    attributeName));
-        }
-        String ret = attr.getNodeValue();
-        if (StringUtils.isNullOrEmpty(ret)) {
-            throw new SSEException(String.format(
-                    "Error parsing XML, mandatory attribute '%s' cannot be empty", //$NON-NLS-1$
-                    attributeName));
-        }
-        
-        return ret;
+        return attributeValues.containsKey(attrName) ? attributeValues.get(attrName) : StringUtils.EMPTY_STRING;
     }
     
     public static Document getDocument(String xml) {
         
         Document ret = null;
         try {
-            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            DocumentBuilder builder = DOCUMENT_BUILDER.get();
+            builder.reset();
             InputSource inputSource = new InputSource();
             inputSource.setCharacterStream(new StringReader(xml));
             ret = builder.parse(inputSource);
@@ -182,44 +127,31 @@ public class XPathUtils {
     }
 
     public static boolean hasResults(String xml) {
-        boolean ok = false;
-
-        try {
-            Document doc = getDocument(xml);
-            if (doc == null) {
-                return ok;
-            }
-
-            Node root = doc.getDocumentElement();
-            if (root == null) {
-                return ok;
-            }
-
-            if ((root.hasAttributes() && Integer.parseInt(root.getAttributes().getNamedItem("TotalResults").getNodeValue()) > 0)
-                || (doc.hasChildNodes() && doc.getElementsByTagName("Entity").getLength() > 0)) {
-                ok = true;
-            }
-        } catch (SSEException | NumberFormatException cause) {
-            throw new SSEException(cause);
-        }
-
-        return ok;
+        
+        return AlmEntityReader.hasResults(xml);
     }
-
+    
+    public static boolean hasResults(byte[] xml) {
+        
+        return AlmEntityReader.hasResults(xml);
+    }
+    
     public static List<String> getTestSetIds(String xml) {
-        Document doc = getDocument(xml);
-        NodeList entities = doc.getElementsByTagName("Fields");
-
-        List<String> ids = new LinkedList<>();
-
-        for (int i = 0; i < entities.getLength(); i++) {
-            Element element = (Element) (entities.item(i)).getFirstChild();
-
-            if (element.getAttribute("Name").equals("cycle-id")) {
-                ids.add(getFieldValue(element));
-            }
+        
+        return AlmEntityReader.getTestSetIds(xml);
+    }
+    
+    public static List<String> getTestSetIds(byte[] xml) {
+        
+        return AlmEntityReader.getTestSetIds(xml);
+    }
+    
+    private static DocumentBuilder createDocumentBuilder() {
+        
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException cause) {
+            throw new SSEException(cause);
         }
-
-        return ids;
     }
 }
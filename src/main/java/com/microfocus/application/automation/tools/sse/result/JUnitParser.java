@@ -31,6 +31,7 @@ package com.microfocus.application.automation.tools.sse.result;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +69,37 @@ public class JUnitParser {
         return createTestsuites(testSetIdToTestsuite);
     }
     
+    /**
+     * Converts a single test instance run to a test case, for converting the runs as they are read.
+     */
+    public Testcase toTestcase(
+            Map<String, String> testInstanceRun,
+            String entityId,
+            String entityName,
+            String runEntityId,
+            String url,
+            String domain,
+            String project) {
+        
+        this.entityId = entityId;
+        return getTestcase(testInstanceRun, entityName, runEntityId, url, domain, project);
+    }
+    
+    /**
+     * @param testcasesByTestSet the test cases by their test set id, see {@link #getTestSetId(Map)}
+     */
+    public Testsuites toModel(Map<String, List<Testcase>> testcasesByTestSet) {
+        
+        Map<String, Testsuite> testSetIdToTestsuite = new LinkedHashMap<String, Testsuite>();
+        for (Map.Entry<String, List<Testcase>> testSet : testcasesByTestSet.entrySet()) {
+            Testsuite testsuite = new Testsuite();
+            testsuite.getTestcase().addAll(testSet.getValue());
+            testSetIdToTestsuite.put(testSet.getKey(), testsuite);
+        }
+        
+        return createTestsuites(testSetIdToTestsuite);
+    }
+    
     private Testsuites createTestsuites(Map<String, Testsuite> testSetIdToTestsuite) {
         
         Testsuites ret = new Testsuites();
@@ -174,7 +206,7 @@ public class JUnitParser {
         return ret;
     }
     
-    private String getTestSetId(Map<String, String> entity) {
+    public static String getTestSetId(Map<String, String> entity) {
         
         return entity.get("testcycl-id");
     }
@@ -55,7 +55,7 @@ public class LabPublisher extends Publisher {
         try {
             Response response = getEntityName(nameSuffix);
             if (response.isOk() && !response.toString().equals("")) {
-                ret = XPathUtils.getAttributeValue(response.toString(), "name");
+                ret = XPathUtils.getAttributeValue(response.getData(), "name");
             } else {
                 Throwable failure = response.getFailure();
                 logger.log(String.format(
@@ -74,4 +74,14 @@ public class LabPublisher extends Publisher {
         
         return new GetLabRunEntityTestSetRunsRequest(_client, _runId);
     }
+    
+    @Override
+    protected GetRequest getRunEntityTestSetRunsPageRequest(
+            Client client,
+            String runId,
+            int pageSize,
+            int startIndex) {
+        
+        return new GetLabRunEntityTestSetRunsRequest(_client, _runId, pageSize, startIndex);
+    }
 }
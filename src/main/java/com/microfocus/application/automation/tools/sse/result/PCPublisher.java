@@ -35,6 +35,8 @@ import com.microfocus.application.automation.tools.sse.sdk.Response;
 import com.microfocus.application.automation.tools.sse.sdk.request.GetPCRunEntityTestSetRunsRequest;
 import com.microfocus.application.automation.tools.sse.sdk.request.GetRequest;
 
+import java.util.Map;
+
 /**
  * 
  * @author Effi Bar-She'an
@@ -54,9 +56,10 @@ public class PCPublisher extends Publisher {
         try {
             Response response = getEntityName(nameSuffix);
             if (response.isOk() && !response.toString().equals("")) {
-                String runId = XPathUtils.getAttributeValue(response.toString(), "id");
-                String testId = XPathUtils.getAttributeValue(response.toString(), "testcycl-id");
-                String testSetId = XPathUtils.getAttributeValue(response.toString(), "cycle-id");
+                Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+                String runId = XPathUtils.getAttributeValue(fields, "id");
+                String testId = XPathUtils.getAttributeValue(fields, "testcycl-id");
+                String testSetId = XPathUtils.getAttributeValue(fields, "cycle-id");
                 ret =
                         String.format(
                                 "PC Test ID: %s, Run ID: %s, Test Set ID: %s",
@@ -28,11 +28,18 @@
 
 package com.microfocus.application.automation.tools.sse.result;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.microfocus.application.automation.tools.sse.common.StringUtils;
-import com.microfocus.application.automation.tools.sse.common.XPathUtils;
+import com.microfocus.application.automation.tools.sse.common.AlmEntityReader;
+import com.microfocus.application.automation.tools.sse.result.model.junit.Testcase;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Testsuites;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
@@ -40,9 +47,15 @@ import com.microfocus.application.automation.tools.sse.sdk.Response;
 import com.microfocus.application.automation.tools.sse.sdk.handler.Handler;
 import com.microfocus.application.automation.tools.sse.sdk.request.GetRequest;
 import com.microfocus.application.automation.tools.sse.sdk.request.GetRunEntityNameRequest;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 
 public abstract class Publisher extends Handler {
     
+    private static final int PAGE_SIZE = Integer.getInteger(Publisher.class.getName() + ".pageSize", 2000);
+    private static final int MAX_CONCURRENT_PAGES =
+            Integer.getInteger(Publisher.class.getName() + ".maxConcurrentPages", 4);
+    
     public Publisher(Client client, String entityId, String runId) {
         
         super(client, entityId, runId);
@@ -56,20 +69,112 @@ public abstract class Publisher extends Handler {
             Logger logger) {
         
         Testsuites ret = null;
-        GetRequest testSetRunsRequest = getRunEntityTestSetRunsRequest(_client, _runId);
-        Response response = testSetRunsRequest.execute();
-        List<Map<String, String>> testInstanceRun = getTestInstanceRun(response, logger);
         String entityName = getEntityName(nameSuffix, logger);
-        if (testInstanceRun != null && testInstanceRun.size() > 0) {
-            ret =
-                    new JUnitParser().toModel(
-                            testInstanceRun,
-                            this.getEntityId(),
-                            entityName,
-                            _runId,
-                            url,
-                            domain,
-                            project);
+        TestcaseConverter converter = new TestcaseConverter(entityName, url, domain, project);
+        List<TestcasePage> pages = getPages(converter, logger);
+        if (pages == null) {
+            return null;
+        }
+        
+        Map<String, List<Testcase>> testcases = new LinkedHashMap<String, List<Testcase>>();
+        for (TestcasePage page : pages) {
+            page.addTo(testcases);
+        }
+        if (!testcases.isEmpty()) {
+            ret = new JUnitParser().toModel(testcases);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * @return the pages of test instance runs in order, null when any of them could not be fetched
+     */
+    private List<TestcasePage> getPages(TestcaseConverter converter, Logger logger) {
+        
+        GetRequest firstPageRequest = getRunEntityTestSetRunsPageRequest(_client, _runId, PAGE_SIZE, 1);
+        if (firstPageRequest == null) {
+            TestcasePage page = getTestcases(getRunEntityTestSetRunsRequest(_client, _runId), converter, logger);
+            return page == null ? null : Collections.singletonList(page);
+        }
+        
+        TestcasePage firstPage = getTestcases(firstPageRequest, converter, logger);
+        if (firstPage == null) {
+            return null;
+        }
+        List<TestcasePage> ret = new ArrayList<TestcasePage>();
+        ret.add(firstPage);
+        if (firstPage.totalResults > firstPage.size) {
+            if (firstPage.size == 0) {
+                logger.log(String.format(
+                        "Failed to get TestInstanceRuns, the first page of %d runs is empty",
+                        firstPage.totalResults));
+                return null;
+            }
+            // the server may return less runs than requested, its own page size is used for the other pages
+            List<TestcasePage> remainingPages =
+                    getRemainingPages(firstPage.totalResults, firstPage.size, converter, logger);
+            if (remainingPages == null) {
+                return null;
+            }
+            ret.addAll(remainingPages);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Fetches the pages after the first one concurrently, the pages are returned in order.
+     * @return null when any of the pages failed or did not hold the expected number of runs
+     */
+    private List<TestcasePage> getRemainingPages(
+            int totalResults,
+            int pageSize,
+            TestcaseConverter converter,
+            Logger logger) {
+        
+        int pageCount = (totalResults + pageSize - 1) / pageSize;
+        List<TestcasePage> ret = new ArrayList<TestcasePage>(pageCount - 1);
+        logger.log(String.format(
+                "Getting %d test instance runs in %d pages of %d",
+                totalResults,
+                pageCount,
+                pageSize));
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(MAX_CONCURRENT_PAGES, pageCount - 1),
+                new NamingThreadFactory(new DaemonThreadFactory(), Publisher.class.getSimpleName()));
+        try {
+            List<Future<TestcasePage>> futures = new ArrayList<Future<TestcasePage>>(pageCount - 1);
+            for (int page = 1; page < pageCount; page++) {
+                final GetRequest request =
+                        getRunEntityTestSetRunsPageRequest(_client, _runId, pageSize, page * pageSize + 1);
+                futures.add(executor.submit(() -> getTestcases(request, converter, logger)));
+            }
+            for (int page = 1; page < pageCount; page++) {
+                TestcasePage testcasePage = futures.get(page - 1).get();
+                int expectedSize = Math.min(pageSize, totalResults - page * pageSize);
+                if (testcasePage == null || testcasePage.size != expectedSize) {
+                    logger.log(String.format(
+                            "Failed to get TestInstanceRuns page %d of %d, expected %d runs but got %s",
+                            page + 1,
+                            pageCount,
+                            expectedSize,
+                            testcasePage == null ? "none" : String.valueOf(testcasePage.size)));
+                    return null;
+                }
+                ret.add(testcasePage);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.log("Getting the test instance runs was interrupted");
+            return null;
+        } catch (ExecutionException e) {
+            logger.log(String.format(
+                    "Failed to get TestInstanceRuns. Exception: %s",
+                    e.getCause()));
+            return null;
+        } finally {
+            executor.shutdownNow();
         }
         
         return ret;
@@ -80,24 +185,33 @@ public abstract class Publisher extends Handler {
         return new GetRunEntityNameRequest(_client, nameSuffix, _entityId).execute();
     }
     
-    protected List<Map<String, String>> getTestInstanceRun(Response response, Logger logger) {
+    /**
+     * Converts the test instance runs of the response straight to test cases, as they are read.
+     * @return null when the request or the parsing of its response failed
+     */
+    private TestcasePage getTestcases(GetRequest request, TestcaseConverter converter, Logger logger) {
         
-        List<Map<String, String>> ret = null;
+        Response response = request.execute();
+        TestcasePage ret = new TestcasePage();
         try {
-            if (!StringUtils.isNullOrEmpty(response.toString())) {
-                ret = XPathUtils.toEntities(response.toString());
+            byte[] data = response.getData();
+            if (data != null && data.length > 0) {
+                ret.totalResults = AlmEntityReader.readEntities(data, fields -> ret.add(
+                        JUnitParser.getTestSetId(fields),
+                        converter.toTestcase(fields, getEntityId(), _runId)));
             }
-
-            if (ret ==null || ret.size() == 0) {
+            
+            if (ret.isEmpty()) {
                 logger.log(String.format(
                         "Parse TestInstanceRuns from response XML got no result. Response: %s",
-                        response.toString()));
+                        response.getData() == null ? response.getFailure() : response.toString()));
             }
         } catch (Throwable cause) {
             logger.log(String.format(
                     "Failed to parse TestInstanceRuns response XML. Exception: %s, XML: %s",
                     cause.getMessage(),
-                    response.toString()));
+                    response.getData() == null ? response.getFailure() : response.toString()));
+            return null;
         }
         
         return ret;
@@ -105,5 +219,64 @@ public abstract class Publisher extends Handler {
     
     protected abstract GetRequest getRunEntityTestSetRunsRequest(Client client, String runId);
     
+    /**
+     * @param startIndex the 1-based index of the first test set run of the page
+     * @return the request of a page of test set runs, null when the runs cannot be fetched in pages
+     */
+    protected GetRequest getRunEntityTestSetRunsPageRequest(
+            Client client,
+            String runId,
+            int pageSize,
+            int startIndex) {
+        
+        return null;
+    }
+    
     protected abstract String getEntityName(String nameSuffix, Logger logger);
+    
+    private static class TestcaseConverter {
+        
+        private final String entityName;
+        private final String url;
+        private final String domain;
+        private final String project;
+        
+        private TestcaseConverter(String entityName, String url, String domain, String project) {
+            
+            this.entityName = entityName;
+            this.url = url;
+            this.domain = domain;
+            this.project = project;
+        }
+        
+        private Testcase toTestcase(Map<String, String> testInstanceRun, String entityId, String runId) {
+            
+            return new JUnitParser().toTestcase(testInstanceRun, entityId, entityName, runId, url, domain, project);
+        }
+    }
+    
+    private static class TestcasePage {
+        
+        private final Map<String, List<Testcase>> testcases = new LinkedHashMap<String, List<Testcase>>();
+        private int totalResults = -1;
+        private int size;
+        
+        private void add(String testSetId, Testcase testcase) {
+            
+            testcases.computeIfAbsent(testSetId, id -> new ArrayList<Testcase>()).add(testcase);
+            size++;
+        }
+        
+        private boolean isEmpty() {
+            
+            return testcases.isEmpty();
+        }
+        
+        private void addTo(Map<String, List<Testcase>> all) {
+            
+            for (Map.Entry<String, List<Testcase>> testSet : testcases.entrySet()) {
+                all.computeIfAbsent(testSet.getKey(), id -> new ArrayList<Testcase>()).addAll(testSet.getValue());
+            }
+        }
+    }
 }
@@ -43,6 +43,7 @@ import com.microfocus.application.automation.tools.sse.sdk.handler.RunHandlerFac
 import com.microfocus.application.automation.tools.sse.sdk.request.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Effi Bar-She'an
@@ -118,12 +119,12 @@ public class RunManager {
 
     private boolean isExistingBvs(RestClient client, Args args) {
         Response res = new GetBvsRequest(client, args.getEntityId()).execute();
-        return res != null && res.isOk() && res.getData() != null && XPathUtils.hasResults(res.toString());
+        return res != null && res.isOk() && res.getData() != null && XPathUtils.hasResults(res.getData());
     }
 
     private boolean isExistingTestSet(RestClient client, Args args) {
         Response res = new GetTestSetRequest(client, args.getEntityId()).execute();
-        return res != null && res.isOk() && res.getData() != null && XPathUtils.hasResults(res.toString());
+        return res != null && res.isOk() && res.getData() != null && XPathUtils.hasResults(res.getData());
     }
 
     private boolean isValidBvs(RestClient client, Args args) {
@@ -134,7 +135,7 @@ public class RunManager {
             Response res = new GetTestInstancesRequest(client, ids).execute();
 
             if (res != null && res.isOk() && res.getData() != null) {
-                List<String> nonEmptyIds = XPathUtils.getTestSetIds(res.toString());
+                List<String> nonEmptyIds = XPathUtils.getTestSetIds(res.getData());
                 ids.removeAll(nonEmptyIds);
 
                 if (!ids.isEmpty()) {
@@ -159,12 +160,12 @@ public class RunManager {
             return Collections.emptyList();
         }
 
-        return XPathUtils.getTestSetIds(res.toString());
+        return XPathUtils.getTestSetIds(res.getData());
     }
 
     private boolean hasTestInstances(RestClient client, String id) {
         Response res = new GetTestInstancesRequest(client, id).execute();
-        boolean ok = res.isOk() && res.getData() != null && XPathUtils.hasResults(res.toString());
+        boolean ok = res.isOk() && res.getData() != null && XPathUtils.hasResults(res.getData());
 
         if (!ok) {
             _logger.error(String.format("%s with ID %s is empty or is not of type functional!", TESTSET, id));
@@ -180,6 +181,23 @@ public class RunManager {
         String entityId = args.getEntityId();
         _runHandler = new RunHandlerFactory().create(client, args.getRunType(), entityId);
         _pollHandler = new PollHandlerFactory().create(client, args.getRunType(), entityId);
+        _pollHandler.setExpectedDuration(getExpectedDuration(args));
+    }
+
+    /**
+     * Get the timeslot duration in milliseconds, -1 if not set
+     */
+    private long getExpectedDuration(Args args) {
+        long ret = -1;
+        if (!StringUtils.isNullOrEmpty(args.getDuration())) {
+            try {
+                ret = TimeUnit.MINUTES.toMillis(Long.parseLong(args.getDuration().trim()));
+            } catch (NumberFormatException e) {
+                // unknown duration, polling interval is not bound by it
+            }
+        }
+
+        return ret;
     }
 
     /**
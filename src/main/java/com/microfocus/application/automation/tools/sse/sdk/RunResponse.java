@@ -31,6 +31,8 @@ package com.microfocus.application.automation.tools.sse.sdk;
 import com.microfocus.application.automation.tools.sse.common.StringUtils;
 import com.microfocus.application.automation.tools.sse.common.XPathUtils;
 
+import java.util.Map;
+
 /***
  * 
  * @author Effi Bar-She'an
@@ -44,9 +46,9 @@ public class RunResponse {
     
     public void initialize(Response response) {
         
-        String xml = response.toString();
-        _successStatus = XPathUtils.getAttributeValue(xml, "SuccessStaus");
-        _runId = parseRunId(XPathUtils.getAttributeValue(xml, "info"));
+        Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+        _successStatus = XPathUtils.getAttributeValue(fields, "SuccessStaus");
+        _runId = parseRunId(XPathUtils.getAttributeValue(fields, "info"));
     }
     
     protected String parseRunId(String runIdResponse) {
@@ -55,8 +55,7 @@ public class EventLogHandler extends Handler {
         Response eventLog = null;
         try {
             eventLog = getEventLog();
-            String xml = eventLog.toString();
-            List<Map<String, String>> entities = XPathUtils.toEntities(xml);
+            List<Map<String, String>> entities = XPathUtils.toEntities(eventLog.getData());
             for (Map<String, String> currEntity : entities) {
                 if (isNew(currEntity)) {
                     logger.log(String.format(
@@ -36,6 +36,8 @@ import com.microfocus.application.automation.tools.sse.sdk.Response;
 import com.microfocus.application.automation.tools.sse.sdk.request.GetLabRunEntityDataRequest;
 import com.microfocus.application.automation.tools.sse.sdk.request.PollSSERunRequest;
 
+import java.util.Map;
+
 /***
  * 
  * @author Effi Bar-She'an
@@ -88,11 +90,11 @@ public class LabPollHandler extends PollHandler {
         
         boolean ret = false;
         try {
-            String xml = response.toString();
-            String endTime = XPathUtils.getAttributeValue(xml, "end-time");
+            Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+            String endTime = XPathUtils.getAttributeValue(fields, "end-time");
             if (!StringUtils.isNullOrEmpty(endTime)) {
-                String startTime = XPathUtils.getAttributeValue(xml, "start-time");
-                String currentRunState = XPathUtils.getAttributeValue(xml, "state");
+                String startTime = XPathUtils.getAttributeValue(fields, "start-time");
+                String currentRunState = XPathUtils.getAttributeValue(fields, "state");
                 logger.log(String.format(
                         "Timeslot %s is %s.\nRun start time: %s, Run end time: %s",
                         _timeslotId,
@@ -114,10 +116,10 @@ public class LabPollHandler extends PollHandler {
         
         boolean ret = false;
         try {
-            String xml = response.toString();
-            String state = XPathUtils.getAttributeValue(xml, "state");
+            Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+            String state = XPathUtils.getAttributeValue(fields, "state");
             String completedSuccessfully =
-                    XPathUtils.getAttributeValue(xml, "completed-successfully");
+                    XPathUtils.getAttributeValue(fields, "completed-successfully");
             logger.log(String.format(
                     "Run state of %s: %s, Completed successfully: %s",
                     _runId,
@@ -149,8 +151,7 @@ public class LabPollHandler extends PollHandler {
         
         String ret = StringUtils.EMPTY_STRING;
         try {
-            String xml = response.toString();
-            ret = XPathUtils.getAttributeValue(xml, "reservation-id");
+            ret = XPathUtils.getAttributeValue(response.getData(), "reservation-id");
         } catch (Throwable cause) {
             logger.log(String.format("Failed to parse response for timeslot ID: %s", response));
         }
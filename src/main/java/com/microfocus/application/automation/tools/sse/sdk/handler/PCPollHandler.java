@@ -30,6 +30,7 @@ package com.microfocus.application.automation.tools.sse.sdk.handler;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import com.microfocus.application.automation.tools.sse.common.StringUtils;
 import com.microfocus.application.automation.tools.sse.common.XPathUtils;
@@ -69,9 +70,9 @@ public class PCPollHandler extends PollHandler {
         
         boolean ret = false;
         try {
-            String xml = response.toString();
-            String pcEndTime = XPathUtils.getAttributeValue(xml, "pc-end-time");
-            String status = XPathUtils.getAttributeValue(xml, "status");
+            Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+            String pcEndTime = XPathUtils.getAttributeValue(fields, "pc-end-time");
+            String status = XPathUtils.getAttributeValue(fields, "status");
             if (!StringUtils.isNullOrEmpty(pcEndTime)) {
                 logger.log(String.format("PC test end time: %s", pcEndTime));
                 ret = true;
@@ -93,9 +94,9 @@ public class PCPollHandler extends PollHandler {
         
         boolean ret = false;
         try {
-            String xml = response.toString();
-            String status = XPathUtils.getAttributeValue(xml, "status");
-            String state = XPathUtils.getAttributeValue(xml, "state");
+            Map<String, String> fields = XPathUtils.getAttributeValues(response.getData());
+            String status = XPathUtils.getAttributeValue(fields, "status");
+            String state = XPathUtils.getAttributeValue(fields, "state");
             logger.log(String.format("Run status of %s: %s, State: %s", _runId, status, state));
             ret = true;
             
@@ -25,16 +25,34 @@
  *
  * ___________________________________________________________________
  */
-
 package com.microfocus.application.automation.tools.sse.sdk.handler;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+import com.microfocus.application.automation.tools.sse.common.XPathUtils;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
 
+/**
+ * Polls a run until it is finished. Polls run on the {@link PollScheduler} timer of the server.
+ * The interval starts at the configured one and grows while the run state stays the same, but
+ * never beyond a quarter of the expected remaining run time. Failed polls are retried with a
+ * jittered exponential backoff.
+ */
 public abstract class PollHandler extends Handler {
     
+    private static final int MAX_CONSECUTIVE_FAILURES = 5;
+    private static final double INTERVAL_GROWTH = 1.5;
+    private static final long MAX_INTERVAL = 60 * 1000; // millisecond
+    private static final long MAX_BACKOFF = 5 * 60 * 1000; // millisecond
+    
     private int _interval = 5000; // millisecond
+    private long _expectedDuration = -1; // millisecond
     
     public PollHandler(Client client, String entityId) {
         
@@ -52,6 +70,15 @@ public abstract class PollHandler extends Handler {
         super(client, entityId, runId);
     }
 
+    /**
+     * @param expectedDuration how long the run is expected to take in milliseconds, or a negative
+     *            value if unknown
+     */
+    public void setExpectedDuration(long expectedDuration) {
+        
+        _expectedDuration = expectedDuration;
+    }
+
     public boolean poll(Logger logger) throws InterruptedException {
 
         logger.log(String.format("Polling... Run ID: %s", _runId));
@@ -60,27 +87,25 @@ public abstract class PollHandler extends Handler {
     }
     
     protected boolean doPoll(Logger logger) throws InterruptedException {
-        boolean ret = false;
-        int failures = 0;
-
-        while (failures < 3) {
-            Response response = getResponse();
-            if (isOk(response, logger)) {
-                log(logger);
-                if (isFinished(response, logger)) {
-                    ret = true;
-                    logRunEntityResults(getRunEntityResultsResponse(), logger);
-                    break;
-                }
-            } else {
-                ++failures;
+        
+        PollTask task = new PollTask(logger);
+        task.schedule(0);
+        try {
+            return task._result.get();
+        } catch (InterruptedException ex) {
+            task.cancel();
+            logger.log("Interrupted while polling");
+            throw ex;
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-            if (sleep(logger)) { // interrupted
-                break;
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new SSEException(cause);
         }
-        
-        return ret;
     }
     
     protected abstract Response getRunEntityResultsResponse();
@@ -107,18 +132,110 @@ public abstract class PollHandler extends Handler {
         return ret;
     }
     
-    protected boolean sleep(Logger logger) throws InterruptedException {
+    /**
+     * @return the state of the polled entity; a change resets the polling interval
+     */
+    protected String getState(Response response) {
         
-        boolean ret = false;
+        String ret = null;
         try {
-            Thread.sleep(_interval);
-        } catch (InterruptedException ex) {
-            logger.log("Interrupted while polling");
-            throw ex;
+            ret = XPathUtils.getAttributeValue(response.getData(), "state");
+        } catch (Throwable cause) {
+            // no state, the interval keeps growing
         }
         
         return ret;
     }
     
     protected void log(Logger logger) {}
+    
+    /**
+     * One polling of a run: every poll is a task on the scheduler which schedules the next one.
+     */
+    private class PollTask implements Runnable {
+        
+        private final Logger _logger;
+        private final CompletableFuture<Boolean> _result = new CompletableFuture<>();
+        private final long _start = System.currentTimeMillis();
+        private long _currentInterval = _interval;
+        private String _lastState;
+        private int _failures = 0;
+        private volatile ScheduledFuture<?> _next;
+        
+        PollTask(Logger logger) {
+            
+            _logger = logger;
+        }
+        
+        @Override
+        public void run() {
+            
+            if (_result.isDone()) {
+                return;
+            }
+            try {
+                long delay;
+                Response response = getResponse();
+                if (isOk(response, _logger)) {
+                    _failures = 0;
+                    log(_logger);
+                    if (isFinished(response, _logger)) {
+                        logRunEntityResults(getRunEntityResultsResponse(), _logger);
+                        _result.complete(true);
+                        return;
+                    }
+                    delay = nextInterval(getState(response));
+                } else if (++_failures >= MAX_CONSECUTIVE_FAILURES) {
+                    _result.complete(false);
+                    return;
+                } else {
+                    delay = backoff();
+                    if (delay >= 1000) {
+                        _logger.log(String.format("Retrying in %d seconds", delay / 1000));
+                    }
+                }
+                schedule(delay);
+            } catch (Throwable cause) {
+                _result.completeExceptionally(cause);
+            }
+        }
+        
+        void schedule(long delay) {
+            
+            _next = PollScheduler.getInstance().schedule(_client.getServerUrl(), this, delay);
+        }
+        
+        void cancel() {
+            
+            _result.cancel(false);
+            ScheduledFuture<?> next = _next;
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+        
+        private long nextInterval(String state) {
+            
+            if (state != null && !state.equals(_lastState)) {
+                _lastState = state;
+                _currentInterval = _interval;
+            } else {
+                _currentInterval = Math.max(_interval, Math.min(MAX_INTERVAL, (long) (_currentInterval * INTERVAL_GROWTH)));
+            }
+            if (_expectedDuration > 0) {
+                long remaining = _start + _expectedDuration - System.currentTimeMillis();
+                // close to or past the expected end, poll at the configured rate
+                return Math.min(_currentInterval, Math.max(_interval, remaining / 4));
+            }
+            
+            return _currentInterval;
+        }
+        
+        private long backoff() {
+            
+            long cap = Math.min(MAX_BACKOFF, (long) _interval << Math.min(_failures, 16));
+            
+            return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+        }
+    }
 }
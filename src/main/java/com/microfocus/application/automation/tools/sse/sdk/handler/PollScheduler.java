@@ -0,0 +1,76 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.sse.sdk.handler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer shared by all {@link PollHandler}s: the polls of every run against the same ALM server
+ * are executed one after the other on a single daemon thread, instead of each build sleeping in
+ * its own polling loop. The thread of a server goes away after it has been idle for a minute.
+ */
+public final class PollScheduler {
+
+    private static final PollScheduler INSTANCE = new PollScheduler();
+    private static final long IDLE_TIMER_SECONDS = 60;
+
+    private final Map<String, ScheduledThreadPoolExecutor> timers = new ConcurrentHashMap<>();
+
+    private PollScheduler() {
+    }
+
+    public static PollScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run the given poll on the timer of the server once the delay elapsed.
+     */
+    public ScheduledFuture<?> schedule(String serverUrl, Runnable poll, long delayMillis) {
+        return getTimer(serverUrl == null ? "" : serverUrl).schedule(poll, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledThreadPoolExecutor getTimer(String serverUrl) {
+        return timers.computeIfAbsent(serverUrl, url -> {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "SSE poll timer " + url);
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setKeepAliveTime(IDLE_TIMER_SECONDS, TimeUnit.SECONDS);
+            timer.allowCoreThreadTimeOut(true);
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        });
+    }
+}
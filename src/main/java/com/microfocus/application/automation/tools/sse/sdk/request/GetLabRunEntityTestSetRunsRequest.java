@@ -41,9 +41,24 @@ import java.util.Map;
  */
 public class GetLabRunEntityTestSetRunsRequest extends GetRequest {
     
+    private static final int DEFAULT_PAGE_SIZE = 2000;
+    
+    private final int _pageSize;
+    private final int _startIndex;
+    
     public GetLabRunEntityTestSetRunsRequest(Client client, String runId) {
         
+        this(client, runId, DEFAULT_PAGE_SIZE, 1);
+    }
+    
+    /**
+     * @param startIndex the 1-based index of the first test set run of the page
+     */
+    public GetLabRunEntityTestSetRunsRequest(Client client, String runId, int pageSize, int startIndex) {
+        
         super(client, runId);
+        _pageSize = pageSize;
+        _startIndex = startIndex;
     }
     
     @Override
@@ -54,7 +69,7 @@ public class GetLabRunEntityTestSetRunsRequest extends GetRequest {
     @Override
     protected String getQueryString() {
         
-        return String.format("query={procedure-run[%s]}&page-size=2000", _runId);
+        return String.format("query={procedure-run[%s]}&page-size=%d&start-index=%d", _runId, _pageSize, _startIndex);
     }
 
     @Override
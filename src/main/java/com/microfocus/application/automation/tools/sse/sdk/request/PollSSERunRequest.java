@@ -52,4 +52,11 @@ public class PollSSERunRequest extends GetRequest {
         
         return String.format("procedure-runs/%s", _runId);
     }
+    
+    @Override
+    protected String getQueryString() {
+        
+        // only what LabPollHandler reads, not the whole run entity on every poll
+        return "fields=id,state,start-time,end-time";
+    }
 }
@@ -43,6 +43,10 @@ public class AbstractSvRunModel implements Serializable {
      */
     protected final boolean force;
     protected final SvServiceSelectionModel serviceSelection;
+    /**
+     * Number of services processed at once, 1 processes the services in sequence
+     */
+    protected int parallelism = 1;
 
     public AbstractSvRunModel(String serverName, boolean force, SvServiceSelectionModel serviceSelection) {
         this.serverName = serverName;
@@ -61,4 +65,12 @@ public class AbstractSvRunModel implements Serializable {
     public SvServiceSelectionModel getServiceSelection() {
         return serviceSelection;
     }
+
+    public int getParallelism() {
+        return Math.max(1, parallelism);
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 }
@@ -28,12 +28,15 @@
 
 package com.microfocus.application.automation.tools.sv.pipeline;
 
+import com.microfocus.application.automation.tools.sv.runner.AbstractSvRunBuilder;
 import jenkins.tasks.SimpleBuildStep;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
+import org.kohsuke.stapler.DataBoundSetter;
 
 public abstract class AbstractSvStep extends AbstractStepImpl {
     protected final boolean force;
     protected final String serverName;
+    protected int parallelism = 1;
 
     public AbstractSvStep(String serverName, boolean force) {
         this.serverName = serverName;
@@ -49,4 +52,18 @@ public abstract class AbstractSvStep extends AbstractStepImpl {
     public boolean isForce() {
         return force;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @DataBoundSetter
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    protected <B extends AbstractSvRunBuilder<?>> B configure(B builder) {
+        builder.setParallelism(parallelism);
+        return builder;
+    }
 }
@@ -31,7 +31,16 @@ package com.microfocus.application.automation.tools.sv.runner;
 import java.io.File;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.microfocus.application.automation.tools.sv.model.AbstractSvRunModel;
 import com.microfocus.application.automation.tools.model.SvServerSettingsModel;
@@ -54,6 +63,7 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
     protected FilePath workspace;
     protected TaskListener listener;
     protected SvServerSettingsModel server;
+    private transient ICommandExecutor commandExecutor;
 
     public AbstractSvRemoteRunner(TaskListener listener, T model, FilePath workspace, SvServerSettingsModel server) {
         this.listener = listener;
@@ -64,7 +74,7 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
 
     protected List<ServiceInfo> getServiceList(boolean ignoreMissingServices, PrintStream logger, FilePath workspace) throws Exception {
         SvServiceSelectionModel s = getServiceSelection();
-        ICommandExecutor exec = createCommandExecutor();
+        ICommandExecutor exec = getCommandExecutor();
 
         ArrayList<ServiceInfo> res = new ArrayList<>();
 
@@ -74,9 +84,7 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
                 break;
             case PROJECT:
                 IProject project = loadProject(workspace);
-                for (IService svc : project.getServices()) {
-                    addServiceIfDeployed(svc.getId(), res, ignoreMissingServices, exec, logger);
-                }
+                addProjectServicesIfDeployed(project, res, ignoreMissingServices, exec, logger);
                 break;
             case ALL_DEPLOYED:
                 for (ServiceListAtom.ServiceEntry entry : exec.getServiceList(null).getEntries()) {
@@ -114,8 +122,147 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
         }
     }
 
+    /**
+     * Resolves the services of the project with a single service list call instead of one lookup per service.
+     */
+    private void addProjectServicesIfDeployed(IProject project, ArrayList<ServiceInfo> results, boolean ignoreMissingServices,
+                                              ICommandExecutor exec, PrintStream logger) throws CommunicatorException, CommandExecutorException {
+        Map<String, ServiceListAtom.ServiceEntry> deployed = new HashMap<>();
+        for (ServiceListAtom.ServiceEntry entry : exec.getServiceList(null).getEntries()) {
+            deployed.put(entry.getId().toLowerCase(Locale.ENGLISH), entry);
+        }
+        for (IService svc : project.getServices()) {
+            ServiceListAtom.ServiceEntry entry = deployed.get(svc.getId().toLowerCase(Locale.ENGLISH));
+            if (entry != null) {
+                results.add(new ServiceInfo(entry.getId(), svc.getName()));
+            } else if (ignoreMissingServices) {
+                logger.printf("Service '%s' is not deployed, ignoring%n", svc.getId());
+            } else {
+                // let the server report the missing service as before
+                addServiceIfDeployed(svc.getId(), results, false, exec, logger);
+            }
+        }
+    }
+
+    /**
+     * Runs the operation for each service, on up to {@link AbstractSvRunModel#getParallelism()} services at once,
+     * and prints a timing summary. After a failure no further services are started and the first failure is thrown.
+     */
+    protected <S> void processServices(Iterable<S> services, ServiceNamer<S> namer, ServiceOperation<S> operation, PrintStream logger) throws Exception {
+        List<S> list = new ArrayList<>();
+        for (S service : services) {
+            list.add(service);
+        }
+        List<ServiceTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        int parallelism = Math.min(model.getParallelism(), list.size());
+        try {
+            if (parallelism <= 1) {
+                for (S service : list) {
+                    processService(service, namer, operation, timings);
+                }
+            } else {
+                processServicesInParallel(list, parallelism, namer, operation, timings);
+            }
+        } finally {
+            printTimingSummary(timings, logger);
+        }
+    }
+
+    private <S> void processServicesInParallel(List<S> list, int parallelism, ServiceNamer<S> namer, ServiceOperation<S> operation,
+                                               List<ServiceTiming> timings) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            List<Future<Void>> futures = new ArrayList<>(list.size());
+            for (S service : list) {
+                futures.add(pool.submit(() -> {
+                    if (!failed.get()) {
+                        try {
+                            processService(service, namer, operation, timings);
+                        } catch (Exception e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Exception failure = null;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private <S> void processService(S service, ServiceNamer<S> namer, ServiceOperation<S> operation, List<ServiceTiming> timings) throws Exception {
+        long start = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            operation.process(service);
+            success = true;
+        } finally {
+            timings.add(new ServiceTiming(namer.getName(service), System.currentTimeMillis() - start, success));
+        }
+    }
+
+    private void printTimingSummary(List<ServiceTiming> timings, PrintStream logger) {
+        if (timings.isEmpty()) {
+            return;
+        }
+        List<ServiceTiming> sorted;
+        synchronized (timings) {
+            sorted = new ArrayList<>(timings);
+        }
+        sorted.sort((a, b) -> Long.compare(b.duration, a.duration));
+        logger.printf("  Service timing summary (parallelism %d):%n", model.getParallelism());
+        for (ServiceTiming timing : sorted) {
+            logger.printf("    %-60s %8.3f s%s%n", timing.service, timing.duration / 1000., timing.success ? "" : "  FAILED");
+        }
+    }
+
+    /**
+     * @return the command executor of the selected server, shared by all the service operations of the runner
+     */
+    protected synchronized ICommandExecutor getCommandExecutor() throws Exception {
+        if (commandExecutor == null) {
+            commandExecutor = createCommandExecutor();
+        }
+        return commandExecutor;
+    }
+
     protected ICommandExecutor createCommandExecutor() throws Exception {
         return new CommandExecutorFactory()
                 .createCommandExecutor(server.getUrlObject(), server.isTrustEveryone(), server.getCredentials());
     }
+
+    protected interface ServiceOperation<S> {
+        void process(S service) throws Exception;
+    }
+
+    protected interface ServiceNamer<S> {
+        String getName(S service);
+    }
+
+    private static final class ServiceTiming {
+        private final String service;
+        private final long duration;
+        private final boolean success;
+
+        private ServiceTiming(String service, long duration, boolean success) {
+            this.service = service;
+            this.duration = duration;
+            this.success = success;
+        }
+    }
 }
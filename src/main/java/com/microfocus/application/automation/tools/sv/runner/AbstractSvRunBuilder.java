@@ -46,6 +46,7 @@ import hudson.model.TaskListener;
 import hudson.tasks.Builder;
 import jenkins.tasks.SimpleBuildStep;
 import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.DataBoundSetter;
 
 public abstract class AbstractSvRunBuilder<T extends AbstractSvRunModel> extends Builder implements SimpleBuildStep {
     private static final Logger LOG = Logger.getLogger(AbstractSvRunBuilder.class.getName());
@@ -70,6 +71,15 @@ public abstract class AbstractSvRunBuilder<T extends AbstractSvRunModel> extends
         return model.getServiceSelection();
     }
 
+    public int getParallelism() {
+        return model.getParallelism();
+    }
+
+    @DataBoundSetter
+    public void setParallelism(int parallelism) {
+        model.setParallelism(parallelism);
+    }
+
     protected SvServerSettingsModel getSelectedServerSettings() throws IllegalArgumentException {
         SvServerSettingsModel[] servers = ((AbstractSvRunDescriptor) getDescriptor()).getServers();
         if (servers != null) {
@@ -129,6 +139,7 @@ public abstract class AbstractSvRunBuilder<T extends AbstractSvRunModel> extends
                 break;
         }
         logger.println(prefix + "Force: " + model.isForce());
+        logger.println(prefix + "Parallelism: " + model.getParallelism());
     }
 
     protected void validateServiceSelection() throws IllegalArgumentException {
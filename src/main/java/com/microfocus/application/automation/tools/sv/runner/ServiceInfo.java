@@ -44,4 +44,12 @@ public class ServiceInfo {
     public String getName() {
         return name;
     }
+
+    public String getDisplayName() {
+        return getDisplayName(name, id);
+    }
+
+    public static String getDisplayName(String name, String id) {
+        return String.format("'%s' [%s]", name, id);
+    }
 }
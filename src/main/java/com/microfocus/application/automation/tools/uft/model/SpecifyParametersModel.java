@@ -94,6 +94,9 @@ public class SpecifyParametersModel extends AbstractDescribableImpl<SpecifyParam
     public void addProperties(Properties props, String searchStr, Node node) throws Exception {
         JSONArray testParams = (JSONArray) JSONValue.parseStrict(parameterJson);
 
+        // password values are encrypted together once all parameters are collected, so the node key is resolved only once
+        Map<String, String> passwords = new LinkedHashMap<>();
+
         int pidx = 1;
         while (props.getProperty(searchStr + pidx) != null) {
             final int currPidx = pidx;
@@ -105,18 +108,24 @@ public class SpecifyParametersModel extends AbstractDescribableImpl<SpecifyParam
                 String name = curr.get("name").toString();
                 String type = curr.get("type").toString();
                 String val = curr.get("value").toString();
+                String valueKey = String.format("Param%d_Value_%d", currPidx, i + 1);
                 if (type.equals(PWD) && StringUtils.isNotBlank(val))
                 {
-                    val = EncryptionUtils.encrypt(val, node);
+                    passwords.put(valueKey, val);
+                } else {
+                    props.setProperty(valueKey, val);
                 }
 
                 props.setProperty(String.format("Param%d_Name_%d", currPidx, i + 1), name);
-                props.setProperty(String.format("Param%d_Value_%d", currPidx, i + 1), val);
                 props.setProperty(String.format("Param%d_Type_%d", currPidx, i + 1), type);
             }
 
             ++pidx;
         }
+
+        if (!passwords.isEmpty()) {
+            props.putAll(EncryptionUtils.encryptAll(passwords, node));
+        }
     }
 
     @Extension
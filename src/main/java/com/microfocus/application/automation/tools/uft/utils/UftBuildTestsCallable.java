@@ -0,0 +1,195 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.uft.utils;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Expands all the test paths of a build (folders, mtbx files and mtbx content) and deletes the report folders
+ * of the resulting tests in a single call to the node that runs the tests.
+ * Paths are expanded and tests are cleaned in parallel, the result keeps the order of the given paths.
+ */
+public class UftBuildTestsCallable extends MasterToSlaveFileCallable<UftBuildTestsCallable.Result> {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_THREADS = 8;
+
+    private final List<String> testPaths;
+
+    public UftBuildTestsCallable(List<String> testPaths) {
+        this.testPaths = new ArrayList<>(testPaths);
+    }
+
+    @Override
+    public Result invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+        Result result = new Result();
+        if (testPaths.isEmpty()) {
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_THREADS, testPaths.size()));
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<List<String>>> expanded = new ArrayList<>(testPaths.size());
+            for (String testPath : testPaths) {
+                expanded.add(executor.submit(() -> testPath == null ? new ArrayList<String>() : UftToolUtils.getTests(testPath.replace("\\", "/").trim())));
+            }
+            LinkedHashSet<String> tests = new LinkedHashSet<>();
+            for (Future<List<String>> future : expanded) {
+                List<String> pathTests = get(future);
+                result.tests.add(pathTests);
+                tests.addAll(pathTests);
+            }
+            result.expandMillis = System.currentTimeMillis() - start;
+
+            start = System.currentTimeMillis();
+            List<Future<List<String>>> cleaned = new ArrayList<>(tests.size());
+            for (String test : tests) {
+                cleaned.add(executor.submit(new ReportFoldersCleaner(test, result)));
+            }
+            for (Future<List<String>> future : cleaned) {
+                result.log.addAll(get(future));
+            }
+            result.cleanupMillis = System.currentTimeMillis() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static <T> T get(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * deletes the Report* and StRes* folders of one test, returns the messages to print. Tests that are not
+     * folders are skipped.
+     */
+    private static final class ReportFoldersCleaner implements Callable<List<String>> {
+        private final String test;
+        private final Result result;
+
+        private ReportFoldersCleaner(String test, Result result) {
+            this.test = test;
+            this.result = result;
+        }
+
+        @Override
+        public List<String> call() {
+            List<String> log = new ArrayList<>();
+            File[] entries = new File(test).listFiles();
+            if (entries == null) {
+                // tests given as files (e.g. LoadRunner scenarios) keep no report folders next to them
+                return log;
+            }
+            boolean isDeleted = false;
+            for (File entry : entries) {
+                String name = entry.getName();
+                if (!name.startsWith("Report") && !name.startsWith("StRes")) {
+                    continue;
+                }
+                try {
+                    Util.deleteRecursive(entry);
+                    log.add(String.format("Folder %s is deleted", entry));
+                    result.incrementDeletedFolders();
+                    isDeleted |= name.startsWith("Report");
+                } catch (IOException e) {
+                    log.add(String.format("ERROR: Failed to delete folder %s : %s", name, e.getMessage()));
+                }
+            }
+            if (!isDeleted) {
+                log.add(String.format("No report folder was deleted for %s", test));
+            }
+            return log;
+        }
+    }
+
+    public static final class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<String>> tests = new ArrayList<>();
+        private final List<String> log = new ArrayList<>();
+        private long expandMillis;
+        private long cleanupMillis;
+        private int deletedFolders;
+
+        /**
+         * @return the tests of each given path, in the order of the paths
+         */
+        public List<List<String>> getTests() {
+            return tests;
+        }
+
+        public int getTestsCount() {
+            int count = 0;
+            for (List<String> pathTests : tests) {
+                count += pathTests.size();
+            }
+            return count;
+        }
+
+        public List<String> getLog() {
+            return log;
+        }
+
+        public long getExpandMillis() {
+            return expandMillis;
+        }
+
+        public long getCleanupMillis() {
+            return cleanupMillis;
+        }
+
+        public synchronized int getDeletedFolders() {
+            return deletedFolders;
+        }
+
+        private synchronized void incrementDeletedFolders() {
+            deletedFolders++;
+        }
+    }
+}
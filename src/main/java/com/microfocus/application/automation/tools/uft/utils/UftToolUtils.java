@@ -227,6 +227,18 @@ public class UftToolUtils {
         }
     }
 
+    /**
+     * Expands all the given test paths and deletes the report folders of the resulting tests,
+     * in a single remote call to the node
+     *
+     * @param nodeName  the node the tests are running on
+     * @param testPaths the test paths of the build (cleanup tests and tests)
+     * @return the tests of each path, the cleanup messages and timing stats
+     */
+    public static UftBuildTestsCallable.Result prepareBuildTests(String nodeName, List<String> testPaths) throws IOException, InterruptedException {
+        return getFilePath(nodeName, "").act(new UftBuildTestsCallable(testPaths));
+    }
+
     public static FilePath getFilePath(String nodeName, String testPath){
         Node node = Jenkins.get().getNode(nodeName);
         FilePath filePath;
@@ -0,0 +1,94 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.crypto.Cipher;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EncryptionUtilsTest {
+
+    private KeyPair keyPair;
+
+    @Before
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void encryptAllKeepsOrderAndValues() throws Exception {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Param1_Value_1", "first secret");
+        values.put("Param1_Value_2", null);
+        values.put("Param2_Value_1", "second secret");
+
+        Map<String, String> encrypted = EncryptionUtils.encryptAll(values, keyPair.getPublic());
+
+        assertEquals(new ArrayList<>(values.keySet()), new ArrayList<>(encrypted.keySet()));
+        assertEquals("first secret", decrypt(encrypted.get("Param1_Value_1")));
+        assertNull(encrypted.get("Param1_Value_2"));
+        assertEquals("second secret", decrypt(encrypted.get("Param2_Value_1")));
+    }
+
+    @Test
+    public void encryptAllOfNothingIsEmpty() throws Exception {
+        assertTrue(EncryptionUtils.encryptAll(new LinkedHashMap<String, String>(), keyPair.getPublic()).isEmpty());
+    }
+
+    @Test
+    public void encryptAllMatchesSingleEncryption() throws Exception {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("pwd", "same secret");
+
+        String batch = EncryptionUtils.encryptAll(values, keyPair.getPublic()).get("pwd");
+        String single = EncryptionUtils.encrypt("same secret", keyPair.getPublic());
+
+        assertEquals(decrypt(single), decrypt(batch));
+    }
+
+    private String decrypt(String base64) throws Exception {
+        Cipher cipher = Cipher.getInstance("RSA");
+        cipher.init(Cipher.DECRYPT_MODE, keyPair.getPrivate());
+        return new String(cipher.doFinal(Base64.getDecoder().decode(base64)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LauncherToolCacheTest {
+
+    private static final byte[] CONTENT = "launcher binary".getBytes(StandardCharsets.UTF_8);
+
+    private Path root;
+    private String sha256;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("uft-tools-cache");
+        sha256 = LauncherToolCache.sha256(new ByteArrayInputStream(CONTENT));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testMissingCacheRequiresTransfer() throws IOException {
+        Path cached = root.resolve("cache").resolve(sha256).resolve("HpToolsLauncher.exe");
+        File target = root.resolve("HpToolsLauncher.exe").toFile();
+
+        assertFalse(new LauncherToolCache.DeployCallable(cached.toString(), null, sha256).invoke(target, null));
+        assertFalse(target.exists());
+    }
+
+    @Test
+    public void testTransferredFileIsInstalledAndReused() throws IOException {
+        Path cached = root.resolve("cache").resolve(sha256).resolve("HpToolsLauncher.exe");
+        Files.createDirectories(cached.getParent());
+        Path transferred = cached.getParent().resolve("HpToolsLauncher.exe.1.tmp");
+        Files.write(transferred, CONTENT);
+        File target = root.resolve("HpToolsLauncher.exe").toFile();
+
+        assertTrue(new LauncherToolCache.DeployCallable(cached.toString(), transferred.toString(), sha256).invoke(target, null));
+        assertFalse(Files.exists(transferred));
+        assertArrayEquals(CONTENT, Files.readAllBytes(cached));
+        assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+
+        File otherTarget = root.resolve("other").toFile();
+        assertTrue(new LauncherToolCache.DeployCallable(cached.toString(), null, sha256).invoke(otherTarget, null));
+        assertArrayEquals(CONTENT, Files.readAllBytes(otherTarget.toPath()));
+    }
+
+    @Test
+    public void testCorruptedCopiesAreReplaced() throws IOException {
+        Path cached = root.resolve("cache").resolve(sha256).resolve("HpToolsLauncher.exe");
+        Files.createDirectories(cached.getParent());
+        Files.write(cached, "truncated".getBytes(StandardCharsets.UTF_8));
+        File target = root.resolve("HpToolsLauncher.exe").toFile();
+        Files.write(target.toPath(), "old version".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(new LauncherToolCache.DeployCallable(cached.toString(), null, sha256).invoke(target, null));
+
+        Path transferred = cached.getParent().resolve("HpToolsLauncher.exe.2.tmp");
+        Files.write(transferred, CONTENT);
+        assertTrue(new LauncherToolCache.DeployCallable(cached.toString(), transferred.toString(), sha256).invoke(target, null));
+        assertArrayEquals(CONTENT, Files.readAllBytes(cached));
+        assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testBadTransferIsRejected() throws IOException {
+        Path cached = root.resolve("cache").resolve(sha256).resolve("HpToolsLauncher.exe");
+        Files.createDirectories(cached.getParent());
+        Path transferred = cached.getParent().resolve("HpToolsLauncher.exe.3.tmp");
+        Files.write(transferred, "partial".getBytes(StandardCharsets.UTF_8));
+        File target = root.resolve("HpToolsLauncher.exe").toFile();
+
+        assertFalse(new LauncherToolCache.DeployCallable(cached.toString(), transferred.toString(), sha256).invoke(target, null));
+        assertFalse(Files.exists(cached));
+        assertEquals(64, sha256.length());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.commonResultUpload.uploader;
+
+import com.microfocus.application.automation.tools.commonResultUpload.CommonUploadLogger;
+import com.microfocus.application.automation.tools.commonResultUpload.service.CustomizationService;
+import com.microfocus.application.automation.tools.commonResultUpload.service.RestService;
+import com.microfocus.application.automation.tools.results.service.AttachmentUploadService;
+import com.microfocus.application.automation.tools.results.service.almentities.AlmCommonProperties;
+import com.microfocus.application.automation.tools.results.service.almentities.AlmRun;
+import com.microfocus.application.automation.tools.results.service.almentities.IAlmConsts;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.microfocus.application.automation.tools.commonResultUpload.ParamConstant.ACTUAL_USER;
+
+public class RunUploaderTest {
+
+    private static final String MANUAL_RUN_SUBTYPE = "hp.qc.run.MANUAL";
+
+    private RestService restService;
+    private CustomizationService customizationService;
+    private AttachmentUploadService attachmentUploadService;
+
+    @Before
+    public void setUp() {
+        restService = Mockito.mock(RestService.class);
+        customizationService = Mockito.mock(CustomizationService.class);
+        attachmentUploadService = Mockito.mock(AttachmentUploadService.class);
+        Mockito.when(customizationService.getRunSubtypeIdByTestInstance("hp.qc.test-instance.MANUAL"))
+                .thenReturn(MANUAL_RUN_SUBTYPE);
+        Mockito.when(restService.create(Mockito.eq(RunUploader.RUN_PREFIX), Mockito.anyMap()))
+                .thenReturn(Collections.singletonMap(AlmCommonProperties.ID, "7"));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(RunUploader.CREATE_WITH_STATUS_PROPERTY);
+    }
+
+    @Test
+    public void testMappedStatusIsUpdatedAfterCreationByDefault() {
+        Mockito.when(restService.update(Mockito.eq(RunUploader.RUN_PREFIX), Mockito.anyMap()))
+                .thenReturn(null, Collections.singletonMap(AlmCommonProperties.ID, "7"));
+
+        Map<String, String> run = upload();
+
+        Assert.assertFalse(run.containsKey(AlmRun.RUN_STATUS));
+        Assert.assertEquals(MANUAL_RUN_SUBTYPE, run.get(AlmRun.RUN_SUBTYPE_ID));
+        ArgumentCaptor<Map> update = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(restService, Mockito.times(2)).update(Mockito.eq(RunUploader.RUN_PREFIX), update.capture());
+        Assert.assertEquals("7", update.getValue().get(AlmCommonProperties.ID));
+        Assert.assertEquals(IAlmConsts.IStatuses.PASSED.value(), update.getValue().get(AlmRun.RUN_STATUS));
+        Mockito.verify(attachmentUploadService).submit("report.html", RunUploader.RUN_PREFIX, "7");
+    }
+
+    @Test
+    public void testMappedStatusIsCreatedWithRunWhenEnabled() {
+        System.setProperty(RunUploader.CREATE_WITH_STATUS_PROPERTY, "true");
+
+        Map<String, String> run = upload();
+
+        Assert.assertEquals(IAlmConsts.IStatuses.PASSED.value(), run.get(AlmRun.RUN_STATUS));
+        Assert.assertEquals(MANUAL_RUN_SUBTYPE, run.get(AlmRun.RUN_SUBTYPE_ID));
+        Mockito.verify(restService, Mockito.never()).update(Mockito.anyString(), Mockito.anyMap());
+        Mockito.verify(attachmentUploadService).submit("report.html", RunUploader.RUN_PREFIX, "7");
+    }
+
+    private Map<String, String> upload() {
+        Map<String, String> params = new HashMap<>();
+        params.put(ACTUAL_USER, "tester");
+        RunUploader uploader = new RunUploader(new CommonUploadLogger(null), params, restService,
+                customizationService,
+                Collections.singletonMap(IAlmConsts.IStatuses.PASSED.value(), "==0"),
+                attachmentUploadService);
+
+        Map<String, String> test = new HashMap<>();
+        test.put(AlmCommonProperties.ID, "3");
+        test.put("subtype-id", "MANUAL");
+        Map<String, String> testinstance = new HashMap<>();
+        testinstance.put(AlmCommonProperties.ID, "5");
+        testinstance.put("subtype-id", "hp.qc.test-instance.MANUAL");
+        Map<String, String> run = new HashMap<>();
+        run.put(AlmRun.RUN_STATUS, "0");
+        run.put("attachment", "report.html");
+        uploader.upload(Collections.singletonMap(AlmCommonProperties.ID, "1"), test,
+                Collections.singletonMap(AlmCommonProperties.ID, "4"),
+                testinstance, run);
+
+        ArgumentCaptor<Map> created = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(restService).create(Mockito.eq(RunUploader.RUN_PREFIX), created.capture());
+        return created.getValue();
+    }
+}
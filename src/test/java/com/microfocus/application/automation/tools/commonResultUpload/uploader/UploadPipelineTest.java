@@ -0,0 +1,83 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.commonResultUpload.uploader;
+
+import com.microfocus.application.automation.tools.commonResultUpload.CommonUploadLogger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UploadPipelineTest {
+
+    @Test
+    public void testAwaitRunsAllTasks() throws InterruptedException {
+        UploadPipeline pipeline = new UploadPipeline(new CommonUploadLogger(null), 4);
+        final AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            pipeline.submit(UploadPipeline.Level.TEST_SET, () -> {
+                for (int j = 0; j < 5; j++) {
+                    pipeline.submit(UploadPipeline.Level.RUN, runs::incrementAndGet);
+                }
+            });
+        }
+        pipeline.await();
+        Assert.assertEquals(100, runs.get());
+    }
+
+    @Test
+    public void testAwaitThrowsFailureOfWorker() throws InterruptedException {
+        CommonUploadLogger logger = new CommonUploadLogger(null);
+        UploadPipeline pipeline = new UploadPipeline(logger, 4);
+        final IllegalStateException failure = new IllegalStateException("test creation failed");
+        pipeline.submit(UploadPipeline.Level.TEST, () -> {
+            throw failure;
+        });
+        try {
+            pipeline.await();
+            Assert.fail("The failure of the worker was not reported.");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e);
+        }
+        Assert.assertEquals(1, logger.getFailedMessages().size());
+    }
+
+    @Test
+    public void testFailureOnCallingThreadIsThrownRightAway() {
+        UploadPipeline pipeline = new UploadPipeline(new CommonUploadLogger(null), 1);
+        try {
+            pipeline.submit(UploadPipeline.Level.RUN, () -> {
+                throw new IllegalStateException("run creation failed");
+            });
+            Assert.fail("The failure of the task was not reported.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("run creation failed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane;
+
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+import hudson.model.FreeStyleProject;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.model.StringParameterDefinition;
+import org.junit.Test;
+import org.jvnet.hudson.test.MockFolder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class JobsListSnapshotTest extends OctanePluginTestBase {
+
+	@Test
+	public void testSnapshotFollowsItemEvents() throws Exception {
+		JobsListSnapshot snapshot = JobsListSnapshot.getInstance();
+		String projectName = "snapshot-job-" + UUID.randomUUID().toString();
+		MockFolder folder = rule.createFolder("snapshot-folder-" + UUID.randomUUID().toString());
+		FreeStyleProject project = folder.createProject(FreeStyleProject.class, projectName);
+
+		assertTrue(snapshot.getJobs(false).containsKey(project.getFullName()));
+
+		project.addProperty(new ParametersDefinitionProperty(new StringParameterDefinition("ParamA", "a", "")));
+		PipelineNode node = snapshot.getJobs(true).get(project.getFullName());
+		assertNotNull(node);
+		assertEquals(1, node.getParameters().size());
+		assertEquals("ParamA", node.getParameters().get(0).getName());
+
+		String oldFullName = project.getFullName();
+		folder.renameTo(folder.getName() + "-renamed");
+		Map<String, PipelineNode> jobs = snapshot.getJobs(false);
+		assertFalse(jobs.containsKey(oldFullName));
+		assertTrue(jobs.containsKey(project.getFullName()));
+
+		project.makeDisabled(true);
+		assertFalse(snapshot.getJobs(false).containsKey(project.getFullName()));
+		project.makeDisabled(false);
+
+		folder.delete();
+		assertFalse(snapshot.getJobs(false).containsKey(project.getFullName()));
+	}
+}
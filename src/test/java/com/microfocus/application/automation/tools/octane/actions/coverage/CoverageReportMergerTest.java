@@ -0,0 +1,127 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.actions.coverage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoverageReportMergerTest {
+
+    private static final String DOCTYPE = "<!DOCTYPE report PUBLIC \"-//JACOCO//DTD Report 1.1//EN\" \"report.dtd\">";
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("coverage-merge");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testMergeJacocoReports() throws Exception {
+        File first = write("first.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" + DOCTYPE +
+                "<report name=\"module-a\"><sessioninfo id=\"s1\" start=\"1\" dump=\"2\"/>" +
+                "<package name=\"a\"><class name=\"a/A\"><counter type=\"LINE\" missed=\"1\" covered=\"2\"/></class>" +
+                "<counter type=\"LINE\" missed=\"1\" covered=\"2\"/></package>" +
+                "<counter type=\"LINE\" missed=\"1\" covered=\"2\"/><counter type=\"METHOD\" missed=\"0\" covered=\"1\"/></report>");
+        File second = write("second.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" + DOCTYPE +
+                "<report name=\"module-b\"><sessioninfo id=\"s2\" start=\"3\" dump=\"4\"/>" +
+                "<package name=\"b\"><counter type=\"LINE\" missed=\"3\" covered=\"4\"/></package>" +
+                "<counter type=\"LINE\" missed=\"3\" covered=\"4\"/></report>");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CoverageReportMerger.mergeJacoco(Arrays.asList(first, second), out);
+
+        Document merged = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray()));
+        Element report = merged.getDocumentElement();
+        assertEquals("report", report.getTagName());
+        assertEquals("merged", report.getAttribute("name"));
+
+        NodeList children = report.getChildNodes();
+        assertEquals(6, children.getLength());
+        assertEquals("s1", ((Element) children.item(0)).getAttribute("id"));
+        assertEquals("s2", ((Element) children.item(1)).getAttribute("id"));
+        Element groupA = (Element) children.item(2);
+        assertEquals("group", groupA.getTagName());
+        assertEquals("module-a", groupA.getAttribute("name"));
+        assertEquals(0, groupA.getElementsByTagName("sessioninfo").getLength());
+        assertEquals(1, groupA.getElementsByTagName("package").getLength());
+        assertEquals("module-b", ((Element) children.item(3)).getAttribute("name"));
+
+        Element lines = (Element) children.item(4);
+        assertEquals("LINE", lines.getAttribute("type"));
+        assertEquals("4", lines.getAttribute("missed"));
+        assertEquals("6", lines.getAttribute("covered"));
+        Element methods = (Element) children.item(5);
+        assertEquals("METHOD", methods.getAttribute("type"));
+        assertEquals("1", methods.getAttribute("covered"));
+    }
+
+    @Test
+    public void testMergeLcovReports() throws Exception {
+        File first = write("first.info", "TN:\nSF:a.js\nDA:1,1\nend_of_record");
+        File second = write("second.info", "TN:\nSF:b.js\nDA:1,0\nend_of_record\n");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CoverageReportMerger.mergeLcov(Arrays.asList(first, second), out);
+
+        assertEquals("TN:\nSF:a.js\nDA:1,1\nend_of_record\nTN:\nSF:b.js\nDA:1,0\nend_of_record\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private File write(String name, String content) throws IOException {
+        Path file = folder.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.model.processors.projects;
+
+import com.hp.octane.integrations.utils.SdkConstants;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.ParameterDefinition;
+import hudson.model.ParametersAction;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.model.StringParameterDefinition;
+import hudson.model.StringParameterValue;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class BuildParametersIndexTest {
+	private static final String SUITE_RUN_ID = SdkConstants.JobParameters.SUITE_RUN_ID_PARAMETER_NAME;
+	private static final String OTHER_PARAM = "other";
+
+	@ClassRule
+	public static final JenkinsRule rule = new JenkinsRule();
+
+	@Test
+	public void testFindBuildFromIndex() throws Exception {
+		FreeStyleProject p = createProject();
+		FreeStyleBuild first = build(p, "1001");
+		FreeStyleBuild second = build(p, "1002");
+		FreeStyleBuild rerun = build(p, "1001");
+
+		assertEquals(rerun, BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "1001"));
+		assertEquals(second, BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "1002"));
+		assertNull(BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "1003"));
+		assertEquals(String.valueOf(rerun.getNumber()), readIndex(p).getProperty(SUITE_RUN_ID + "=1001"));
+		assertNotEquals(first, rerun);
+	}
+
+	@Test
+	public void testMissingEntryFallsBackToScanAndIsIndexedAgain() throws Exception {
+		FreeStyleProject p = createProject();
+		FreeStyleBuild build = build(p, "2001");
+		assertEquals(build, BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "2001"));
+
+		// drops the entry while the build is still there, as for a build the listener did not see
+		BuildParametersIndex.onDeleted(build);
+		assertNull(readIndex(p).getProperty(SUITE_RUN_ID + "=2001"));
+
+		assertEquals(build, BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "2001"));
+		assertEquals(String.valueOf(build.getNumber()), readIndex(p).getProperty(SUITE_RUN_ID + "=2001"));
+	}
+
+	@Test
+	public void testDeletedBuildIsNotFound() throws Exception {
+		FreeStyleProject p = createProject();
+		FreeStyleBuild build = build(p, "3001");
+		build.delete();
+
+		assertNull(BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "3001"));
+		assertNull(readIndex(p).getProperty(SUITE_RUN_ID + "=3001"));
+	}
+
+	@Test
+	public void testIndexIsSavedInRenamedJobFolder() throws Exception {
+		FreeStyleProject p = createProject();
+		build(p, "4001");
+		assertNotNull(BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "4001"));
+
+		p.renameTo("renamed-" + UUID.randomUUID().toString());
+		FreeStyleBuild build = build(p, "4002");
+
+		assertEquals(String.valueOf(build.getNumber()), readIndex(p).getProperty(SUITE_RUN_ID + "=4002"));
+		assertEquals(build, BuildParametersIndex.findBuild(p, SUITE_RUN_ID, "4002"));
+	}
+
+	@Test
+	public void testNotIndexedParameterIsScanned() throws Exception {
+		FreeStyleProject p = createProject();
+		FreeStyleBuild build = build(p, "5001");
+
+		assertFalse(BuildParametersIndex.isIndexed(OTHER_PARAM));
+		assertEquals(build, BuildParametersIndex.findBuild(p, OTHER_PARAM, "other-5001"));
+		assertNull(BuildParametersIndex.findBuild(p, OTHER_PARAM, "other-5002"));
+	}
+
+	private static FreeStyleProject createProject() throws Exception {
+		FreeStyleProject p = rule.createFreeStyleProject("index-job-" + UUID.randomUUID().toString());
+		p.addProperty(new ParametersDefinitionProperty(Arrays.asList(
+				(ParameterDefinition) new StringParameterDefinition(SUITE_RUN_ID, "", ""),
+				(ParameterDefinition) new StringParameterDefinition(OTHER_PARAM, "", ""))));
+		return p;
+	}
+
+	private static FreeStyleBuild build(FreeStyleProject p, String suiteRunId) throws Exception {
+		return rule.assertBuildStatusSuccess(p.scheduleBuild2(0, new ParametersAction(
+				new StringParameterValue(SUITE_RUN_ID, suiteRunId),
+				new StringParameterValue(OTHER_PARAM, "other-" + suiteRunId))));
+	}
+
+	private static Properties readIndex(FreeStyleProject p) throws Exception {
+		Properties properties = new Properties();
+		File file = new File(p.getRootDir(), BuildParametersIndex.INDEX_FILE);
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+		}
+		return properties;
+	}
+}
@@ -42,7 +42,7 @@ import org.junit.Test;
 import org.jvnet.hudson.test.ToolInstallations;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -216,11 +216,10 @@ public class JUnitResultsTest extends OctanePluginTestBase {
 					projectName + "/" + axisParamName + "=" + subtypes[build.getExactRuns().indexOf(run)],
 					TestUtils.helloWorldTests, helloWorld2Tests);
 		}
-		Assert.assertFalse(new File(build.getRootDir(), "mqmTests.xml").exists());
+		Assert.assertFalse(new File(build.getRootDir(), TestListener.TEST_RESULT_GZIP_FILE).exists());
 	}
 
-	private void matchTests(AbstractBuild build, String projectName, Set<String>... expectedTests) throws FileNotFoundException {
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		TestUtils.matchTests(new TestResultIterable(mqmTestsXml), projectName, build.getStartTimeInMillis(), expectedTests);
+	private void matchTests(AbstractBuild build, String projectName, Set<String>... expectedTests) throws IOException {
+		TestUtils.matchTests(new TestResultIterable(TestUtils.getTestResultsReader(build)), projectName, build.getStartTimeInMillis(), expectedTests);
 	}
 }
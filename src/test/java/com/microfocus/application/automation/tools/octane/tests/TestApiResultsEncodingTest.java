@@ -0,0 +1,178 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.tests;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+import org.mockito.Mockito;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the choice between the stored gzip results and the decompressed ones, and the plain results of older builds
+ */
+public class TestApiResultsEncodingTest {
+	private static final String RESULTS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><test_result><test_runs/></test_result>";
+
+	private File buildDir;
+
+	@Before
+	public void setUp() throws IOException {
+		buildDir = Files.createTempDirectory("testapi").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		for (File file : buildDir.listFiles()) {
+			file.delete();
+		}
+		buildDir.delete();
+	}
+
+	@Test
+	public void testAcceptsGzip() {
+		assertTrue(TestApi.acceptsGzip("gzip"));
+		assertTrue(TestApi.acceptsGzip("deflate, GZIP"));
+		assertTrue(TestApi.acceptsGzip("gzip;q=0.5, identity"));
+		assertTrue(TestApi.acceptsGzip("*"));
+		assertTrue(TestApi.acceptsGzip("x-gzip"));
+		assertFalse(TestApi.acceptsGzip(null));
+		assertFalse(TestApi.acceptsGzip(""));
+		assertFalse(TestApi.acceptsGzip("identity"));
+		assertFalse(TestApi.acceptsGzip("gzip;q=0"));
+		assertFalse(TestApi.acceptsGzip("gzip; q=0.0, *"));
+		assertFalse(TestApi.acceptsGzip("*;q=0"));
+		assertFalse(TestApi.acceptsGzip("gzipped"));
+	}
+
+	@Test
+	public void testGzipResultsSentAsStored() throws Exception {
+		writeGzipResults();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		StaplerResponse res = mockResponse(body);
+
+		TestApi.serveTestResults(buildDir, mockRequest("gzip, deflate"), res);
+
+		Mockito.verify(res).setHeader("Content-Encoding", "gzip");
+		Mockito.verify(res).setHeader("Vary", "Accept-Encoding");
+		assertArrayEquals(Files.readAllBytes(new File(buildDir, TestListener.TEST_RESULT_GZIP_FILE).toPath()), body.toByteArray());
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+			assertEquals(RESULTS, IOUtils.toString(in, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void testGzipResultsDecompressedForOtherClients() throws Exception {
+		writeGzipResults();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		StaplerResponse res = mockResponse(body);
+
+		TestApi.serveTestResults(buildDir, mockRequest("gzip;q=0"), res);
+
+		Mockito.verify(res, Mockito.never()).setHeader(Mockito.eq("Content-Encoding"), Mockito.anyString());
+		Mockito.verify(res).setHeader("Vary", "Accept-Encoding");
+		assertEquals(RESULTS, new String(body.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testPlainResultsOfOlderBuilds() throws Exception {
+		Files.write(new File(buildDir, TestListener.TEST_RESULT_FILE).toPath(), RESULTS.getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		StaplerResponse res = mockResponse(body);
+
+		TestApi.serveTestResults(buildDir, mockRequest("gzip"), res);
+
+		Mockito.verify(res, Mockito.never()).setHeader(Mockito.eq("Content-Encoding"), Mockito.anyString());
+		assertEquals(RESULTS, new String(body.toByteArray(), StandardCharsets.UTF_8));
+		try (InputStream in = TestListener.openTestResults(buildDir)) {
+			assertEquals(RESULTS, IOUtils.toString(in, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void testMissingResults() throws Exception {
+		StaplerResponse res = mockResponse(new ByteArrayOutputStream());
+
+		TestApi.serveTestResults(buildDir, mockRequest("gzip"), res);
+
+		Mockito.verify(res).sendError(404, "Information not available");
+	}
+
+	private void writeGzipResults() throws IOException {
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(new File(buildDir, TestListener.TEST_RESULT_GZIP_FILE).toPath()))) {
+			out.write(RESULTS.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static StaplerRequest mockRequest(String acceptEncoding) {
+		StaplerRequest req = Mockito.mock(StaplerRequest.class);
+		Mockito.when(req.getHeader("Accept-Encoding")).thenReturn(acceptEncoding);
+		return req;
+	}
+
+	private static StaplerResponse mockResponse(ByteArrayOutputStream body) throws IOException {
+		StaplerResponse res = Mockito.mock(StaplerResponse.class);
+		Mockito.when(res.getOutputStream()).thenReturn(new ServletOutputStream() {
+			@Override
+			public void write(int b) {
+				body.write(b);
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		});
+		return res;
+	}
+}
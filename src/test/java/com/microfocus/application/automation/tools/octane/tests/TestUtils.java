@@ -40,9 +40,14 @@ import com.microfocus.application.automation.tools.octane.tests.junit.TestResult
 import hudson.model.AbstractBuild;
 import hudson.model.AbstractProject;
 import hudson.model.Result;
+import hudson.model.Run;
 import hudson.util.Secret;
 import org.junit.Assert;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -64,6 +69,10 @@ public class TestUtils {
 				Secret.fromString("password"),null));
 	}
 
+	public static Reader getTestResultsReader(Run build) throws IOException {
+		return new InputStreamReader(TestListener.openTestResults(build.getRootDir()), StandardCharsets.UTF_8);
+	}
+
 	public static AbstractBuild runAndCheckBuild(AbstractProject project) throws Exception {
 		AbstractBuild build = (AbstractBuild) project.scheduleBuild2(0).get();
 		if (!build.getResult().isBetterOrEqualTo(Result.UNSTABLE)) { // avoid expensive build.getLog() until condition is met
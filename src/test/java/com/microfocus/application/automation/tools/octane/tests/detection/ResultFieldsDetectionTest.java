@@ -95,8 +95,7 @@ public class ResultFieldsDetectionTest  extends OctanePluginTestBase {
 		project.getPublishersList().add(new JUnitResultArchiver("**/target/surefire-reports/*.xml"));
 		AbstractBuild build = TestUtils.runAndCheckBuild(project);
 
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		ResultFields resultFields = xmlReader.readXml().getResultFields();
 
 		Assert.assertNotNull(resultFields);
@@ -111,8 +110,7 @@ public class ResultFieldsDetectionTest  extends OctanePluginTestBase {
 		project.getPublishersList().add(new JUnitResultArchiver("**/target/surefire-reports/*.xml"));
 		AbstractBuild build = TestUtils.runAndCheckBuild(project);
 
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		ResultFields resultFields = xmlReader.readXml().getResultFields();
 		Assert.assertNull(resultFields.getFramework());
 		Assert.assertNull(resultFields.getTestingTool());
@@ -125,8 +123,7 @@ public class ResultFieldsDetectionTest  extends OctanePluginTestBase {
 		project.getPublishersList().add(new JUnitResultArchiver("**/target/surefire-reports/*.xml"));
 		AbstractBuild build = TestUtils.runAndCheckBuild(project);
 
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		ResultFields resultFields = xmlReader.readXml().getResultFields();
 
 		Assert.assertNull(resultFields.getFramework());
@@ -142,8 +139,7 @@ public class ResultFieldsDetectionTest  extends OctanePluginTestBase {
 		project.getPublishersList().add(new JUnitResultArchiver("**/target/surefire-reports/*.xml"));
 		AbstractBuild build = TestUtils.runAndCheckBuild(project);
 
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		ResultFields resultFields = xmlReader.readXml().getResultFields();
 
 		Assert.assertNull(resultFields.getFramework());
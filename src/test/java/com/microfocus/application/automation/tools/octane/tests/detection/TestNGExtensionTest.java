@@ -340,9 +340,8 @@ public class TestNGExtensionTest extends OctanePluginTestBase {
 		Assert.assertNull(fields.getTestLevel());
 	}
 
-	private ResultFields readResultFields(AbstractBuild build) throws FileNotFoundException, XMLStreamException {
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+	private ResultFields readResultFields(AbstractBuild build) throws IOException, XMLStreamException {
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		return xmlReader.readXml().getResultFields();
 	}
 }
@@ -124,8 +124,7 @@ public class UFTExtensionTest {
 		//this will actually run the UFT test
 		AbstractBuild build = TestUtils.runAndCheckBuild(project);
 
-		File mqmTestsXml = new File(build.getRootDir(), "mqmTests.xml");
-		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(new FileReader(mqmTestsXml));
+		ResultFieldsXmlReader xmlReader = new ResultFieldsXmlReader(TestUtils.getTestResultsReader(build));
 		TestResultContainer container = xmlReader.readXml();
 		assertUFTFields(container.getResultFields());
 		assertUFTTestAttributes(container.getTestAttributes());
@@ -31,6 +31,7 @@ package com.microfocus.application.automation.tools.octane.tests.gherkin;
 import com.microfocus.application.automation.tools.octane.OctanePluginTestBase;
 import com.microfocus.application.automation.tools.octane.actions.cucumber.CucumberTestResultsActionPublisher;
 import com.microfocus.application.automation.tools.octane.tests.CopyResourceSCM;
+import com.microfocus.application.automation.tools.octane.tests.TestListener;
 import com.microfocus.application.automation.tools.octane.tests.TestUtils;
 import hudson.matrix.*;
 import hudson.maven.MavenModuleSet;
@@ -54,6 +55,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -156,10 +158,10 @@ public class GherkinResultsTest extends OctanePluginTestBase {
 
         MatrixBuild build = (MatrixBuild) TestUtils.runAndCheckBuild(matrixProject);
         for (MatrixRun run : build.getExactRuns()) {
-            assertTestResultsEqual(tests, new File(run.getRootDir(), "mqmTests.xml"));
+            assertTestResultsEqual(tests, TestListener.openTestResults(run.getRootDir()));
         }
 //        Assert.assertEquals(new HashSet<>(Arrays.asList(projectName + "/osType=Windows#1", projectName + "/osType=Linux#1")), getQueuedItems());
-        Assert.assertFalse(new File(build.getRootDir(), "mqmTests.xml").exists());
+        Assert.assertFalse(new File(build.getRootDir(), TestListener.TEST_RESULT_GZIP_FILE).exists());
     }
 
     //@Test
@@ -230,7 +232,7 @@ public class GherkinResultsTest extends OctanePluginTestBase {
     private void assertProject(AbstractProject project, boolean buildShouldSucceed) throws Exception {
         if(buildShouldSucceed) {
             AbstractBuild build = TestUtils.runAndCheckBuild(project);
-            assertTestResultsEqual(tests, new File(build.getRootDir(), "mqmTests.xml"));
+            assertTestResultsEqual(tests, TestListener.openTestResults(build.getRootDir()));
 //            Assert.assertEquals(Collections.singleton(project.getName() + "#1"), getQueuedItems());
         } else {
             AbstractBuild build = (AbstractBuild) project.scheduleBuild2(0).get();
@@ -239,7 +241,7 @@ public class GherkinResultsTest extends OctanePluginTestBase {
         }
     }
 
-    private void assertTestResultsEqual(Set<String> expected, File actual) throws ParserConfigurationException, IOException, SAXException {
+    private void assertTestResultsEqual(Set<String> expected, InputStream actual) throws ParserConfigurationException, IOException, SAXException {
         DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
         DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
         Document actualDoc = dBuilder.parse(actual);
@@ -0,0 +1,114 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import com.hp.octane.integrations.testresults.XmlWritableTestResult;
+import com.microfocus.application.automation.tools.octane.tests.HPRunnerType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+
+/**
+ * Tests on the binary spill format of JUnit test results
+ */
+public class JUnitResultSpillTest {
+
+	private static final int TEST_COUNT = 20000;
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		ByteArrayOutputStream spill = new ByteArrayOutputStream();
+		try (JUnitResultSpillWriter writer = new JUnitResultSpillWriter(spill)) {
+			for (int i = 0; i < TEST_COUNT; i++) {
+				writer.write(createResult(i));
+			}
+		}
+
+		Iterator<XmlWritableTestResult> iterator = new JUnitResultSpillIterator(new ByteArrayInputStream(spill.toByteArray()));
+		int count = 0;
+		while (iterator.hasNext()) {
+			JUnitTestResult expected = createResult(count);
+			JUnitTestResult actual = (JUnitTestResult) iterator.next();
+			Assert.assertEquals(expected.getModuleName(), actual.getModuleName());
+			Assert.assertEquals(expected.getPackageName(), actual.getPackageName());
+			Assert.assertEquals(expected.getClassName(), actual.getClassName());
+			Assert.assertEquals(expected.getTestName(), actual.getTestName());
+			Assert.assertEquals(expected.getResult(), actual.getResult());
+			Assert.assertEquals(expected.getDuration(), actual.getDuration());
+			Assert.assertEquals(expected.getStarted(), actual.getStarted());
+			Assert.assertEquals(expected.getExternalReportUrl(), actual.getExternalReportUrl());
+			Assert.assertEquals(expected.getDescription(), actual.getDescription());
+			Assert.assertEquals(expected.getRunnerType(), actual.getRunnerType());
+			if (expected.getTestError() == null) {
+				Assert.assertNull(actual.getTestError());
+			} else {
+				Assert.assertEquals(expected.getTestError().getStackTraceStr(), actual.getTestError().getStackTraceStr());
+				Assert.assertEquals(expected.getTestError().getErrorType(), actual.getTestError().getErrorType());
+				Assert.assertEquals(expected.getTestError().getErrorMsg(), actual.getTestError().getErrorMsg());
+			}
+			count++;
+		}
+		Assert.assertEquals(TEST_COUNT, count);
+	}
+
+	@Test
+	public void testSmallerThanJavaSerialization() throws IOException {
+		ByteArrayOutputStream spill = new ByteArrayOutputStream();
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+		try (JUnitResultSpillWriter writer = new JUnitResultSpillWriter(spill);
+		     ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+			for (int i = 0; i < TEST_COUNT; i++) {
+				JUnitTestResult result = createResult(i);
+				writer.write(result);
+				oos.writeObject(result);
+			}
+		}
+		Assert.assertTrue("spill " + spill.size() + " bytes, serialized " + serialized.size() + " bytes",
+				spill.size() < serialized.size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsForeignFile() throws IOException {
+		new JUnitResultSpillIterator(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
+	}
+
+	private static JUnitTestResult createResult(int i) {
+		TestResultStatus status = TestResultStatus.values()[i % TestResultStatus.values().length];
+		TestError error = TestResultStatus.FAILED.equals(status) ?
+				new TestError("stack trace " + i, "java.lang.AssertionError", "failed " + i) : null;
+		return new JUnitTestResult("module" + (i % 3), "com.example.package" + (i % 10), "TestClass" + (i % 100),
+				"test" + i, status, i, 1000L + i, error, i % 2 == 0 ? "http://report/" + i : null, null,
+				i % 5 == 0 ? HPRunnerType.UFT : null, null, null, false);
+	}
+}
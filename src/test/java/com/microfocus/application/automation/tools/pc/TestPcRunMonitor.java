@@ -0,0 +1,97 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.pc;
+
+import com.microfocus.adm.performancecenter.plugins.common.pcentities.PcException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPcRunMonitor {
+
+    @Test(timeout = 5000)
+    public void completesWhenProbeIsDone() throws Exception {
+        PcRunMonitor monitor = PcRunMonitor.forServer("completes.example.com");
+        AtomicInteger polls = new AtomicInteger();
+
+        CompletableFuture<Integer> result = monitor.watch(() -> {
+            int poll = polls.incrementAndGet();
+            return poll < 4 ? PcRunMonitor.Outcome.<Integer>changed() : PcRunMonitor.Outcome.done(poll);
+        }, 10, 100);
+
+        Assert.assertEquals(Integer.valueOf(4), result.get());
+        Assert.assertEquals(4, monitor.getPollCount());
+        Assert.assertEquals(2, monitor.getStateTransitionCount());
+        Assert.assertTrue(monitor.getMaxStateTransitionLatencyMillis() >= 10);
+        Assert.assertEquals(0, monitor.getActiveWatchCount());
+        Assert.assertSame(monitor, PcRunMonitor.forServer("completes.example.com"));
+    }
+
+    @Test(timeout = 5000)
+    public void failsWhenProbeThrows() throws Exception {
+        PcRunMonitor monitor = PcRunMonitor.forServer("fails.example.com");
+
+        CompletableFuture<Object> result = monitor.watch(() -> {
+            throw new PcException("no response");
+        }, 10, 100);
+
+        try {
+            result.get();
+            Assert.fail("the watch should have failed");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof PcException);
+        }
+        Assert.assertEquals(1, monitor.getFailedPollCount());
+        Assert.assertEquals(0, monitor.getActiveWatchCount());
+    }
+
+    @Test(timeout = 5000)
+    public void stopsPollingWhenCancelled() throws Exception {
+        PcRunMonitor monitor = PcRunMonitor.forServer("cancelled.example.com");
+        AtomicInteger polls = new AtomicInteger();
+
+        CompletableFuture<Object> result = monitor.watch(() -> {
+            polls.incrementAndGet();
+            return PcRunMonitor.Outcome.unchanged();
+        }, 10, 20);
+        while (polls.get() < 3) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        result.cancel(true);
+        int pollsWhenCancelled = polls.get();
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        Assert.assertTrue(polls.get() <= pollsWhenCancelled + 1);
+        Assert.assertEquals(0, monitor.getActiveWatchCount());
+    }
+}
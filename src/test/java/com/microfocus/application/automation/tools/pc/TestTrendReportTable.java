@@ -0,0 +1,155 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.pc;
+
+import com.microfocus.adm.performancecenter.plugins.common.pcentities.TrendReportTypes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TestTrendReportTable {
+
+    @Test
+    public void testMeasurementsAreSplitByPctType() {
+        TrendReportTable table = TrendReportTable.parse(Collections.<Object>singletonList(new TransactionRows(
+                new Row("TRT", "login", "0.1", "0.9"),
+                new Row("TPS", "login", "2", "5"),
+                new Row("TRT", "logout", "0.2", null))));
+
+        Map<String, String> minimums = table.getMeasurementMap(7, TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TRT, TrendReportTypes.Measurement.PCT_MINIMUM);
+        Assert.assertEquals(Arrays.asList("RunId", "Trend Measurement Type", "login", "logout"), new ArrayList<>(minimums.keySet()));
+        Assert.assertEquals("_7_", minimums.get("RunId"));
+        Assert.assertEquals("PCT_MINIMUM_TRT", minimums.get("Trend Measurement Type"));
+        Assert.assertEquals("0.1", minimums.get("login"));
+        Assert.assertEquals("", table.getColumn(TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TRT, TrendReportTypes.Measurement.PCT_MAXIMUM).get("logout"));
+        Assert.assertEquals("5", table.getColumn(TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TPS, TrendReportTypes.Measurement.PCT_MAXIMUM).get("login"));
+        Assert.assertTrue(table.getColumn(TrendReportTypes.DataType.Monitors, TrendReportTypes.PctType.UDP, TrendReportTypes.Measurement.PCT_MINIMUM).isEmpty());
+    }
+
+    @Test
+    public void testWriteCsv() throws IOException {
+        TrendReportTable table = TrendReportTable.parse(Collections.<Object>singletonList(new TransactionRows(
+                new Row("TRT", "login", "0.1", "0.9"))));
+
+        StringWriter writer = new StringWriter();
+        table.writeCsv(writer, 3, TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TRT, TrendReportTypes.Measurement.PCT_MAXIMUM);
+
+        Assert.assertEquals("RunId,Trend Measurement Type,login,\r\n_3_,PCT_MAXIMUM_TRT,0.9,", writer.toString());
+    }
+
+    @Test
+    public void testLargeReportIsParsedOnce() throws IOException {
+        final int transactions = 20000;
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            rows.add(new Row("TRT", "transaction " + i, String.valueOf(i), String.valueOf(i + 1)));
+            rows.add(new Row("TPS", "transaction " + i, String.valueOf(i * 2), String.valueOf(i * 3)));
+        }
+
+        TrendReportTable table = TrendReportTable.parse(Collections.<Object>singletonList(new TransactionRows(rows.toArray(new Row[0]))));
+        CountingWriter writer = new CountingWriter();
+        for (TrendReportTypes.PctType pctType : new TrendReportTypes.PctType[]{TrendReportTypes.PctType.TRT, TrendReportTypes.PctType.TPS}) {
+            for (TrendReportTypes.Measurement measurement : new TrendReportTypes.Measurement[]{TrendReportTypes.Measurement.PCT_MINIMUM, TrendReportTypes.Measurement.PCT_MAXIMUM}) {
+                table.writeCsv(writer, 1, TrendReportTypes.DataType.Transaction, pctType, measurement);
+            }
+        }
+
+        Assert.assertTrue(writer.count > 0);
+        Assert.assertEquals(transactions, table.getColumn(TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TPS, TrendReportTypes.Measurement.PCT_MAXIMUM).size());
+        Assert.assertEquals(String.valueOf(3 * (transactions - 1)),
+                table.getColumn(TrendReportTypes.DataType.Transaction, TrendReportTypes.PctType.TPS, TrendReportTypes.Measurement.PCT_MAXIMUM).get("transaction " + (transactions - 1)));
+    }
+
+    private static final class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static class TransactionRows {
+        private final List<Row> rows = new ArrayList<>();
+
+        TransactionRows(Row... rows) {
+            Collections.addAll(this.rows, rows);
+        }
+
+        public List<Row> getTrendReportTransactionDataRowList() {
+            return rows;
+        }
+    }
+
+    public static class Row {
+        private final String pctType;
+        private final String pctName;
+        private final String minimum;
+        private final String maximum;
+
+        Row(String pctType, String pctName, String minimum, String maximum) {
+            this.pctType = pctType;
+            this.pctName = pctName;
+            this.minimum = minimum;
+            this.maximum = maximum;
+        }
+
+        public String getPCT_TYPE() {
+            return pctType;
+        }
+
+        public String getPCT_NAME() {
+            return pctName;
+        }
+
+        public String getPCT_MINIMUM() {
+            return minimum;
+        }
+
+        public String getPCT_MAXIMUM() {
+            return maximum;
+        }
+    }
+}
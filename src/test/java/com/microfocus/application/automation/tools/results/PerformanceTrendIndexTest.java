@@ -0,0 +1,127 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results;
+
+import com.microfocus.application.automation.tools.results.projectparser.performance.JobLrScenarioResult;
+import com.microfocus.application.automation.tools.results.projectparser.performance.LrJobResults;
+import hudson.model.Action;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceTrendIndexTest {
+
+    @ClassRule
+    public static final JenkinsRule rule = new JenkinsRule();
+
+    @Test
+    public void testReadKeepsEntriesUntilIndexChanges() throws Exception {
+        FreeStyleProject project = rule.createFreeStyleProject();
+        FreeStyleBuild first = rule.buildAndAssertSuccess(project);
+        record(first, "scenario1");
+
+        PerformanceTrendIndex.Entries entries = PerformanceTrendIndex.read(project);
+        assertSame(entries, PerformanceTrendIndex.read(project));
+        assertEquals(Collections.singletonList(first.getNumber()), toList(entries.getBuildNumbers()));
+
+        FreeStyleBuild second = rule.buildAndAssertSuccess(project);
+        record(second, "scenario1");
+
+        PerformanceTrendIndex.Entries updated = PerformanceTrendIndex.read(project);
+        assertNotSame(entries, updated);
+        assertEquals(Arrays.asList(second.getNumber(), first.getNumber()), toList(updated.getBuildNumbers()));
+        assertNotNull(updated.getScenarioResult(second.getNumber(), "scenario1"));
+    }
+
+    @Test
+    public void testDeletedBuildIsNotRead() throws Exception {
+        FreeStyleProject project = rule.createFreeStyleProject();
+        FreeStyleBuild first = rule.buildAndAssertSuccess(project);
+        record(first, "scenario1");
+        FreeStyleBuild second = rule.buildAndAssertSuccess(project);
+        record(second, "scenario1");
+        PerformanceTrendIndex.read(project);
+
+        PerformanceTrendIndex.delete(first);
+
+        assertEquals(Collections.singletonList(second.getNumber()),
+                toList(PerformanceTrendIndex.read(project).getBuildNumbers()));
+    }
+
+    @Test
+    public void testJobsAreIndexedSeparately() throws Exception {
+        FreeStyleProject project1 = rule.createFreeStyleProject();
+        FreeStyleProject project2 = rule.createFreeStyleProject();
+        record(rule.buildAndAssertSuccess(project1), "scenario1");
+        record(rule.buildAndAssertSuccess(project2), "scenario2");
+
+        assertEquals(Collections.singletonList("scenario1"), toList(PerformanceTrendIndex.read(project1).getScenarioNames(1)));
+        assertEquals(Collections.singletonList("scenario2"), toList(PerformanceTrendIndex.read(project2).getScenarioNames(1)));
+    }
+
+    @Test
+    public void testProjectActionIsKeptByTheBuildAction() throws Exception {
+        FreeStyleProject project = rule.createFreeStyleProject();
+        FreeStyleBuild build = rule.buildAndAssertSuccess(project);
+        PerformanceJobReportAction action = new PerformanceJobReportAction(build, new LrJobResults());
+
+        Collection<? extends Action> projectActions = action.getProjectActions();
+        assertEquals(1, projectActions.size());
+        assertTrue(projectActions.iterator().next() instanceof PerformanceProjectAction);
+        assertSame(projectActions.iterator().next(), action.getProjectActions().iterator().next());
+    }
+
+    private static void record(FreeStyleBuild build, String scenarioName) {
+        LrJobResults results = new LrJobResults();
+        results.addScenario(new JobLrScenarioResult(scenarioName));
+        PerformanceTrendIndex.record(build, results.getLrScenarioResults());
+    }
+
+    private static <T> List<T> toList(Iterable<T> values) {
+        List<T> list = new ArrayList<>();
+        for (T value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
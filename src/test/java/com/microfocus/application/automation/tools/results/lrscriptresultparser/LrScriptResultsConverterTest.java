@@ -0,0 +1,157 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.lrscriptresultparser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class LrScriptResultsConverterTest {
+
+    private static final String RESULTS = "<?xml version=\"1.0\"?>"
+            + "<Results><ReportNode><Doc><DName>script</DName>"
+            + "<Action><AName>vuser_init</AName><Summary passed=\"0\" failed=\"0\"/></Action>"
+            + "<Action><AName>Action</AName>"
+            + "<Step><Obj>Url: home &amp; login</Obj><NodeArgs status=\"Passed\"/>"
+            + "<Step><Obj>image.gif</Obj><NodeArgs status=\"Failed\"/></Step></Step>"
+            + "<Step><Obj>logout\u0001</Obj><NodeArgs status=\"Passed\"/></Step>"
+            + "<Summary passed=\"2\" failed=\"1\"/></Action>"
+            + "<Summary passed=\"2\" failed=\"1\"/></Doc></ReportNode></Results>";
+
+    private File spoolDir;
+
+    @Before
+    public void setUp() throws Exception {
+        spoolDir = Files.createTempDirectory("lrscript").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        spoolDir.delete();
+    }
+
+    @Test
+    public void convertsActionsToSuites() throws Exception {
+        Document junit = convert(RESULTS);
+
+        Element root = junit.getDocumentElement();
+        assertEquals("testsuites", root.getTagName());
+        assertEquals("myScript", root.getAttribute("name"));
+        assertEquals("2", root.getAttribute("passed"));
+        assertEquals("1", root.getAttribute("failures"));
+        assertEquals("3", root.getAttribute("tests"));
+
+        // suites without tests are not reported
+        NodeList suites = root.getElementsByTagName("testsuite");
+        assertEquals(1, suites.getLength());
+        Element suite = (Element) suites.item(0);
+        assertEquals("Action", suite.getAttribute("name"));
+        assertEquals("myScript", suite.getAttribute("package"));
+        assertEquals("3", suite.getAttribute("tests"));
+
+        NodeList cases = suite.getElementsByTagName("testcase");
+        assertEquals(3, cases.getLength());
+        assertTestCase((Element) cases.item(0), "home & login", "pass");
+        assertTestCase((Element) cases.item(1), "image.gif", "fail");
+        assertNotNull(((Element) cases.item(1)).getElementsByTagName("failure").item(0));
+        assertTestCase((Element) cases.item(2), "logout", "pass");
+        assertEquals(0, spoolDir.list().length);
+    }
+
+    @Test
+    public void convertsResultsWithoutActions() throws Exception {
+        Document junit = convert("<Results><Doc><Summary passed=\"0\" failed=\"0\"/></Doc></Results>");
+
+        assertEquals("0", junit.getDocumentElement().getAttribute("tests"));
+        assertEquals(0, junit.getElementsByTagName("testsuite").getLength());
+    }
+
+    @Test
+    public void convertsResultsInDeclaredEncoding() throws Exception {
+        Document junit = convert(stepResults("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>", "caf\u00e9"),
+                StandardCharsets.ISO_8859_1);
+
+        assertTestCase((Element) junit.getElementsByTagName("testcase").item(0), "caf\u00e9", "pass");
+    }
+
+    @Test
+    public void convertsUtf16ResultsWithByteOrderMark() throws Exception {
+        Document junit = convert("\ufeff" + stepResults("<?xml version=\"1.0\" encoding=\"UTF-16\"?>", "\u65e5\u672c"),
+                StandardCharsets.UTF_16LE);
+
+        assertTestCase((Element) junit.getElementsByTagName("testcase").item(0), "\u65e5\u672c", "pass");
+    }
+
+    @Test
+    public void convertsUtf8ResultsWithByteOrderMark() throws Exception {
+        Document junit = convert("\ufeff" + stepResults("<?xml version=\"1.0\" encoding=\"UTF-8\"?>", "\u00fcber\u0002"),
+                StandardCharsets.UTF_8);
+
+        assertTestCase((Element) junit.getElementsByTagName("testcase").item(0), "\u00fcber", "pass");
+    }
+
+    private static String stepResults(String declaration, String stepName) {
+        return declaration + "<Results><Doc><Action><AName>Action</AName>"
+                + "<Step><Obj>" + stepName + "</Obj><NodeArgs status=\"Passed\"/></Step>"
+                + "<Summary passed=\"1\" failed=\"0\"/></Action>"
+                + "<Summary passed=\"1\" failed=\"0\"/></Doc></Results>";
+    }
+
+    private Document convert(String results) throws Exception {
+        return convert(results, StandardCharsets.UTF_8);
+    }
+
+    private Document convert(String results, Charset charset) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LrScriptResultsConverter.convert(new ByteArrayInputStream(results.getBytes(charset)), out,
+                "myScript", spoolDir);
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertTestCase(Element testCase, String name, String status) {
+        assertEquals(name, testCase.getAttribute("name"));
+        assertEquals(status, testCase.getAttribute("status"));
+        assertEquals("myScript.Action", testCase.getAttribute("classname"));
+    }
+}
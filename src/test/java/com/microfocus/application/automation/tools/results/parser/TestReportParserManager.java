@@ -0,0 +1,115 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.microfocus.application.automation.tools.results.parser.antjunit.AntJUnitReportParserImpl;
+import com.microfocus.application.automation.tools.results.parser.mavensurefire.MavenSureFireReportParserImpl;
+import com.microfocus.application.automation.tools.results.service.almentities.AlmTestSet;
+import com.microfocus.application.automation.tools.sse.common.ConsoleLogger;
+
+public class TestReportParserManager {
+
+	private static final String ANT_REPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"
+			+ "<!-- generated by Ant -->"
+			+ "<testsuites>"
+			+ "<testsuite name=\"com.demo.FirstTest\" tests=\"2\" timestamp=\"2019-01-01T10:00:00\">"
+			+ "<testcase classname=\"com.demo.FirstTest\" name=\"testOne\" time=\"0.1\"/>"
+			+ "<testcase classname=\"com.demo.FirstTest\" name=\"testTwo\" time=\"0.2\"><failure message=\"x\"/></testcase>"
+			+ "</testsuite>"
+			+ "<testsuite name=\"com.demo.SecondTest\" tests=\"1\" timestamp=\"2019-01-01T10:00:01\">"
+			+ "<testcase classname=\"com.demo.SecondTest\" name=\"testThree\" time=\"0.3\"/>"
+			+ "</testsuite>"
+			+ "</testsuites>";
+
+	private final List<File> reports = new ArrayList<File>();
+
+	@After
+	public void tearDown() {
+		for (File report : reports) {
+			report.delete();
+		}
+	}
+
+	@Test
+	public void testGetRootElement() throws IOException {
+		Assert.assertEquals("testsuites", ReportParserManager.getRootElement(createReport(ANT_REPORT)));
+		Assert.assertEquals("test-run", ReportParserManager.getRootElement(
+				createReport("<?xml version=\"1.0\"?><!DOCTYPE test-run><test-run id=\"2\"/>")));
+		Assert.assertNull(ReportParserManager.getRootElement(createReport("not a report")));
+		Assert.assertNull(ReportParserManager.getRootElement(new File("missing-report.xml").getPath()));
+	}
+
+	@Test
+	public void testGetParsers() {
+		ReportParserManager manager = new ReportParserManager(null, new ConsoleLogger());
+
+		List<ReportParser> parsers = manager.getParsers("testsuites");
+		Assert.assertEquals(1, parsers.size());
+		Assert.assertTrue(parsers.get(0) instanceof AntJUnitReportParserImpl);
+		parsers = manager.getParsers("testsuite");
+		Assert.assertEquals(1, parsers.size());
+		Assert.assertTrue(parsers.get(0) instanceof MavenSureFireReportParserImpl);
+		Assert.assertEquals(2, manager.getParsers("test-results").size());
+		Assert.assertEquals(6, manager.getParsers(null).size());
+	}
+
+	@Test
+	public void testParseTestSetsIncrementally() throws IOException {
+		ReportParserManager manager = new ReportParserManager(null, new ConsoleLogger());
+		String report = createReport(ANT_REPORT);
+
+		List<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
+		Assert.assertTrue(manager.parseTestSets(report, "JUnit", "Ant", testSets::add));
+		Assert.assertEquals(2, testSets.size());
+		Assert.assertEquals("com.demo.FirstTest", testSets.get(0).getName());
+		Assert.assertEquals("com.demo.SecondTest", testSets.get(1).getName());
+
+		List<AlmTestSet> parsed = manager.parseTestSets(report, "JUnit", "Ant");
+		Assert.assertEquals(2, parsed.size());
+		Assert.assertEquals("com.demo.SecondTest", parsed.get(1).getName());
+	}
+
+	private String createReport(String content) throws IOException {
+		File report = File.createTempFile("report", ".xml");
+		reports.add(report);
+		Files.write(report.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return report.getPath();
+	}
+}
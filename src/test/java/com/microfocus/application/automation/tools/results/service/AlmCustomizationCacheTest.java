@@ -0,0 +1,119 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.results.service;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.microfocus.application.automation.tools.results.service.AlmCustomizationCache.Kind;
+
+public class AlmCustomizationCacheTest {
+
+	private static final long TTL = 1000L;
+	private static final String PROJECT = "http://alm/qcbin/rest/domains/D/projects/P/customization";
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger loads = new AtomicInteger();
+	private AlmCustomizationCache cache;
+
+	@Before
+	public void setUp() {
+		cache = new AlmCustomizationCache(TTL, 2, now::get);
+	}
+
+	private String load(String project) {
+		return cache.get(project, Kind.FIELDS, "test", () -> "value" + loads.incrementAndGet());
+	}
+
+	@Test
+	public void testValueIsLoadedOnceWithinTtl() {
+		Assert.assertEquals("value1", load(PROJECT));
+		now.set(TTL - 1);
+		Assert.assertEquals("value1", load(PROJECT));
+		Assert.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testValueIsReloadedAfterTtl() {
+		load(PROJECT);
+		now.set(TTL);
+		Assert.assertEquals("value2", load(PROJECT));
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() {
+		Assert.assertNull(cache.get(PROJECT, Kind.SUBTYPES, "test", () -> null));
+		Assert.assertEquals("loaded", cache.get(PROJECT, Kind.SUBTYPES, "test", () -> "loaded"));
+	}
+
+	@Test
+	public void testKindsAndEntitiesAreCachedSeparately() {
+		cache.get(PROJECT, Kind.FIELDS, "test", () -> "fields");
+		Assert.assertEquals("subtypes", cache.get(PROJECT, Kind.SUBTYPES, "test", () -> "subtypes"));
+		Assert.assertEquals("run fields", cache.get(PROJECT, Kind.FIELDS, "run", () -> "run fields"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedProjectIsEvicted() {
+		load("p1");
+		load("p2");
+		load("p1");
+		load("p3");
+		Assert.assertEquals(3, loads.get());
+		Assert.assertEquals("value1", load("p1"));
+		Assert.assertEquals("value4", load("p2"));
+	}
+
+	@Test
+	public void testInvalidate() {
+		load(PROJECT);
+		cache.invalidate(PROJECT, Kind.FIELDS, "test");
+		Assert.assertEquals("value2", load(PROJECT));
+		cache.invalidate(PROJECT);
+		Assert.assertEquals("value3", load(PROJECT));
+		cache.invalidateAll();
+		Assert.assertEquals("value4", load(PROJECT));
+	}
+
+	@Test
+	public void testSubtypesReverseIndex() {
+		Map<String, String> idsByName = new HashMap<>();
+		idsByName.put("EXTERNAL-TEST", "hp.qc.test-instance.external-test");
+		AlmEntitySubtypes subtypes = new AlmEntitySubtypes(idsByName);
+		Assert.assertEquals("hp.qc.test-instance.external-test", subtypes.getIdByName("EXTERNAL-TEST"));
+		Assert.assertEquals("EXTERNAL-TEST", subtypes.getNameById("hp.qc.test-instance.external-test"));
+		Assert.assertNull(subtypes.getNameById("unknown"));
+	}
+}
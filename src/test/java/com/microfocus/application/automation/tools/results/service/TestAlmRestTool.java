@@ -0,0 +1,113 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+package com.microfocus.application.automation.tools.results.service;
+
+import com.microfocus.application.automation.tools.rest.RestClient;
+import com.microfocus.application.automation.tools.results.service.almentities.AlmTestImpl;
+import com.microfocus.application.automation.tools.sse.sdk.ResourceAccessLevel;
+import com.microfocus.application.automation.tools.sse.sdk.Response;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class TestAlmRestTool {
+
+	private static final Pattern PAGE = Pattern.compile("page-size=(\\d+)&start-index=(\\d+)");
+
+	@Test
+	public void testGetAllAlmEntitiesWithServerPageSizeLimit() throws ExternalEntityUploadException {
+		AlmRestTool restTool = new AlmRestTool(new PagedRestClient(7, 3, -1, true), new SystemOutLogger());
+
+		List<AlmTestImpl> tests = restTool.getAllAlmEntities(new AlmTestImpl(), "query={parent-id[2]}", 5);
+
+		Assert.assertEquals(7, tests.size());
+		for (int i = 0; i < tests.size(); i++) {
+			Assert.assertEquals(String.valueOf(i + 1), tests.get(i).getId());
+		}
+	}
+
+	@Test
+	public void testGetAllAlmEntitiesWithoutTotalResults() throws ExternalEntityUploadException {
+		AlmRestTool restTool = new AlmRestTool(new PagedRestClient(7, 3, -1, false), new SystemOutLogger());
+
+		List<AlmTestImpl> tests = restTool.getAllAlmEntities(new AlmTestImpl(), "query={parent-id[2]}", 5);
+
+		Assert.assertEquals(7, tests.size());
+	}
+
+	@Test(expected = ExternalEntityUploadException.class)
+	public void testGetAllAlmEntitiesFailedPage() throws ExternalEntityUploadException {
+		AlmRestTool restTool = new AlmRestTool(new PagedRestClient(7, 3, 4, true), new SystemOutLogger());
+
+		restTool.getAllAlmEntities(new AlmTestImpl(), "query={parent-id[2]}", 5);
+	}
+
+	/**
+	 * Answers the page requests with the tests 1 to n, at most maxPageSize per page.
+	 */
+	private static class PagedRestClient extends RestClient {
+
+		private final int count;
+		private final int maxPageSize;
+		private final int failingStartIndex;
+		private final boolean totalResults;
+
+		PagedRestClient(int count, int maxPageSize, int failingStartIndex, boolean totalResults) {
+			super("http://alm/qcbin", "DOMAIN", "PROJECT", "user");
+			this.count = count;
+			this.maxPageSize = maxPageSize;
+			this.failingStartIndex = failingStartIndex;
+			this.totalResults = totalResults;
+		}
+
+		@Override
+		public Response httpGet(String url, String queryString, Map<String, String> headers, ResourceAccessLevel resourceAccessLevel) {
+			Matcher matcher = PAGE.matcher(queryString);
+			Assert.assertTrue(matcher.find());
+			int pageSize = Math.min(Integer.parseInt(matcher.group(1)), maxPageSize);
+			int startIndex = Integer.parseInt(matcher.group(2));
+			if (startIndex == failingStartIndex) {
+				return new Response(null, new byte[0], null, HttpURLConnection.HTTP_INTERNAL_ERROR);
+			}
+
+			StringBuilder entities = new StringBuilder(totalResults ? "<Entities TotalResults=\"" + count + "\">" : "<Entities>");
+			for (int id = startIndex; id < Math.min(count + 1, startIndex + pageSize); id++) {
+				entities.append("<Entity Type=\"test\"><Fields><Field Name=\"id\"><Value>").append(id)
+						.append("</Value></Field><Field Name=\"name\"><Value>test").append(id)
+						.append("</Value></Field></Fields></Entity>");
+			}
+			entities.append("</Entities>");
+			return new Response(null, entities.toString().getBytes(), null, HttpURLConnection.HTTP_OK);
+		}
+	}
+}
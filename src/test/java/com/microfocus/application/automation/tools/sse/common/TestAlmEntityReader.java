@@ -0,0 +1,147 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2023 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.sse.common;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class TestAlmEntityReader {
+
+    private static final String ENTITIES = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Entities TotalResults=\"2\">"
+            + "<Entity Type=\"test-set\"><Fields><Field Name=\"id\"><Value>1</Value></Field>"
+            + "<Field Name=\"name\"><Value>Näme &amp; more</Value></Field><Field Name=\"vts\"/></Fields>"
+            + "<RelatedEntities/></Entity>"
+            + "<Entity Type=\"test-set\"><Fields><Field Name=\"id\"><Value>2</Value></Field>"
+            + "<Field Name=\"name\"><Value/></Field></Fields></Entity>"
+            + "</Entities>";
+
+    private static final String ENTITY = "<Entity Type=\"run\"><Fields>"
+            + "<Field Name=\"state\"><Value>Finished</Value></Field>"
+            + "<Field Name=\"end-time\"><Value>12:00</Value></Field>"
+            + "<Field Name=\"state\"><Value>Ignored</Value></Field>"
+            + "</Fields></Entity>";
+
+    @Test
+    public void testToEntities() {
+
+        List<Map<String, String>> entities = XPathUtils.toEntities(ENTITIES.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(2, entities.size());
+        Assert.assertEquals("1", entities.get(0).get("id"));
+        Assert.assertEquals("Näme & more", entities.get(0).get("name"));
+        Assert.assertTrue(entities.get(0).containsKey("vts"));
+        Assert.assertNull(entities.get(0).get("vts"));
+        Assert.assertEquals("2", entities.get(1).get("id"));
+        Assert.assertNull(entities.get(1).get("name"));
+        Assert.assertEquals(entities, XPathUtils.toEntities(ENTITIES));
+    }
+
+    @Test
+    public void testGetAttributeValue() {
+
+        byte[] xml = ENTITY.getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertEquals("Finished", XPathUtils.getAttributeValue(xml, "state"));
+        Assert.assertEquals("12:00", XPathUtils.getAttributeValue(ENTITY, "end-time"));
+        Assert.assertEquals(StringUtils.EMPTY_STRING, XPathUtils.getAttributeValue(xml, "start-time"));
+        Map<String, String> fields = XPathUtils.getAttributeValues(xml);
+        Assert.assertEquals("Finished", XPathUtils.getAttributeValue(fields, "state"));
+        Assert.assertEquals(StringUtils.EMPTY_STRING, XPathUtils.getAttributeValue(fields, "start-time"));
+        // only single entity responses have root entity fields
+        Assert.assertEquals(StringUtils.EMPTY_STRING, XPathUtils.getAttributeValue(ENTITIES, "id"));
+    }
+
+    @Test(expected = SSEException.class)
+    public void testGetAttributeValueWithoutName() {
+
+        XPathUtils.getAttributeValue("<Entity><Fields><Field Name=\"\"/></Fields></Entity>", "id");
+    }
+
+    @Test
+    public void testHasResults() {
+
+        Assert.assertTrue(XPathUtils.hasResults(ENTITIES.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(XPathUtils.hasResults("<Entities TotalResults=\"0\"><Entity/></Entities>"));
+        Assert.assertFalse(XPathUtils.hasResults("<Entities TotalResults=\"0\"/>"));
+    }
+
+    @Test
+    public void testGetTestSetIds() {
+
+        String xml = "<Entities><Entity><Fields><Field Name=\"cycle-id\"><Value>7</Value></Field></Fields></Entity>"
+                + "<Entity><Fields><Field Name=\"id\"><Value>8</Value></Field>"
+                + "<Field Name=\"cycle-id\"><Value>9</Value></Field></Fields></Entity>"
+                + "<Entity><Fields><Field Name=\"cycle-id\"><Value>10</Value></Field></Fields></Entity></Entities>";
+
+        Assert.assertEquals(Arrays.asList("7", "10"), XPathUtils.getTestSetIds(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testReadEntitiesTotalResults() {
+
+        List<String> ids = new ArrayList<>();
+
+        Assert.assertEquals(2, AlmEntityReader.readEntities(ENTITIES, fields -> ids.add(fields.get("id"))));
+        Assert.assertEquals(Arrays.asList("1", "2"), ids);
+        Assert.assertEquals(-1, AlmEntityReader.readEntities("<Entities/>", fields -> ids.add(fields.get("id"))));
+        Assert.assertEquals(2, ids.size());
+    }
+
+    @Test
+    public void testReadLargeResponse() {
+
+        int count = 10000;
+        StringBuilder xml = new StringBuilder("<Entities TotalResults=\"").append(count).append("\">");
+        for (int i = 0; i < count; i++) {
+            xml.append("<Entity Type=\"run\"><Fields><Field Name=\"id\"><Value>").append(i)
+                    .append("</Value></Field><Field Name=\"status\"><Value>Passed</Value></Field>")
+                    .append("<Field Name=\"duration\"><Value>").append(i % 60)
+                    .append("</Value></Field></Fields><RelatedEntities/></Entity>");
+        }
+        xml.append("</Entities>");
+        byte[] data = xml.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<String> ids = new ArrayList<>(count);
+        int totalResults = AlmEntityReader.readEntities(data, fields -> ids.add(fields.get("id")));
+
+        Assert.assertEquals(count, totalResults);
+        Assert.assertEquals(count, ids.size());
+        Assert.assertEquals("0", ids.get(0));
+        Assert.assertEquals(String.valueOf(count - 1), ids.get(count - 1));
+        Assert.assertEquals(count, XPathUtils.toEntities(data).size());
+    }
+}
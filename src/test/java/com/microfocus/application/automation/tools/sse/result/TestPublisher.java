@@ -31,6 +31,9 @@ package com.microfocus.application.automation.tools.sse.result;
 import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.microfocus.application.automation.tools.sse.common.TestCase;
 import com.microfocus.application.automation.tools.sse.result.model.junit.JUnitTestCaseStatus;
@@ -109,6 +112,55 @@ public class TestPublisher extends TestCase {
         Assert.assertNotNull(testsuites);
     }
 
+    @Test
+    public void testPagedPublish() {
+
+        PagedMockClient client = new PagedMockClient(4500, 2000, -1);
+        Testsuites testsuites = publish(client);
+
+        Assert.assertNotNull(testsuites);
+        assertPagedTestcases(testsuites, 4500, 3);
+        Assert.assertEquals(3, client.getPageRequests());
+    }
+
+    @Test
+    public void testPagedPublishWithServerPageSizeLimit() {
+
+        PagedMockClient client = new PagedMockClient(4500, 1000, -1);
+        Testsuites testsuites = publish(client);
+
+        Assert.assertNotNull(testsuites);
+        assertPagedTestcases(testsuites, 4500, 3);
+        Assert.assertEquals(5, client.getPageRequests());
+    }
+
+    @Test
+    public void testFailedPageFailsPublish() {
+
+        Client client = new PagedMockClient(4500, 2000, 2001);
+        Testsuites testsuites = publish(client);
+
+        Assert.assertNull(testsuites);
+    }
+
+    /**
+     * Checks the runs of all the pages are merged by test instance and kept in their order.
+     */
+    private void assertPagedTestcases(Testsuites testsuites, int runCount, int testInstanceCount) {
+
+        List<Testsuite> testsuiteList = testsuites.getTestsuite();
+        Assert.assertEquals(testInstanceCount, testsuiteList.size());
+        int total = 0;
+        for (int testInstance = 0; testInstance < testInstanceCount; testInstance++) {
+            List<Testcase> testcases = testsuiteList.get(testInstance).getTestcase();
+            for (int i = 0; i < testcases.size(); i++) {
+                Assert.assertEquals("run" + (testInstance + i * testInstanceCount), testcases.get(i).getName());
+            }
+            total += testcases.size();
+        }
+        Assert.assertEquals(runCount, total);
+    }
+
     private boolean containsStatus(List<Testsuite> testsuites, String status) {
 
         boolean ret = false;
@@ -153,4 +205,70 @@ public class TestPublisher extends TestCase {
             return new Response(null, _bytes, null, HttpURLConnection.HTTP_OK);
         }
     }
+
+    /**
+     * Answers the page requests of test instance runs with the runs "run0" to "run(n-1)", spread over 3 test instances.
+     */
+    private class PagedMockClient extends RestClient4Test {
+
+        private final int _runCount;
+        private final int _maxPageSize;
+        private final int _failingStartIndex;
+        private final AtomicInteger _pageRequests = new AtomicInteger();
+
+        public PagedMockClient(int runCount, int maxPageSize, int failingStartIndex) {
+
+            super(URL, DOMAIN, PROJECT, USER);
+            _runCount = runCount;
+            _maxPageSize = maxPageSize;
+            _failingStartIndex = failingStartIndex;
+        }
+
+        public int getPageRequests() {
+
+            return _pageRequests.get();
+        }
+
+        @Override
+        public Response httpGet(
+                String url,
+                String queryString,
+                Map<String, String> headers,
+                ResourceAccessLevel resourceAccessLevel) {
+
+            Matcher matcher = Pattern.compile("page-size=(\\d+)&start-index=(\\d+)").matcher(String.valueOf(queryString));
+            if (!matcher.find()) {
+                return new Response(null, "<Entity/>".getBytes(), null, HttpURLConnection.HTTP_OK);
+            }
+            _pageRequests.incrementAndGet();
+            int pageSize = Math.min(Integer.parseInt(matcher.group(1)), _maxPageSize);
+            int startIndex = Integer.parseInt(matcher.group(2));
+            if (startIndex == _failingStartIndex) {
+                return new Response(
+                        null,
+                        "<QCRestException><Id>qccore.general-error</Id></QCRestException>".getBytes(),
+                        null,
+                        HttpURLConnection.HTTP_INTERNAL_ERROR);
+            }
+
+            StringBuilder entities = new StringBuilder(String.format("<Entities TotalResults=\"%d\">", _runCount));
+            for (int i = startIndex - 1; i < Math.min(_runCount, startIndex - 1 + pageSize); i++) {
+                entities.append(String.format(
+                        "<Entity Type=\"procedure-testset-instance-run\"><Fields>"
+                                + "<Field Name=\"id\"><Value>%d</Value></Field>"
+                                + "<Field Name=\"test-config-name\"><Value>run%d</Value></Field>"
+                                + "<Field Name=\"testset-name\"><Value>testset</Value></Field>"
+                                + "<Field Name=\"testcycl-id\"><Value>%d</Value></Field>"
+                                + "<Field Name=\"status\"><Value>Passed</Value></Field>"
+                                + "<Field Name=\"duration\"><Value>1</Value></Field>"
+                                + "</Fields><RelatedEntities/></Entity>",
+                        i + 1,
+                        i,
+                        i % 3));
+            }
+            entities.append("</Entities>");
+
+            return new Response(null, entities.toString().getBytes(), null, HttpURLConnection.HTTP_OK);
+        }
+    }
 }
@@ -247,4 +247,33 @@ public class TestPollHandler extends TestCase {
         }
     }
     
+    @Test
+    public void testPollPCRecoversFromFailures() throws InterruptedException {
+        
+        Client client = new MockRestClientPCFailsTwice(URL, DOMAIN, PROJECT, USER);
+        boolean isOk;
+        isOk = new PollHandlerFactory().create(client, "PC", "12", 0).poll(new ConsoleLogger());
+        Assert.assertTrue(isOk);
+    }
+    
+    private class MockRestClientPCFailsTwice extends RestClient4Test {
+        
+        private int _calls = 0;
+        
+        public MockRestClientPCFailsTwice(String url, String domain, String project, String username) {
+            
+            super(url, domain, project, username);
+        }
+        
+        @Override
+        public Response httpGet(String url, String queryString, Map<String, String> headers, ResourceAccessLevel resourceAccessLevel) {
+            
+            if (++_calls <= 2) {
+                return new Response(null, new byte[0], null, HttpURLConnection.HTTP_UNAVAILABLE);
+            }
+            
+            return new Response(null, PC_FINISHED_DATA, null, HttpURLConnection.HTTP_OK);
+        }
+    }
+    
 }
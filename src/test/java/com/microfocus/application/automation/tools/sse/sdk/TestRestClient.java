@@ -28,11 +28,19 @@
 
 package com.microfocus.application.automation.tools.sse.sdk;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.microfocus.application.automation.tools.sse.common.TestCase;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.microfocus.application.automation.tools.rest.HttpTransport;
 import com.microfocus.application.automation.tools.rest.RestClient;
+import com.microfocus.application.automation.tools.rest.RestClientMetrics;
 
 @SuppressWarnings("squid:S2699")
 public class TestRestClient extends TestCase {
@@ -68,4 +76,52 @@ public class TestRestClient extends TestCase {
                 url);
     }
 
+    @Test
+    public void testCookiesAreKeptPerClient() {
+        RecordingTransport transport = new RecordingTransport();
+        transport.setCookies.add("QCSession=abc; Path=/");
+        transport.setCookies.add("LWSSO_COOKIE_KEY=lwsso; Path=/");
+        RestClient client = new RestClient(URL, DOMAIN, PROJECT, USER, transport);
+        RestClient otherClient = new RestClient(URL, DOMAIN, PROJECT, USER, new RecordingTransport());
+
+        client.httpPost(client.build("rest/site-session"), null, null, ResourceAccessLevel.PUBLIC);
+        client.httpGet(client.buildRestRequest("tests"), null, null, ResourceAccessLevel.PROTECTED);
+
+        String cookieHeader = transport.cookieHeaders.get(1);
+        Assert.assertTrue(cookieHeader.contains("QCSession=abc;"));
+        Assert.assertTrue(cookieHeader.contains("LWSSO_COOKIE_KEY=lwsso;"));
+        Assert.assertTrue(cookieHeader.contains("XSRF-TOKEN=" + client.getXsrfTokenValue() + ";"));
+        Assert.assertEquals("lwsso", client.getCookies().get("LWSSO_COOKIE_KEY"));
+        Assert.assertNull(otherClient.getCookies().get("LWSSO_COOKIE_KEY"));
+    }
+
+    @Test
+    public void testLatencyIsRecordedPerEndpoint() {
+        RestClient client = new RestClient(URL, DOMAIN, PROJECT, USER, new RecordingTransport());
+
+        client.httpGet(client.buildRestRequest("test-sets/12"), "fields=id", null, ResourceAccessLevel.PROTECTED);
+        client.httpGet(client.buildRestRequest("test-sets/13"), null, null, ResourceAccessLevel.PROTECTED);
+
+        RestClientMetrics.EndpointStats stats = client.getMetrics().getSnapshot()
+                .get("GET /qcbin/rest/domains/{domain}/projects/{project}/test-sets/{id}");
+        Assert.assertNotNull(stats);
+        Assert.assertEquals(2, stats.getCount());
+        Assert.assertEquals(0, stats.getFailures());
+    }
+
+    private static class RecordingTransport implements HttpTransport {
+
+        private final List<String> setCookies = new ArrayList<>();
+        private final List<String> cookieHeaders = new ArrayList<>();
+
+        @Override
+        public Response execute(String method, String url, Map<String, String> headers, byte[] data) {
+            cookieHeaders.add(headers.get("Cookie"));
+            Map<String, List<String>> responseHeaders = new HashMap<>();
+            if (!setCookies.isEmpty()) {
+                responseHeaders.put("Set-Cookie", new ArrayList<>(setCookies));
+            }
+            return new Response(responseHeaders, new byte[0], null, 200);
+        }
+    }
 }